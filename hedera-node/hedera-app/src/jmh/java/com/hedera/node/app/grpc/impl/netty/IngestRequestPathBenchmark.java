@@ -0,0 +1,122 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl.netty;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Duration;
+import com.hedera.hapi.node.base.SignatureMap;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.SignedTransaction;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.blocks.utils.NoOpDependencies.NoOpMetrics;
+import com.hedera.node.app.config.ServicesConfigExtension;
+import com.hedera.node.app.spi.workflows.PreCheckException;
+import com.hedera.node.app.workflows.TransactionChecker;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Drives the transaction ingest request path in-process, from the gRPC marshaller through
+ * {@link TransactionChecker#parseAndCheck(Bytes)}, with a synthetic load of distinct requests of which a
+ * configurable share are rejected. Compares copying each request out of the marshaller's buffer up front
+ * ({@code zeroCopy = false}) with checking a view of that buffer and copying only accepted transactions.
+ *
+ * <p>Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes allocated per request.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IngestRequestPathBenchmark {
+    private static final int NUM_REQUESTS = 1024;
+    private static final int MAX_MESSAGE_SIZE = 6144;
+
+    @Param({"false", "true"})
+    public boolean zeroCopy;
+
+    @Param({"0", "50"})
+    public int rejectPercent;
+
+    @Param({"128", "4096"})
+    public int memoBytes;
+
+    private DataBufferMarshaller marshaller;
+    private TransactionChecker checker;
+    private byte[][] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Configuration config = ConfigurationBuilder.create()
+                .loadExtension(new ServicesConfigExtension())
+                .withValue("hedera.transaction.maxMemoUtf8Bytes", Integer.toString(memoBytes))
+                .getOrCreateConfig();
+        marshaller = new DataBufferMarshaller(MAX_MESSAGE_SIZE, MAX_MESSAGE_SIZE);
+        checker = new TransactionChecker(() -> new VersionedConfigImpl(config, 1L), new NoOpMetrics());
+        requests = new byte[NUM_REQUESTS][];
+        for (int i = 0; i < NUM_REQUESTS; i++) {
+            // Rejected requests carry one memo byte too many, so they fail only after being fully parsed
+            final boolean rejected = (i * 100L / NUM_REQUESTS) < rejectPercent;
+            requests[i] = request(i, rejected ? memoBytes + 1 : memoBytes);
+        }
+    }
+
+    @Benchmark
+    public void ingest(final Blackhole blackhole) {
+        final var request = requests[next++ & (NUM_REQUESTS - 1)];
+        final var buffer = marshaller.parse(new ByteArrayInputStream(request));
+        final var requestBytes = zeroCopy ? RequestBuffers.viewOf(buffer) : buffer.getBytes(0, buffer.length());
+        try {
+            final var txInfo = checker.parseAndCheck(requestBytes);
+            final var serializedSignedTx = txInfo.serializedSignedTxOrThrow();
+            blackhole.consume(zeroCopy ? Bytes.wrap(serializedSignedTx.toByteArray()) : serializedSignedTx);
+        } catch (final PreCheckException e) {
+            blackhole.consume(e.responseCode());
+        }
+    }
+
+    private static byte[] request(final int seqNo, final int memoLength) {
+        final var payer = AccountID.newBuilder().accountNum(1001L + seqNo).build();
+        final var body = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder()
+                        .accountID(payer)
+                        .transactionValidStart(Timestamp.newBuilder().seconds(1_700_000_000L + seqNo)))
+                .nodeAccountID(AccountID.newBuilder().accountNum(3L))
+                .transactionFee(100_000_000L)
+                .transactionValidDuration(Duration.newBuilder().seconds(120L))
+                .memo("m".repeat(memoLength))
+                .cryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .transfers(TransferList.newBuilder().build()))
+                .build();
+        final var signedTx = SignedTransaction.newBuilder()
+                .bodyBytes(TransactionBody.PROTOBUF.toBytes(body))
+                .sigMap(SignatureMap.DEFAULT)
+                .build();
+        final var tx = Transaction.newBuilder()
+                .signedTransactionBytes(SignedTransaction.PROTOBUF.toBytes(signedTx))
+                .build();
+        return Transaction.PROTOBUF.toBytes(tx).toByteArray();
+    }
+}
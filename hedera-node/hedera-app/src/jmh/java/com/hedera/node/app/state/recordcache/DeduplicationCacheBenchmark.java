@@ -0,0 +1,116 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.state.recordcache;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.node.app.config.ServicesConfigExtension;
+import com.hedera.node.app.state.DeduplicationCache;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the sorted-set {@link DeduplicationCacheImpl} with the off-heap {@link FingerprintDeduplicationCache}
+ * when holding a full max-transaction-duration window of transaction IDs at a given rate per second.
+ *
+ * <ul>
+ *   <li>{@code insert} adds the IDs of one more second of transactions, at the newest end of the window</li>
+ *   <li>{@code lookup} checks one ID that is present and one that is not</li>
+ *   <li>{@code expire} advances the clock by a second and adds one new ID, which expires the oldest second</li>
+ * </ul>
+ *
+ * <p>Run with {@code -prof gc} to compare allocation and GC pressure.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeduplicationCacheBenchmark {
+    private static final long START_SECOND = 1_700_000_000L;
+    private static final long MAX_TXN_DURATION = 180;
+
+    @Param({"sortedSet", "fingerprints"})
+    public String impl;
+
+    @Param({"10000"})
+    public int idsPerSecond;
+
+    private DeduplicationCache cache;
+    private long nowSecond;
+    private long nextSecondToFill;
+    private int lookups;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        final Configuration config = ConfigurationBuilder.create()
+                .loadExtension(new ServicesConfigExtension())
+                .withValue("hedera.transaction.maxValidDuration", Long.toString(MAX_TXN_DURATION))
+                .getOrCreateConfig();
+        final InstantSource instantSource = () -> Instant.ofEpochSecond(nowSecond);
+        cache = "fingerprints".equals(impl)
+                ? new FingerprintDeduplicationCache(() -> new VersionedConfigImpl(config, 1L), instantSource)
+                : new DeduplicationCacheImpl(() -> new VersionedConfigImpl(config, 1L), instantSource);
+        nowSecond = START_SECOND + MAX_TXN_DURATION;
+        for (long second = START_SECOND; second <= nowSecond; second++) {
+            fillSecond(second);
+        }
+        nextSecondToFill = nowSecond + 1;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10000)
+    public void insert() {
+        // Future seconds are accepted, so the window only grows; the iteration-level setup bounds how far
+        fillSecond(nextSecondToFill++);
+    }
+
+    @Benchmark
+    public void lookup(final Blackhole blackhole) {
+        final int i = lookups++ % idsPerSecond;
+        final long second = START_SECOND + MAX_TXN_DURATION / 2;
+        blackhole.consume(cache.contains(txId(i, second)));
+        blackhole.consume(cache.contains(txId(i + idsPerSecond, second)));
+    }
+
+    @Benchmark
+    public void expire() {
+        nowSecond++;
+        cache.add(txId(0, nowSecond));
+    }
+
+    private void fillSecond(final long second) {
+        for (int i = 0; i < idsPerSecond; i++) {
+            cache.add(txId(i, second));
+        }
+    }
+
+    private TransactionID txId(final int i, final long second) {
+        return TransactionID.newBuilder()
+                .accountID(AccountID.newBuilder().accountNum(1001L + i))
+                .transactionValidStart(Timestamp.newBuilder()
+                        .seconds(second)
+                        .nanos(i * 7919 % 1_000_000_000)
+                        .build())
+                .build();
+    }
+}
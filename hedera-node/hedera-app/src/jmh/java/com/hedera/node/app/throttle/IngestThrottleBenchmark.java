@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.throttle;
+
+import static com.hedera.node.app.throttle.ThrottleAccumulator.ThrottleType.FRONTEND_THROTTLE;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.hapi.node.base.SignatureMap;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.consensus.ConsensusSubmitMessageTransactionBody;
+import com.hedera.hapi.node.transaction.SignedTransaction;
+import com.hedera.hapi.node.transaction.ThrottleBucket;
+import com.hedera.hapi.node.transaction.ThrottleDefinitions;
+import com.hedera.hapi.node.transaction.ThrottleGroup;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import com.hedera.node.app.config.ServicesConfigExtension;
+import com.hedera.node.app.fixtures.state.FakeState;
+import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.data.HederaConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.config.api.Configuration;
+import com.swirlds.config.api.ConfigurationBuilder;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures frontend throttle throughput with many concurrent ingest threads, comparing the fully synchronized
+ * decision path ({@code leaseBatchSize = 0}) against striped capacity leases. The throttle is configured far above
+ * the achievable rate, so every decision admits the transaction and the benchmark isolates the cost of the
+ * decision itself, as seen by 32 gRPC worker threads.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestThrottleBenchmark {
+    private static final long UNREACHABLE_MILLI_OPS_PER_SEC = 1_000_000_000_000L;
+
+    @Param({"0", "16", "64"})
+    public int leaseBatchSize;
+
+    private SynchronizedThrottleAccumulator subject;
+    private TransactionInfo txnInfo;
+    private FakeState state;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Configuration config = ConfigurationBuilder.create()
+                .loadExtension(new ServicesConfigExtension())
+                .withValue("hedera.ingestThrottle.leaseBatchSize", Integer.toString(leaseBatchSize))
+                .withValue("hedera.ingestThrottle.leaseStripes", "32")
+                .getOrCreateConfig();
+        final var accumulator = new ThrottleAccumulator(() -> config, () -> 1, FRONTEND_THROTTLE);
+        accumulator.applyGasConfig();
+        accumulator.applyBytesConfig();
+        accumulator.applyDurationConfig();
+        accumulator.rebuildFor(ThrottleDefinitions.newBuilder()
+                .throttleBuckets(ThrottleBucket.newBuilder()
+                        .name("ThroughputLimits")
+                        .burstPeriodMs(1_000L)
+                        .throttleGroups(ThrottleGroup.newBuilder()
+                                .operations(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE)
+                                .milliOpsPerSec(UNREACHABLE_MILLI_OPS_PER_SEC)
+                                .build())
+                        .build())
+                .build());
+        subject = new SynchronizedThrottleAccumulator(InstantSource.system(), accumulator, () -> config);
+
+        final var payerId = AccountID.newBuilder().accountNum(1_234L).build();
+        final var body = TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder()
+                        .accountID(payerId)
+                        .transactionValidStart(Timestamp.newBuilder().seconds(1L)))
+                .consensusSubmitMessage(ConsensusSubmitMessageTransactionBody.DEFAULT)
+                .build();
+        txnInfo = new TransactionInfo(
+                SignedTransaction.DEFAULT,
+                body,
+                SignatureMap.DEFAULT,
+                Bytes.EMPTY,
+                HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE,
+                null);
+        state = new FakeState();
+        // Sanity check that the configuration was applied
+        if (config.getConfigData(HederaConfig.class).ingestThrottleLeaseBatchSize() != leaseBatchSize) {
+            throw new IllegalStateException("Lease batch size not configured");
+        }
+    }
+
+    @Benchmark
+    public void shouldThrottle(final Blackhole blackhole) {
+        final List<ThrottleUsage> usages = new ArrayList<>(1);
+        blackhole.consume(subject.shouldThrottle(txnInfo, state, usages));
+    }
+}
@@ -725,6 +725,11 @@ public final class Hedera implements SwirldMain, AppContext.Gossip, StaleEventCo
 
                 // Wait for the block stream to close any pending or current blocks–-we may need them for triage
                 blockStreamManager().awaitFatalShutdown(SHUTDOWN_TIMEOUT);
+                // And for any closed block files still being compressed to be written with their marker files
+                app.blockFileCompression()
+                        .pendingFuture()
+                        .completeOnTimeout(null, SHUTDOWN_TIMEOUT.toNanos(), NANOSECONDS)
+                        .join();
             }
             case BEHIND -> BlockHashSigning.cancelAndRemoveAll(rsaSignings);
             case REPLAYING_EVENTS, STARTING_UP, OBSERVING, RECONNECT_COMPLETE, CHECKING, FREEZING -> {
@@ -1059,6 +1064,9 @@ public final class Hedera implements SwirldMain, AppContext.Gossip, StaleEventCo
 
             logger.debug("Shutting down the block manager");
             app.blockRecordManager().close();
+
+            logger.debug("Shutting down block file compression");
+            app.blockFileCompression().shutdown(SHUTDOWN_TIMEOUT);
         }
 
         platform = null;
@@ -1333,6 +1341,7 @@ public final class Hedera implements SwirldMain, AppContext.Gossip, StaleEventCo
             if (blockStreamEnabled) {
                 notifications.unregister(StateHashedListener.class, app.blockStreamManager());
                 app.blockNodeConnectionManager().shutdown();
+                app.blockFileCompression().shutdown(SHUTDOWN_TIMEOUT);
             }
         }
         if (trigger == RECONNECT) {
@@ -1557,8 +1566,10 @@ public final class Hedera implements SwirldMain, AppContext.Gossip, StaleEventCo
                 config.getConfigData(HederaConfig.class).nowFrozenWriteTimeout();
         final var blockStreamConfig = config.getConfigData(BlockStreamConfig.class);
         try {
-            final var blockStreamFuture =
-                    requireNonNull(daggerApp.blockStreamManager().pendingBlockProofsFuture());
+            // Closing a block with its proof may leave the block file compressing in the background
+            final var blockFileCompression = daggerApp.blockFileCompression();
+            final var blockStreamFuture = requireNonNull(daggerApp.blockStreamManager().pendingBlockProofsFuture())
+                    .thenCompose(ignore -> blockFileCompression.pendingFuture());
             final var wrbWritersFuture =
                     requireNonNull(daggerApp.blockRecordManager().noOpenWrbWritersFuture());
             final var signingFuture = CompletableFuture.allOf(blockStreamFuture, wrbWritersFuture);
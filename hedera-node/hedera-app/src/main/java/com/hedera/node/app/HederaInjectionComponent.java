@@ -11,6 +11,7 @@ import com.hedera.node.app.blocks.InitialStateHash;
 import com.hedera.node.app.blocks.impl.BoundaryStateChangeListener;
 import com.hedera.node.app.blocks.impl.ImmediateStateChangeListener;
 import com.hedera.node.app.blocks.impl.streaming.BlockBufferService;
+import com.hedera.node.app.blocks.impl.streaming.BlockFileCompression;
 import com.hedera.node.app.blocks.impl.streaming.BlockNodeConnectionManager;
 import com.hedera.node.app.components.IngestInjectionComponent;
 import com.hedera.node.app.config.BootstrapConfigProviderImpl;
@@ -142,6 +143,8 @@ public interface HederaInjectionComponent {
 
     BlockBufferService blockBufferService();
 
+    BlockFileCompression blockFileCompression();
+
     BlockStreamManager blockStreamManager();
 
     NodeRewardManager nodeRewardManager();
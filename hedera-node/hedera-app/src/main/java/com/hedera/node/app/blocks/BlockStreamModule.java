@@ -4,6 +4,7 @@ package com.hedera.node.app.blocks;
 import com.hedera.node.app.blocks.impl.BlockStreamManagerImpl;
 import com.hedera.node.app.blocks.impl.BoundaryStateChangeListener;
 import com.hedera.node.app.blocks.impl.streaming.BlockBufferService;
+import com.hedera.node.app.blocks.impl.streaming.BlockFileCompression;
 import com.hedera.node.app.blocks.impl.streaming.BlockNodeConfigService;
 import com.hedera.node.app.blocks.impl.streaming.BlockNodeConnectionManager;
 import com.hedera.node.app.blocks.impl.streaming.FileAndGrpcBlockItemWriter;
@@ -81,23 +82,32 @@ public interface BlockStreamModule {
         return impl;
     }
 
+    @Provides
+    @Singleton
+    static BlockFileCompression provideBlockFileCompression(@NonNull final ConfigProvider configProvider) {
+        final var blockStreamConfig = configProvider.getConfiguration().getConfigData(BlockStreamConfig.class);
+        return new BlockFileCompression(blockStreamConfig.blockFileCompressionThreads());
+    }
+
     @Provides
     @Singleton
     static Supplier<BlockItemWriter> bindBlockItemWriterSupplier(
             @NonNull final ConfigProvider configProvider,
             @NonNull final SelfNodeAccountIdManager selfNodeAccountIdManager,
             @NonNull final FileSystem fileSystem,
-            @NonNull final BlockBufferService blockBufferService) {
+            @NonNull final BlockBufferService blockBufferService,
+            @NonNull final BlockFileCompression compression) {
         final var config = configProvider.getConfiguration();
         final var blockStreamConfig = config.getConfigData(BlockStreamConfig.class);
 
         return switch (blockStreamConfig.writerMode()) {
-            case FILE -> () -> new FileBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem);
+            case FILE ->
+                () -> new FileBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem, compression);
             case GRPC ->
                 () -> new GrpcBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem, blockBufferService);
             case FILE_AND_GRPC ->
                 () -> new FileAndGrpcBlockItemWriter(
-                        configProvider, selfNodeAccountIdManager, fileSystem, blockBufferService);
+                        configProvider, selfNodeAccountIdManager, fileSystem, blockBufferService, compression);
         };
     }
 
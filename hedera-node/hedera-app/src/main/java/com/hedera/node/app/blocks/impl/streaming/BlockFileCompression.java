@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.blocks.impl.streaming;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Owns the thread pool that compresses block files in parallel (see {@link ParallelGzipOutputStream}), and tracks
+ * the block files still being compressed, so that nothing is left truncated or without its marker file.
+ *
+ * <p>A {@link FileBlockItemWriter} in parallel compression mode registers the completion of each block it closes
+ * with {@link #track(CompletableFuture)}, and orders the marker file of each block after the blocks tracked before
+ * it, so the handle thread never waits on compression. A freeze waits for {@link #pendingFuture()} before the
+ * freeze state is handed back to the platform, and {@link #shutdown(Duration)} waits for all pending blocks before
+ * stopping the pool.
+ */
+public class BlockFileCompression {
+    private static final Logger logger = LogManager.getLogger(BlockFileCompression.class);
+
+    private final ExecutorService executor;
+    private final int maxChunksInFlight;
+    private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new compression pool.
+     *
+     * @param threads the number of compression threads
+     */
+    public BlockFileCompression(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one compression thread is required");
+        }
+        this.executor = Executors.newFixedThreadPool(
+                threads,
+                Thread.ofPlatform().name("block-file-compression-", 0).daemon(true).factory());
+        // Enough chunks for every thread to compress one while the next ones are filled and written
+        this.maxChunksInFlight = 2 * threads + 1;
+    }
+
+    /**
+     * Returns the executor to compress block file chunks on.
+     */
+    public @NonNull Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Returns the maximum number of chunks a single block file may hold in memory at once.
+     */
+    public int maxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    /**
+     * Tracks a block file that is still being compressed and written, until the given future completes.
+     *
+     * @param blockWritten a future that completes once the block file and its marker file are written
+     */
+    public void track(@NonNull final CompletableFuture<Void> blockWritten) {
+        requireNonNull(blockWritten);
+        pending.add(blockWritten);
+        blockWritten.whenComplete((ignore, error) -> pending.remove(blockWritten));
+    }
+
+    /**
+     * Returns a future that completes once every block file tracked so far is completely written. Failures are
+     * logged by the writers and don't fail this future.
+     */
+    public @NonNull CompletableFuture<Void> pendingFuture() {
+        return CompletableFuture.allOf(pending.stream()
+                .map(future -> future.exceptionally(ignore -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Waits up to the given timeout for every pending block file to be completely written, then stops the pool.
+     *
+     * @param timeout the maximum time to wait for pending block files
+     */
+    public void shutdown(@NonNull final Duration timeout) {
+        requireNonNull(timeout);
+        try {
+            pendingFuture().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            logger.warn("{} block file(s) still being compressed after {}", pending.size(), timeout);
+        } catch (final ExecutionException e) {
+            // Not possible, failures are mapped to normal completion by pendingFuture()
+            logger.warn("Unexpected failure waiting for block file compression", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+    }
+}
@@ -11,6 +11,7 @@ import com.hedera.node.config.data.BlockStreamConfig;
 import com.hedera.node.internal.network.PendingProof;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.nio.file.FileSystem;
 
 /**
@@ -34,7 +35,27 @@ public class FileAndGrpcBlockItemWriter implements BlockItemWriter {
             @NonNull final SelfNodeAccountIdManager selfNodeAccountIdManager,
             @NonNull final FileSystem fileSystem,
             @NonNull final BlockBufferService blockBufferService) {
-        this.fileBlockItemWriter = new FileBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem);
+        this(configProvider, selfNodeAccountIdManager, fileSystem, blockBufferService, null);
+    }
+
+    /**
+     * Construct a new FileAndGrpcBlockItemWriter.
+     *
+     * @param configProvider configuration provider
+     * @param selfNodeAccountIdManager information about the current node
+     * @param fileSystem the file system to use for writing block files
+     * @param blockBufferService the block stream state manager
+     * @param compression the pool to compress block files on if parallel compression is enabled, or null to
+     *     always compress block files on the handle thread
+     */
+    public FileAndGrpcBlockItemWriter(
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final SelfNodeAccountIdManager selfNodeAccountIdManager,
+            @NonNull final FileSystem fileSystem,
+            @NonNull final BlockBufferService blockBufferService,
+            @Nullable final BlockFileCompression compression) {
+        this.fileBlockItemWriter =
+                new FileBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem, compression);
         this.grpcBlockItemWriter =
                 new GrpcBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem, blockBufferService);
         this.configProvider = requireNonNull(configProvider, "configProvider must not be null");
@@ -25,6 +25,7 @@ import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.swirlds.config.api.Configuration;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -40,6 +41,7 @@ import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 import java.util.zip.GZIPInputStream;
@@ -110,6 +112,29 @@ public class FileBlockItemWriter implements BlockItemWriter {
      */
     private final int blockFileBufferGzipSizeBytes;
 
+    /**
+     * The pool that compresses block files in independent chunks, if parallel compression is enabled.
+     */
+    @Nullable
+    private final BlockFileCompression compression;
+
+    /**
+     * The uncompressed size of each independently compressed chunk - in bytes.
+     */
+    private final int compressionChunkSizeBytes;
+
+    /**
+     * The parallel compression stream for the current block, if parallel compression is enabled.
+     */
+    @Nullable
+    private ParallelGzipOutputStream parallelGzipOut;
+
+    /**
+     * Completes once the current block has been fully compressed and written, if parallel compression is enabled.
+     */
+    @Nullable
+    private CompletableFuture<Void> pendingCompression;
+
     private enum State {
         UNINITIALIZED,
         OPEN,
@@ -117,7 +142,7 @@ public class FileBlockItemWriter implements BlockItemWriter {
     }
 
     /**
-     * Construct a new FileBlockItemWriter.
+     * Construct a new FileBlockItemWriter that compresses block files on the handle thread.
      *
      * @param configProvider configuration provider
      * @param selfNodeAccountIdManager information about the current node
@@ -127,6 +152,23 @@ public class FileBlockItemWriter implements BlockItemWriter {
             @NonNull final ConfigProvider configProvider,
             @NonNull final SelfNodeAccountIdManager selfNodeAccountIdManager,
             @NonNull final FileSystem fileSystem) {
+        this(configProvider, selfNodeAccountIdManager, fileSystem, null);
+    }
+
+    /**
+     * Construct a new FileBlockItemWriter.
+     *
+     * @param configProvider configuration provider
+     * @param selfNodeAccountIdManager information about the current node
+     * @param fileSystem the file system to use for writing block files
+     * @param compression the pool to compress block files on if parallel compression is enabled, or null to
+     *     always compress block files on the handle thread
+     */
+    public FileBlockItemWriter(
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final SelfNodeAccountIdManager selfNodeAccountIdManager,
+            @NonNull final FileSystem fileSystem,
+            @Nullable final BlockFileCompression compression) {
         requireNonNull(configProvider, "The supplied argument 'configProvider' cannot be null!");
         requireNonNull(selfNodeAccountIdManager, "The supplied argument 'nodeInfo' cannot be null!");
         requireNonNull(fileSystem, "The supplied argument 'fileSystem' cannot be null!");
@@ -138,6 +180,8 @@ public class FileBlockItemWriter implements BlockItemWriter {
         blockFileBufferOuterSizeBytes = ONE_KB_BYTES * blockStreamConfig.blockFileBufferOuterSizeKb();
         blockFileBufferInnerSizeBytes = ONE_KB_BYTES * blockStreamConfig.blockFileBufferInnerSizeKb();
         blockFileBufferGzipSizeBytes = ONE_KB_BYTES * blockStreamConfig.blockFileBufferGzipSizeKb();
+        this.compression = blockStreamConfig.blockFileParallelCompression() ? compression : null;
+        compressionChunkSizeBytes = ONE_KB_BYTES * blockStreamConfig.blockFileCompressionChunkSizeKb();
 
         // Compute directory for block files
         final Path blockDir = fileSystem.getPath(blockStreamConfig.blockFileDir());
@@ -358,11 +402,21 @@ public class FileBlockItemWriter implements BlockItemWriter {
             While each buffer can be independently sized, a general rule of thumb for sizing is:
             OuterBufferSize > InnerBufferSize > GZIPBufferSize in a 16:4:1 ratio
             e.g. Outer: 4096 KB, Inner: 1024 KB, GZIP: 256 KB
+
+            With parallel compression enabled, the GZIP buffer is replaced by a stream that hands full chunks to the
+            compression pool, so the handle thread only pays for copying bytes and computing the CRC. The
+            output is still a single standard gzip member, so no reader needs to know which mode produced it.
              */
 
             out = Files.newOutputStream(blockFilePath);
             out = new BufferedOutputStream(out, blockFileBufferInnerSizeBytes);
-            out = new GZIPOutputStream(out, blockFileBufferGzipSizeBytes);
+            if (compression != null) {
+                parallelGzipOut = new ParallelGzipOutputStream(
+                        out, compression.executor(), compressionChunkSizeBytes, compression.maxChunksInFlight());
+                out = parallelGzipOut;
+            } else {
+                out = new GZIPOutputStream(out, blockFileBufferGzipSizeBytes);
+            }
             out = new BufferedOutputStream(out, blockFileBufferOuterSizeBytes);
 
             this.writableStreamingData = new WritableStreamingData(out);
@@ -432,6 +486,10 @@ public class FileBlockItemWriter implements BlockItemWriter {
             throw new IllegalStateException("Cannot close a FileBlockItemWriter that is already closed");
         }
 
+        if (parallelGzipOut != null) {
+            closeCompleteBlockAsync();
+            return;
+        }
         // Close the writableStreamingData.
         try {
             writableStreamingData.close();
@@ -439,27 +497,80 @@ public class FileBlockItemWriter implements BlockItemWriter {
             if (logger.isDebugEnabled()) {
                 logger.debug("Closed block in FileBlockItemWriter {}", blockNumber);
             }
-
-            // Write a .mf file to indicate that the block file is complete.
-            final Path markerFile = pathOf(blockNumber, name -> name + ".mf");
-            if (Files.exists(markerFile)) {
-                logger.info("Skipping block marker file for {} as it already exists", markerFile);
-            } else {
-                Files.createFile(markerFile);
-            }
+            writeMarkerFile(blockNumber);
         } catch (final IOException e) {
             logger.error("Error closing the FileBlockItemWriter output stream", e);
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Flushes any buffered items into the parallel compression stream and lets the remaining compression, the
+     * gzip trailer and the marker file complete in the background, so that closing a block never waits on
+     * compression throughput. The marker file is only written once this block file is complete and every
+     * previously closed block has its marker file, so marker files still appear in block order.
+     */
+    private void closeCompleteBlockAsync() {
+        final var gzipOut = requireNonNull(parallelGzipOut);
+        final var compression = requireNonNull(this.compression);
+        writableStreamingData.flush();
+        state = State.CLOSED;
+        final long closedBlockNumber = blockNumber;
+        final var previousBlocksWritten = compression.pendingFuture();
+        pendingCompression = gzipOut.closeAsync().thenCombine(previousBlocksWritten, (a, b) -> b).thenRun(() -> {
+            try {
+                writeMarkerFile(closedBlockNumber);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Closed block in FileBlockItemWriter {}", closedBlockNumber);
+            }
+        });
+        pendingCompression.exceptionally(t -> {
+            logger.error("Error compressing block file for block {}", closedBlockNumber, t);
+            return null;
+        });
+        compression.track(pendingCompression);
+    }
+
+    /**
+     * Writes a {@code .mf} file to indicate that the block file is complete.
+     *
+     * @param blockNumber the number of the completed block
+     */
+    private void writeMarkerFile(final long blockNumber) throws IOException {
+        final Path markerFile = pathOf(blockNumber, name -> name + ".mf");
+        if (Files.exists(markerFile)) {
+            logger.info("Skipping block marker file for {} as it already exists", markerFile);
+        } else {
+            Files.createFile(markerFile);
+        }
+    }
+
+    /**
+     * Returns a future that completes once the last closed block has been fully compressed and written to disk,
+     * along with its marker file. Without parallel compression, blocks are written synchronously and the returned
+     * future is already complete.
+     *
+     * @return a future for the completion of the last closed block
+     */
+    public CompletableFuture<Void> pendingCompression() {
+        return pendingCompression == null ? CompletableFuture.completedFuture(null) : pendingCompression;
+    }
+
     @Override
     public void flushPendingBlock(@NonNull final PendingProof pendingProof) {
         requireNonNull(pendingProof);
         if (state == State.OPEN) {
             try {
-                writableStreamingData.close();
-                writableStreamingData.flush();
+                if (parallelGzipOut != null) {
+                    writableStreamingData.flush();
+                    parallelGzipOut.close();
+                } else {
+                    writableStreamingData.close();
+                    writableStreamingData.flush();
+                }
                 Files.move(pathOf(blockNumber, completeFileName), pathOf(blockNumber, pendingFileName));
             } catch (IOException e) {
                 logger.error("Error flushing pending block #{}", blockNumber, e);
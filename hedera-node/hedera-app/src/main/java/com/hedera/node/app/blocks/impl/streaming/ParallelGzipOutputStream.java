@@ -0,0 +1,306 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.blocks.impl.streaming;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An {@link OutputStream} that produces a single standard gzip member, but compresses its input in fixed-size
+ * chunks on a background {@link Executor}, following the approach of {@code pigz}.
+ *
+ * <p>Each chunk is compressed as an independent raw deflate stream ending on a byte boundary (via
+ * {@link Deflater#SYNC_FLUSH}), primed with the last 32 KiB of the previous chunk as a preset dictionary so the
+ * compression ratio stays close to that of a single-threaded {@link java.util.zip.GZIPOutputStream}. Only the
+ * final chunk sets the {@code BFINAL} bit, so the concatenated output is one valid deflate stream, and any
+ * gzip reader (including {@link java.util.zip.GZIPInputStream}) can read it unchanged.
+ *
+ * <p>Compressed chunks are written to the underlying stream strictly in order, by whichever thread completes
+ * the preceding chunk. The CRC-32 of the uncompressed data is computed on the caller thread as bytes arrive.
+ *
+ * <p>At most {@code maxChunksInFlight} chunks, including the one being filled, are held at any time. A writer
+ * that fills a chunk while that many are still being compressed or written waits for one of them to complete,
+ * so a fast producer can't grow the heap beyond that bound. Chunk buffers are reused once compressed.
+ *
+ * <p>This class is not thread-safe for concurrent writers; like any other {@link OutputStream} it must be
+ * written to by one thread at a time.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /** The maximum size of a deflate back-reference window, and hence of a useful preset dictionary. */
+    static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /** The fixed gzip header: magic, CM=deflate, no flags, no mtime, no extra flags, OS=unknown. */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /** Per-thread deflaters, reset between chunks, so compression threads do not allocate native zlib state. */
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+    /** Per-thread scratch buffers for deflate output. */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+
+    private final OutputStream out;
+    private final Executor executor;
+    private final int chunkSize;
+    private final CRC32 crc = new CRC32();
+    /** One permit per chunk that may be held, from the time its buffer is taken until it is written. */
+    private final Semaphore chunksInFlight;
+    /** Chunk buffers that have been compressed and can be filled again. */
+    private final ConcurrentLinkedQueue<byte[]> freeChunks = new ConcurrentLinkedQueue<>();
+
+    /** The chunk currently being filled by the caller. */
+    private byte[] chunk;
+    /** The number of valid bytes in {@link #chunk}. */
+    private int chunkLength;
+    /** The dictionary for the next chunk submitted, i.e. the tail of the last chunk submitted. */
+    @Nullable
+    private byte[] dictionary;
+    /** The total number of uncompressed bytes written, modulo 2^32 per the gzip spec. */
+    private long totalIn;
+    /** Completes once every chunk submitted so far has been written to the underlying stream. */
+    private CompletableFuture<Void> tail;
+    /** Set once {@link #closeAsync()} has been called. */
+    @Nullable
+    private CompletableFuture<Void> closeFuture;
+
+    /**
+     * Creates a new parallel gzip stream, writing the gzip header to the given stream immediately.
+     *
+     * @param out the stream to write compressed data to; closed when this stream is closed
+     * @param executor the executor to run chunk compression on
+     * @param chunkSize the number of uncompressed bytes per independently compressed chunk
+     * @param maxChunksInFlight the maximum number of chunks held at once, including the one being filled
+     * @throws IOException if the gzip header cannot be written
+     */
+    public ParallelGzipOutputStream(
+            @NonNull final OutputStream out,
+            @NonNull final Executor executor,
+            final int chunkSize,
+            final int maxChunksInFlight)
+            throws IOException {
+        this.out = requireNonNull(out);
+        this.executor = requireNonNull(executor);
+        if (chunkSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be at least " + DICTIONARY_SIZE + " bytes");
+        }
+        if (maxChunksInFlight < 2) {
+            throw new IllegalArgumentException("At least two chunks must be allowed in flight");
+        }
+        this.chunkSize = chunkSize;
+        this.chunksInFlight = new Semaphore(maxChunksInFlight - 1);
+        this.chunk = new byte[chunkSize];
+        out.write(GZIP_HEADER);
+        this.tail = CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        chunk[chunkLength++] = (byte) b;
+        crc.update(b);
+        totalIn++;
+        if (chunkLength == chunkSize) {
+            submitChunk(false);
+        }
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, b.length);
+        crc.update(b, off, len);
+        totalIn += len;
+        while (len > 0) {
+            final int n = Math.min(len, chunkSize - chunkLength);
+            System.arraycopy(b, off, chunk, chunkLength, n);
+            chunkLength += n;
+            off += n;
+            len -= n;
+            if (chunkLength == chunkSize) {
+                submitChunk(false);
+            }
+        }
+    }
+
+    /**
+     * Does nothing; partially filled chunks are only compressed once full or when the stream is closed, since
+     * flushing a short chunk would only hurt the compression ratio.
+     */
+    @Override
+    public void flush() {
+        // Intentionally empty
+    }
+
+    /**
+     * Submits the final chunk and returns a future that completes once all compressed data and the gzip trailer
+     * have been written and the underlying stream has been closed. The caller is not blocked on compression.
+     *
+     * @return a future completing when the stream is fully written and closed
+     */
+    public synchronized CompletableFuture<Void> closeAsync() {
+        if (closeFuture == null) {
+            try {
+                submitChunk(true);
+            } catch (final InterruptedIOException e) {
+                // Not possible, the last chunk never waits for a new buffer
+                throw new IllegalStateException(e);
+            }
+            final byte[] trailer = trailer(crc.getValue(), totalIn);
+            closeFuture = tail.thenRun(() -> {
+                        try {
+                            out.write(trailer);
+                            out.flush();
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .whenComplete((ignore, error) -> {
+                        try {
+                            out.close();
+                        } catch (final IOException e) {
+                            if (error == null) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    });
+        }
+        return closeFuture;
+    }
+
+    /**
+     * Closes this stream, waiting for all pending chunks to be compressed and written.
+     *
+     * @throws IOException if compressing or writing any chunk failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            closeAsync().join();
+        } catch (final CompletionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof UncheckedIOException uioe) {
+                throw uioe.getCause();
+            }
+            throw new IOException("Failed to write compressed block data", cause);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closeFuture != null) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submitChunk(final boolean last) throws InterruptedIOException {
+        final byte[] input = chunk;
+        final int inputLength = chunkLength;
+        final byte[] dict = dictionary;
+        if (inputLength >= DICTIONARY_SIZE) {
+            dictionary = Arrays.copyOfRange(input, inputLength - DICTIONARY_SIZE, inputLength);
+        } else if (inputLength > 0) {
+            // Only possible for the last chunk, so the dictionary is never used again
+            dictionary = null;
+        }
+        CompletableFuture<byte[]> compressed;
+        try {
+            compressed = CompletableFuture.supplyAsync(
+                    () -> {
+                        final byte[] bytes = deflate(input, inputLength, dict, last);
+                        freeChunks.offer(input);
+                        return bytes;
+                    },
+                    executor);
+        } catch (final RejectedExecutionException e) {
+            compressed = CompletableFuture.failedFuture(e);
+        }
+        tail = tail.thenCombine(compressed, (ignore, bytes) -> {
+            try {
+                out.write(bytes);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+        // The combined stage completes only once the chunk is compressed, whether or not any earlier chunk failed
+        tail.whenComplete((ignore, error) -> chunksInFlight.release());
+        if (!last) {
+            chunk = nextChunk();
+            chunkLength = 0;
+        }
+    }
+
+    /**
+     * Takes a buffer for the next chunk, waiting while the maximum number of chunks is in flight.
+     */
+    private byte[] nextChunk() throws InterruptedIOException {
+        try {
+            chunksInFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a block file compression chunk");
+        }
+        final byte[] free = freeChunks.poll();
+        return free != null ? free : new byte[chunkSize];
+    }
+
+    /**
+     * Compresses one chunk as raw deflate data that ends on a byte boundary, or with a final block if this is the
+     * last chunk of the stream.
+     */
+    static byte[] deflate(
+            @NonNull final byte[] input, final int length, @Nullable final byte[] dictionary, final boolean last) {
+        final var deflater = DEFLATERS.get();
+        final var buffer = SCRATCH.get();
+        deflater.reset();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(input, 0, length);
+        final var result = new ByteArrayOutputStream(Math.max(64, length / 2));
+        if (last) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                final int n = deflater.deflate(buffer);
+                result.write(buffer, 0, n);
+            }
+        } else {
+            int n;
+            do {
+                n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                result.write(buffer, 0, n);
+            } while (n == buffer.length);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] trailer(final long crc, final long totalIn) {
+        final byte[] trailer = new byte[8];
+        writeIntLe(trailer, 0, crc);
+        writeIntLe(trailer, 4, totalIn);
+        return trailer;
+    }
+
+    private static void writeIntLe(@NonNull final byte[] dest, final int offset, final long value) {
+        dest[offset] = (byte) value;
+        dest[offset + 1] = (byte) (value >>> 8);
+        dest[offset + 2] = (byte) (value >>> 16);
+        dest[offset + 3] = (byte) (value >>> 24);
+    }
+}
@@ -8,11 +8,20 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Counter;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hiero.consensus.metrics.RunningAverageMetric;
 import org.hiero.consensus.metrics.SpeedometerMetric;
 
 /**
@@ -37,6 +46,19 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     private static final String SPEEDOMETER_HANDLED_DESC_TPL = "number of %s handled per second";
     private static final String SPEEDOMETER_RECEIVED_NAME_TPL = "%sRcv_per_sec";
     private static final String SPEEDOMETER_RECEIVED_DESC_TPL = "number of %s received per second";
+    private static final String QUEUE_TIME_NAME_TPL = "%sQueueMs";
+    private static final String QUEUE_TIME_DESC_TPL = "average ms a dispatched %s waited before handling";
+    private static final String EXEC_TIME_NAME_TPL = "%sExecMs";
+    private static final String EXEC_TIME_DESC_TPL = "average ms spent handling a dispatched %s";
+    private static final String COUNTER_BUSY_NAME_TPL = "%sBusy";
+    private static final String COUNTER_BUSY_DESC_TPL = "number of dispatched %s answered BUSY after waiting too long";
+
+    /**
+     * The most response buffers kept for reuse by dispatched calls. Dispatched calls run on short-lived virtual
+     * threads, so they cannot use {@link #BUFFER_THREAD_LOCAL}; beyond this many concurrent calls, extra buffers are
+     * allocated and left to the garbage collector rather than retained.
+     */
+    private static final int MAX_POOLED_RESPONSE_BUFFERS = 32;
 
     /**
      * Per-thread shared {@link BufferedData} for responses. We store these in a thread local, because we do
@@ -49,6 +71,29 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
     private static final ThreadLocal<BufferedData> BUFFER_THREAD_LOCAL =
             ThreadLocal.withInitial(() -> BufferedData.allocate(MAX_RESPONSE_SIZE));
 
+    /** Shared {@link BufferedData}s for the responses of dispatched calls. */
+    private static final BlockingQueue<BufferedData> RESPONSE_BUFFER_POOL =
+            new ArrayBlockingQueue<>(MAX_POOLED_RESPONSE_BUFFERS);
+
+    /**
+     * How calls to a method are handed off from the thread that received them.
+     *
+     * @param executor the executor to handle calls on, typically creating a virtual thread per call
+     * @param maxConcurrency the most calls to the method that may be handled at once; others wait their turn
+     * @param maxWaitMs the most milliseconds a call waits for its turn before it is answered with BUSY
+     */
+    public record Dispatch(@NonNull Executor executor, int maxConcurrency, long maxWaitMs) {
+        public Dispatch {
+            requireNonNull(executor);
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be positive, not " + maxConcurrency);
+            }
+            if (maxWaitMs < 0) {
+                throw new IllegalArgumentException("maxWaitMs must be non-negative, not " + maxWaitMs);
+            }
+        }
+    }
+
     /** The name of the service associated with this method. */
     protected final String serviceName;
 
@@ -72,17 +117,39 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
 
     private final int maxMessageSize;
 
+    /** If not null, how to dispatch calls off the thread that received them */
+    @Nullable
+    private final Dispatch dispatch;
+
+    /** If dispatching, limits the number of calls handled at once */
+    @Nullable
+    private final Semaphore concurrencyLimit;
+
+    /** If dispatching, the average time between receiving a call and starting to handle it */
+    @Nullable
+    private final RunningAverageMetric queueTimeMs;
+
+    /** If dispatching, the average time spent handling a call */
+    @Nullable
+    private final RunningAverageMetric execTimeMs;
+
+    /** If dispatching, a metric for the number of calls answered with BUSY because they waited too long */
+    @Nullable
+    private final Counter callsBusyCounter;
+
     /**
      * Create a new instance.
      *
      * @param serviceName a non-null reference to the service name
      * @param methodName a non-null reference to the method name
+     * @param dispatch if not null, how to dispatch calls off the thread that received them
      */
     MethodBase(
             @NonNull final String serviceName,
             @NonNull final String methodName,
             @NonNull final Metrics metrics,
-            final int maxMessageSize) {
+            final int maxMessageSize,
+            @Nullable final Dispatch dispatch) {
 
         this.serviceName = requireNonNull(serviceName);
         this.methodName = requireNonNull(methodName);
@@ -94,6 +161,19 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
         this.callsReceivedSpeedometer =
                 speedometer(metrics, SPEEDOMETER_RECEIVED_NAME_TPL, SPEEDOMETER_RECEIVED_DESC_TPL);
         this.maxMessageSize = maxMessageSize;
+
+        this.dispatch = dispatch;
+        if (dispatch != null) {
+            this.concurrencyLimit = new Semaphore(dispatch.maxConcurrency());
+            this.queueTimeMs = runningAverage(metrics, QUEUE_TIME_NAME_TPL, QUEUE_TIME_DESC_TPL);
+            this.execTimeMs = runningAverage(metrics, EXEC_TIME_NAME_TPL, EXEC_TIME_DESC_TPL);
+            this.callsBusyCounter = counter(metrics, COUNTER_BUSY_NAME_TPL, COUNTER_BUSY_DESC_TPL);
+        } else {
+            this.concurrencyLimit = null;
+            this.queueTimeMs = null;
+            this.execTimeMs = null;
+            this.callsBusyCounter = null;
+        }
     }
 
     @Override
@@ -112,18 +192,80 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
             return;
         }
 
+        if (dispatch == null) {
+            respond(requestBytes(requestBuffer), BUFFER_THREAD_LOCAL.get(), responseObserver, false);
+            return;
+        }
+
+        // The request buffer belongs to this (event loop) thread and is reused for its next request, so the
+        // dispatched call needs its own copy
+        final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
+        final long receivedAt = System.nanoTime();
+        try {
+            dispatch.executor().execute(() -> respondDispatched(requestBytes, responseObserver, receivedAt));
+        } catch (final RejectedExecutionException e) {
+            callsFailedCounter.increment();
+            responseObserver.onError(new StatusRuntimeException(Status.UNAVAILABLE));
+        }
+    }
+
+    /**
+     * Handles a dispatched call once it is within this method's concurrency limit, recording how long it waited and
+     * how long it took, so that I/O-bound methods can be told apart from CPU-bound ones. A call that cannot get
+     * within the limit in {@link Dispatch#maxWaitMs()} is answered with BUSY instead, so that the calls waiting on a
+     * slow method (and their virtual threads and request copies) cannot pile up without bound.
+     */
+    private void respondDispatched(
+            @NonNull final Bytes requestBytes,
+            @NonNull final StreamObserver<BufferedData> responseObserver,
+            final long receivedAt) {
+        final var limit = requireNonNull(concurrencyLimit);
+        final boolean acquired;
+        try {
+            acquired = limit.tryAcquire(requireNonNull(dispatch).maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            callsFailedCounter.increment();
+            responseObserver.onError(new StatusRuntimeException(Status.CANCELLED));
+            return;
+        }
+        final var responseBuffer = borrowResponseBuffer();
+        try {
+            if (!acquired) {
+                requireNonNull(callsBusyCounter).increment();
+                respond(requestBytes, responseBuffer, responseObserver, true);
+                return;
+            }
+            final long startedAt = System.nanoTime();
+            requireNonNull(queueTimeMs).update((startedAt - receivedAt) / 1_000_000.0);
+            respond(requestBytes, responseBuffer, responseObserver, false);
+            requireNonNull(execTimeMs).update((System.nanoTime() - startedAt) / 1_000_000.0);
+        } finally {
+            RESPONSE_BUFFER_POOL.offer(responseBuffer);
+            if (acquired) {
+                limit.release();
+            }
+        }
+    }
+
+    private void respond(
+            @NonNull final Bytes requestBytes,
+            @NonNull final BufferedData responseBuffer,
+            @NonNull final StreamObserver<BufferedData> responseObserver,
+            final boolean busy) {
         try {
             // Prepare the response buffer
-            final var responseBuffer = BUFFER_THREAD_LOCAL.get();
             responseBuffer.reset();
 
-            // Convert the request BufferedData to a Bytes instance without copying the bytes
-            final var requestBytes = requestBuffer.getBytes(0, requestBuffer.length());
-
-            // Call the workflow
-            handle(requestBytes, responseBuffer);
+            // Call the workflow, unless the call waited too long to be handled
+            if (busy) {
+                handleBusy(requestBytes, responseBuffer);
+            } else {
+                handle(requestBytes, responseBuffer);
+            }
 
-            // Respond to the client
+            // Respond to the client; the response is serialized before onNext() returns, so the
+            // buffer may be reused as soon as this method completes
             responseBuffer.flip();
             responseObserver.onNext(responseBuffer);
             responseObserver.onCompleted();
@@ -141,6 +283,25 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
         }
     }
 
+    private static BufferedData borrowResponseBuffer() {
+        final var pooled = RESPONSE_BUFFER_POOL.poll();
+        return pooled != null ? pooled : BufferedData.allocate(MAX_RESPONSE_SIZE);
+    }
+
+    /**
+     * Returns the bytes of the given request to pass to {@link #handle(Bytes, BufferedData)}. By default, this is a
+     * copy, so that implementations are free to retain any part of the request after the call; subclasses whose
+     * workflows copy out only what they retain may instead return a view of the (reused) request buffer. Not used
+     * for dispatched calls, which always copy their request before leaving the receiving thread.
+     *
+     * @param requestBuffer The {@link BufferedData} the request was read into
+     * @return The request bytes
+     */
+    @NonNull
+    protected Bytes requestBytes(@NonNull final BufferedData requestBuffer) {
+        return requestBuffer.getBytes(0, requestBuffer.length());
+    }
+
     /**
      * Called to handle the method invocation. Implementations should <b>only</b> throw a {@link RuntimeException}
      * if a gRPC <b>ERROR</b> is to be returned.
@@ -150,6 +311,16 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
      */
     protected abstract void handle(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer);
 
+    /**
+     * Called instead of {@link #handle(Bytes, BufferedData)} when a dispatched call waited too long to be handled, to
+     * answer it with BUSY without doing any of its work. Implementations should <b>only</b> throw a
+     * {@link RuntimeException} if a gRPC <b>ERROR</b> is to be returned.
+     *
+     * @param requestBuffer The {@link Bytes} containing the protobuf bytes for the request
+     * @param responseBuffer A {@link BufferedData} into which the response protobuf bytes may be written
+     */
+    protected abstract void handleBusy(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer);
+
     /**
      * Helper method for creating a {@link Counter} metric.
      *
@@ -186,6 +357,26 @@ public abstract class MethodBase implements ServerCalls.UnaryMethod<BufferedData
         return metrics.getOrCreate(new SpeedometerMetric.Config("app", name).withDescription(desc));
     }
 
+    /**
+     * Helper method for creating a {@link RunningAverageMetric} metric of milliseconds.
+     *
+     * @param metrics The {@link Metrics} object to use to create the metric.
+     * @param nameTemplate A template to use for generating the metric name
+     * @param descriptionTemplate A template to use for generating the metric description
+     * @return The metric
+     */
+    private @NonNull RunningAverageMetric runningAverage(
+            @NonNull final Metrics metrics,
+            @NonNull final String nameTemplate,
+            @NonNull final String descriptionTemplate) {
+        final String baseName = calculateBaseName();
+        final var name = String.format(nameTemplate, baseName);
+        final var desc = String.format(descriptionTemplate, baseName);
+        return metrics.getOrCreate(new RunningAverageMetric.Config("app", name)
+                .withDescription(desc)
+                .withUnit("ms"));
+    }
+
     private String calculateBaseName() {
         return serviceName.substring("proto.".length()).replace('.', ':') + ":" + methodName;
     }
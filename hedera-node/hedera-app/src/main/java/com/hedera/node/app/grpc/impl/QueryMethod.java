@@ -10,6 +10,7 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Counter;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import org.hiero.consensus.metrics.SpeedometerMetric;
 
 /**
@@ -50,7 +51,26 @@ public final class QueryMethod extends MethodBase {
             @NonNull final QueryWorkflow workflow,
             @NonNull final Metrics metrics,
             final int maxMessageSize) {
-        super(serviceName, methodName, metrics, maxMessageSize);
+        this(serviceName, methodName, workflow, metrics, maxMessageSize, null);
+    }
+
+    /**
+     * Create a new QueryMethod.
+     *
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param workflow a non-null {@link QueryWorkflow}
+     * @param maxMessageSize the maximum message size
+     * @param dispatch if not null, how to dispatch calls off the gRPC thread that received them
+     */
+    public QueryMethod(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final QueryWorkflow workflow,
+            @NonNull final Metrics metrics,
+            final int maxMessageSize,
+            @Nullable final Dispatch dispatch) {
+        super(serviceName, methodName, metrics, maxMessageSize, dispatch);
         this.workflow = requireNonNull(workflow);
         this.queriesAnsweredCounter = counter(metrics, COUNTER_ANSWERED_NAME_TPL, COUNTER_ANSWERED_DESC_TPL);
         this.queriesAnsweredSpeedometer =
@@ -64,4 +84,10 @@ public final class QueryMethod extends MethodBase {
         queriesAnsweredCounter.increment();
         queriesAnsweredSpeedometer.cycle();
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void handleBusy(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer) {
+        workflow.handleBusyQuery(requestBuffer, responseBuffer);
+    }
 }
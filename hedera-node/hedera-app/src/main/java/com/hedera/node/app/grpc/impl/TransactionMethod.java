@@ -1,12 +1,19 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.node.app.grpc.impl;
 
+import static com.hedera.hapi.node.base.ResponseCodeEnum.BUSY;
+
 import com.hedera.hapi.node.base.Transaction;
+import com.hedera.hapi.node.transaction.TransactionResponse;
+import com.hedera.node.app.grpc.impl.netty.RequestBuffers;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 
 /**
@@ -18,6 +25,10 @@ import java.util.Objects;
  */
 /*@ThreadSafe*/
 public final class TransactionMethod extends MethodBase {
+    /** The response to a transaction that waited too long to be ingested. */
+    private static final TransactionResponse BUSY_RESPONSE =
+            TransactionResponse.newBuilder().nodeTransactionPrecheckCode(BUSY).build();
+
     /** The pipeline contains all the steps needed for handling the ingestion of a transaction. */
     private final IngestWorkflow workflow;
 
@@ -33,13 +44,52 @@ public final class TransactionMethod extends MethodBase {
             @NonNull final IngestWorkflow workflow,
             @NonNull final Metrics metrics,
             final int maxMessageSize) {
-        super(serviceName, methodName, metrics, maxMessageSize);
+        this(serviceName, methodName, workflow, metrics, maxMessageSize, null);
+    }
+
+    /**
+     * @param serviceName a non-null reference to the service name
+     * @param methodName a non-null reference to the method name
+     * @param workflow a non-null {@link IngestWorkflow}
+     * @param maxMessageSize the maximum message size
+     * @param dispatch if not null, how to dispatch calls off the gRPC thread that received them
+     */
+    public TransactionMethod(
+            @NonNull final String serviceName,
+            @NonNull final String methodName,
+            @NonNull final IngestWorkflow workflow,
+            @NonNull final Metrics metrics,
+            final int maxMessageSize,
+            @Nullable final Dispatch dispatch) {
+        super(serviceName, methodName, metrics, maxMessageSize, dispatch);
         this.workflow = Objects.requireNonNull(workflow);
     }
 
+    /**
+     * Returns a view of the request without copying it, when it was read into a gRPC request buffer. The
+     * {@link IngestWorkflow} only copies the bytes of transactions it actually submits, so rejected transactions
+     * never cost an allocation proportional to their size.
+     */
+    @NonNull
+    @Override
+    protected Bytes requestBytes(@NonNull final BufferedData requestBuffer) {
+        final var view = RequestBuffers.viewOf(requestBuffer);
+        return view != null ? view : super.requestBytes(requestBuffer);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void handle(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer) {
         workflow.submitTransaction(requestBuffer, responseBuffer);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void handleBusy(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer) {
+        try {
+            TransactionResponse.PROTOBUF.write(BUSY_RESPONSE, responseBuffer);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to write bytes to response buffer", e);
+        }
+    }
 }
@@ -7,7 +7,6 @@ import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.grpc.MethodDescriptor;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 
 /**
  * A thread-safe implementation of a gRPC marshaller which does nothing but pass through byte arrays as {@link
@@ -20,16 +19,6 @@ final class DataBufferMarshaller implements MethodDescriptor.Marshaller<Buffered
     private final int bufferCapacity;
     private final int tooBigMessageSize;
 
-    /**
-     * Per-thread shared ByteBuffer for reading. We store these in a thread local, because we do not
-     * have control over the thread pool used by the underlying gRPC server.
-     */
-    @SuppressWarnings(
-            "java:S5164") // looks like a false positive ("ThreadLocal" variables should be cleaned up when no longer
-    // used), but these threads are long-lived and the lifetime of the thread local is the same as
-    // the application
-    private static final ThreadLocal<BufferedData> BUFFER_THREAD_LOCAL = new ThreadLocal<>();
-
     /** Constructs a new {@link DataBufferMarshaller}. Only called by {@link GrpcServiceBuilder}. */
     DataBufferMarshaller(final int bufferCapacity, final int maxMessageSize) {
         if (bufferCapacity < maxMessageSize) {
@@ -57,13 +46,9 @@ final class DataBufferMarshaller implements MethodDescriptor.Marshaller<Buffered
         // of the Google protobuf implementation.
         requireNonNull(stream);
 
-        // Each thread has a single buffer instance that gets reused over and over.
-        BufferedData buffer = BUFFER_THREAD_LOCAL.get();
-        if (buffer == null) {
-            buffer = BufferedData.wrap(ByteBuffer.allocate(bufferCapacity));
-            BUFFER_THREAD_LOCAL.set(buffer);
-        }
-        buffer.reset();
+        // Each thread has a single buffer instance that gets reused over and over. Its backing array is
+        // exposed through RequestBuffers.viewOf() so the ingest workflow can parse without copying.
+        final var buffer = RequestBuffers.acquire(bufferCapacity);
 
         // We sized the buffer to be 1 byte larger than the max transaction size.
         // If we have filled the buffer, it means the message had too many bytes,
@@ -14,9 +14,11 @@ import com.hedera.node.app.workflows.query.QueryWorkflow;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.data.HederaConfig;
 import com.hedera.node.config.data.JumboTransactionsConfig;
+import com.hedera.node.config.data.NettyConfig;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.MethodDescriptor.MethodType;
@@ -30,6 +32,7 @@ import io.grpc.stub.StreamObserver;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -94,6 +97,13 @@ final class GrpcServiceBuilder {
      */
     private final Set<String> queryMethodNames = new HashSet<>();
 
+    /**
+     * If not null, the executor to handle calls on when {@link NettyConfig} asks for calls to be handled on
+     * virtual threads rather than on the Netty worker thread that received them.
+     */
+    @Nullable
+    private Executor dispatchExecutor;
+
     /**
      * Creates a new builder. Typically only a single builder instance is created per service.
      *
@@ -157,6 +167,18 @@ final class GrpcServiceBuilder {
         return this;
     }
 
+    /**
+     * Sets the executor to handle calls on, for whichever kinds of call {@link NettyConfig} says should be
+     * handled off the Netty worker threads. Without one, all calls are handled on the thread that received them.
+     *
+     * @param executor The executor, typically creating a virtual thread per task
+     * @return A reference to the builder.
+     */
+    public @NonNull GrpcServiceBuilder dispatchExecutor(@Nullable final Executor executor) {
+        this.dispatchExecutor = executor;
+        return this;
+    }
+
     /**
      * Build a grpc {@link ServerServiceDefinition} for each transaction and query method registered with this builder.
      *
@@ -173,6 +195,13 @@ final class GrpcServiceBuilder {
                 .getConfiguration()
                 .getConfigData(HederaConfig.class)
                 .transactionMaxBytes();
+        final var nettyConfig = configProvider.getConfiguration().getConfigData(NettyConfig.class);
+        final var dispatch = dispatchExecutor == null
+                ? null
+                : new MethodBase.Dispatch(
+                        dispatchExecutor, nettyConfig.maxDispatchedCallsPerMethod(), nettyConfig.maxDispatchWaitMs());
+        final var txDispatch = nettyConfig.virtualThreadTransactions() ? dispatch : null;
+        final var queryDispatch = nettyConfig.virtualThreadQueries() ? dispatch : null;
 
         final var builder = ServerServiceDefinition.builder(serviceName);
         txMethodNames.forEach(methodName -> {
@@ -181,17 +210,20 @@ final class GrpcServiceBuilder {
 
             if (jumboTxnIsEnabled && jumboTxnConfig.grpcMethodNames().contains(methodName)) {
                 // add jumbo transaction methods
-                method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics, jumboTxnMaxSize);
+                method = new TransactionMethod(
+                        serviceName, methodName, ingestWorkflow, metrics, jumboTxnMaxSize, txDispatch);
                 addMethod(builder, serviceName, methodName, method, jumboMarshaller);
             } else {
                 // add regular transaction methods
-                method = new TransactionMethod(serviceName, methodName, ingestWorkflow, metrics, MAX_TRANSACTION_SIZE);
+                method = new TransactionMethod(
+                        serviceName, methodName, ingestWorkflow, metrics, MAX_TRANSACTION_SIZE, txDispatch);
                 addMethod(builder, serviceName, methodName, method, marshaller);
             }
         });
         queryMethodNames.forEach(methodName -> {
             logger.debug("Registering gRPC query method {}.{}", serviceName, methodName);
-            final var method = new QueryMethod(serviceName, methodName, queryWorkflow, metrics, messageMaxSize);
+            final var method =
+                    new QueryMethod(serviceName, methodName, queryWorkflow, metrics, messageMaxSize, queryDispatch);
             addMethod(builder, serviceName, methodName, method, marshaller);
         });
         return builder.build();
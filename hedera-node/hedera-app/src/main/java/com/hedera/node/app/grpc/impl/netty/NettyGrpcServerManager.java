@@ -4,6 +4,7 @@ package com.hedera.node.app.grpc.impl.netty;
 import static io.netty.handler.ssl.SupportedCipherSuiteFilter.INSTANCE;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.hedera.hapi.node.base.Transaction;
 import com.hedera.hapi.node.transaction.Query;
 import com.hedera.node.app.grpc.GrpcServerManager;
@@ -40,6 +41,8 @@ import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -112,6 +115,15 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
      */
     private final GrpcUsageTracker usageTracker;
 
+    /**
+     * If configured, the executor that queries (and optionally transactions) are handed off to, so that slow calls do
+     * not block the Netty worker threads. Each call gets its own virtual thread. The executor is closed by
+     * {@link #stop()}, after which dispatched calls are rejected as UNAVAILABLE; a stopped manager is not restarted,
+     * since the node builds a new one each time it (re-)initializes.
+     */
+    @Nullable
+    private final ExecutorService dispatchExecutor;
+
     /**
      * Create a new instance.
      *
@@ -145,6 +157,11 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
                         .map(v -> (RpcService) v)
                         .flatMap(s -> s.rpcDefinitions().stream());
 
+        final var nettyConfig = configProvider.getConfiguration().getConfigData(NettyConfig.class);
+        dispatchExecutor = nettyConfig.virtualThreadQueries() || nettyConfig.virtualThreadTransactions()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-call-", 0).factory())
+                : null;
+
         // Convert the various RPC service definitions into transaction or query endpoints using the
         // GrpcServiceBuilder.
         services =
@@ -180,6 +197,15 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
         return nodeOperatorServer == null || nodeOperatorServer.isTerminated() ? -1 : nodeOperatorServer.getPort();
     }
 
+    /**
+     * Returns the executor that calls are dispatched to, if configured.
+     */
+    @VisibleForTesting
+    @Nullable
+    ExecutorService dispatchExecutor() {
+        return dispatchExecutor;
+    }
+
     @Override
     public boolean isRunning() {
         return plainServer != null && !plainServer.isShutdown();
@@ -263,6 +289,9 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
         } else {
             logger.info("Cannot shut down an already stopped node operator gRPC server");
         }
+
+        // With the servers stopped no new calls arrive, so let the calls already dispatched finish
+        terminateDispatchExecutor();
     }
 
     /**
@@ -318,6 +347,27 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
      *
      * @param server the server to terminate
      */
+    private void terminateDispatchExecutor() {
+        if (dispatchExecutor == null || dispatchExecutor.isTerminated()) {
+            return;
+        }
+
+        final var nettyConfig = configProvider.getConfiguration().getConfigData(NettyConfig.class);
+        final var terminationTimeout = nettyConfig.terminationTimeout();
+
+        dispatchExecutor.shutdown();
+        try {
+            if (!dispatchExecutor.awaitTermination(terminationTimeout, TimeUnit.SECONDS)) {
+                logger.warn("Dispatched gRPC calls did not finish in {}s, interrupting them", terminationTimeout);
+                dispatchExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            dispatchExecutor.shutdownNow();
+            logger.warn("Interrupted while waiting for dispatched gRPC calls to finish!", ie);
+        }
+    }
+
     private void terminateServer(@Nullable final Server server) {
         if (server == null) {
             return;
@@ -454,7 +504,12 @@ public final class NettyGrpcServerManager implements GrpcServerManager {
                 .map(d -> {
                     // create builder
                     final var builder = new GrpcServiceBuilder(
-                            d.basePath(), ingestWorkflow, queryWorkflow, dataBufferMarshaller, jumboBufferMarshaller);
+                                    d.basePath(),
+                                    ingestWorkflow,
+                                    queryWorkflow,
+                                    dataBufferMarshaller,
+                                    jumboBufferMarshaller)
+                            .dispatchExecutor(dispatchExecutor);
                     // add methods to builder
                     d.methods().stream().filter(methodFilter).forEach(m -> {
                         if (Transaction.class.equals(m.requestType())) {
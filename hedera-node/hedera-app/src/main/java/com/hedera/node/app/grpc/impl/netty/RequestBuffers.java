@@ -0,0 +1,79 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.grpc.impl.netty;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * Owns the per-thread buffers that {@link DataBufferMarshaller} reads gRPC requests into, and gives callers a way to
+ * look at the bytes of the current request without copying them.
+ *
+ * <p>A view returned by {@link #viewOf(BufferedData)} is only valid until the next request is parsed on the same
+ * thread, at which point its contents are overwritten. Anything that needs to outlive the call that received the
+ * request (such as the bytes handed to the platform transaction pool) must be copied out first.
+ */
+public final class RequestBuffers {
+    /**
+     * Per-thread shared buffer for reading. We store these in a thread local, because we do not
+     * have control over the thread pool used by the underlying gRPC server.
+     */
+    @SuppressWarnings(
+            "java:S5164") // looks like a false positive ("ThreadLocal" variables should be cleaned up when no longer
+    // used), but these threads are long-lived and the lifetime of the thread local is the same as
+    // the application
+    private static final ThreadLocal<RequestBuffer> BUFFER_THREAD_LOCAL = new ThreadLocal<>();
+
+    /**
+     * A reusable request buffer together with the array backing it.
+     *
+     * @param array the backing array
+     * @param data the buffer over the whole array
+     */
+    private record RequestBuffer(@NonNull byte[] array, @NonNull BufferedData data) {}
+
+    private RequestBuffers() {
+        throw new UnsupportedOperationException("Utility Class");
+    }
+
+    /**
+     * Returns this thread's request buffer, reset and ready for writing, allocating it with the given capacity if
+     * this thread does not have one yet.
+     *
+     * @param capacity the capacity to allocate the buffer with, if needed
+     * @return the buffer
+     */
+    @NonNull
+    static BufferedData acquire(final int capacity) {
+        var buffer = BUFFER_THREAD_LOCAL.get();
+        if (buffer == null) {
+            final var array = new byte[capacity];
+            buffer = new RequestBuffer(array, BufferedData.wrap(ByteBuffer.wrap(array)));
+            BUFFER_THREAD_LOCAL.set(buffer);
+        }
+        buffer.data().reset();
+        return buffer.data();
+    }
+
+    /**
+     * If the given buffer is this thread's request buffer, returns a {@link Bytes} over its readable contents that
+     * shares the backing array; otherwise returns {@code null}, and callers should fall back to copying.
+     *
+     * @param buffer the buffer a request was parsed into
+     * @return a zero-copy view of the request, or {@code null} if none is possible
+     */
+    @Nullable
+    public static Bytes viewOf(@NonNull final BufferedData buffer) {
+        requireNonNull(buffer);
+        final var owned = BUFFER_THREAD_LOCAL.get();
+        if (owned == null || owned.data() != buffer) {
+            return null;
+        }
+        final long position = buffer.position();
+        return Bytes.wrap(owned.array(), (int) position, (int) (buffer.limit() - position));
+    }
+}
@@ -3,10 +3,15 @@ package com.hedera.node.app.state;
 
 import com.hedera.node.app.spi.records.RecordCache;
 import com.hedera.node.app.state.recordcache.DeduplicationCacheImpl;
+import com.hedera.node.app.state.recordcache.FingerprintDeduplicationCache;
 import com.hedera.node.app.state.recordcache.RecordCacheImpl;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
 import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
 @Module
@@ -17,8 +22,19 @@ public interface HederaStateInjectionModule {
     @Binds
     HederaRecordCache provideHederaRecordCache(RecordCacheImpl cache);
 
-    @Binds
-    DeduplicationCache provideDeduplicationCache(DeduplicationCacheImpl cache);
+    @Provides
+    @Singleton
+    static DeduplicationCache provideDeduplicationCache(
+            @NonNull final ConfigProvider configProvider,
+            @NonNull final Provider<DeduplicationCacheImpl> sortedSetCache,
+            @NonNull final Provider<FingerprintDeduplicationCache> fingerprintCache) {
+        return configProvider
+                        .getConfiguration()
+                        .getConfigData(HederaConfig.class)
+                        .deduplicationFingerprints()
+                ? fingerprintCache.get()
+                : sortedSetCache.get();
+    }
 
     @Provides
     @Singleton
@@ -0,0 +1,26 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.state;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Receives the state accesses buffered in a {@link WrappedState}, as reported by
+ * {@link WrappedState#forEachAccess(StateAccessVisitor)}.
+ */
+public interface StateAccessVisitor {
+    /**
+     * Called for a state that was read.
+     *
+     * @param stateId the id of the state
+     * @param key the key read from a key-value state, or {@code null} for a singleton or queue state
+     */
+    void onRead(int stateId, @Nullable Object key);
+
+    /**
+     * Called for a state that was modified.
+     *
+     * @param stateId the id of the state
+     * @param key the key modified in a key-value state, or {@code null} for a singleton or queue state
+     */
+    void onWrite(int stateId, @Nullable Object key);
+}
@@ -83,6 +83,19 @@ public class WrappedState implements State, Hashable {
         }
     }
 
+    /**
+     * Reports every read and modification buffered in this {@link WrappedState} to the given visitor, before it is
+     * committed. Reads made in committed child savepoints are included, since they were made through this state.
+     *
+     * @param visitor the visitor to report accesses to
+     */
+    public void forEachAccess(@NonNull final StateAccessVisitor visitor) {
+        requireNonNull(visitor);
+        for (final var writableStates : writableStatesMap.values()) {
+            writableStates.forEachAccess(visitor);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -97,6 +97,35 @@ public class WrappedWritableStates implements WritableStates {
         return false;
     }
 
+    /**
+     * Reports every read and modification buffered in this {@link WrappedWritableStates} to the given visitor.
+     *
+     * @param visitor the visitor to report accesses to
+     */
+    public void forEachAccess(@NonNull final StateAccessVisitor visitor) {
+        requireNonNull(visitor);
+        writableKVStateMap.forEach((stateId, kvState) -> {
+            kvState.readKeys().forEach(key -> visitor.onRead(stateId, key));
+            kvState.modifiedKeys().forEach(key -> visitor.onWrite(stateId, key));
+        });
+        writableSingletonStateMap.forEach((stateId, singletonState) -> {
+            if (singletonState.isRead()) {
+                visitor.onRead(stateId, null);
+            }
+            if (singletonState.isModified()) {
+                visitor.onWrite(stateId, null);
+            }
+        });
+        writableQueueStateMap.forEach((stateId, queueState) -> {
+            if (queueState.isRead()) {
+                visitor.onRead(stateId, null);
+            }
+            if (queueState.isModified()) {
+                visitor.onWrite(stateId, null);
+            }
+        });
+    }
+
     /**
      * Writes all modifications to the underlying {@link WritableStates}.
      */
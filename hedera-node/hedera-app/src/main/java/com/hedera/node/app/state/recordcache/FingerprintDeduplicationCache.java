@@ -0,0 +1,323 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.state.recordcache;
+
+import static com.hedera.hapi.util.HapiUtils.asTimestamp;
+import static com.hedera.hapi.util.HapiUtils.minus;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.node.app.state.DeduplicationCache;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.HederaConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.time.InstantSource;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A {@link DeduplicationCache} that stores a 128-bit fingerprint of each {@link TransactionID} in off-heap
+ * open-addressing tables, one table per {@link TransactionID#transactionValidStart()} second.
+ *
+ * <p>Compared to {@link DeduplicationCacheImpl}, which keeps every {@link TransactionID} object in a sorted set, this
+ * allocates nothing per entry on the Java heap, and expires a whole second of entries at once by dropping that
+ * second's table, rather than walking and unlinking entries one at a time. Tables are allocated in automatic
+ * {@link Arena}s and freed by the garbage collector, since closing a shared arena would make every expiry and every
+ * resize wait for a handshake with all other threads.
+ *
+ * <p>A fingerprint is exact whenever the payer is a numbered account in this node's shard and realm, which is the
+ * only kind of payer the ingest workflow accepts: the low word packs the valid start nanos, nonce, and scheduled flag,
+ * and the high word is the account number. For any other payer the high word is a 64-bit hash of the account, so two
+ * such IDs in the same second and with the same nanos, nonce, and scheduled flag could, with negligible probability,
+ * be mistaken for each other.
+ */
+@Singleton
+public final class FingerprintDeduplicationCache implements DeduplicationCache {
+    /** Set in every stored low word, so that a zero low word marks an empty slot. */
+    private static final long OCCUPIED = 1L << 63;
+    /** Set in the low word of scheduled transaction IDs. */
+    private static final long SCHEDULED = 1L << 62;
+    /** Set in the high word when it is a hash of the payer rather than the payer's account number. */
+    private static final long HASHED_PAYER = 1L << 63;
+
+    /**
+     * The fingerprint tables, keyed by valid start epoch second. There are only as many of these as there are seconds
+     * in the max transaction duration window (plus any future seconds that were submitted), so a sorted map is cheap
+     * and makes expiring the oldest seconds trivial.
+     */
+    private final ConcurrentSkipListMap<Long, FingerprintTable> tables = new ConcurrentSkipListMap<>();
+
+    /** Used for looking up the max transaction duration window, and this node's shard and realm. */
+    private final ConfigProvider configProvider;
+    /**
+     * Used to estimate the earliest valid start timestamp that is still within the max transaction duration
+     * window that the ingest workflow will be using to screen transactions.
+     */
+    private final InstantSource instantSource;
+
+    /** Constructs a new {@link FingerprintDeduplicationCache}. */
+    @Inject
+    public FingerprintDeduplicationCache(
+            @NonNull final ConfigProvider configProvider, @NonNull final InstantSource instantSource) {
+        this.configProvider = requireNonNull(configProvider);
+        this.instantSource = requireNonNull(instantSource);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(@NonNull final TransactionID transactionID) {
+        final var config = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+        final var earliestSecond = approxEarliestValidStartSecond(config);
+        expireSecondsBefore(earliestSecond);
+
+        // If the transaction is within the max transaction duration window, then add it to its second's table.
+        final var validStart = transactionID.transactionValidStartOrThrow();
+        if (validStart.seconds() >= earliestSecond) {
+            // If the table expired between being looked up and being added to, the ID has expired too, so it is
+            // fine that the add is dropped
+            tables.computeIfAbsent(validStart.seconds(), ignore -> new FingerprintTable())
+                    .add(highWord(transactionID, config), lowWord(transactionID, validStart));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(@NonNull final TransactionID transactionID) {
+        final var config = configProvider.getConfiguration().getConfigData(HederaConfig.class);
+        final var earliestSecond = approxEarliestValidStartSecond(config);
+        expireSecondsBefore(earliestSecond);
+
+        final var validStart = transactionID.transactionValidStartOrElse(Timestamp.DEFAULT);
+        if (validStart.seconds() < earliestSecond) {
+            return false;
+        }
+        final var table = tables.get(validStart.seconds());
+        return table != null
+                && table.contains(highWord(transactionID, config), lowWord(transactionID, validStart));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        for (var oldest = tables.pollFirstEntry(); oldest != null; oldest = tables.pollFirstEntry()) {
+            oldest.getValue().close();
+        }
+    }
+
+    /**
+     * Returns the number of seconds that currently have a fingerprint table. Visible for testing.
+     */
+    int numSeconds() {
+        return tables.size();
+    }
+
+    /**
+     * Drops the tables of all seconds before the given one. Their memory is freed once they are garbage collected.
+     *
+     * @param earliestSecond The earliest epoch second that should be kept in the cache.
+     */
+    private void expireSecondsBefore(final long earliestSecond) {
+        var oldest = tables.firstEntry();
+        while (oldest != null && oldest.getKey() < earliestSecond) {
+            if (tables.remove(oldest.getKey(), oldest.getValue())) {
+                oldest.getValue().close();
+            }
+            oldest = tables.firstEntry();
+        }
+    }
+
+    /**
+     * Gets the earliest valid start second that is still within the max transaction duration window based on
+     * wall-clock time.
+     */
+    private long approxEarliestValidStartSecond(@NonNull final HederaConfig config) {
+        final var now = asTimestamp(instantSource.instant());
+        return minus(now, config.transactionMaxValidDuration()).seconds();
+    }
+
+    private static long lowWord(@NonNull final TransactionID transactionID, @NonNull final Timestamp validStart) {
+        return OCCUPIED
+                | (transactionID.scheduled() ? SCHEDULED : 0L)
+                | (Integer.toUnsignedLong(transactionID.nonce()) << 30)
+                | (validStart.nanos() & 0x3FFF_FFFFL);
+    }
+
+    private static long highWord(@NonNull final TransactionID transactionID, @NonNull final HederaConfig config) {
+        final var payer = transactionID.accountIDOrElse(AccountID.DEFAULT);
+        final long num = payer.accountNumOrElse(-1L);
+        if (num >= 0 && payer.shardNum() == config.shard() && payer.realmNum() == config.realm()) {
+            return num;
+        }
+        long h = mix(payer.shardNum() * 0x9E37_79B9_7F4A_7C15L ^ payer.realmNum());
+        if (payer.hasAlias()) {
+            final var alias = payer.aliasOrThrow();
+            for (int i = 0, n = (int) alias.length(); i < n; i++) {
+                h = (h ^ alias.getByte(i)) * 0x1000_0000_01B3L;
+            }
+        } else {
+            h ^= num;
+        }
+        return HASHED_PAYER | mix(h);
+    }
+
+    /** The 64-bit finalizer of SplitMix64. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * An off-heap, linear-probing hash set of 128-bit fingerprints. Each slot holds the high word followed by the low
+     * word; a zero low word marks an empty slot. Most transactions at any moment share the same few valid start
+     * seconds, so adds and lookups never take a lock: an add claims an empty slot by a CAS on its low word, writes the
+     * high word, and then publishes the low word. A lookup that meets a claimed slot waits the few instructions until
+     * it is published.
+     *
+     * <p>Whenever the slots become half full, the thread that installs slots of twice the capacity copies the old
+     * fingerprints into them, while other adds go straight to the new slots. Lookups check the old slots too until the
+     * copy is done; an add that raced with the switch to new slots adds its fingerprint to them as well, so the copy
+     * cannot miss it. If the new slots also become half full before the copy is done, adds wait for it.
+     */
+    private static final class FingerprintTable {
+        private static final int INITIAL_SLOTS = 1024;
+        private static final long SLOT_BYTES = 2L * Long.BYTES;
+        /** The low word of a slot claimed by an add that has not yet published it; never a stored low word. */
+        private static final long CLAIMED = 1L;
+        private static final VarHandle LONG_HANDLE = ValueLayout.JAVA_LONG.varHandle();
+
+        /** The slots new fingerprints are added to, or null once this table has expired. */
+        private final AtomicReference<Slots> current = new AtomicReference<>(new Slots(INITIAL_SLOTS, null));
+
+        void add(final long high, final long low) {
+            for (var slots = current.get(); slots != null; slots = current.get()) {
+                if (slots.size.get() * 2 >= slots.capacity()) {
+                    if (slots.previous != null) {
+                        // Still copying into these slots; it will not take long
+                        Thread.onSpinWait();
+                    } else {
+                        final var bigger = new Slots(slots.capacity() * 2, slots);
+                        if (current.compareAndSet(slots, bigger)) {
+                            bigger.copyPrevious();
+                        }
+                    }
+                    continue;
+                }
+                slots.insert(high, low);
+                if (current.get() == slots) {
+                    return;
+                }
+                // The slots were replaced while adding, and may already have been copied; add to the new ones too
+            }
+        }
+
+        boolean contains(final long high, final long low) {
+            final var slots = current.get();
+            if (slots == null) {
+                return false;
+            }
+            // Read before probing, since once the copy is done every old fingerprint is in the new slots
+            final var previous = slots.previous;
+            return slots.contains(high, low) || (previous != null && previous.contains(high, low));
+        }
+
+        /**
+         * Marks this table as expired and lets its slots be garbage collected. A lookup that found this table just
+         * before it expired sees it as empty.
+         */
+        void close() {
+            current.set(null);
+        }
+
+        private static final class Slots {
+            private final MemorySegment segment;
+            private final long mask;
+            private final AtomicLong size = new AtomicLong();
+            /** The smaller slots that are being copied into these, or null once all their fingerprints are here. */
+            private volatile Slots previous;
+
+            Slots(final long capacity, final Slots previous) {
+                // Arena.allocate() zero-fills, so every slot starts out empty
+                this.segment = Arena.ofAuto().allocate(capacity * SLOT_BYTES, Long.BYTES);
+                this.mask = capacity - 1;
+                this.previous = previous;
+            }
+
+            long capacity() {
+                return mask + 1;
+            }
+
+            boolean contains(final long high, final long low) {
+                for (long i = mix(high ^ low) & mask; ; i = (i + 1) & mask) {
+                    final long offset = i * SLOT_BYTES;
+                    final long storedLow = publishedLowAt(offset);
+                    if (storedLow == 0) {
+                        return false;
+                    }
+                    if (storedLow == low && (long) LONG_HANDLE.get(segment, offset) == high) {
+                        return true;
+                    }
+                }
+            }
+
+            /**
+             * Inserts a fingerprint unless already present.
+             */
+            void insert(final long high, final long low) {
+                for (long i = mix(high ^ low) & mask; ; ) {
+                    final long offset = i * SLOT_BYTES;
+                    final long storedLow = publishedLowAt(offset);
+                    if (storedLow == 0) {
+                        if (LONG_HANDLE.compareAndSet(segment, offset + Long.BYTES, 0L, CLAIMED)) {
+                            LONG_HANDLE.set(segment, offset, high);
+                            // Volatile, so that a racing switch to bigger slots either sees this or is seen after it
+                            LONG_HANDLE.setVolatile(segment, offset + Long.BYTES, low);
+                            size.incrementAndGet();
+                            return;
+                        }
+                        // Another add claimed this slot first; look at it again, it may hold the same fingerprint
+                        continue;
+                    }
+                    if (storedLow == low && (long) LONG_HANDLE.get(segment, offset) == high) {
+                        return;
+                    }
+                    i = (i + 1) & mask;
+                }
+            }
+
+            /**
+             * Copies every fingerprint of the previous slots into these, then lets the previous slots go.
+             */
+            void copyPrevious() {
+                final var oldSlots = requireNonNull(previous);
+                for (long i = 0, n = oldSlots.capacity(); i < n; i++) {
+                    final long offset = i * SLOT_BYTES;
+                    final long low = oldSlots.publishedLowAt(offset);
+                    if (low != 0) {
+                        insert((long) LONG_HANDLE.get(oldSlots.segment, offset), low);
+                    }
+                }
+                previous = null;
+            }
+
+            /**
+             * Returns the low word of the slot at the given offset, waiting for it to be published if it is claimed.
+             */
+            private long publishedLowAt(final long offset) {
+                long low;
+                while ((low = (long) LONG_HANDLE.getAcquire(segment, offset + Long.BYTES)) == CLAIMED) {
+                    Thread.onSpinWait();
+                }
+                return low;
+            }
+        }
+    }
+}
@@ -1,19 +1,37 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.node.app.throttle;
 
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_GET_ACCOUNT_BALANCE;
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_TRANSFER;
+import static com.hedera.hapi.node.base.HederaFunctionality.SCHEDULE_CREATE;
+import static com.hedera.hapi.node.base.HederaFunctionality.TOKEN_MINT;
+import static com.hedera.node.app.hapi.utils.CommonPbjConverters.fromPbj;
+import static com.hedera.node.app.service.token.AliasUtils.isAlias;
 import static java.util.Objects.requireNonNull;
 
+import com.hedera.hapi.node.base.AccountAmount;
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
 import com.hedera.hapi.node.transaction.Query;
 import com.hedera.node.app.throttle.annotations.IngestThrottle;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.AccountsConfig;
+import com.hedera.node.config.data.HederaConfig;
+import com.hedera.node.config.data.JumboTransactionsConfig;
+import com.hedera.node.config.data.TokensConfig;
+import com.swirlds.config.api.Configuration;
 import com.swirlds.state.State;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
 import java.time.InstantSource;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -21,12 +39,25 @@ import javax.inject.Singleton;
  * Keeps track of the amount of usage of different TPS throttle categories and gas, and returns whether a given
  * transaction or query should be throttled based on that.
  * Meant to be used in multithreaded context. This is thread-safe ingest wrapper.
+ *
+ * <p>If {@code hedera.ingestThrottle.leaseBatchSize} is positive, transactions and queries whose throttle decision
+ * only depends on the functionality's TPS buckets are admitted from {@link ThrottleLeases} without taking this
+ * object's monitor; the monitor is then only held to claim a new batch of capacity from the shared
+ * {@link ThrottleAccumulator}, or to make a full decision for transactions that need one (gas, implicit creations,
+ * scheduling, and so on).
  */
 @Singleton
 public class SynchronizedThrottleAccumulator {
 
     private final InstantSource instantSource;
     private final ThrottleAccumulator frontendThrottle;
+    private final Supplier<Configuration> configSupplier;
+
+    @Nullable
+    private final ThrottleLeases leases;
+
+    // The number of throttle rebuilds the leases were claimed under; leases from before a rebuild are dropped
+    private volatile int leasedRebuilds;
 
     @NonNull
     private Instant lastDecisionTime = Instant.EPOCH;
@@ -34,9 +65,33 @@ public class SynchronizedThrottleAccumulator {
     @Inject
     public SynchronizedThrottleAccumulator(
             @NonNull final InstantSource instantSource,
-            @NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle) {
+            @NonNull @IngestThrottle final ThrottleAccumulator frontendThrottle,
+            @NonNull final ConfigProvider configProvider) {
+        this(instantSource, frontendThrottle, requireNonNull(configProvider)::getConfiguration);
+    }
+
+    /**
+     * Creates an accumulator wrapper that leases capacity as configured by the given configuration supplier.
+     *
+     * @param instantSource the source of the current time
+     * @param frontendThrottle the throttle to wrap
+     * @param configSupplier the source of the current configuration
+     */
+    public SynchronizedThrottleAccumulator(
+            @NonNull final InstantSource instantSource,
+            @NonNull final ThrottleAccumulator frontendThrottle,
+            @NonNull final Supplier<Configuration> configSupplier) {
         this.instantSource = requireNonNull(instantSource);
         this.frontendThrottle = requireNonNull(frontendThrottle, "frontendThrottle must not be null");
+        this.configSupplier = requireNonNull(configSupplier);
+        final var hederaConfig = configSupplier.get().getConfigData(HederaConfig.class);
+        this.leases = hederaConfig.ingestThrottleLeaseBatchSize() > 0
+                ? new ThrottleLeases(
+                        hederaConfig.ingestThrottleLeaseBatchSize(),
+                        hederaConfig.ingestThrottleLeaseStripes(),
+                        hederaConfig.ingestThrottleLeaseTtl().toNanos())
+                : null;
+        this.leasedRebuilds = frontendThrottle.rebuilds();
     }
 
     /**
@@ -48,14 +103,37 @@ public class SynchronizedThrottleAccumulator {
      * @param throttleUsages a list to accumulate throttle usages during the decision
      * @return whether the transaction should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final TransactionInfo txnInfo,
             @NonNull final State state,
             @NonNull final List<ThrottleUsage> throttleUsages) {
         requireNonNull(txnInfo);
         requireNonNull(state);
         requireNonNull(throttleUsages);
-        setDecisionTime(instantSource.instant());
+        final var now = instantSource.instant();
+        if (leases != null && isLeasable(txnInfo, configSupplier.get())) {
+            final var function = txnInfo.functionality();
+            final int stripe = leases.homeStripe();
+            if (leasedRebuilds == frontendThrottle.rebuilds()
+                    && leases.tryAcquire(function, stripe, System.nanoTime())) {
+                throttleUsages.add(leases.usage(function, stripe));
+                return false;
+            }
+            return shouldThrottleLeased(function, stripe, now, throttleUsages, () -> {
+                setDecisionTime(now);
+                return frontendThrottle.checkAndEnforceThrottle(
+                        txnInfo, lastDecisionTime, state, throttleUsages, false);
+            });
+        }
+        return shouldThrottleExactly(txnInfo, now, state, throttleUsages);
+    }
+
+    private synchronized boolean shouldThrottleExactly(
+            @NonNull final TransactionInfo txnInfo,
+            @NonNull final Instant now,
+            @NonNull final State state,
+            @NonNull final List<ThrottleUsage> throttleUsages) {
+        setDecisionTime(now);
         return frontendThrottle.checkAndEnforceThrottle(txnInfo, lastDecisionTime, state, throttleUsages, false);
     }
 
@@ -69,17 +147,144 @@ public class SynchronizedThrottleAccumulator {
      * @param queryPayerId the payer id of the query
      * @return whether the query should be throttled
      */
-    public synchronized boolean shouldThrottle(
+    public boolean shouldThrottle(
             @NonNull final HederaFunctionality queryFunction,
             @NonNull final Query query,
             @NonNull final State state,
             @Nullable AccountID queryPayerId) {
         requireNonNull(query);
         requireNonNull(queryFunction);
-        setDecisionTime(instantSource.instant());
+        final var now = instantSource.instant();
+        if (leases != null && isLeasable(queryFunction, queryPayerId, configSupplier.get())) {
+            final int stripe = leases.homeStripe();
+            if (leasedRebuilds == frontendThrottle.rebuilds()
+                    && leases.tryAcquire(queryFunction, stripe, System.nanoTime())) {
+                return false;
+            }
+            // Queries have no way to give back capacity, so the usage list is discarded
+            return shouldThrottleLeased(queryFunction, stripe, now, new ArrayList<>(), () -> {
+                setDecisionTime(now);
+                return frontendThrottle.checkAndEnforceThrottle(
+                        queryFunction, lastDecisionTime, query, state, queryPayerId);
+            });
+        }
+        return shouldThrottleExactly(queryFunction, now, query, state, queryPayerId);
+    }
+
+    private synchronized boolean shouldThrottleExactly(
+            @NonNull final HederaFunctionality queryFunction,
+            @NonNull final Instant now,
+            @NonNull final Query query,
+            @NonNull final State state,
+            @Nullable AccountID queryPayerId) {
+        setDecisionTime(now);
         return frontendThrottle.checkAndEnforceThrottle(queryFunction, lastDecisionTime, query, state, queryPayerId);
     }
 
+    /**
+     * Called when the current thread's stripe had no leased capacity left, or the throttles were rebuilt. Drops all
+     * leases if the throttles were rebuilt since they were claimed, and otherwise returns any expired leases to the
+     * shared buckets; then tries (in order) to claim a new batch for this stripe, to take a token parked on some
+     * other stripe, and finally to make an exact single-transaction decision.
+     *
+     * @param function the functionality being throttled
+     * @param stripe the current thread's stripe
+     * @param now the current time
+     * @param throttleUsages the list to record usages in
+     * @param exactDecision makes the exact single-transaction decision; only called while holding the monitor
+     * @return whether to throttle
+     */
+    private synchronized boolean shouldThrottleLeased(
+            @NonNull final HederaFunctionality function,
+            final int stripe,
+            @NonNull final Instant now,
+            @NonNull final List<ThrottleUsage> throttleUsages,
+            @NonNull final BooleanSupplier exactDecision) {
+        final var leases = requireNonNull(this.leases);
+        final long nowNanos = System.nanoTime();
+        final int rebuilds = frontendThrottle.rebuilds();
+        if (leasedRebuilds != rebuilds) {
+            // The leased capacity was claimed from buckets that no longer exist, so there is nothing to return it to
+            leases.clear(nowNanos);
+            leasedRebuilds = rebuilds;
+        } else {
+            final long expired = leases.drainExpired(function, nowNanos);
+            if (expired > 0) {
+                frontendThrottle.leakCapacityForNOfUnscaled((int) Math.min(expired, Integer.MAX_VALUE), function);
+            }
+        }
+        setDecisionTime(now);
+        final int batchSize = leases.batchSize();
+        if (batchSize > 1 && !frontendThrottle.shouldThrottleNOfUnscaled(batchSize, function, lastDecisionTime)) {
+            leases.refill(function, stripe, batchSize - 1L, nowNanos);
+            throttleUsages.add(leases.usage(function, stripe));
+            return false;
+        }
+        final int donor = leases.steal(function, nowNanos);
+        if (donor >= 0) {
+            throttleUsages.add(leases.usage(function, donor));
+            return false;
+        }
+        return exactDecision.getAsBoolean();
+    }
+
+    /**
+     * Returns whether the throttle decision for the given transaction depends only on its functionality's TPS
+     * buckets, so that it can be made from leased capacity. This mirrors the special cases in
+     * {@link ThrottleAccumulator#checkAndEnforceThrottle(TransactionInfo, Instant, State, List, boolean)}, erring
+     * on the side of a full decision.
+     */
+    private static boolean isLeasable(@NonNull final TransactionInfo txnInfo, @NonNull final Configuration config) {
+        final var function = txnInfo.functionality();
+        if (function == SCHEDULE_CREATE
+                || function == TOKEN_MINT
+                || ThrottleAccumulator.isGasThrottled(function)
+                || txnInfo.txBody().highVolume()
+                || isThrottleExempt(txnInfo.payerID(), config)) {
+            return false;
+        }
+        final var jumboConfig = config.getConfigData(JumboTransactionsConfig.class);
+        if (jumboConfig.isEnabled() && jumboConfig.allowedHederaFunctionalities().contains(fromPbj(function))) {
+            return false;
+        }
+        if (function == CRYPTO_TRANSFER) {
+            // Only plain hbar transfers between numeric accounts can neither auto-create nor auto-associate
+            final var op = txnInfo.txBody().cryptoTransferOrElse(CryptoTransferTransactionBody.DEFAULT);
+            if (!op.tokenTransfers().isEmpty()) {
+                return false;
+            }
+            for (final AccountAmount adjust : op.transfersOrElse(TransferList.DEFAULT).accountAmounts()) {
+                if (isAlias(adjust.accountIDOrElse(AccountID.DEFAULT))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the throttle decision for the given query depends only on its functionality's TPS buckets.
+     */
+    private static boolean isLeasable(
+            @NonNull final HederaFunctionality queryFunction,
+            @Nullable final AccountID queryPayerId,
+            @NonNull final Configuration config) {
+        if (ThrottleAccumulator.isGasThrottled(queryFunction) || isThrottleExempt(queryPayerId, config)) {
+            return false;
+        }
+        return queryFunction != CRYPTO_GET_ACCOUNT_BALANCE
+                || !config.getConfigData(TokensConfig.class).countingGetBalanceThrottleEnabled();
+    }
+
+    private static boolean isThrottleExempt(@Nullable final AccountID payerId, @NonNull final Configuration config) {
+        if (payerId == null) {
+            return false;
+        }
+        final long accountNum = payerId.accountNumOrElse(0L);
+        return 1L <= accountNum
+                && accountNum <= config.getConfigData(AccountsConfig.class).lastThrottleExempt();
+    }
+
     private void setDecisionTime(@NonNull final Instant time) {
         lastDecisionTime = time.isBefore(lastDecisionTime) ? lastDecisionTime : time;
     }
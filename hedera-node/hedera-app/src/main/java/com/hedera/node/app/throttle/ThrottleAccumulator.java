@@ -82,7 +82,6 @@ import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.IntSupplier;
@@ -113,6 +112,9 @@ public class ThrottleAccumulator {
     private OpsDurationDeterministicThrottle contractOpsDurationThrottle;
     private List<DeterministicThrottle> activeThrottles = emptyList();
     private List<DeterministicThrottle> highVolumeActiveThrottles = emptyList();
+    // The number of times the throttles were rebuilt, so that capacity claimed ahead of use from the old buckets
+    // (see ThrottleLeases) can be told apart; only written by the thread that rebuilds the throttles
+    private volatile int rebuilds;
 
     @Nullable
     private final ThrottleMetrics throttleMetrics;
@@ -355,8 +357,11 @@ public class ThrottleAccumulator {
         if (throttleType == NOOP_THROTTLE) {
             return;
         }
-        final var manager = Objects.requireNonNull(functionReqs.get(function));
-        manager.undoClaimedReqsFor(n);
+        final var manager = functionReqs.get(function);
+        // The throttles may have been rebuilt without this function since the capacity was claimed
+        if (manager != null) {
+            manager.undoClaimedReqsFor(n);
+        }
     }
 
     /**
@@ -1076,6 +1081,16 @@ public class ThrottleAccumulator {
         return Math.min(10_000, maxUtilizationBps);
     }
 
+    /**
+     * Returns the number of times {@link #rebuildFor(ThrottleDefinitions)} has been called, so that callers holding
+     * capacity claimed from the previous throttle buckets can tell it no longer corresponds to the current ones.
+     *
+     * @return the number of rebuilds so far
+     */
+    public int rebuilds() {
+        return rebuilds;
+    }
+
     /**
      * Rebuilds the throttle requirements based on the given throttle definitions.
      *
@@ -1129,6 +1144,7 @@ public class ThrottleAccumulator {
         highVolumeFunctionReqs = newHighVolumeFunctionReqs;
         activeThrottles = newActiveThrottles;
         highVolumeActiveThrottles = newHighVolumeActiveThrottles;
+        rebuilds++;
 
         if (throttleMetrics != null) {
             final var configuration = configSupplier.get();
@@ -0,0 +1,198 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.throttle;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.HederaFunctionality;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Striped, lock-free leases of frontend throttle capacity, one set of stripes per {@link HederaFunctionality}.
+ *
+ * <p>A lease is a number of logical transactions worth of capacity that was claimed from the shared
+ * {@link ThrottleAccumulator} buckets in a single batch (while holding the accumulator's lock), and is then
+ * handed out one transaction at a time via CAS on the claiming thread's stripe. This lets most ingest and query
+ * threads pass the frontend throttle without contending on a monitor, while the aggregate rate is still enforced
+ * by the shared buckets.
+ *
+ * <p>Because capacity is claimed ahead of use, the shared buckets can appear fuller than the actual admitted load
+ * by at most {@code stripes * batchSize} transactions per functionality. Leases not used within their time-to-live
+ * expire and must be returned to the buckets via {@link #drainExpired(HederaFunctionality, long)}, so an idle
+ * stripe cannot hold capacity indefinitely.
+ *
+ * <p>Each stripe occupies its own cache line, so threads on different stripes do not false-share.
+ */
+public class ThrottleLeases {
+    /** Longs per stripe, so that each stripe's slots sit on a separate 64-byte cache line. */
+    private static final int SLOTS_PER_STRIPE = 8;
+    /** Offset within a stripe of the remaining token count. */
+    private static final int TOKENS = 0;
+    /** Offset within a stripe of the {@link System#nanoTime()} at which its lease expires. */
+    private static final int EXPIRY = 1;
+
+    private static final int NUM_FUNCTIONS = HederaFunctionality.values().length;
+
+    private final int batchSize;
+    private final int stripes;
+    private final int stripeMask;
+    private final long ttlNanos;
+    private final AtomicLongArray slots;
+
+    /**
+     * Creates a new set of leases.
+     *
+     * @param batchSize the number of transactions of capacity to claim per lease
+     * @param stripes the number of stripes per functionality; rounded up to a power of two
+     * @param ttlNanos how long a lease may be used before its remaining tokens must be returned
+     */
+    public ThrottleLeases(final int batchSize, final int stripes, final long ttlNanos) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Lease batch size must be positive, not " + batchSize);
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Number of lease stripes must be positive, not " + stripes);
+        }
+        this.batchSize = batchSize;
+        this.stripes = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripeMask = this.stripes - 1;
+        this.ttlNanos = ttlNanos;
+        this.slots = new AtomicLongArray(NUM_FUNCTIONS * this.stripes * SLOTS_PER_STRIPE);
+    }
+
+    /**
+     * Returns the number of transactions of capacity claimed per lease.
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of stripes per functionality.
+     */
+    public int stripes() {
+        return stripes;
+    }
+
+    /**
+     * Returns the stripe the current thread should use.
+     */
+    public int homeStripe() {
+        final long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 16)) & stripeMask;
+    }
+
+    /**
+     * Tries to take one transaction of capacity from the given stripe's unexpired lease, without locking.
+     *
+     * @param function the functionality to take capacity for
+     * @param stripe the stripe to take from
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return whether capacity was taken
+     */
+    public boolean tryAcquire(@NonNull final HederaFunctionality function, final int stripe, final long nowNanos) {
+        final int base = baseOf(function, stripe);
+        long tokens;
+        while ((tokens = slots.get(base + TOKENS)) > 0) {
+            if (nowNanos - slots.get(base + EXPIRY) > 0) {
+                return false;
+            }
+            if (slots.compareAndSet(base + TOKENS, tokens, tokens - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tries to take one transaction of capacity from any stripe's unexpired lease; used as a last resort before
+     * concluding the shared buckets are really full, since their capacity may be parked on other stripes.
+     *
+     * @param function the functionality to take capacity for
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the stripe capacity was taken from, or -1 if no stripe had any
+     */
+    public int steal(@NonNull final HederaFunctionality function, final long nowNanos) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (tryAcquire(function, stripe, nowNanos)) {
+                return stripe;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds tokens to the given stripe and restarts its lease. Callers must have just claimed the corresponding
+     * capacity from the shared buckets.
+     *
+     * @param function the functionality the capacity was claimed for
+     * @param stripe the stripe to add to
+     * @param tokens the number of transactions of capacity to add
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public void refill(
+            @NonNull final HederaFunctionality function, final int stripe, final long tokens, final long nowNanos) {
+        final int base = baseOf(function, stripe);
+        slots.set(base + EXPIRY, nowNanos + ttlNanos);
+        slots.addAndGet(base + TOKENS, tokens);
+    }
+
+    /**
+     * Gives back one transaction of capacity that was taken from a stripe but not used after all.
+     *
+     * @param function the functionality the capacity was taken for
+     * @param stripe the stripe it was taken from
+     */
+    public void release(@NonNull final HederaFunctionality function, final int stripe) {
+        slots.incrementAndGet(baseOf(function, stripe) + TOKENS);
+    }
+
+    /**
+     * Removes all tokens from expired leases for the given functionality, returning how many were removed so the
+     * caller can leak the corresponding capacity from the shared buckets.
+     *
+     * @param function the functionality to drain
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the number of transactions of capacity removed
+     */
+    public long drainExpired(@NonNull final HederaFunctionality function, final long nowNanos) {
+        long drained = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            final int base = baseOf(function, stripe);
+            if (slots.get(base + TOKENS) > 0 && nowNanos - slots.get(base + EXPIRY) > 0) {
+                drained += slots.getAndSet(base + TOKENS, 0);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Drops every lease of every functionality without returning its capacity, for when the shared buckets it was
+     * claimed from have been replaced. Capacity released into a stripe afterwards is already expired, so it is
+     * drained rather than handed out again.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public void clear(final long nowNanos) {
+        for (int base = 0, n = slots.length(); base < n; base += SLOTS_PER_STRIPE) {
+            slots.set(base + EXPIRY, nowNanos);
+            slots.set(base + TOKENS, 0);
+        }
+    }
+
+    /**
+     * Returns a {@link ThrottleUsage} that gives one transaction of capacity back to the given stripe.
+     *
+     * @param function the functionality the capacity was taken for
+     * @param stripe the stripe it was taken from
+     * @return the usage
+     */
+    public ThrottleUsage usage(@NonNull final HederaFunctionality function, final int stripe) {
+        requireNonNull(function);
+        return () -> release(function, stripe);
+    }
+
+    private int baseOf(@NonNull final HederaFunctionality function, final int stripe) {
+        return (function.ordinal() * stripes + stripe) * SLOTS_PER_STRIPE;
+    }
+}
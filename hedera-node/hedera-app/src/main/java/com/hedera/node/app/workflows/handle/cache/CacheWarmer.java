@@ -31,10 +31,12 @@ import org.hiero.consensus.model.transaction.Transaction;
 /**
  * This class is used to warm up the cache. It is called at the beginning of a round with the current state
  * and the round. It will start a background thread which iterates through all transactions and calls the
- * {@link TransactionHandler#warm} method.
+ * {@link TransactionHandler#warm} method; transactions are warmed in {@link WarmupGroups} of those that share
+ * entities, so each entity is loaded once, with each transaction submitted as soon as it is read.
  */
 @Singleton
 public class CacheWarmer {
+    private static final int MAX_GROUP_SIZE = 32;
 
     private final TransactionChecker checker;
     private final TransactionDispatcher dispatcher;
@@ -60,23 +62,32 @@ public class CacheWarmer {
         executor.execute(() -> {
             final ReadableStoreFactory storeFactory = new ReadableStoreFactoryImpl(state);
             final ReadableAccountStore accountStore = storeFactory.readableStore(ReadableAccountStore.class);
+            // Warm transactions that share entities together, in consensus order, and independent groups in parallel
+            final var groups =
+                    new WarmupGroups(executor, MAX_GROUP_SIZE, txBody -> warm(txBody, storeFactory, accountStore));
             for (final ConsensusEvent event : round) {
-                event.forEachTransaction(platformTransaction -> executor.execute(() -> {
+                event.forEachTransaction(platformTransaction -> {
                     final TransactionBody txBody = extractTransactionBody(platformTransaction);
                     if (txBody != null) {
-                        final AccountID payerID = txBody.transactionIDOrElse(TransactionID.DEFAULT)
-                                .accountID();
-                        if (payerID != null) {
-                            accountStore.warm(payerID);
-                        }
-                        final var context = new WarmupContextImpl(txBody, storeFactory);
-                        dispatcher.dispatchWarmup(context);
+                        groups.add(txBody);
                     }
-                }));
+                });
             }
         });
     }
 
+    private void warm(
+            @NonNull final TransactionBody txBody,
+            @NonNull final ReadableStoreFactory storeFactory,
+            @NonNull final ReadableAccountStore accountStore) {
+        final AccountID payerID = txBody.transactionIDOrElse(TransactionID.DEFAULT).accountID();
+        if (payerID != null) {
+            accountStore.warm(payerID);
+        }
+        final var context = new WarmupContextImpl(txBody, storeFactory);
+        dispatcher.dispatchWarmup(context);
+    }
+
     @Nullable
     private TransactionBody extractTransactionBody(@NonNull final Transaction platformTransaction) {
         // First we check if the transaction was already parsed during pre-handle (should be almost always the case)
@@ -0,0 +1,180 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.workflows.handle.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.NftTransfer;
+import com.hedera.hapi.node.base.TokenTransferList;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Groups the transactions of a round, as they are added in consensus order, by the obvious entities they share: the
+ * accounts, tokens, topics, and contracts named in their bodies. Transactions in different groups are warmed
+ * concurrently, while those in the same group are warmed one after another, so that each can find the entities it
+ * shares with earlier ones already loaded. Each transaction is handed to the executor as soon as it is added, unless
+ * its group is still warming an earlier one; so warming never waits for the rest of the round to be read.
+ *
+ * <p>The payer is deliberately not an entity here, since one busy payer would otherwise chain most of a round into
+ * a single group; each transaction warms its own payer anyway. The entities are only a hint for warming, and do not
+ * need to be complete; a missed entity just means two groups might both load it.
+ *
+ * <p>Instances are used by a single thread to add the transactions of one round.
+ */
+final class WarmupGroups {
+    private static final Logger logger = LogManager.getLogger(WarmupGroups.class);
+
+    private final Executor executor;
+    private final int maxGroupSize;
+    private final Consumer<TransactionBody> warmer;
+
+    /** The groups that may still take transactions, by the entities their transactions touch */
+    private final Map<Object, Group> openGroups = new HashMap<>();
+
+    /** The number of groups started so far, used to order them by their first transaction */
+    private long groupsStarted;
+
+    /**
+     * Creates groups for the transactions of one round.
+     *
+     * @param executor the executor to warm groups on
+     * @param maxGroupSize the most transactions in a group; larger groups (say, of one busy token) are split so
+     * they are still warmed with some parallelism
+     * @param warmer warms a single transaction
+     */
+    WarmupGroups(
+            @NonNull final Executor executor, final int maxGroupSize, @NonNull final Consumer<TransactionBody> warmer) {
+        this.executor = requireNonNull(executor);
+        this.maxGroupSize = maxGroupSize;
+        this.warmer = requireNonNull(warmer);
+    }
+
+    /**
+     * Adds the next transaction of the round to the earliest open group it shares an entity with, or to a new group,
+     * and warms it as soon as that group is done with the transactions before it.
+     *
+     * @param body the transaction
+     */
+    void add(@NonNull final TransactionBody body) {
+        requireNonNull(body);
+        final List<Object> entities = new ArrayList<>();
+        forEachEntity(body, entities::add);
+        Group group = null;
+        for (final var entity : entities) {
+            final var candidate = openGroups.get(entity);
+            if (candidate != null && (group == null || candidate.number < group.number)) {
+                group = candidate;
+            }
+        }
+        if (group == null) {
+            group = new Group(groupsStarted++);
+        }
+        for (final var entity : entities) {
+            if (openGroups.put(entity, group) != group) {
+                group.entities.add(entity);
+            }
+        }
+        if (++group.size == maxGroupSize) {
+            for (final var entity : group.entities) {
+                openGroups.remove(entity, group);
+            }
+        }
+        group.submit(body);
+    }
+
+    /**
+     * A group of transactions warmed one after another, in the order they were added. Only one task per group is
+     * with the executor at a time; it keeps warming until no transactions of its group are left.
+     */
+    private final class Group {
+        private final long number;
+        private final List<Object> entities = new ArrayList<>();
+        private final Queue<TransactionBody> unwarmed = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger unwarmedCount = new AtomicInteger();
+        private int size;
+
+        private Group(final long number) {
+            this.number = number;
+        }
+
+        private void submit(@NonNull final TransactionBody body) {
+            unwarmed.add(body);
+            if (unwarmedCount.getAndIncrement() == 0) {
+                executor.execute(this::warmAll);
+            }
+        }
+
+        private void warmAll() {
+            do {
+                final var body = requireNonNull(unwarmed.poll());
+                try {
+                    warmer.accept(body);
+                } catch (final RuntimeException e) {
+                    // Warming is only an optimization, so just go on with the rest of the group
+                    logger.debug("Failed to warm a transaction", e);
+                }
+            } while (unwarmedCount.decrementAndGet() > 0);
+        }
+    }
+
+    /**
+     * Reports the entities the given transaction is expected to touch.
+     *
+     * @param body the transaction
+     * @param action the action to take for each entity
+     */
+    static void forEachEntity(@NonNull final TransactionBody body, @NonNull final Consumer<Object> action) {
+        switch (body.data().kind()) {
+            case CRYPTO_TRANSFER -> {
+                final var op = body.cryptoTransferOrThrow();
+                if (op.hasTransfers()) {
+                    for (final AccountAmount amount : op.transfersOrThrow().accountAmounts()) {
+                        acceptIfPresent(amount.accountID(), action);
+                    }
+                }
+                for (final TokenTransferList tokenTransfers : op.tokenTransfers()) {
+                    acceptIfPresent(tokenTransfers.token(), action);
+                    for (final AccountAmount amount : tokenTransfers.transfers()) {
+                        acceptIfPresent(amount.accountID(), action);
+                    }
+                    for (final NftTransfer nftTransfer : tokenTransfers.nftTransfers()) {
+                        acceptIfPresent(nftTransfer.senderAccountID(), action);
+                        acceptIfPresent(nftTransfer.receiverAccountID(), action);
+                    }
+                }
+            }
+            case CONSENSUS_SUBMIT_MESSAGE ->
+                acceptIfPresent(body.consensusSubmitMessageOrThrow().topicID(), action);
+            case CONTRACT_CALL -> acceptIfPresent(body.contractCallOrThrow().contractID(), action);
+            case TOKEN_ASSOCIATE -> {
+                final var op = body.tokenAssociateOrThrow();
+                acceptIfPresent(op.account(), action);
+                op.tokens().forEach(action);
+            }
+            case TOKEN_MINT -> acceptIfPresent(body.tokenMintOrThrow().token(), action);
+            case TOKEN_BURN -> acceptIfPresent(body.tokenBurnOrThrow().token(), action);
+            default -> {
+                // No entities are known, so the transaction gets a group of its own
+            }
+        }
+    }
+
+    private static void acceptIfPresent(@Nullable final Object entity, @NonNull final Consumer<Object> action) {
+        if (entity != null) {
+            action.accept(entity);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.workflows.handle.conflict;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.state.StateAccessVisitor;
+import com.hedera.node.app.state.WrappedState;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.data.ConsensusConfig;
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashSet;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Measures how much of the serial handle workflow could have run as speculative parallel execution, without changing
+ * anything about how transactions are actually handled.
+ *
+ * <p>Top-level transactions are grouped into windows of a configured size, standing in for the batches that an
+ * optimistic engine would execute concurrently against the same starting state, and then commit in consensus order.
+ * Such an engine would have to re-execute exactly those transactions that read anything written by an earlier
+ * transaction in the same window; this class counts them from the read and write sets of each root savepoint as
+ * it commits. Since nearly every transaction touches some singleton (like entity counts), it separately counts
+ * the transactions whose key-value reads alone conflict, to show what an engine that merged singleton updates could
+ * achieve.
+ *
+ * <p>Only used from the handle thread.
+ */
+@Singleton
+public class ConflictTracker {
+    private static final String CATEGORY = "app";
+
+    private record Access(int stateId, @Nullable Object key) {}
+
+    private final ConfigProvider configProvider;
+    private final Counter trackedTxns;
+    private final Counter conflictedTxns;
+    private final Counter kvConflictedTxns;
+
+    private final Set<Access> windowWrites = new HashSet<>();
+    private final Set<Access> txnWrites = new HashSet<>();
+    private final StateAccessVisitor visitor = new StateAccessVisitor() {
+        @Override
+        public void onRead(final int stateId, @Nullable final Object key) {
+            if (windowWrites.contains(new Access(stateId, key))) {
+                txnConflicted = true;
+                txnKvConflicted |= key != null;
+            }
+        }
+
+        @Override
+        public void onWrite(final int stateId, @Nullable final Object key) {
+            txnWrites.add(new Access(stateId, key));
+        }
+    };
+
+    private boolean txnInProgress;
+    private boolean txnConflicted;
+    private boolean txnKvConflicted;
+    private int windowTxns;
+
+    /**
+     * @param metrics the metrics to register the conflict counters with
+     * @param configProvider the provider of the current configuration
+     */
+    @Inject
+    public ConflictTracker(@NonNull final Metrics metrics, @NonNull final ConfigProvider configProvider) {
+        requireNonNull(metrics);
+        this.configProvider = requireNonNull(configProvider);
+        this.trackedTxns = metrics.getOrCreate(new Counter.Config(CATEGORY, "conflictTrackedTxns")
+                .withDescription("Top-level transactions whose state accesses were checked for conflicts"));
+        this.conflictedTxns = metrics.getOrCreate(new Counter.Config(CATEGORY, "conflictedTxns")
+                .withDescription("Tracked transactions that read state written earlier in their window"));
+        this.kvConflictedTxns = metrics.getOrCreate(new Counter.Config(CATEGORY, "kvConflictedTxns")
+                .withDescription("Tracked transactions that read a key-value entry written earlier in their window"));
+    }
+
+    /**
+     * Starts tracking a new top-level transaction, folding the writes of the previous one into its window.
+     */
+    public void startTransaction() {
+        final var consensusConfig = configProvider.getConfiguration().getConfigData(ConsensusConfig.class);
+        if (txnInProgress) {
+            finishTransaction(consensusConfig.handleConflictTrackingWindowSize());
+        }
+        txnInProgress = consensusConfig.handleConflictTrackingEnabled();
+    }
+
+    /**
+     * Checks the accesses in the given root savepoint state, which is about to be committed, against the writes of
+     * earlier transactions in the window; and remembers its writes.
+     *
+     * @param state the state of a root savepoint that is about to be committed
+     */
+    public void observe(@NonNull final WrappedState state) {
+        requireNonNull(state);
+        if (txnInProgress) {
+            state.forEachAccess(visitor);
+        }
+    }
+
+    private void finishTransaction(final int windowSize) {
+        trackedTxns.increment();
+        if (txnConflicted) {
+            conflictedTxns.increment();
+        }
+        if (txnKvConflicted) {
+            kvConflictedTxns.increment();
+        }
+        if (++windowTxns >= windowSize) {
+            windowWrites.clear();
+            windowTxns = 0;
+        } else {
+            windowWrites.addAll(txnWrites);
+        }
+        txnWrites.clear();
+        txnConflicted = false;
+        txnKvConflicted = false;
+        txnInProgress = false;
+    }
+}
@@ -39,6 +39,7 @@ import com.hedera.node.app.state.WrappedState;
 import com.hedera.node.app.state.recordcache.BlockRecordSource;
 import com.hedera.node.app.state.recordcache.LegacyListRecordSource;
 import com.hedera.node.app.workflows.handle.HandleOutput;
+import com.hedera.node.app.workflows.handle.conflict.ConflictTracker;
 import com.hedera.node.app.workflows.handle.record.RecordStreamBuilder;
 import com.hedera.node.app.workflows.handle.stack.savepoints.BuilderSinkImpl;
 import com.hedera.node.app.workflows.handle.stack.savepoints.FirstChildSavepoint;
@@ -85,6 +86,10 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
     @Nullable
     private final BoundaryStateChangeListener boundaryStateChangeListener;
 
+    // For the root stack of a user dispatch, if conflicts are being tracked, the tracker to report its accesses to
+    @Nullable
+    private final ConflictTracker conflictTracker;
+
     private final StreamMode streamMode;
 
     private int numPresetIds;
@@ -109,13 +114,45 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
             @NonNull final BoundaryStateChangeListener boundaryStateChangeListener,
             @NonNull final ImmediateStateChangeListener immediateStateChangeListener,
             @NonNull final StreamMode streamMode) {
+        return newRootStack(
+                state,
+                maxBuildersBeforeUser,
+                maxBuildersAfterUser,
+                boundaryStateChangeListener,
+                immediateStateChangeListener,
+                streamMode,
+                null);
+    }
+
+    /**
+     * Constructs the root {@link SavepointStackImpl} for the given state at the start of handling a user transaction,
+     * reporting the state accesses of each committed transaction to the given conflict tracker.
+     *
+     * @param state                         the state
+     * @param maxBuildersBeforeUser         the maximum number of preceding builders with available consensus times
+     * @param maxBuildersAfterUser          the maximum number of following builders with available consensus times
+     * @param boundaryStateChangeListener   the listener for the round state changes
+     * @param immediateStateChangeListener  the listener for the key/value state changes
+     * @param streamMode                    the stream mode
+     * @param conflictTracker               if not null, the tracker to report state accesses to
+     * @return the root {@link SavepointStackImpl}
+     */
+    public static SavepointStackImpl newRootStack(
+            @NonNull final State state,
+            final int maxBuildersBeforeUser,
+            final int maxBuildersAfterUser,
+            @NonNull final BoundaryStateChangeListener boundaryStateChangeListener,
+            @NonNull final ImmediateStateChangeListener immediateStateChangeListener,
+            @NonNull final StreamMode streamMode,
+            @Nullable final ConflictTracker conflictTracker) {
         return new SavepointStackImpl(
                 state,
                 maxBuildersBeforeUser,
                 maxBuildersAfterUser,
                 boundaryStateChangeListener,
                 immediateStateChangeListener,
-                streamMode);
+                streamMode,
+                conflictTracker);
     }
 
     /**
@@ -147,6 +184,7 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
      * @param boundaryStateChangeListener   the listener for the round state changes
      * @param immediateStateChangeListener  the listener for the key-value state changes
      * @param streamMode                    the stream mode
+     * @param conflictTracker               if not null, the tracker to report state accesses to
      */
     private SavepointStackImpl(
             @NonNull final State state,
@@ -154,10 +192,12 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
             final int maxBuildersAfterUser,
             @NonNull final BoundaryStateChangeListener boundaryStateChangeListener,
             @NonNull final ImmediateStateChangeListener immediateStateChangeListener,
-            @NonNull final StreamMode streamMode) {
+            @NonNull final StreamMode streamMode,
+            @Nullable final ConflictTracker conflictTracker) {
         this.state = requireNonNull(state);
         this.immediateStateChangeListener = requireNonNull(immediateStateChangeListener);
         this.boundaryStateChangeListener = requireNonNull(boundaryStateChangeListener);
+        this.conflictTracker = conflictTracker;
         builderSink = new BuilderSinkImpl(maxBuildersBeforeUser, maxBuildersAfterUser + 1);
         presetIdsAllowed = true;
         noncesToSkipPerPresetId = maxBuildersBeforeUser + maxBuildersAfterUser;
@@ -190,6 +230,7 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
         this.builderSink = null;
         this.immediateStateChangeListener = null;
         this.boundaryStateChangeListener = null;
+        this.conflictTracker = null;
         setupFirstSavepoint(category);
         baseBuilder = peek().createBuilder(reversingBehavior, category, customizer, streamMode, true);
         presetIdsAllowed = false;
@@ -248,6 +289,9 @@ public class SavepointStackImpl implements HandleContext.SavepointStack, State {
             if (boundaryStateChangeListener != null && stack.isEmpty()) {
                 boundaryStateChangeListener.trackCollectedNodeFees(savepoint.getNodeFeesCollected());
             }
+            if (conflictTracker != null && stack.isEmpty() && savepoint.state() instanceof WrappedState wrappedState) {
+                conflictTracker.observe(wrappedState);
+            }
             savepoint.commit();
         }
         if (streamMode != RECORDS && immediateStateChangeListener != null) {
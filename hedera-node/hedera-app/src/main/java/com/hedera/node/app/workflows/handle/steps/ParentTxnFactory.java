@@ -62,6 +62,7 @@ import com.hedera.node.app.workflows.handle.DispatchHandleContext;
 import com.hedera.node.app.workflows.handle.DispatchProcessor;
 import com.hedera.node.app.workflows.handle.RecordDispatch;
 import com.hedera.node.app.workflows.handle.TransactionType;
+import com.hedera.node.app.workflows.handle.conflict.ConflictTracker;
 import com.hedera.node.app.workflows.handle.dispatch.ChildDispatchFactory;
 import com.hedera.node.app.workflows.handle.record.TokenContextImpl;
 import com.hedera.node.app.workflows.handle.stack.SavepointStackImpl;
@@ -113,6 +114,7 @@ public class ParentTxnFactory {
     private final TransactionChecker transactionChecker;
     private final Map<Class<?>, ServiceApiProvider<?>> apiProviders;
     private final NodeFeeAccumulator nodeFeeAccumulator;
+    private final ConflictTracker conflictTracker;
 
     @Inject
     public ParentTxnFactory(
@@ -134,7 +136,8 @@ public class ParentTxnFactory {
             @NonNull final ChildDispatchFactory childDispatchFactory,
             @NonNull final TransactionChecker transactionChecker,
             @NonNull final Map<Class<?>, ServiceApiProvider<?>> apiProviders,
-            @NonNull final NodeFeeAccumulator nodeFeeAccumulator) {
+            @NonNull final NodeFeeAccumulator nodeFeeAccumulator,
+            @NonNull final ConflictTracker conflictTracker) {
         this.configProvider = requireNonNull(configProvider);
         this.immediateStateChangeListener = requireNonNull(immediateStateChangeListener);
         this.boundaryStateChangeListener = requireNonNull(boundaryStateChangeListener);
@@ -158,6 +161,7 @@ public class ParentTxnFactory {
         this.transactionChecker = requireNonNull(transactionChecker);
         this.apiProviders = requireNonNull(apiProviders);
         this.nodeFeeAccumulator = requireNonNull(nodeFeeAccumulator);
+        this.conflictTracker = requireNonNull(conflictTracker);
     }
 
     /**
@@ -450,13 +454,15 @@ public class ParentTxnFactory {
         final var config = configProvider.getConfiguration();
         final var consensusConfig = config.getConfigData(ConsensusConfig.class);
         final var blockStreamConfig = config.getConfigData(BlockStreamConfig.class);
+        conflictTracker.startTransaction();
         return SavepointStackImpl.newRootStack(
                 state,
                 consensusConfig.handleMaxPrecedingRecords(),
                 consensusConfig.handleMaxFollowingRecords(),
                 boundaryStateChangeListener,
                 immediateStateChangeListener,
-                blockStreamConfig.streamMode());
+                blockStreamConfig.streamMode(),
+                conflictTracker);
     }
 
     /**
@@ -20,6 +20,9 @@ public interface IngestWorkflow {
      * {@link TransactionResponse} being returned to the client (for both successful and
      * unsuccessful calls). There are no unhandled exceptions (even Throwable is handled).
      *
+     * <p>The request bytes may be a view of a buffer that is reused for the next request once this call returns,
+     * so implementations must copy anything they retain beyond the call.
+     *
      * @param requestBuffer The raw protobuf transaction bytes. Must be a transaction object.
      * @param responseBuffer The raw protobuf response bytes.
      */
@@ -89,9 +89,11 @@ public final class IngestWorkflowImpl implements IngestWorkflow {
                 final var configuration = configProvider.getConfiguration();
                 ingestChecker.runAllChecks(state, requestBuffer, configuration, checkerResult);
 
-                // 7. Submit to platform with priority=false vs network consensus and TSS txs
+                // 7. Submit to platform with priority=false vs network consensus and TSS txs. The request may be a
+                // view of a reused gRPC buffer, so this is where the one copy of an accepted transaction is made
                 final var txInfo = checkerResult.txnInfoOrThrow();
-                submissionManager.submit(txInfo.txBody(), txInfo.serializedSignedTxOrThrow(), false);
+                final var serializedSignedTx = Bytes.wrap(txInfo.serializedSignedTxOrThrow().toByteArray());
+                submissionManager.submit(txInfo.txBody(), serializedSignedTx, false);
                 if (quiescenceEnabled) {
                     txPipelineTracker.incrementInFlight();
                 }
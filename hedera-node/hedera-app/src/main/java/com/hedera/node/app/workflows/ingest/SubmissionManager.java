@@ -135,8 +135,9 @@ public class SubmissionManager {
                 throw new PreCheckException(PLATFORM_TRANSACTION_NOT_CREATED);
             }
 
-            // We allow it outside of prod, but it really shouldn't be used.
-            payload = txBody.uncheckedSubmitOrThrow().transactionBytes();
+            // We allow it outside of prod, but it really shouldn't be used. The body may be parsed from a reused
+            // request buffer, so copy the bytes before the transaction pool holds on to them.
+            payload = Bytes.wrap(txBody.uncheckedSubmitOrThrow().transactionBytes().toByteArray());
         }
 
         // This method is not called at a super high rate, so synchronizing here is perfectly fine. We need to check
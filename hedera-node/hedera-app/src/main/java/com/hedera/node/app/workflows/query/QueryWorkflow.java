@@ -5,6 +5,8 @@ import com.hedera.hapi.node.transaction.Query;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 
 /** A workflow for processing queries. */
 public interface QueryWorkflow {
@@ -16,4 +18,15 @@ public interface QueryWorkflow {
      * @param responseBuffer The raw protobuf response bytes.
      */
     void handleQuery(@NonNull Bytes requestBuffer, @NonNull BufferedData responseBuffer);
+
+    /**
+     * Called instead of {@link #handleQuery(Bytes, BufferedData)} to answer a query with BUSY without doing any of
+     * its work, when the node is too busy to handle it. By default, the query fails with a gRPC error instead.
+     *
+     * @param requestBuffer The raw protobuf query bytes. Must be a {@link Query} object.
+     * @param responseBuffer The raw protobuf response bytes.
+     */
+    default void handleBusyQuery(@NonNull Bytes requestBuffer, @NonNull BufferedData responseBuffer) {
+        throw new StatusRuntimeException(Status.RESOURCE_EXHAUSTED);
+    }
 }
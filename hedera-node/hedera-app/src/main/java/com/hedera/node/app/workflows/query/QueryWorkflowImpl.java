@@ -344,15 +344,36 @@ public final class QueryWorkflowImpl implements QueryWorkflow {
             throw new StatusRuntimeException(Status.INVALID_ARGUMENT);
         }
 
+        writeResponse(response, responseBuffer);
+        logger.debug("Finished handling a query request in Query workflow");
+
+        workflowMetrics.updateDuration(function, (int) (System.nanoTime() - queryStart));
+    }
+
+    @Override
+    public void handleBusyQuery(@NonNull final Bytes requestBuffer, @NonNull final BufferedData responseBuffer) {
+        requireNonNull(requestBuffer);
+        requireNonNull(responseBuffer);
+
+        final Query query = parseQuery(requestBuffer);
+        if (HederaFunctionality.NONE.equals(functionOf(query))) {
+            throw new StatusRuntimeException(Status.INVALID_ARGUMENT);
+        }
+        final var handler = dispatcher.getHandler(query);
+        var queryHeader = handler.extractHeader(query);
+        if (queryHeader == null) {
+            queryHeader = QueryHeader.DEFAULT;
+        }
+        writeResponse(createErrorResponse(handler, queryHeader.responseType(), BUSY, 0L), responseBuffer);
+    }
+
+    private static void writeResponse(@NonNull final Response response, @NonNull final BufferedData responseBuffer) {
         try {
             Response.PROTOBUF.write(response, responseBuffer);
-            logger.debug("Finished handling a query request in Query workflow");
         } catch (IOException e) {
             logger.warn("Unexpected IO exception while writing protobuf", e);
             throw new StatusRuntimeException(Status.INTERNAL);
         }
-
-        workflowMetrics.updateDuration(function, (int) (System.nanoTime() - queryStart));
     }
 
     private boolean shouldUseSimpleFees(QueryContext context) {
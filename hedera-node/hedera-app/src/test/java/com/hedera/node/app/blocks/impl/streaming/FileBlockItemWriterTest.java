@@ -36,6 +36,8 @@ import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.BeforeEach;
@@ -230,6 +232,61 @@ class FileBlockItemWriterTest {
         }
     }
 
+    @Test
+    void testWriteItemWithParallelCompression() throws IOException {
+        when(configProvider.getConfiguration()).thenReturn(versionedConfiguration);
+        when(versionedConfiguration.getConfigData(BlockStreamConfig.class)).thenReturn(blockStreamConfig);
+        when(blockStreamConfig.blockFileDir()).thenReturn("N/A");
+        when(blockStreamConfig.blockFileParallelCompression()).thenReturn(true);
+        when(blockStreamConfig.blockFileCompressionChunkSizeKb()).thenReturn(64);
+        when(fileSystem.getPath(anyString())).thenReturn(tempDir);
+
+        final var compression = new BlockFileCompression(2);
+        try {
+            final FileBlockItemWriter fileBlockItemWriter =
+                    new FileBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem, compression);
+
+            // Open a block and write enough items to span several compression chunks
+            fileBlockItemWriter.openBlock(1);
+            final var bytes = new byte[1000];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) (i % 7);
+            }
+            final int numItems = 500;
+            for (int i = 0; i < numItems; i++) {
+                fileBlockItemWriter.writeItem(bytes);
+            }
+
+            // Close the block; the next block opens without waiting for background compression to finish
+            fileBlockItemWriter.closeCompleteBlock();
+            final FileBlockItemWriter nextBlockItemWriter =
+                    new FileBlockItemWriter(configProvider, selfNodeAccountIdManager, fileSystem, compression);
+            nextBlockItemWriter.openBlock(2);
+            fileBlockItemWriter.pendingCompression().join();
+
+            final Path expectedDirectory = tempDir.resolve("block-0.0.3");
+            final Path expectedBlockFile = expectedDirectory.resolve(BLK_GZ);
+            final Path expectedMarkerFile = expectedDirectory.resolve(MF);
+            assertThat(Files.exists(expectedMarkerFile)).isTrue();
+
+            try (final GZIPInputStream gzis = new GZIPInputStream(Files.newInputStream(expectedBlockFile))) {
+                final byte[] fileContents = gzis.readAllBytes();
+                // Each item is prefixed by the ITEMS tag and a two-byte varint length
+                assertEquals(numItems * (bytes.length + 3), fileContents.length);
+                assertArrayEquals(bytes, Arrays.copyOfRange(fileContents, 3, 3 + bytes.length));
+            }
+
+            // Pending blocks are tracked until written, and a block's marker file follows the earlier ones
+            nextBlockItemWriter.closeCompleteBlock();
+            compression.pendingFuture().join();
+            assertThat(Files.exists(expectedDirectory.resolve("000000000000000000000000000000000002.mf")))
+                    .isTrue();
+            assertThat(nextBlockItemWriter.pendingCompression()).isDone();
+        } finally {
+            compression.shutdown(Duration.ofSeconds(5));
+        }
+    }
+
     @Test
     void testWriteItemBeforeOpen() {
         when(configProvider.getConfiguration()).thenReturn(versionedConfiguration);
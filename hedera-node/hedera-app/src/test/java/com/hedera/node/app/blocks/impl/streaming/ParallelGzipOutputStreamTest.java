@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.blocks.impl.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ParallelGzipOutputStreamTest {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_CHUNKS_IN_FLIGHT = 3;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 10 * CHUNK_SIZE + 17})
+    void outputIsReadableByStandardGzipReader(final int size) throws IOException {
+        final var data = compressibleBytes(size);
+        final var sink = new ByteArrayOutputStream();
+
+        try (final var out = new ParallelGzipOutputStream(sink, executor, CHUNK_SIZE, MAX_CHUNKS_IN_FLIGHT)) {
+            out.write(data, 0, size / 2);
+            for (int i = size / 2; i < size; i++) {
+                out.write(data[i]);
+            }
+        }
+
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(sink.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void closeAsyncCompletesWithoutBlockingCaller() throws IOException {
+        final var data = compressibleBytes(4 * CHUNK_SIZE);
+        final var sink = new ByteArrayOutputStream();
+
+        final var out = new ParallelGzipOutputStream(sink, executor, CHUNK_SIZE, MAX_CHUNKS_IN_FLIGHT);
+        out.write(data);
+        out.closeAsync().join();
+
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(sink.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+        assertThatThrownBy(() -> out.write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsChunksSmallerThanDictionary() {
+        assertThatThrownBy(() -> new ParallelGzipOutputStream(
+                        new ByteArrayOutputStream(),
+                        executor,
+                        ParallelGzipOutputStream.DICTIONARY_SIZE - 1,
+                        MAX_CHUNKS_IN_FLIGHT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsFewerThanTwoChunksInFlight() {
+        assertThatThrownBy(() -> new ParallelGzipOutputStream(new ByteArrayOutputStream(), executor, CHUNK_SIZE, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void writerWaitsWhileMaxChunksAreInFlight() throws Exception {
+        final var data = compressibleBytes(10 * CHUNK_SIZE);
+        final var sink = new ByteArrayOutputStream();
+        // Holds compression tasks until they are explicitly run
+        final var heldTasks = new LinkedBlockingQueue<Runnable>();
+        final var out = new ParallelGzipOutputStream(sink, heldTasks::add, CHUNK_SIZE, MAX_CHUNKS_IN_FLIGHT);
+
+        final var writer = new Thread(() -> {
+            try {
+                out.write(data);
+                out.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.start();
+
+        // One chunk is being filled, so only MAX_CHUNKS_IN_FLIGHT - 1 chunks can be submitted before the writer waits
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(writer.getState()).isEqualTo(Thread.State.WAITING);
+        assertThat(heldTasks).hasSize(MAX_CHUNKS_IN_FLIGHT - 1);
+
+        // Running the held tasks lets the writer continue, and eventually finish
+        while (writer.isAlive() || !heldTasks.isEmpty()) {
+            final var task = heldTasks.poll(10, TimeUnit.MILLISECONDS);
+            if (task != null) {
+                task.run();
+            }
+        }
+        writer.join();
+
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(sink.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+    }
+
+    private static byte[] compressibleBytes(final int size) {
+        final var random = new Random(size);
+        final var data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + random.nextInt(16));
+        }
+        return data;
+    }
+}
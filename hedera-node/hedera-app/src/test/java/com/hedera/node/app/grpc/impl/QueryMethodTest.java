@@ -17,9 +17,16 @@ import com.swirlds.metrics.api.Metrics;
 import io.grpc.stub.StreamObserver;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hiero.consensus.metrics.RunningAverageMetric;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -192,7 +199,125 @@ final class QueryMethodTest {
         assertThat(counter("Fail").get()).isZero();
     }
 
-    private static final class StubbedStreamObserver implements StreamObserver<BufferedData> {
+    @Test
+    @DisplayName("Dispatched queries copy their request before leaving the calling thread")
+    void dispatchedQueriesCopyTheirRequest() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final QueryWorkflow w = (req, res) -> res.writeBytes(req);
+        final var method = new QueryMethod(
+                SERVICE_NAME, METHOD_NAME, w, metrics, maxMessageSize, new MethodBase.Dispatch(tasks::add, 1, 0));
+        final var requestArray = "Query".getBytes(StandardCharsets.UTF_8);
+        final var observer = new StubbedStreamObserver();
+
+        // When the query is dispatched, and the calling thread then reuses its request buffer
+        method.invoke(BufferedData.wrap(requestArray), observer);
+        Arrays.fill(requestArray, (byte) 'x');
+        assertThat(observer.responseData).isNull();
+        tasks.forEach(Runnable::run);
+
+        // Then the query was answered with the original request
+        assertThat(observer.responseData).isEqualTo("Query");
+        assertThat(counter("Hdl").get()).isEqualTo(1L);
+        assertThat(metrics.getMetric("app", "testService:" + METHOD_NAME + "QueueMs"))
+                .isInstanceOf(RunningAverageMetric.class);
+        assertThat(metrics.getMetric("app", "testService:" + METHOD_NAME + "ExecMs"))
+                .isInstanceOf(RunningAverageMetric.class);
+    }
+
+    @Test
+    @DisplayName("Dispatched queries respect the per-method concurrency limit")
+    void dispatchedQueriesRespectConcurrencyLimit() throws InterruptedException {
+        final var maxConcurrency = 2;
+        final var numRequests = 20;
+        final var inFlight = new AtomicInteger();
+        final var maxInFlight = new AtomicInteger();
+        final QueryWorkflow w = (req, res) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            res.writeBytes(req);
+        };
+        final var done = new CountDownLatch(numRequests);
+        try (final var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var method = new QueryMethod(
+                    SERVICE_NAME,
+                    METHOD_NAME,
+                    w,
+                    metrics,
+                    maxMessageSize,
+                    new MethodBase.Dispatch(exec, maxConcurrency, 10_000));
+            for (int i = 0; i < numRequests; i++) {
+                final var requestBuffer = BufferedData.wrap(("Query " + i).getBytes(StandardCharsets.UTF_8));
+                method.invoke(requestBuffer, new StubbedStreamObserver() {
+                    @Override
+                    public void onCompleted() {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(maxConcurrency);
+        assertThat(counter("Hdl").get()).isEqualTo(numRequests);
+        assertThat(counter("Fail").get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Dispatched queries that wait too long for their turn are answered BUSY")
+    void dispatchedQueriesThatWaitTooLongAreBusy() throws Exception {
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var answered = new AtomicInteger();
+        final var w = new QueryWorkflow() {
+            @Override
+            public void handleQuery(final Bytes req, final BufferedData res) {
+                answered.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                res.writeBytes(req);
+            }
+
+            @Override
+            public void handleBusyQuery(final Bytes req, final BufferedData res) {
+                res.writeBytes("Busy".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        final var busyResponse = new CompletableFuture<String>();
+        try (final var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var method = new QueryMethod(
+                    SERVICE_NAME, METHOD_NAME, w, metrics, maxMessageSize, new MethodBase.Dispatch(exec, 1, 0));
+
+            // When one query holds the method's only slot
+            method.invoke(BufferedData.wrap("Slow".getBytes(StandardCharsets.UTF_8)), new StubbedStreamObserver());
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // Then the next query is answered BUSY instead of waiting for it
+            method.invoke(BufferedData.wrap("Query".getBytes(StandardCharsets.UTF_8)), new StubbedStreamObserver() {
+                @Override
+                public void onNext(final BufferedData value) {
+                    busyResponse.complete(value.asUtf8String());
+                }
+            });
+            assertThat(busyResponse.get(10, TimeUnit.SECONDS)).isEqualTo("Busy");
+            release.countDown();
+        }
+
+        assertThat(answered.get()).isEqualTo(1);
+        assertThat(counter("Busy").get()).isEqualTo(1L);
+        assertThat(counter("Hdl").get()).isEqualTo(2L);
+        assertThat(counter("Fail").get()).isZero();
+    }
+
+    private static class StubbedStreamObserver implements StreamObserver<BufferedData> {
         private String responseData;
 
         @Override
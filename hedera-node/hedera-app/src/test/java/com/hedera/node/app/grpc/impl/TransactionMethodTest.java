@@ -1,11 +1,13 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.node.app.grpc.impl;
 
+import static com.hedera.hapi.node.base.ResponseCodeEnum.BUSY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.hedera.hapi.node.transaction.TransactionResponse;
 import com.hedera.node.app.utils.TestUtils;
 import com.hedera.node.app.workflows.ingest.IngestWorkflow;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
@@ -15,8 +17,11 @@ import com.swirlds.metrics.api.Metrics;
 import io.grpc.stub.StreamObserver;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -179,7 +184,45 @@ final class TransactionMethodTest {
         assertThat(counter("Fail").get()).isZero();
     }
 
-    private static final class StubbedStreamObserver implements StreamObserver<BufferedData> {
+    @Test
+    @DisplayName("Dispatched transactions that wait too long for their turn are answered BUSY")
+    void dispatchedTransactionsThatWaitTooLongAreBusy() throws Exception {
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final IngestWorkflow w = (req, res) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final var busyResponse = new CompletableFuture<Bytes>();
+        try (final var exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var method = new TransactionMethod(
+                    SERVICE_NAME, METHOD_NAME, w, metrics, maxMessageSize, new MethodBase.Dispatch(exec, 1, 0));
+
+            // When one transaction holds the method's only slot
+            method.invoke(BufferedData.wrap(new byte[] {1}), new StubbedStreamObserver());
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Then the next transaction is answered BUSY instead of waiting for it
+            method.invoke(BufferedData.wrap(new byte[] {2}), new StubbedStreamObserver() {
+                @Override
+                public void onNext(final BufferedData value) {
+                    busyResponse.complete(value.getBytes(0, value.length()));
+                }
+            });
+            final var response = TransactionResponse.PROTOBUF.parse(busyResponse.get(10, TimeUnit.SECONDS));
+            assertThat(response.nodeTransactionPrecheckCode()).isEqualTo(BUSY);
+            release.countDown();
+        }
+
+        assertThat(counter("Busy").get()).isEqualTo(1L);
+        assertThat(counter("Fail").get()).isZero();
+    }
+
+    private static class StubbedStreamObserver implements StreamObserver<BufferedData> {
         private String responseData;
 
         @Override
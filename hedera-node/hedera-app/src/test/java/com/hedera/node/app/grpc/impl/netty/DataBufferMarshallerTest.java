@@ -234,4 +234,28 @@ final class DataBufferMarshallerTest {
         final var overBuff = m.parse(overStream);
         assertThat(overBuff.length()).isEqualTo(maxTxnSize + 1);
     }
+
+    @Test
+    @DisplayName("Parsed request can be viewed without copying until the next parse")
+    void parsedRequestCanBeViewedWithoutCopying() {
+        final var first = TestUtils.randomBytes(100);
+        final var buf = marshaller.parse(new ByteArrayInputStream(first));
+
+        final var view = RequestBuffers.viewOf(buf);
+        assertThat(view).isNotNull();
+        assertThat(view.toByteArray()).isEqualTo(first);
+
+        // The view shares the thread's buffer, so it sees the next request's bytes
+        final var second = TestUtils.randomBytes(100);
+        marshaller.parse(new ByteArrayInputStream(second));
+        assertThat(view.toByteArray()).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Buffers not owned by the marshaller have no zero-copy view")
+    void foreignBuffersHaveNoView() {
+        marshaller.parse(new ByteArrayInputStream(TestUtils.randomBytes(10)));
+        assertThat(RequestBuffers.viewOf(BufferedData.wrap(TestUtils.randomBytes(10))))
+                .isNull();
+    }
 }
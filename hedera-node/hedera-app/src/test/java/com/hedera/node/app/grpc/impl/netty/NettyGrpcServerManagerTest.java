@@ -76,4 +76,22 @@ final class NettyGrpcServerManagerTest {
         assertThat(subject.port()).isEqualTo(-1);
         assertThat(subject.tlsPort()).isEqualTo(-1);
     }
+
+    @Test
+    @DisplayName("Stopping closes the executor calls are dispatched to")
+    void stopClosesDispatchExecutor() {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("netty.virtualThreadQueries", "true")
+                .getOrCreateConfig();
+        final ConfigProvider dispatchingConfigProvider = () -> new VersionedConfigImpl(config, 1);
+        final var subject = new NettyGrpcServerManager(
+                dispatchingConfigProvider, services, ingestWorkflow, userQueryWorkflow, operatorQueryWorkflow, metrics);
+        final var dispatchExecutor = subject.dispatchExecutor();
+        assertThat(dispatchExecutor).isNotNull();
+        assertThat(dispatchExecutor.isShutdown()).isFalse();
+
+        subject.stop();
+
+        assertThat(dispatchExecutor.isTerminated()).isTrue();
+    }
 }
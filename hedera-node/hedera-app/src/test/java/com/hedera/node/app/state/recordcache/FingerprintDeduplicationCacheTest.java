@@ -0,0 +1,220 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.state.recordcache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfiguration;
+import com.hedera.node.config.data.HederaConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class FingerprintDeduplicationCacheTest {
+    private static final long MAX_TXN_DURATION = 180;
+    private static final Instant START = Instant.ofEpochSecond(1_700_000_000L);
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(START);
+    private final InstantSource instantSource = now::get;
+
+    private FingerprintDeduplicationCache cache;
+
+    @Mock
+    private ConfigProvider props;
+
+    @BeforeEach
+    void setUp(@Mock final VersionedConfiguration versionedConfig, @Mock final HederaConfig hederaConfig) {
+        cache = new FingerprintDeduplicationCache(props, instantSource);
+        lenient().when(props.getConfiguration()).thenReturn(versionedConfig);
+        lenient().when(versionedConfig.getConfigData(HederaConfig.class)).thenReturn(hederaConfig);
+        lenient().when(hederaConfig.transactionMaxValidDuration()).thenReturn(MAX_TXN_DURATION);
+    }
+
+    @Test
+    @DisplayName("Constructor args cannot be null")
+    void constructorArgsCannotBeNull() {
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new FingerprintDeduplicationCache(null, instantSource))
+                .isInstanceOf(NullPointerException.class);
+        //noinspection DataFlowIssue
+        assertThatThrownBy(() -> new FingerprintDeduplicationCache(props, null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    @DisplayName("Add a transaction ID that has expired")
+    void addTransactionIDThatHasExpired() {
+        final var txId = txId(1001, START.getEpochSecond() - MAX_TXN_DURATION - 1, 0);
+
+        cache.add(txId);
+
+        assertThat(cache.numSeconds()).isZero();
+        assertThat(cache.contains(txId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Add a transaction ID that is far in the future")
+    void addTransactionIDInTheFuture() {
+        final var txId = txId(1001, START.getEpochSecond() + MAX_TXN_DURATION + 1, 0);
+
+        cache.add(txId);
+
+        // We allow it to be added. The TransactionChecker is responsible for filtering out future transactions,
+        // not this cache.
+        assertThat(cache.contains(txId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Only the exact transaction ID is contained")
+    void onlyExactIdIsContained() {
+        final var second = START.getEpochSecond() - 1;
+        final var txId = txId(1001, second, 123);
+
+        cache.add(txId);
+
+        assertThat(cache.contains(txId)).isTrue();
+        assertThat(cache.contains(txId(1002, second, 123))).isFalse();
+        assertThat(cache.contains(txId(1001, second, 124))).isFalse();
+        assertThat(cache.contains(txId(1001, second + 1, 123))).isFalse();
+        assertThat(cache.contains(txId.copyBuilder().scheduled(true).build())).isFalse();
+        assertThat(cache.contains(txId.copyBuilder().nonce(1).build())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Payers outside this shard and realm, and alias payers, are fingerprinted by hash")
+    void hashedPayersAreDistinguished() {
+        final var second = START.getEpochSecond();
+        final var otherRealm = txId(1001, second, 0)
+                .copyBuilder()
+                .accountID(AccountID.newBuilder().realmNum(1).accountNum(1001))
+                .build();
+        final var alias = txId(1001, second, 0)
+                .copyBuilder()
+                .accountID(AccountID.newBuilder().alias(Bytes.wrap(new byte[] {1, 2, 3})))
+                .build();
+        final var otherAlias = alias.copyBuilder()
+                .accountID(AccountID.newBuilder().alias(Bytes.wrap(new byte[] {1, 2, 4})))
+                .build();
+
+        cache.add(otherRealm);
+        cache.add(alias);
+
+        assertThat(cache.contains(otherRealm)).isTrue();
+        assertThat(cache.contains(alias)).isTrue();
+        assertThat(cache.contains(otherAlias)).isFalse();
+        assertThat(cache.contains(txId(1001, second, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Tables grow to hold many transaction IDs with the same valid start second")
+    void tablesGrow() {
+        final var second = START.getEpochSecond();
+        IntStream.range(0, 10_000).forEach(i -> cache.add(txId(1001 + i, second, i)));
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> cache.contains(txId(1001 + i, second, i)));
+        assertThat(IntStream.range(0, 10_000)).noneMatch(i -> cache.contains(txId(1001 + i, second, i + 1)));
+        assertThat(cache.numSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrent adds while the table grows are all kept")
+    void concurrentAddsWhileGrowingAreAllKept() throws Exception {
+        final var second = START.getEpochSecond();
+        final int numThreads = 8;
+        final int perThread = 5_000;
+        final var executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final var ready = new CountDownLatch(numThreads);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                final long payer = 1001 + t;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    for (int i = 0; i < perThread; i++) {
+                        cache.add(txId(payer, second, i));
+                        assertThat(cache.contains(txId(payer, second, i))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            for (final var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(IntStream.range(0, numThreads))
+                .allMatch(t -> IntStream.range(0, perThread).allMatch(i -> cache.contains(txId(1001 + t, second, i))));
+        assertThat(cache.contains(txId(1001 + numThreads, second, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Whole seconds expire as time passes")
+    void secondsExpire() {
+        final var oldTxId = txId(1001, START.getEpochSecond() - MAX_TXN_DURATION, 0);
+        final var newTxId = txId(1001, START.getEpochSecond(), 0);
+        cache.add(oldTxId);
+        cache.add(newTxId);
+        assertThat(cache.numSeconds()).isEqualTo(2);
+
+        now.set(START.plusSeconds(1));
+
+        assertThat(cache.contains(oldTxId)).isFalse();
+        assertThat(cache.contains(newTxId)).isTrue();
+        assertThat(cache.numSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Duplicates are ignored")
+    void duplicatesAreIgnored() {
+        final var txId = txId(1001, START.getEpochSecond(), 0);
+
+        cache.add(txId);
+        cache.add(txId);
+
+        assertThat(cache.contains(txId)).isTrue();
+        assertThat(cache.numSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Clear removes everything")
+    void clearRemovesEverything() {
+        final var txId = txId(1001, START.getEpochSecond(), 0);
+        cache.add(txId);
+
+        cache.clear();
+
+        assertThat(cache.numSeconds()).isZero();
+        assertThat(cache.contains(txId)).isFalse();
+    }
+
+    private static TransactionID txId(final long payerNum, final long seconds, final int nanos) {
+        return TransactionID.newBuilder()
+                .accountID(AccountID.newBuilder().accountNum(payerNum))
+                .transactionValidStart(
+                        Timestamp.newBuilder().seconds(seconds).nanos(nanos).build())
+                .build();
+    }
+}
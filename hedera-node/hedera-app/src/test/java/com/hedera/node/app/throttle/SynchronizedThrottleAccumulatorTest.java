@@ -1,16 +1,24 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.node.app.throttle;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.hapi.node.base.AccountID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.transaction.Query;
+import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.workflows.TransactionInfo;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.swirlds.config.api.Configuration;
 import com.swirlds.state.State;
 import java.time.InstantSource;
 import java.util.ArrayList;
@@ -36,7 +44,8 @@ class SynchronizedThrottleAccumulatorTest {
 
     @BeforeEach
     void setUp() {
-        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator);
+        final var config = HederaTestConfigBuilder.createConfig();
+        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator, () -> config);
     }
 
     @Test
@@ -68,4 +77,99 @@ class SynchronizedThrottleAccumulatorTest {
                 .checkAndEnforceThrottle(
                         eq(HederaFunctionality.CONTRACT_CREATE), any(), eq(query), eq(state), eq(accountID));
     }
+
+    @Test
+    void leasedCapacityIsUsedWithoutConsultingAccumulator() {
+        // given
+        final var config = leasingConfig();
+        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator, () -> config);
+        final var state = mock(State.class);
+        final List<ThrottleUsage> usages = new ArrayList<>();
+        given(transactionInfo.functionality()).willReturn(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE);
+        given(transactionInfo.txBody()).willReturn(TransactionBody.DEFAULT);
+        given(transactionInfo.payerID())
+                .willReturn(AccountID.newBuilder().accountNum(1234L).build());
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThat(subject.shouldThrottle(transactionInfo, state, usages)).isFalse();
+        }
+
+        // then
+        verify(throttleAccumulator, times(1))
+                .shouldThrottleNOfUnscaled(eq(4), eq(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE), any());
+        verify(throttleAccumulator, never())
+                .checkAndEnforceThrottle(any(TransactionInfo.class), any(), any(), any(), anyBoolean());
+        assertThat(usages).hasSize(4);
+    }
+
+    @Test
+    void leasesClaimedBeforeRebuildAreDroppedWithoutLeaking() {
+        // given
+        final var config = leasingConfig();
+        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator, () -> config);
+        final var state = mock(State.class);
+        final List<ThrottleUsage> usages = new ArrayList<>();
+        given(transactionInfo.functionality()).willReturn(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE);
+        given(transactionInfo.txBody()).willReturn(TransactionBody.DEFAULT);
+        given(transactionInfo.payerID())
+                .willReturn(AccountID.newBuilder().accountNum(1234L).build());
+        assertThat(subject.shouldThrottle(transactionInfo, state, usages)).isFalse();
+
+        // when
+        given(throttleAccumulator.rebuilds()).willReturn(1);
+        assertThat(subject.shouldThrottle(transactionInfo, state, usages)).isFalse();
+
+        // then
+        verify(throttleAccumulator, times(2))
+                .shouldThrottleNOfUnscaled(eq(4), eq(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE), any());
+        verify(throttleAccumulator, never()).leakCapacityForNOfUnscaled(anyInt(), any());
+    }
+
+    @Test
+    void fallsBackToExactDecisionWhenBatchCannotBeClaimed() {
+        // given
+        final var config = leasingConfig();
+        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator, () -> config);
+        final var state = mock(State.class);
+        final List<ThrottleUsage> usages = new ArrayList<>();
+        given(transactionInfo.functionality()).willReturn(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE);
+        given(transactionInfo.txBody()).willReturn(TransactionBody.DEFAULT);
+        given(transactionInfo.payerID())
+                .willReturn(AccountID.newBuilder().accountNum(1234L).build());
+        given(throttleAccumulator.shouldThrottleNOfUnscaled(
+                        eq(4), eq(HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE), any()))
+                .willReturn(true);
+        given(throttleAccumulator.checkAndEnforceThrottle(
+                        eq(transactionInfo), any(), eq(state), eq(usages), eq(false)))
+                .willReturn(true);
+
+        // expect
+        assertThat(subject.shouldThrottle(transactionInfo, state, usages)).isTrue();
+    }
+
+    @Test
+    void gasThrottledTransactionsNeverUseLeases() {
+        // given
+        final var config = leasingConfig();
+        subject = new SynchronizedThrottleAccumulator(instantSource, throttleAccumulator, () -> config);
+        final var state = mock(State.class);
+        final List<ThrottleUsage> usages = new ArrayList<>();
+        given(transactionInfo.functionality()).willReturn(HederaFunctionality.CONTRACT_CALL);
+
+        // when
+        subject.shouldThrottle(transactionInfo, state, usages);
+
+        // then
+        verify(throttleAccumulator, never()).shouldThrottleNOfUnscaled(anyInt(), any(), any());
+        verify(throttleAccumulator, times(1))
+                .checkAndEnforceThrottle(eq(transactionInfo), any(), eq(state), eq(usages), eq(false));
+    }
+
+    private static Configuration leasingConfig() {
+        return HederaTestConfigBuilder.create()
+                .withValue("hedera.ingestThrottle.leaseBatchSize", 4)
+                .withValue("hedera.ingestThrottle.leaseStripes", 1)
+                .getOrCreateConfig();
+    }
 }
@@ -1817,6 +1817,25 @@ public class ThrottleAccumulatorTest {
         assertEquals(42 * oneUsed, fortyTwoUsed);
     }
 
+    @Test
+    void leakingCapacityOfFunctionDroppedByRebuildIsIgnored() throws IOException, ParseException {
+        subject = new ThrottleAccumulator(
+                () -> CAPACITY_SPLIT,
+                configProvider::getConfiguration,
+                FRONTEND_THROTTLE,
+                throttleMetrics,
+                gasThrottle,
+                bytesThrottle,
+                opsDurationThrottle);
+        subject.rebuildFor(getThrottleDefs("bootstrap/throttles.json"));
+        subject.shouldThrottleNOfUnscaled(2, TOKEN_MINT, TIME_INSTANT);
+
+        subject.rebuildFor(ThrottleDefinitions.DEFAULT);
+
+        assertEquals(2, subject.rebuilds());
+        assertDoesNotThrow(() -> subject.leakCapacityForNOfUnscaled(2, TOKEN_MINT));
+    }
+
     @ParameterizedTest
     @CsvSource({
         "FRONTEND_THROTTLE,true,true",
@@ -0,0 +1,85 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.throttle;
+
+import static com.hedera.hapi.node.base.HederaFunctionality.CONSENSUS_SUBMIT_MESSAGE;
+import static com.hedera.hapi.node.base.HederaFunctionality.CRYPTO_CREATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ThrottleLeasesTest {
+    private static final long TTL_NANOS = 1_000L;
+
+    private final ThrottleLeases subject = new ThrottleLeases(3, 4, TTL_NANOS);
+
+    @Test
+    void roundsStripesUpToPowerOfTwo() {
+        assertThat(new ThrottleLeases(1, 1, TTL_NANOS).stripes()).isEqualTo(1);
+        assertThat(new ThrottleLeases(1, 5, TTL_NANOS).stripes()).isEqualTo(8);
+        assertThat(subject.stripes()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsNonPositiveParameters() {
+        assertThatThrownBy(() -> new ThrottleLeases(0, 1, TTL_NANOS)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ThrottleLeases(1, 0, TTL_NANOS)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void acquiresOnlyRefilledTokensOfSameFunction() {
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 0, 0L)).isFalse();
+
+        subject.refill(CRYPTO_CREATE, 0, 2, 0L);
+
+        assertThat(subject.tryAcquire(CONSENSUS_SUBMIT_MESSAGE, 0, 0L)).isFalse();
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 1, 0L)).isFalse();
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 0, 0L)).isTrue();
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 0, 0L)).isTrue();
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 0, 0L)).isFalse();
+    }
+
+    @Test
+    void stealsFromOtherStripes() {
+        subject.refill(CRYPTO_CREATE, 2, 1, 0L);
+
+        assertThat(subject.steal(CRYPTO_CREATE, 0L)).isEqualTo(2);
+        assertThat(subject.steal(CRYPTO_CREATE, 0L)).isEqualTo(-1);
+    }
+
+    @Test
+    void releasedUsageReturnsToken() {
+        subject.refill(CRYPTO_CREATE, 1, 1, 0L);
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 1, 0L)).isTrue();
+
+        subject.usage(CRYPTO_CREATE, 1).reclaimCapacity();
+
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 1, 0L)).isTrue();
+    }
+
+    @Test
+    void clearDropsAllLeasesAndExpiresLateReleases() {
+        subject.refill(CRYPTO_CREATE, 0, 2, 0L);
+        subject.refill(CONSENSUS_SUBMIT_MESSAGE, 3, 5, 0L);
+
+        subject.clear(1L);
+
+        assertThat(subject.steal(CRYPTO_CREATE, 1L)).isEqualTo(-1);
+        assertThat(subject.steal(CONSENSUS_SUBMIT_MESSAGE, 1L)).isEqualTo(-1);
+        subject.release(CRYPTO_CREATE, 0);
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 0, 2L)).isFalse();
+        assertThat(subject.drainExpired(CRYPTO_CREATE, 2L)).isEqualTo(1);
+    }
+
+    @Test
+    void expiredLeasesAreUnusableAndDrained() {
+        subject.refill(CRYPTO_CREATE, 0, 2, 0L);
+        subject.refill(CRYPTO_CREATE, 3, 5, TTL_NANOS);
+
+        final long later = TTL_NANOS + 1;
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 0, later)).isFalse();
+        assertThat(subject.drainExpired(CRYPTO_CREATE, later)).isEqualTo(2);
+        assertThat(subject.drainExpired(CRYPTO_CREATE, later)).isZero();
+        assertThat(subject.tryAcquire(CRYPTO_CREATE, 3, later)).isTrue();
+    }
+}
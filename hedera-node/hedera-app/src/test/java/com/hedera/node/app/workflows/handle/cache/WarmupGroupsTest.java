@@ -0,0 +1,151 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.workflows.handle.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.TopicID;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.consensus.ConsensusSubmitMessageTransactionBody;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.TransactionBody;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WarmupGroupsTest {
+    private static final TopicID TOPIC = TopicID.newBuilder().topicNum(1001L).build();
+    private static final TopicID OTHER_TOPIC = TopicID.newBuilder().topicNum(1002L).build();
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<TransactionBody> warmed = new ArrayList<>();
+
+    @Test
+    void submitsEachTransactionAsSoonAsItIsAdded() {
+        final var subject = new WarmupGroups(tasks::add, 32, warmed::add);
+        final var aToB = transfer(1, 2);
+        final var cToD = transfer(3, 4);
+
+        subject.add(aToB);
+        // Warming starts before the rest of the round is read, just as when each transaction was its own task
+        assertThat(tasks).hasSize(1);
+        subject.add(cToD);
+        assertThat(tasks).hasSize(2);
+
+        runTasks();
+        assertThat(warmed).containsExactly(aToB, cToD);
+    }
+
+    @Test
+    void warmsTransactionsSharingAnyEntityOneAfterAnother() {
+        final var subject = new WarmupGroups(tasks::add, 32, warmed::add);
+        final var aToB = transfer(1, 2);
+        final var cToD = transfer(3, 4);
+        final var eToB = transfer(5, 2);
+
+        subject.add(aToB);
+        subject.add(cToD);
+        subject.add(eToB);
+
+        // The transfer to B waits for the group already warming B, rather than taking a task of its own
+        assertThat(tasks).hasSize(2);
+        tasks.getFirst().run();
+        assertThat(warmed).containsExactly(aToB, eToB);
+    }
+
+    @Test
+    void doesNotGroupByPayer() {
+        final var subject = new WarmupGroups(tasks::add, 32, warmed::add);
+
+        subject.add(submit(1, TOPIC));
+        subject.add(submit(1, OTHER_TOPIC));
+
+        assertThat(tasks).hasSize(2);
+    }
+
+    @Test
+    void submitsAgainOnceGroupIsWarmed() {
+        final var subject = new WarmupGroups(tasks::add, 32, warmed::add);
+        final var first = submit(1, TOPIC);
+        final var second = submit(2, TOPIC);
+
+        subject.add(first);
+        runTasks();
+        subject.add(second);
+
+        assertThat(tasks).hasSize(1);
+        runTasks();
+        assertThat(warmed).containsExactly(first, second);
+    }
+
+    @Test
+    void startsNewGroupOnceMaxIsReached() {
+        final var subject = new WarmupGroups(tasks::add, 2, warmed::add);
+        final var first = submit(1, TOPIC);
+        final var second = submit(2, TOPIC);
+        final var third = submit(3, TOPIC);
+
+        subject.add(first);
+        subject.add(second);
+        subject.add(third);
+
+        assertThat(tasks).hasSize(2);
+        tasks.getFirst().run();
+        assertThat(warmed).containsExactly(first, second);
+    }
+
+    @Test
+    void keepsWarmingGroupAfterFailure() {
+        final var failing = submit(1, TOPIC);
+        final var subject = new WarmupGroups(tasks::add, 32, body -> {
+            if (body == failing) {
+                throw new IllegalStateException("Expected failure");
+            }
+            warmed.add(body);
+        });
+        final var next = submit(2, TOPIC);
+
+        subject.add(failing);
+        subject.add(next);
+
+        runTasks();
+        assertThat(warmed).containsExactly(next);
+    }
+
+    private void runTasks() {
+        final var toRun = new ArrayList<>(tasks);
+        tasks.clear();
+        toRun.forEach(Runnable::run);
+    }
+
+    private static TransactionBody transfer(final long payer, final long receiver) {
+        return TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder().accountID(account(payer)))
+                .cryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .transfers(TransferList.newBuilder()
+                                .accountAmounts(
+                                        AccountAmount.newBuilder()
+                                                .accountID(account(payer))
+                                                .amount(-1)
+                                                .build(),
+                                        AccountAmount.newBuilder()
+                                                .accountID(account(receiver))
+                                                .amount(1)
+                                                .build())))
+                .build();
+    }
+
+    private static TransactionBody submit(final long payer, final TopicID topic) {
+        return TransactionBody.newBuilder()
+                .transactionID(TransactionID.newBuilder().accountID(account(payer)))
+                .consensusSubmitMessage(
+                        ConsensusSubmitMessageTransactionBody.newBuilder().topicID(topic))
+                .build();
+    }
+
+    private static AccountID account(final long num) {
+        return AccountID.newBuilder().accountNum(num).build();
+    }
+}
@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.workflows.handle.conflict;
+
+import static com.swirlds.metrics.api.Metric.ValueType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.node.app.fixtures.state.FakeState;
+import com.hedera.node.app.state.WrappedState;
+import com.hedera.node.app.utils.TestUtils;
+import com.hedera.node.config.ConfigProvider;
+import com.hedera.node.config.VersionedConfigImpl;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.swirlds.metrics.api.Metrics;
+import com.swirlds.state.spi.WritableKVState;
+import com.swirlds.state.spi.WritableQueueState;
+import com.swirlds.state.spi.WritableSingletonState;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConflictTrackerTest {
+    private static final String SERVICE_NAME = "TestService";
+    private static final int KV_STATE_ID = 1;
+    private static final int SINGLETON_STATE_ID = 2;
+    private static final int QUEUE_STATE_ID = 3;
+
+    private final Metrics metrics = TestUtils.metrics();
+    private FakeState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new FakeState()
+                .addService(
+                        SERVICE_NAME,
+                        Map.of(
+                                KV_STATE_ID,
+                                new HashMap<String, String>(),
+                                SINGLETON_STATE_ID,
+                                new AtomicReference<>("0"),
+                                QUEUE_STATE_ID,
+                                new ArrayDeque<String>()));
+    }
+
+    @Test
+    void countsNothingWhenDisabled() {
+        final var subject = new ConflictTracker(metrics, configProviderWith(false, 64));
+
+        handle(subject, kv -> kv.put("A", "APPLE"));
+        handle(subject, kv -> kv.get("A"));
+        subject.startTransaction();
+
+        assertThat(counter("conflictTrackedTxns")).isZero();
+    }
+
+    @Test
+    void countsReadsOfKeysWrittenEarlierInWindow() {
+        final var subject = new ConflictTracker(metrics, configProviderWith(true, 64));
+
+        handle(subject, kv -> kv.put("A", "APPLE"));
+        handle(subject, kv -> kv.get("B"));
+        handle(subject, kv -> kv.get("A"));
+        subject.startTransaction();
+
+        assertThat(counter("conflictTrackedTxns")).isEqualTo(3);
+        assertThat(counter("conflictedTxns")).isEqualTo(1);
+        assertThat(counter("kvConflictedTxns")).isEqualTo(1);
+    }
+
+    @Test
+    void singletonConflictsAreNotKeyValueConflicts() {
+        final var subject = new ConflictTracker(metrics, configProviderWith(true, 64));
+
+        handleSingleton(subject, singleton -> singleton.put(singleton.get() + "1"));
+        handleSingleton(subject, singleton -> singleton.put(singleton.get() + "1"));
+        subject.startTransaction();
+
+        assertThat(counter("conflictedTxns")).isEqualTo(1);
+        assertThat(counter("kvConflictedTxns")).isZero();
+    }
+
+    @Test
+    void queueReadsConflictWithEarlierQueueWrites() {
+        final var subject = new ConflictTracker(metrics, configProviderWith(true, 64));
+
+        handleQueue(subject, queue -> queue.add("A"));
+        handleQueue(subject, WritableQueueState::peek);
+        subject.startTransaction();
+
+        assertThat(counter("conflictTrackedTxns")).isEqualTo(2);
+        assertThat(counter("conflictedTxns")).isEqualTo(1);
+        assertThat(counter("kvConflictedTxns")).isZero();
+    }
+
+    @Test
+    void writesAreForgottenAtEndOfWindow() {
+        final var subject = new ConflictTracker(metrics, configProviderWith(true, 1));
+
+        handle(subject, kv -> kv.put("A", "APPLE"));
+        handle(subject, kv -> kv.get("A"));
+        subject.startTransaction();
+
+        assertThat(counter("conflictTrackedTxns")).isEqualTo(2);
+        assertThat(counter("conflictedTxns")).isZero();
+    }
+
+    private void handle(final ConflictTracker subject, final Consumer<WritableKVState<String, String>> work) {
+        subject.startTransaction();
+        final var wrappedState = new WrappedState(state);
+        work.accept(wrappedState.getWritableStates(SERVICE_NAME).get(KV_STATE_ID));
+        subject.observe(wrappedState);
+        wrappedState.commit();
+    }
+
+    private void handleSingleton(final ConflictTracker subject, final Consumer<WritableSingletonState<String>> work) {
+        subject.startTransaction();
+        final var wrappedState = new WrappedState(state);
+        work.accept(wrappedState.getWritableStates(SERVICE_NAME).getSingleton(SINGLETON_STATE_ID));
+        subject.observe(wrappedState);
+        wrappedState.commit();
+    }
+
+    private void handleQueue(final ConflictTracker subject, final Consumer<WritableQueueState<String>> work) {
+        subject.startTransaction();
+        final var wrappedState = new WrappedState(state);
+        work.accept(wrappedState.getWritableStates(SERVICE_NAME).getQueue(QUEUE_STATE_ID));
+        subject.observe(wrappedState);
+        wrappedState.commit();
+    }
+
+    private long counter(final String name) {
+        return (long) metrics.getMetric("app", name).get(VALUE);
+    }
+
+    private static ConfigProvider configProviderWith(final boolean enabled, final int windowSize) {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("consensus.handle.conflictTracking.enabled", enabled)
+                .withValue("consensus.handle.conflictTracking.windowSize", windowSize)
+                .getOrCreateConfig();
+        return () -> new VersionedConfigImpl(config, 1);
+    }
+}
@@ -46,6 +46,7 @@ import com.hedera.node.app.workflows.TransactionChecker;
 import com.hedera.node.app.workflows.TransactionInfo;
 import com.hedera.node.app.workflows.dispatcher.TransactionDispatcher;
 import com.hedera.node.app.workflows.handle.DispatchProcessor;
+import com.hedera.node.app.workflows.handle.conflict.ConflictTracker;
 import com.hedera.node.app.workflows.handle.dispatch.ChildDispatchFactory;
 import com.hedera.node.app.workflows.prehandle.PreHandleResult;
 import com.hedera.node.app.workflows.prehandle.PreHandleWorkflow;
@@ -94,6 +95,9 @@ class ParentTxnTest {
     @Mock
     private AppFeeCharging appFeeCharging;
 
+    @Mock
+    private ConflictTracker conflictTracker;
+
     @Mock
     private PreHandleWorkflow preHandleWorkflow;
 
@@ -286,7 +290,8 @@ class ParentTxnTest {
                 childDispatchFactory,
                 transactionChecker,
                 Map.of(TokenServiceApi.class, TOKEN_SERVICE_API_PROVIDER),
-                NodeFeeAccumulator.NOOP);
+                NodeFeeAccumulator.NOOP,
+                conflictTracker);
     }
 
     private void givenExistingCreator() {
@@ -44,6 +44,7 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.utility.AutoCloseableWrapper;
 import com.swirlds.state.State;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -57,6 +58,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -161,6 +163,38 @@ class IngestWorkflowImplTest extends AppTestBase {
         verify(submissionManager).submit(eq(transactionBody), any(), eq(false));
     }
 
+    @Test
+    @DisplayName("The submitted bytes do not share the (reusable) request buffer")
+    void submittedBytesAreCopiedFromRequest() throws PreCheckException {
+        // Given a transaction whose serialized bytes are a view of a request buffer that will be reused
+        final var requestArray = SignedTransaction.PROTOBUF.toBytes(signedTx).toByteArray();
+        final var expected = Bytes.wrap(requestArray.clone());
+        final var transactionInfo = new TransactionInfo(
+                signedTx,
+                transactionBody,
+                SignatureMap.newBuilder().build(),
+                randomBytes(100),
+                HederaFunctionality.CONSENSUS_CREATE_TOPIC,
+                Bytes.wrap(requestArray));
+        doAnswer(invocationOnMock -> {
+                    final var result = invocationOnMock.getArgument(3, IngestChecker.Result.class);
+                    result.setThrottleUsages(List.of());
+                    result.setTxnInfo(transactionInfo);
+                    return null;
+                })
+                .when(ingestChecker)
+                .runAllChecks(eq(state), eq(requestBuffer), eq(configuration), any());
+        final var submitted = ArgumentCaptor.forClass(Bytes.class);
+
+        // When the transaction is submitted, and the request buffer is then overwritten by the next request
+        workflow.submitTransaction(requestBuffer, responseBuffer);
+        Arrays.fill(requestArray, (byte) 0);
+
+        // Then the bytes given to the submission manager are unaffected
+        verify(submissionManager).submit(eq(transactionBody), submitted.capture(), eq(false));
+        assertThat(submitted.getValue()).isEqualTo(expected);
+    }
+
     @Nested
     @DisplayName("0. Node state pre-checks")
     class NodeTests {
@@ -787,6 +787,37 @@ class QueryWorkflowImplTest extends AppTestBase {
         verify(opWorkflowMetrics).incrementThrottled(FILE_GET_INFO);
     }
 
+    @Test
+    void testBusyQueryIsAnsweredWithoutAnsweringIt() throws ParseException {
+        // given
+        final var responseBuffer = newEmptyBuffer();
+
+        // when
+        workflow.handleBusyQuery(requestBuffer, responseBuffer);
+
+        // then
+        final var response = parseResponse(responseBuffer);
+        final var header = response.fileGetInfoOrThrow().headerOrThrow();
+        assertThat(header.nodeTransactionPrecheckCode()).isEqualTo(BUSY);
+        assertThat(header.responseType()).isEqualTo(ANSWER_ONLY);
+        assertThat(header.cost()).isZero();
+        verify(stateAccessor, never()).apply(any());
+        verify(handler, never()).findResponse(any(), any());
+    }
+
+    @Test
+    void testBusyUnrecognizableQueryTypeFails() throws ParseException {
+        // given
+        final var query = Query.newBuilder().build();
+        when(queryParser.parseStrict((ReadableSequentialData) notNull())).thenReturn(query);
+        final var responseBuffer = newEmptyBuffer();
+
+        // then
+        assertThatThrownBy(() -> workflow.handleBusyQuery(requestBuffer, responseBuffer))
+                .isInstanceOf(StatusRuntimeException.class)
+                .hasFieldOrPropertyWithValue("status", Status.INVALID_ARGUMENT);
+    }
+
     @Test
     void testThrottleDoesNotFailWhenWorkflowShouldNotCharge() throws ParseException {
         // given
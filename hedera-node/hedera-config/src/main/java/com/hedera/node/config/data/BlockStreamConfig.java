@@ -23,6 +23,9 @@ import java.time.Duration;
  * @param blockFileBufferOuterSizeKb block file writer outer buffer size (in kilobytes) (see FileBlockItemWriter#openBlock(long) for details)
  * @param blockFileBufferInnerSizeKb block file writer inner buffer size (in kilobytes) (see FileBlockItemWriter#openBlock(long) for details)
  * @param blockFileBufferGzipSizeKb block file writer GZIP buffer size (in kilobytes) (see FileBlockItemWriter#openBlock(long) for details)
+ * @param blockFileParallelCompression whether block files are gzip-compressed in independent chunks on a background pool
+ * @param blockFileCompressionThreads the number of background threads compressing block file chunks, when parallel compression is enabled
+ * @param blockFileCompressionChunkSizeKb the uncompressed size (in kilobytes) of each independently compressed block file chunk
  */
 @ConfigData("blockStream")
 public record BlockStreamConfig(
@@ -66,6 +69,15 @@ public record BlockStreamConfig(
         @ConfigProperty(defaultValue = "256") @Min(64) @NetworkProperty
         int blockFileBufferGzipSizeKb,
 
+        @ConfigProperty(defaultValue = "false") @NodeProperty
+        boolean blockFileParallelCompression,
+
+        @ConfigProperty(defaultValue = "4") @Min(1) @NodeProperty
+        int blockFileCompressionThreads,
+
+        @ConfigProperty(defaultValue = "256") @Min(32) @NodeProperty
+        int blockFileCompressionChunkSizeKb,
+
         @ConfigProperty(defaultValue = "false") @NetworkProperty
         boolean enableCutover,
 
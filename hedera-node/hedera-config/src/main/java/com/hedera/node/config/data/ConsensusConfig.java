@@ -2,6 +2,7 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NetworkProperty;
+import com.hedera.node.config.NodeProperty;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
@@ -12,4 +13,8 @@ public record ConsensusConfig(
         @ConfigProperty(value = "handle.maxPrecedingRecords", defaultValue = "3") @NetworkProperty
                 int handleMaxPrecedingRecords,
         @ConfigProperty(value = "handle.maxFollowingRecords", defaultValue = "50") @NetworkProperty
-                int handleMaxFollowingRecords) {}
+                int handleMaxFollowingRecords,
+        @ConfigProperty(value = "handle.conflictTracking.enabled", defaultValue = "false") @NodeProperty
+                boolean handleConflictTrackingEnabled,
+        @ConfigProperty(value = "handle.conflictTracking.windowSize", defaultValue = "64") @NodeProperty
+                int handleConflictTrackingWindowSize) {}
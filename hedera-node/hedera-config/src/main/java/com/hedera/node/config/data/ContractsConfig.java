@@ -164,4 +164,19 @@ public record ContractsConfig(
         boolean metricsSmartContractSecondaryEnabled,
 
         @ConfigProperty(value = "evm.UseBonnevilleEVM", defaultValue = "false") @NetworkProperty
-        boolean useBonnevilleEVM) {}
+        boolean useBonnevilleEVM,
+
+        @ConfigProperty(value = "evm.bonneville.basicBlocks.enabled", defaultValue = "false") @NetworkProperty
+        boolean bonnevilleBasicBlocksEnabled,
+
+        @ConfigProperty(value = "evm.codeCache.maxBytes", defaultValue = "134217728") @NetworkProperty
+        long evmCodeCacheMaxBytes,
+
+        @ConfigProperty(value = "storagePrefetch.enabled", defaultValue = "false") @NetworkProperty
+        boolean storagePrefetchEnabled,
+
+        @ConfigProperty(value = "storagePrefetch.maxProfiles", defaultValue = "16384") @NetworkProperty
+        int storagePrefetchMaxProfiles,
+
+        @ConfigProperty(value = "storagePrefetch.maxSlotsPerProfile", defaultValue = "128") @NetworkProperty
+        int storagePrefetchMaxSlotsPerProfile) {}
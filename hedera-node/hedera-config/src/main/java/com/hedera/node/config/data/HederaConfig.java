@@ -14,6 +14,12 @@ import java.time.Duration;
  * @param maxTransactionBytesPerEvent  the maximum number of bytes that a single event may contain, not including the
  *                                     event headers. if a single transaction exceeds this limit, then the event will
  *                                     contain the single transaction only
+ * @param ingestThrottleLeaseBatchSize the number of transactions of frontend throttle capacity a gRPC worker claims
+ *                                     at once, to then admit without locking; zero disables leasing
+ * @param ingestThrottleLeaseStripes   the number of independently leased stripes per functionality
+ * @param ingestThrottleLeaseTtl       how long leased capacity may go unused before it is returned to the throttle
+ * @param deduplicationFingerprints    whether to track recently submitted transaction IDs as off-heap fingerprints
+ *                                     bucketed by valid start second, instead of as a sorted set of objects
  */
 @ConfigData("hedera")
 public record HederaConfig(
@@ -74,6 +80,18 @@ public record HederaConfig(
         @ConfigProperty(value = "ingestThrottle.enabled", defaultValue = "true") @NetworkProperty
         boolean ingestThrottleEnabled,
 
+        @ConfigProperty(value = "ingestThrottle.leaseBatchSize", defaultValue = "0") @NodeProperty
+        int ingestThrottleLeaseBatchSize,
+
+        @ConfigProperty(value = "ingestThrottle.leaseStripes", defaultValue = "16") @NodeProperty
+        int ingestThrottleLeaseStripes,
+
+        @ConfigProperty(value = "ingestThrottle.leaseTtl", defaultValue = "100ms") @NodeProperty
+        Duration ingestThrottleLeaseTtl,
+
+        @ConfigProperty(value = "deduplication.fingerprints", defaultValue = "false") @NodeProperty
+        boolean deduplicationFingerprints,
+
         @ConfigProperty(value = "transaction.throttleTransactionQueueSize", defaultValue = "100000") @NodeProperty
         int throttleTransactionQueueSize,
 
@@ -4,6 +4,7 @@ package com.hedera.node.config.data;
 import com.hedera.node.config.NodeProperty;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Min;
 
 /**
  *
@@ -21,6 +22,13 @@ import com.swirlds.config.api.ConfigProperty;
  * @param tlsKeyPath
  * @param bossThreads Number of threads in the Netty boss EventLoopGroup. 0 means Netty default (2 * numCores).
  * @param workerThreads Number of threads in the Netty worker EventLoopGroup. 0 means Netty default (2 * numCores).
+ * @param virtualThreadQueries Whether to handle queries on virtual threads instead of the Netty worker thread that
+ *                             received them, so slow state reads do not hold up other calls on that event loop.
+ * @param virtualThreadTransactions Whether to also handle transaction ingest on virtual threads.
+ * @param maxDispatchedCallsPerMethod When handling calls on virtual threads, the most calls to any one gRPC method
+ *                                    (i.e., query or transaction type) handled at once; further calls wait.
+ * @param maxDispatchWaitMs When handling calls on virtual threads, the most milliseconds a call waits for its method
+ *                          to be under {@code maxDispatchedCallsPerMethod}; after that it is answered with BUSY.
  */
 @ConfigData("netty")
 public record NettyConfig(
@@ -57,7 +65,11 @@ public record NettyConfig(
         String tlsKeyPath,
 
         @ConfigProperty(defaultValue = "0") @NodeProperty int bossThreads,
-        @ConfigProperty(defaultValue = "0") @NodeProperty int workerThreads) {
+        @ConfigProperty(defaultValue = "0") @NodeProperty int workerThreads,
+        @ConfigProperty(defaultValue = "false") @NodeProperty boolean virtualThreadQueries,
+        @ConfigProperty(defaultValue = "false") @NodeProperty boolean virtualThreadTransactions,
+        @ConfigProperty(defaultValue = "64") @Min(1) @NodeProperty int maxDispatchedCallsPerMethod,
+        @ConfigProperty(defaultValue = "1000") @Min(0) @NodeProperty long maxDispatchWaitMs) {
     public NettyConfig {
         if (startRetries < 0) {
             throw new IllegalArgumentException("startRetries must be non-negative.");
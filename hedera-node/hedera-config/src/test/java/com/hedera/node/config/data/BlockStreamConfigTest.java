@@ -51,6 +51,9 @@ class BlockStreamConfigTest {
                 1024,
                 256,
                 false,
+                4,
+                256,
+                false,
                 streamWrappedRecordBlocks);
     }
 }
@@ -9,6 +9,12 @@ tasks.withType<JavaCompile>().configureEach { options.compilerArgs.add("-Xlint:-
 
 mainModuleInfo { annotationProcessor("dagger.compiler") }
 
+jmhModuleInfo {
+    requires("com.hedera.node.app.spi.test.fixtures")
+    requires("com.hedera.node.config.test.fixtures")
+    requires("jmh.core")
+}
+
 testModuleInfo {
     requires("com.hedera.node.app")
     requires("com.hedera.node.app.spi.test.fixtures")
@@ -0,0 +1,282 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.bonneville;
+
+import static com.hedera.node.app.service.contract.impl.exec.tracers.NoTracer.NO_TRACER;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.CONFIG_CONTEXT_VARIABLE;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.INVALID_ADDRESS_CONTEXT_VARIABLE;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.OPS_DURATION_COUNTER;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.PROPAGATED_CALL_FAILURE_CONTEXT_VARIABLE;
+import static org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode.JOURNALED;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.node.app.service.contract.impl.exec.FrameRunner;
+import com.hedera.node.app.service.contract.impl.exec.gas.CustomGasCalculator;
+import com.hedera.node.app.service.contract.impl.exec.metrics.ContractMetrics;
+import com.hedera.node.app.service.contract.impl.exec.processors.CustomMessageCallProcessor;
+import com.hedera.node.app.service.contract.impl.exec.utils.InvalidAddressContext;
+import com.hedera.node.app.service.contract.impl.exec.utils.OpsDurationCounter;
+import com.hedera.node.app.service.contract.impl.exec.utils.PropagatedCallFailureRef;
+import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethodRegistry;
+import com.hedera.node.app.service.contract.impl.exec.v038.Version038AddressChecks;
+import com.hedera.node.app.service.contract.impl.exec.v067.V067Module;
+import com.hedera.node.app.service.contract.impl.exec.v067.Version067FeatureFlags;
+import com.hedera.node.app.service.contract.impl.hevm.HEVM;
+import com.hedera.node.app.service.contract.impl.hevm.HevmBlockValues;
+import com.hedera.node.app.spi.fixtures.ids.FakeEntityIdFactoryImpl;
+import com.hedera.node.config.data.ContractsConfig;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.swirlds.config.api.Configuration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.hiero.consensus.metrics.noop.NoOpMetrics;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.processor.ContractCreationProcessor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Runs each {@link EvmWorkload} as a top-level message call through the Besu-based {@link
+ * com.hedera.node.app.service.contract.impl.hevm.HederaEVM} and through {@link BonnevilleEVM}, both built from the
+ * same {@link V067Module} operations and processors that the node uses, over an {@link InMemoryEvmWorld}. The
+ * {@code bonneville-blocks} interpreter is Bonneville running pre-decoded basic blocks.
+ *
+ * <p>Before measuring, every non-Besu interpreter is checked against Besu: the workload must leave the same storage
+ * changes, logs, output, and remaining gas on both.
+ *
+ * <p>The primary score is calls per second; the {@code gas} counter is the EVM gas those calls consumed per second
+ * (before any Hedera refund or minimum-charge adjustments). Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} for the bytes allocated per call.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EvmInterpreterBenchmark {
+    private static final long GAS_LIMIT = 15_000_000L;
+    private static final long SENDER_NUM = 1001L;
+    private static final long CONTRACT_NUM = 2001L;
+
+    @Param({"besu", "bonneville", "bonneville-blocks"})
+    public String interpreter;
+
+    @Param({"ERC20_TRANSFER", "KECCAK_MAPPING", "MEMORY_LOOP", "PRECOMPILE_CALL", "CALL_CHAIN"})
+    public EvmWorkload workload;
+
+    /** The EVM gas consumed by the benchmarked calls, reported as a rate alongside the primary score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class GasCounter {
+        public long gas;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gas = 0;
+        }
+    }
+
+    /**
+     * An EVM with its processors, built as the node builds them for the given configuration.
+     */
+    private record Interpreter(
+            Configuration config,
+            HEVM evm,
+            CustomMessageCallProcessor messageCallProcessor,
+            ContractCreationProcessor contractCreationProcessor) {}
+
+    private final FakeEntityIdFactoryImpl entityIdFactory = new FakeEntityIdFactoryImpl(0, 0);
+    private final CustomGasCalculator gasCalculator = new CustomGasCalculator();
+    private final CodeFactory codeFactory = new CodeFactory(0, 0);
+
+    private Interpreter subject;
+    private InMemoryEvmWorld world;
+    private FrameRunner frameRunner;
+    private Address sender;
+    private AccountID senderId;
+    private Address contract;
+    private Code code;
+    private Bytes callData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        subject = newInterpreter(interpreter);
+        frameRunner = new FrameRunner(gasCalculator, entityIdFactory);
+
+        world = new InMemoryEvmWorld(subject.config(), codeFactory);
+        sender = world.createAccount(SENDER_NUM, 1_000_000_000L);
+        senderId = entityIdFactory.newAccountId(SENDER_NUM);
+        contract = world.createContract(CONTRACT_NUM, workload.code());
+        workload.seed(world, contract, sender);
+        code = codeFactory.createCode(Bytes.wrap(workload.code()), false);
+        callData = workload.callData(sender);
+
+        // Make sure the workload actually runs to completion, rather than benchmarking an early halt
+        final var frame = runOnce(subject);
+        if (frame.getState() != MessageFrame.State.COMPLETED_SUCCESS) {
+            throw new IllegalStateException(workload + " did not succeed on " + interpreter + ": "
+                    + frame.getState() + " " + frame.getExceptionalHaltReason());
+        }
+        // And that it has exactly the same effects, and uses exactly the same gas, as on Besu
+        if (!"besu".equals(interpreter)) {
+            final var storageChanges = world.storageChanges();
+            world.discardChanges();
+            final var reference = runOnce(newInterpreter("besu"));
+            if (frame.getRemainingGas() != reference.getRemainingGas()
+                    || !frame.getOutputData().equals(reference.getOutputData())
+                    || !frame.getLogs().equals(reference.getLogs())
+                    || !storageChanges.equals(world.storageChanges())) {
+                throw new IllegalStateException(workload + " on " + interpreter + " differs from besu: "
+                        + frame.getRemainingGas() + " vs " + reference.getRemainingGas() + " gas remaining");
+            }
+        }
+        world.discardChanges();
+    }
+
+    @Benchmark
+    public void call(final GasCounter counter, final Blackhole blackhole) {
+        final var frame = initialFrame(subject.config());
+        blackhole.consume(frameRunner.runToCompletion(
+                GAS_LIMIT,
+                senderId,
+                frame,
+                NO_TRACER,
+                subject.messageCallProcessor(),
+                subject.contractCreationProcessor(),
+                subject.evm()));
+        counter.gas += GAS_LIMIT - frame.getRemainingGas();
+        world.discardChanges();
+    }
+
+    private MessageFrame runOnce(final Interpreter candidate) {
+        final var frame = initialFrame(candidate.config());
+        frameRunner.runToCompletion(
+                GAS_LIMIT,
+                senderId,
+                frame,
+                NO_TRACER,
+                candidate.messageCallProcessor(),
+                candidate.contractCreationProcessor(),
+                candidate.evm());
+        return frame;
+    }
+
+    private Interpreter newInterpreter(final String name) {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("contracts.evm.UseBonnevilleEVM", name.startsWith("bonneville"))
+                .withValue("contracts.evm.bonneville.basicBlocks.enabled", "bonneville-blocks".equals(name))
+                // Bonneville expects state change sidecars only with action sidecars, which need a real tracer
+                .withValue("contracts.sidecars", "CONTRACT_BYTECODE")
+                .getOrCreateConfig();
+        final var contractsConfig = config.getConfigData(ContractsConfig.class);
+        final var featureFlags = new Version067FeatureFlags();
+        final var addressChecks = new Version038AddressChecks(Map.of(), entityIdFactory);
+
+        final var evm = V067Module.provideEVM(
+                customOperations(gasCalculator, featureFlags, addressChecks, codeFactory),
+                new EvmConfiguration(EvmConfiguration.DEFAULT.jumpDestCacheWeightKB(), JOURNALED),
+                gasCalculator,
+                Set.of(),
+                () -> contractsConfig,
+                featureFlags,
+                addressChecks);
+        return new Interpreter(
+                config,
+                evm,
+                V067Module.provideMessageCallProcessor(
+                        evm,
+                        featureFlags,
+                        addressChecks,
+                        V067Module.providePrecompileContractRegistry(gasCalculator),
+                        Map.of(),
+                        new ContractMetrics(
+                                new NoOpMetrics(), () -> contractsConfig, new SystemContractMethodRegistry())),
+                V067Module.provideContractCreationProcessor(evm, Set.of()));
+    }
+
+    /**
+     * Builds the initial frame of a static-free, value-free message call from the sender to the contract, with just
+     * the context variables that a query's frame would have.
+     */
+    private MessageFrame initialFrame(final Configuration config) {
+        final Map<String, Object> contextVariables = new HashMap<>();
+        contextVariables.put(CONFIG_CONTEXT_VARIABLE, config);
+        contextVariables.put(PROPAGATED_CALL_FAILURE_CONTEXT_VARIABLE, new PropagatedCallFailureRef());
+        contextVariables.put(OPS_DURATION_COUNTER, OpsDurationCounter.disabled());
+        contextVariables.put(INVALID_ADDRESS_CONTEXT_VARIABLE, new InvalidAddressContext());
+        return MessageFrame.builder()
+                .type(MessageFrame.Type.MESSAGE_CALL)
+                .maxStackSize(1024)
+                .worldUpdater(world.newUpdater().updater())
+                .initialGas(GAS_LIMIT)
+                .originator(sender)
+                .gasPrice(Wei.ZERO)
+                .blobGasPrice(Wei.ONE)
+                .sender(sender)
+                .value(Wei.ZERO)
+                .apparentValue(Wei.ZERO)
+                .blockValues(new HevmBlockValues(
+                        GAS_LIMIT, 1L, Timestamp.newBuilder().seconds(1_700_000_000L).build()))
+                .completer(unused -> {})
+                .isStatic(false)
+                .miningBeneficiary(Address.ZERO)
+                .blockHashLookup((frame, blockNo) -> Hash.ZERO)
+                .contextVariables(contextVariables)
+                .address(contract)
+                .contract(contract)
+                .inputData(callData)
+                .code(code)
+                .build();
+    }
+
+    private static Set<Operation> customOperations(
+            final CustomGasCalculator gasCalculator,
+            final Version067FeatureFlags featureFlags,
+            final Version038AddressChecks addressChecks,
+            final CodeFactory codeFactory) {
+        return Set.of(
+                V067Module.provideBalanceOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideDelegateCallOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideCallCodeOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideStaticCallOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideCallOperation(gasCalculator, featureFlags, addressChecks),
+                V067Module.provideChainIdOperation(gasCalculator),
+                V067Module.provideCreateOperation(gasCalculator, codeFactory),
+                V067Module.provideCreate2Operation(gasCalculator, featureFlags, codeFactory),
+                V067Module.provideLog0Operation(gasCalculator),
+                V067Module.provideLog1Operation(gasCalculator),
+                V067Module.provideLog2Operation(gasCalculator),
+                V067Module.provideLog3Operation(gasCalculator),
+                V067Module.provideLog4Operation(gasCalculator),
+                V067Module.provideExtCodeHashOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideExtCodeSizeOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideExtCodeCopyOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.providePrevRandaoOperation(gasCalculator),
+                V067Module.provideSelfDestructOperation(gasCalculator, addressChecks),
+                V067Module.provideSLoadOperation(gasCalculator, featureFlags),
+                V067Module.provideSStoreOperation(gasCalculator, featureFlags));
+    }
+}
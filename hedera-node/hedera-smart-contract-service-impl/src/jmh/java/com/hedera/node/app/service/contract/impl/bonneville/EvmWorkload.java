@@ -0,0 +1,230 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.bonneville;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * Hand-assembled contracts for {@link EvmInterpreterBenchmark}, each a small stand-in for a common shape of
+ * production workload. They are written directly in bytecode so the benchmark does not depend on a Solidity
+ * toolchain, and so it is obvious exactly which opcodes each one exercises.
+ */
+// spotless:off
+enum EvmWorkload {
+    /**
+     * An ERC-20 {@code transfer(address,uint256)} against a balances mapping at slot 0: two mapping-slot hashes,
+     * two SLOAD/SSTORE pairs, a {@code Transfer} event, and a return value.
+     */
+    ERC20_TRANSFER {
+        @Override
+        byte[] code() {
+            return new Asm()
+                    .push(0x24).op(CALLDATALOAD)            // amount
+                    .push(0x04).op(CALLDATALOAD)            // amount to
+                    .op(CALLER, PUSH0, MSTORE)
+                    .op(PUSH0).push(32).op(MSTORE)
+                    .push(64).op(PUSH0, KECCAK256)          // amount to fromSlot
+                    .op(DUP1, SLOAD)                        // amount to fromSlot fromBalance
+                    .op(DUP4, DUP2, LT).pushLabel("revert").op(JUMPI)
+                    .op(DUP4, SWAP1, SUB, SWAP1, SSTORE)    // amount to
+                    .op(DUP1, PUSH0, MSTORE)
+                    .push(64).op(PUSH0, KECCAK256)          // amount to toSlot
+                    .op(DUP1, SLOAD, DUP4, ADD, SWAP1, SSTORE)
+                    .op(DUP2, PUSH0, MSTORE)
+                    .op(CALLER).push(TRANSFER_TOPIC).push(32).op(PUSH0, LOG3)
+                    .op(POP).push(1).op(PUSH0, MSTORE).push(32).op(PUSH0, RETURN)
+                    .label("revert").op(PUSH0, PUSH0, REVERT)
+                    .build();
+        }
+
+        @Override
+        Bytes callData(@NonNull final Address sender) {
+            return Bytes.concatenate(
+                    Bytes.fromHexString("0xa9059cbb"),
+                    Bytes32.leftPad(Address.fromHexString("0x00000000000000000000000000000000000003ea")),
+                    UInt256.ONE);
+        }
+
+        @Override
+        void seed(@NonNull final InMemoryEvmWorld world, @NonNull final Address contract, @NonNull final Address sender) {
+            final var balanceSlot = Hash.hash(Bytes.concatenate(Bytes32.leftPad(sender), Bytes32.ZERO));
+            world.putStorage(contract, UInt256.fromBytes(balanceSlot), UInt256.valueOf(1_000_000L));
+        }
+    },
+    /**
+     * Read-modify-write of {@value #ITERATIONS} entries of a nested mapping ({@code m[i][i] += i}), costing two
+     * KECCAK256s and an SLOAD/SSTORE pair per entry.
+     */
+    KECCAK_MAPPING {
+        @Override
+        byte[] code() {
+            return new Asm()
+                    .op(PUSH0)                                  // i
+                    .label("loop")
+                    .op(DUP1, PUSH0, MSTORE)
+                    .push(1).push(32).op(MSTORE)
+                    .push(64).op(PUSH0, KECCAK256)              // i inner
+                    .push(32).op(MSTORE)
+                    .push(64).op(PUSH0, KECCAK256)              // i slot
+                    .op(DUP1, SLOAD, DUP3, ADD, SWAP1, SSTORE)  // i
+                    .push(1).op(ADD)
+                    .push(ITERATIONS).op(DUP2, LT).pushLabel("loop").op(JUMPI)
+                    .op(STOP)
+                    .build();
+        }
+    },
+    /**
+     * Writes {@value #MEMORY_WORDS} words of memory, then reads them all back and returns their sum; no state
+     * access at all, so this isolates stack, memory, and dispatch costs.
+     */
+    MEMORY_LOOP {
+        @Override
+        byte[] code() {
+            return new Asm()
+                    .op(PUSH0)                                  // i
+                    .label("write")
+                    .op(DUP1, DUP1).push(5).op(SHL, MSTORE)
+                    .push(1).op(ADD)
+                    .push(MEMORY_WORDS).op(DUP2, LT).pushLabel("write").op(JUMPI)
+                    .op(POP, PUSH0, PUSH0)                      // sum i
+                    .label("read")
+                    .op(DUP1).push(5).op(SHL, MLOAD)            // sum i word
+                    .op(SWAP1, SWAP2, ADD, SWAP1)               // sum i
+                    .push(1).op(ADD)
+                    .push(MEMORY_WORDS).op(DUP2, LT).pushLabel("read").op(JUMPI)
+                    .op(POP, PUSH0, MSTORE).push(32).op(PUSH0, RETURN)
+                    .build();
+        }
+    },
+    /**
+     * {@value #ITERATIONS} rounds of a STATICCALL to the SHA-256 precompile and another to the identity precompile,
+     * exercising the call path into precompiles and the copying of their output.
+     */
+    PRECOMPILE_CALL {
+        @Override
+        byte[] code() {
+            return new Asm()
+                    .op(PUSH0)                                  // i
+                    .label("loop")
+                    .push(32).push(64).push(64).op(PUSH0).push(0x02).op(GAS, STATICCALL, POP)
+                    .push(256).push(256).push(256).op(PUSH0).push(0x04).op(GAS, STATICCALL, POP)
+                    .push(1).op(ADD)
+                    .push(ITERATIONS).op(DUP2, LT).pushLabel("loop").op(JUMPI)
+                    .op(STOP)
+                    .build();
+        }
+    },
+    /**
+     * A contract that CALLs itself with its calldata word decremented until it reaches zero, giving a chain of
+     * {@value #CALL_DEPTH} nested message frames.
+     */
+    CALL_CHAIN {
+        @Override
+        byte[] code() {
+            return new Asm()
+                    .op(PUSH0, CALLDATALOAD)                    // depth
+                    .op(DUP1, ISZERO).pushLabel("done").op(JUMPI)
+                    .push(1).op(SWAP1, SUB, PUSH0, MSTORE)
+                    .op(PUSH0, PUSH0).push(32).op(PUSH0, PUSH0, ADDRESS, GAS, CALL, POP, STOP)
+                    .label("done").op(STOP)
+                    .build();
+        }
+
+        @Override
+        Bytes callData(@NonNull final Address sender) {
+            return UInt256.valueOf(CALL_DEPTH);
+        }
+    };
+
+    static final int ITERATIONS = 64;
+    static final int MEMORY_WORDS = 1024;
+    static final int CALL_DEPTH = 64;
+
+    /** {@code keccak256("Transfer(address,address,uint256)")} */
+    private static final Bytes TRANSFER_TOPIC =
+            Bytes.fromHexString("0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef");
+
+    private static final int STOP = 0x00, ADD = 0x01, SUB = 0x03, LT = 0x10, ISZERO = 0x15, SHL = 0x1B;
+    private static final int KECCAK256 = 0x20, ADDRESS = 0x30, CALLER = 0x33, CALLDATALOAD = 0x35;
+    private static final int POP = 0x50, MLOAD = 0x51, MSTORE = 0x52, SLOAD = 0x54, SSTORE = 0x55;
+    private static final int JUMPI = 0x57, GAS = 0x5A, JUMPDEST = 0x5B, PUSH0 = 0x5F, PUSH1 = 0x60, PUSH2 = 0x61;
+    private static final int DUP1 = 0x80, DUP2 = 0x81, DUP3 = 0x82, DUP4 = 0x83, SWAP1 = 0x90, SWAP2 = 0x91;
+    private static final int LOG3 = 0xA3, CALL = 0xF1, RETURN = 0xF3, STATICCALL = 0xFA, REVERT = 0xFD;
+
+    /**
+     * Returns the contract's runtime bytecode.
+     */
+    abstract byte[] code();
+
+    /**
+     * Returns the calldata of the benchmarked call, made by the given sender.
+     */
+    Bytes callData(@NonNull final Address sender) {
+        return Bytes.EMPTY;
+    }
+
+    /**
+     * Sets up any storage the contract expects before it is called by the given sender.
+     */
+    void seed(@NonNull final InMemoryEvmWorld world, @NonNull final Address contract, @NonNull final Address sender) {
+        // No storage needed
+    }
+
+    /**
+     * A minimal assembler; every label is a JUMPDEST, and label references are always PUSH2.
+     */
+    private static final class Asm {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final Map<String, Integer> labels = new HashMap<>();
+        private final List<Map.Entry<Integer, String>> references = new ArrayList<>();
+
+        Asm op(final int... ops) {
+            for (final int op : ops) {
+                out.write(op);
+            }
+            return this;
+        }
+
+        Asm push(final long value) {
+            return push(Bytes.minimalBytes(value));
+        }
+
+        Asm push(@NonNull final Bytes value) {
+            out.write(PUSH1 + value.size() - 1);
+            out.writeBytes(value.toArrayUnsafe());
+            return this;
+        }
+
+        Asm label(@NonNull final String name) {
+            labels.put(name, out.size());
+            return op(JUMPDEST);
+        }
+
+        Asm pushLabel(@NonNull final String name) {
+            references.add(Map.entry(out.size() + 1, name));
+            return op(PUSH2, 0, 0);
+        }
+
+        byte[] build() {
+            final var code = out.toByteArray();
+            for (final var reference : references) {
+                final int target = requireNonNull(labels.get(reference.getValue()));
+                code[reference.getKey()] = (byte) (target >>> 8);
+                code[reference.getKey() + 1] = (byte) target;
+            }
+            return code;
+        }
+    }
+}
+// spotless:on
@@ -0,0 +1,345 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.bonneville;
+
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.asLongZeroAddress;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.base.ScheduleID;
+import com.hedera.hapi.node.base.TokenID;
+import com.hedera.hapi.node.base.TransactionID;
+import com.hedera.hapi.node.state.contract.Bytecode;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.hapi.node.state.contract.SlotValue;
+import com.hedera.hapi.node.state.schedule.Schedule;
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.hapi.node.state.token.Token;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
+import com.hedera.node.app.service.contract.impl.exec.scope.HederaOperations;
+import com.hedera.node.app.service.contract.impl.exec.scope.SystemContractOperations;
+import com.hedera.node.app.service.contract.impl.exec.scope.VerificationStrategy;
+import com.hedera.node.app.service.contract.impl.hevm.HederaWorldUpdater.Enhancement;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
+import com.hedera.node.app.service.contract.impl.state.DispatchingEvmFrameState;
+import com.hedera.node.app.service.contract.impl.state.ProxyWorldUpdater;
+import com.hedera.node.app.service.contract.impl.state.WritableEvmHookStore;
+import com.hedera.node.app.service.entityid.EntityIdFactory;
+import com.hedera.node.app.service.schedule.ReadableScheduleStore;
+import com.hedera.node.app.service.token.ReadableAccountStore;
+import com.hedera.node.app.service.token.ReadableNftStore;
+import com.hedera.node.app.service.token.ReadableTokenRelationStore;
+import com.hedera.node.app.service.token.ReadableTokenStore;
+import com.hedera.node.app.spi.fixtures.ids.FakeEntityIdFactoryImpl;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.config.api.Configuration;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+/**
+ * A minimal, map-backed world for running EVM benchmarks without a merkle state or a dispatcher. Accounts and
+ * bytecode live in plain maps behind a real {@link DispatchingEvmFrameState}, so both interpreters see exactly the
+ * {@link ProxyWorldUpdater} and account proxies they see in production.
+ *
+ * <p>Storage writes go to an overlay that {@link #discardChanges()} drops, so every benchmark invocation starts from
+ * the same committed state. Everything that only a real transaction needs (fees, entity creation, native transfers,
+ * system contracts) is unsupported.
+ */
+final class InMemoryEvmWorld {
+    private static final EntityIdFactory ENTITY_ID_FACTORY = new FakeEntityIdFactoryImpl(0, 0);
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final InMemoryContractStateStore store = new InMemoryContractStateStore();
+    private final DispatchingEvmFrameState frameState;
+    private final Enhancement enhancement;
+
+    InMemoryEvmWorld(@NonNull final Configuration config, @NonNull final CodeFactory codeFactory) {
+        requireNonNull(config);
+        final var nativeOperations = new InMemoryNativeOperations(config);
+        frameState = new DispatchingEvmFrameState(nativeOperations, store, codeFactory);
+        enhancement = new Enhancement(
+                noOp(HederaOperations.class), nativeOperations, noOp(SystemContractOperations.class));
+    }
+
+    /**
+     * Creates an externally-owned account with the given number and balance, returning its address.
+     */
+    Address createAccount(final long number, final long tinybarBalance) {
+        accounts.put(
+                number,
+                Account.newBuilder()
+                        .accountId(ENTITY_ID_FACTORY.newAccountId(number))
+                        .tinybarBalance(tinybarBalance)
+                        .build());
+        return asLongZeroAddress(number);
+    }
+
+    /**
+     * Creates a contract with the given number and bytecode, returning its address.
+     */
+    Address createContract(final long number, @NonNull final byte[] code) {
+        accounts.put(
+                number,
+                Account.newBuilder()
+                        .accountId(ENTITY_ID_FACTORY.newAccountId(number))
+                        .smartContract(true)
+                        .build());
+        store.putBytecode(ENTITY_ID_FACTORY.newContractId(number), new Bytecode(Bytes.wrap(code)));
+        return asLongZeroAddress(number);
+    }
+
+    /**
+     * Sets a storage slot of an existing contract in the committed state.
+     */
+    void putStorage(@NonNull final Address contract, @NonNull final UInt256 key, @NonNull final UInt256 value) {
+        final var account = requireNonNull(frameState.getAccount(contract));
+        frameState.setStorageValue(account.hederaContractId(), key, value);
+        store.commit();
+    }
+
+    /**
+     * Returns a new root updater over this world.
+     */
+    ProxyWorldUpdater newUpdater() {
+        return new ProxyWorldUpdater(enhancement, () -> frameState, null);
+    }
+
+    /**
+     * Returns a copy of the storage changes made since the last {@link #putStorage(Address, UInt256, UInt256)}, with
+     * a {@code null} value for each removed slot.
+     */
+    Map<SlotKey, SlotValue> storageChanges() {
+        return new HashMap<>(store.modified);
+    }
+
+    /**
+     * Drops all storage changes made since the last {@link #putStorage(Address, UInt256, UInt256)}.
+     */
+    void discardChanges() {
+        store.modified.clear();
+    }
+
+    /**
+     * Returns a proxy that does nothing, returning itself from any method with its own return type (such as
+     * {@link HederaOperations#begin()}), and otherwise a zero, false, or null value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T noOp(@NonNull final Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            final var returnType = method.getReturnType();
+            if (returnType == type) {
+                return proxy;
+            } else if (returnType == boolean.class) {
+                return false;
+            } else if (returnType == long.class) {
+                return 0L;
+            } else if (returnType == int.class) {
+                return 0;
+            } else if (returnType == Bytes.class) {
+                return Bytes.EMPTY;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * A {@link ContractStateStore} over maps, with a single level of uncommitted changes.
+     */
+    private static final class InMemoryContractStateStore implements ContractStateStore {
+        private final Map<Long, Bytecode> bytecodes = new HashMap<>();
+        private final Map<SlotKey, SlotValue> committed = new HashMap<>();
+        private final Map<SlotKey, SlotValue> modified = new HashMap<>();
+
+        void commit() {
+            modified.forEach((key, value) -> {
+                if (value == null) {
+                    committed.remove(key);
+                } else {
+                    committed.put(key, value);
+                }
+            });
+            modified.clear();
+        }
+
+        @Override
+        public Bytecode getBytecode(@NonNull final ContractID contractID) {
+            return bytecodes.get(contractID.contractNumOrThrow());
+        }
+
+        @Override
+        public void putBytecode(@NonNull final ContractID contractID, @NonNull final Bytecode code) {
+            bytecodes.put(contractID.contractNumOrThrow(), code);
+        }
+
+        @Override
+        public void removeSlot(@NonNull final SlotKey key) {
+            modified.put(key, null);
+        }
+
+        @Override
+        public void adjustSlotCount(final long delta) {
+            // Not tracked
+        }
+
+        @Override
+        public void putSlot(@NonNull final SlotKey key, @NonNull final SlotValue value) {
+            modified.put(key, value);
+        }
+
+        @Override
+        public Set<SlotKey> getModifiedSlotKeys() {
+            return modified.keySet();
+        }
+
+        @Override
+        public @Nullable SlotValue getSlotValue(@NonNull final SlotKey key) {
+            return modified.containsKey(key) ? modified.get(key) : committed.get(key);
+        }
+
+        @Override
+        public @Nullable SlotValue getOriginalSlotValue(@NonNull final SlotKey key) {
+            return committed.get(key);
+        }
+
+        @Override
+        public long getNumSlots() {
+            return committed.size();
+        }
+
+        @Override
+        public long getNumBytecodes() {
+            return bytecodes.size();
+        }
+    }
+
+    /**
+     * The {@link HederaNativeOperations} of this world; only account lookups are supported.
+     */
+    private final class InMemoryNativeOperations implements HederaNativeOperations {
+        private final Configuration config;
+
+        private InMemoryNativeOperations(@NonNull final Configuration config) {
+            this.config = config;
+        }
+
+        @Override
+        public @Nullable Account getAccount(@NonNull final ContractID contractID) {
+            return contractID.hasContractNum() ? accounts.get(contractID.contractNumOrThrow()) : null;
+        }
+
+        @Override
+        public @Nullable Account getAccount(@NonNull final AccountID accountID) {
+            return accountID.hasAccountNum() ? accounts.get(accountID.accountNumOrThrow()) : null;
+        }
+
+        @Override
+        public @Nullable Token getToken(@NonNull final TokenID tokenID) {
+            return null;
+        }
+
+        @Override
+        public @Nullable Schedule getSchedule(@NonNull final ScheduleID scheduleID) {
+            return null;
+        }
+
+        @Override
+        public long resolveAlias(final long shard, final long realm, @NonNull final Bytes evmAddress) {
+            return MISSING_ENTITY_NUMBER;
+        }
+
+        @Override
+        public @NonNull ReadableNftStore readableNftStore() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NonNull ReadableTokenRelationStore readableTokenRelationStore() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NonNull ReadableTokenStore readableTokenStore() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NonNull ReadableAccountStore readableAccountStore() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NonNull ReadableScheduleStore readableScheduleStore() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NonNull WritableEvmHookStore writableEvmHookStore() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setNonce(final long contractNumber, final long nonce) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResponseCodeEnum createHollowAccount(@NonNull final Bytes evmAddress) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void finalizeHollowAccountAsContract(@NonNull final Bytes evmAddress) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean canScheduleContractCall(final long expiry, final long gasLimit, @NonNull final AccountID payerId) {
+            return false;
+        }
+
+        @Override
+        public ResponseCodeEnum transferWithReceiverSigCheck(
+                final long amount,
+                final AccountID fromEntityId,
+                final AccountID toEntityId,
+                @NonNull final VerificationStrategy strategy) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void trackSelfDestructBeneficiary(
+                final AccountID deletedId, final AccountID beneficiaryId, @NonNull final MessageFrame frame) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean checkForCustomFees(@NonNull final CryptoTransferTransactionBody op) {
+            return false;
+        }
+
+        @Override
+        public TransactionID getTransactionID() {
+            return TransactionID.DEFAULT;
+        }
+
+        @Override
+        public EntityIdFactory entityIdFactory() {
+            return ENTITY_ID_FACTORY;
+        }
+
+        @Override
+        public Configuration configuration() {
+            return config;
+        }
+    }
+}
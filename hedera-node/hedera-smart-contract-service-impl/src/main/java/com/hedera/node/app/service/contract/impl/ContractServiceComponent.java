@@ -11,6 +11,7 @@ import com.hedera.node.app.service.contract.impl.exec.systemcontracts.hss.HssCal
 import com.hedera.node.app.service.contract.impl.exec.systemcontracts.hts.HtsCallAttempt;
 import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethodRegistry;
 import com.hedera.node.app.service.contract.impl.handlers.ContractHandlers;
+import com.hedera.node.app.service.contract.impl.infra.StorageAccessProfiles;
 import com.hedera.node.app.service.contract.impl.nativelibverification.NativeLibVerifier;
 import com.hedera.node.app.service.entityid.EntityIdFactory;
 import com.hedera.node.app.spi.signatures.SignatureVerifier;
@@ -82,6 +83,11 @@ public interface ContractServiceComponent {
      */
     SystemContractMethodRegistry systemContractMethodRegistry();
 
+    /**
+     * @return the storage access profiles used to prefetch slots for contract calls
+     */
+    StorageAccessProfiles storageAccessProfiles();
+
     @Named("HasTranslators")
     Provider<List<CallTranslator<HasCallAttempt>>> hasCallTranslators();
 
@@ -5,6 +5,7 @@ import com.hedera.hapi.node.base.ContractID;
 import com.hedera.node.app.service.contract.impl.exec.ActionSidecarContentTracer;
 import com.hedera.node.app.service.contract.impl.exec.AddressChecks;
 import com.hedera.node.app.service.contract.impl.exec.operations.CustomSelfDestructOperation;
+import com.hedera.node.app.service.contract.impl.exec.tracers.AddOnEvmActionTracer;
 import com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils;
 import com.hedera.node.app.service.contract.impl.infra.StorageAccessTracker;
 import com.hedera.node.app.service.contract.impl.state.AbstractMutableEvmAccount;
@@ -334,8 +335,34 @@ class BEVM {
         byte[] codes = _code._codes;
         int off = _code._off;
 
+        // Pre-decoded basic blocks; only when nothing is watching op-by-op
+        int[] blocks = _top._bonneville._basicBlocks && trace == null && !_top._hasSideCar && !(tracer instanceof AddOnEvmActionTracer)
+            ? _code.blocks(opGas, opStackMin)
+            : null;
+
         // Interpret opcodes unto death
         while( halt == null ) {
+            // Basic-block fast path: one stack and gas check for the whole
+            // block.  If it fails, fall into the op-by-op path, which halts
+            // exactly where it always did.
+            if( blocks != null && pc < blocks.length ) {
+                int info = blocks[pc];
+                int blockGas = BasicBlocks.gas(info);
+                if( info != 0 && _sp >= BasicBlocks.need(info) && _sp + BasicBlocks.len(info) <= MAX_STACK_SIZE && _gas >= blockGas ) {
+                    _gas -= blockGas;
+                    pc = runBlock(pc, pc + BasicBlocks.len(info));
+                    if( pc == -1 )
+                        halt = ExceptionalHaltReason.INVALID_JUMP_DESTINATION;
+                    else if( pc < -1 ) {
+                        // The block hit an op it cannot run; go op-by-op
+                        // from that op for the rest of this frame.
+                        pc = -2 - pc;
+                        blocks = null;
+                    }
+                    continue;
+                }
+            }
+
             int op = pc+off < codes.length ? codes[pc+off] & 0xFF : 0;
             preTrace(pc, op);
             pc++;
@@ -504,6 +531,112 @@ class BEVM {
         return this;
     }
 
+    // Run one basic block, already checked for stack and gas as a whole, so
+    // no op in it can halt.  Only a block-ending JUMP or JUMPI can fail, so
+    // returns the next pc, or -1 for a bad jump destination.  Should the
+    // block hold an op this loop does not run, refunds the gas of that op and
+    // the rest of the block and returns -2-pc of that op, for the op-by-op
+    // interpreter to take over from it.
+    private int runBlock(int pc, int end) {
+        byte[] codes = _code._codes;
+        int off = _code._off;
+        while( pc < end ) {
+            int op = codes[pc+off] & 0xFF;
+            pc++;
+            switch( op ) {
+            case 0x01 -> add();
+            case 0x02 -> mul();
+            case 0x03 -> sub();
+            case 0x04 -> div();
+            case 0x05 -> sdiv();
+            case 0x06 -> mod();
+            case 0x07 -> smod();
+            case 0x08 -> addmod();
+            case 0x09 -> mulmod();
+            case 0x0B -> sign();
+            case 0x10 -> ult();
+            case 0x11 -> ugt();
+            case 0x12 -> slt();
+            case 0x13 -> sgt();
+            case 0x14 -> eq();
+            case 0x15 -> eqz();
+            case 0x16 -> and();
+            case 0x17 -> or();
+            case 0x18 -> xor();
+            case 0x19 -> not();
+            case 0x1A -> xbyte();
+            case 0x1B -> shl();
+            case 0x1C -> shr();
+            case 0x1D -> sar();
+
+            case 0x30 -> address();
+            case 0x32 -> origin();
+            case 0x33 -> caller();
+            case 0x34 -> callValue();
+            case 0x35 -> callDataLoad();
+            case 0x36 -> callDataSize();
+            case 0x38 -> codeSize();
+            case 0x3A -> gasPrice();
+            case 0x3D -> returnDataSize();
+            case 0x41 -> coinBase();
+            case 0x42 -> timeStamp();
+            case 0x43 -> number();
+            case 0x45 -> gasLimit();
+
+            case 0x50 -> pop();
+            case 0x56 -> { return jump(); }
+            case 0x57 -> { return jumpi(pc); }
+            case 0x58 -> pc(pc - 1);
+            case 0x59 -> msize();
+            case 0x5B -> noop();
+            case 0x5F -> push0Op();
+
+            case 0x60, 0x61, 0x62, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68, 0x69, 0x6A, 0x6B, 0x6C, 0x6D, 0x6E, 0x6F,
+                 0x70, 0x71, 0x72, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78, 0x79, 0x7A, 0x7B, 0x7C, 0x7D, 0x7E, 0x7F -> {
+                int n = op - 0x60 + 1;
+                int jop = pc + n == end - 1 ? codes[pc+n+off] & 0xFF : 0;
+                // Superinstruction: PUSH1/PUSH2 of the target of the JUMP or
+                // JUMPI ending the block.  The target never touches the stack.
+                if( n <= 2 && (jop == 0x56 || jop == 0x57) ) {
+                    int dst = n == 1
+                        ?  codes[pc+off] & 0xFF
+                        : (codes[pc+off] & 0xFF) << 8 | (codes[pc+off+1] & 0xFF);
+                    if( jop == 0x57 && popLong() == 0 ) return end; // No jump is jump-to-nextpc
+                    return _code.jumpValid(dst) ? dst : -1;
+                }
+                push(pc, pc += n);
+            }
+
+            case 0x80, 0x81, 0x82, 0x83, 0x84, 0x85, 0x86, 0x87, 0x88, 0x89, 0x8A, 0x8B, 0x8C, 0x8D, 0x8E, 0x8F
+                -> dup(op - 0x80 + 1);
+            case 0x90, 0x91, 0x92, 0x93, 0x94, 0x95, 0x96, 0x97, 0x98, 0x99, 0x9A, 0x9B, 0x9C, 0x9D, 0x9E, 0x9F
+                -> swap(op - 0x90 + 1);
+
+            default -> {
+                // Every op BasicBlocks lets into a block is run above; this
+                // only guards against the two drifting apart.
+                _gas += restOfBlockGas(pc - 1, end);
+                return -2 - (pc - 1);
+            }
+            }
+        }
+        return pc;
+    }
+
+    // Fixed gas of the ops from pc to the end of a block
+    private long restOfBlockGas(int pc, int end) {
+        byte[] codes = _code._codes;
+        byte[] opGas = _top._bonneville._opGas;
+        int off = _code._off;
+        long gas = 0;
+        while( pc < end ) {
+            int op = codes[pc+off] & 0xFF;
+            gas += opGas[op];
+            pc += op >= 0x60 && op < 0x80 ? op - 0x60 + 2 : 1;
+        }
+        return gas;
+    }
+
     private void preTrace(int pc, int op) {
         if( _top._bonneville._trace != null)
             _top._bonneville._trace.p("0x").hex2(pc).p(" ").p(BonnevilleEVM.OPNAME(op)).p(" ").hex4((int) _gas).p(" ").hex2(_sp).p(" -> ");
@@ -0,0 +1,89 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.bonneville;
+
+import java.util.Arrays;
+
+// Basic-block pre-decoding of a CodeV2.
+//
+// A block is a run of "straight" opcodes - fixed gas, and no way to halt
+// other than stack under/overflow or out-of-gas - optionally ended by a JUMP
+// or JUMPI.  The interpreter checks stack and gas once for the whole block on
+// entry, then runs it with no per-op checks.  If the entry check fails it
+// falls back to op-by-op, which halts at exactly the same op with exactly the
+// same gas as always.  Dynamic-gas ops (MLOAD, SLOAD, KECCAK256, the CALLs)
+// and GAS never join a block; they always run op-by-op.
+//
+// Decoded once per CodeV2 and gas table, and cached on the interned CodeV2.
+// One int per code byte, non-zero only where a block starts:
+//   bits  0-11: total fixed gas of the block
+//   bits 12-19: stack items needed on entry
+//   bits 20-27: length of the block in bytes, which also bounds its stack growth
+
+// spotless:off
+final class BasicBlocks {
+    // Blocks are split to keep the packed fields in range
+    private static final int MAX_GAS = 0xFFF, MAX_NEED = 0xFF, MAX_LEN = 0xFF;
+
+    // Stack effect of each straight op; NOT if the op never joins a block
+    private static final byte NOT = Byte.MIN_VALUE;
+    private static final byte[] DELTA = new byte[256];
+    static {
+        Arrays.fill(DELTA, NOT);
+        for( int op = 0x01; op <= 0x07; op++ ) DELTA[op] = -1; // ADD...SMOD
+        DELTA[0x08] = -2;  DELTA[0x09] = -2;                  // ADDMOD, MULMOD
+        DELTA[0x0B] = -1;                                     // SIGNEXTEND
+        for( int op = 0x10; op <= 0x1D; op++ ) DELTA[op] = -1; // Compares, bitwise, shifts
+        DELTA[0x15] =  0;  DELTA[0x19] =  0;                  // ISZERO, NOT
+        for( int op : new int[]{0x30, 0x32, 0x33, 0x34, 0x36, 0x38, 0x3A, 0x3D, 0x41, 0x42, 0x43, 0x45} )
+            DELTA[op] = 1;                                    // Frame and block values
+        DELTA[0x35] =  0;                                     // CALLDATALOAD
+        DELTA[0x50] = -1;                                     // POP
+        DELTA[0x56] = -1;  DELTA[0x57] = -2;                  // JUMP, JUMPI; end a block
+        DELTA[0x58] =  1;  DELTA[0x59] =  1;                  // PC, MSIZE
+        DELTA[0x5B] =  0;                                     // JUMPDEST; starts a block
+        for( int op = 0x5F; op <= 0x8F; op++ ) DELTA[op] = 1; // PUSH0...PUSH32, DUP1...DUP16
+        for( int op = 0x90; op <= 0x9F; op++ ) DELTA[op] = 0; // SWAP1...SWAP16
+    }
+
+    // The gas table these blocks were decoded against
+    final byte[] _opGas;
+    // Packed block info, indexed by pc
+    final int[] _info;
+
+    static int gas (int info) { return info & 0xFFF; }
+    static int need(int info) { return (info >>> 12) & 0xFF; }
+    static int len (int info) { return info >>> 20; }
+
+    BasicBlocks(CodeV2 code, byte[] opGas, byte[] opStackMin) {
+        _opGas = opGas;
+        byte[] codes = code._codes;
+        int off = code._off, len = code._len;
+        _info = new int[len];
+        int pc = 0;
+        while( pc < len ) {
+            int start = pc, gas = 0, need = 0, depth = 0, ops = 0;
+            while( pc < len ) {
+                int op = codes[pc + off] & 0xFF;
+                int size = op >= 0x60 && op < 0x80 ? op - 0x60 + 2 : 1;
+                if( DELTA[op] == NOT || opGas[op] < 0 ) break; // Not straight
+                if( op == 0x5B && pc > start ) break;          // Jump targets start their own block
+                if( pc + size > len ) break;                   // Truncated PUSH at end of code
+                int ngas  = gas + opGas[op];
+                int nneed = Math.max(need, (opStackMin[op] & 0xFF) - depth);
+                if( ngas > MAX_GAS || nneed > MAX_NEED || pc + size - start > MAX_LEN ) break;
+                gas = ngas;  need = nneed;  depth += DELTA[op];  ops++;
+                pc += size;
+                if( op == 0x56 || op == 0x57 ) break;          // Jumps end a block
+            }
+            // A single op gains nothing over the op-by-op checks
+            if( ops >= 2 )
+                _info[start] = gas | need << 12 | (pc - start) << 20;
+            // Step over an op that cannot start a block, with any immediate bytes
+            if( pc == start ) {
+                int op = codes[pc + off] & 0xFF;
+                pc += op >= 0x60 && op < 0x80 ? op - 0x60 + 2 : 1;
+            }
+        }
+    }
+}
+// spotless:on
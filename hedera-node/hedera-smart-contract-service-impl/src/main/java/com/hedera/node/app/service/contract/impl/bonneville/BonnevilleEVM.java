@@ -31,6 +31,8 @@ public class BonnevilleEVM extends HEVM {
     final SB _trace = null; // new SB(); // For bytecode-by-bytecode tracing
     final PrintStream _stdOut = _trace==null ? null : new PrintStream(new FileOutputStream(FileDescriptor.out));
     final Operation[] _operations;
+    // Run pre-decoded basic blocks, with one stack and gas check per block
+    final boolean _basicBlocks;
 
     // ChainID from BESU, not *CustomChainID*
     final long _chainID;
@@ -47,10 +49,12 @@ public class BonnevilleEVM extends HEVM {
             EvmConfiguration evmConfiguration,
             EvmSpecVersion evmSpecVersion,
             FeatureFlags featureFlags,
-            AddressChecks addressChecks) {
+            AddressChecks addressChecks,
+            boolean basicBlocks) {
         super(operations, gasCalc, evmConfiguration, evmSpecVersion);
         _flags = featureFlags;
         _adrChk = addressChecks;
+        _basicBlocks = basicBlocks;
         preComputeGasTables();
 
         _operations = getOperationsUnsafe();
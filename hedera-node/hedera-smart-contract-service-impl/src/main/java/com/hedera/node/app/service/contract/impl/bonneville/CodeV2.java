@@ -1,13 +1,15 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.node.app.service.contract.impl.bonneville;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.hedera.node.app.service.contract.impl.state.AbstractMutableEvmAccount;
 import com.hedera.node.app.service.contract.impl.utils.TODO;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
@@ -20,13 +22,26 @@ import org.hyperledger.besu.evm.code.CodeSection;
 // Caches the validation as well.  Implements OutputStream soley so it can get
 // the raw backing byte array from a PBJ Bytes object.
 
-// TODO: age-out old contracts from the intern table.  Can be as simple as
-// removing a CodeV2 at random - hot ones will just re-install.
+// The intern table is bounded by total bytecode size, and ages out contracts
+// by frequency and recency (Caffeine's W-TinyLFU); hot ones just re-install.
+// It is keyed by content, so an updated or deleted contract needs no explicit
+// invalidation: new bytecode is a new key, and the old entry ages out.
 
 // spotless:off
 public class CodeV2 extends OutputStream implements Code {
 
-    private static final ConcurrentHashMap<CodeV2, CodeV2> CODES = new ConcurrentHashMap<>();
+    // Default cap on the total bytes interned; see setMaxCacheBytes
+    public static final long DEFAULT_MAX_CACHE_BYTES = 128L * 1024 * 1024;
+
+    // Rough per-entry cost beyond the bytecodes: this object, its jump-dest
+    // bitset, and the cache node
+    private static final int ENTRY_OVERHEAD = 160;
+
+    private static final Cache<CodeV2, CodeV2> CODES = Caffeine.newBuilder()
+        .maximumWeight(DEFAULT_MAX_CACHE_BYTES)
+        .weigher((CodeV2 k, CodeV2 v) -> k._len + (k._len >> 3) + (v._blocks == null ? 0 : 4 * k._len) + ENTRY_OVERHEAD)
+        .recordStats()
+        .build();
 
     private static final ArrayList<CodeV2> FREE = new ArrayList<>();
 
@@ -54,6 +69,7 @@ public class CodeV2 extends OutputStream implements Code {
         // Mark it as obviously freed (_codes=null, _hash=0)
         _codes = null;
         _hash = 0;
+        _blocks = null;
         // Under lock, push onto the free list
         synchronized( FREE ) { FREE.add(this); }
         return winner;
@@ -70,7 +86,7 @@ public class CodeV2 extends OutputStream implements Code {
         if( hash == 0 ) hash = 0xDEADBEEF; // Avoid the appearance of a not-set zero hash
         _hash = hash;
 
-        CodeV2 old = CODES.get(this);
+        CodeV2 old = CODES.getIfPresent(this);
         if( old != null )
             return atomicPutFree(old); // Got a Winner!
         // No prior, so do expensive setup.
@@ -81,7 +97,7 @@ public class CodeV2 extends OutputStream implements Code {
         // Attempt probe again with a full setup code object.  We expect this
         // mostly wins, unless a racing other thread inserts the same shaped
         // code object in the same putIfAbsent
-        old = CODES.putIfAbsent(this, this);
+        old = CODES.asMap().putIfAbsent(this, this);
         if( old == null )       // We win?
             return this;        // Expected winner: return fresh code
         // Unexpected lost race, return old winner and return this to the free list
@@ -129,8 +145,33 @@ public class CodeV2 extends OutputStream implements Code {
             if( op == 0x5B ) _jmpDest.set(i); // Set Jump Destination opcodes
             if( op >= 0x60 && op < 0x80 ) i += op - 0x60 + 1; // Skip immediate bytes
         }
+        // The expensive keccak256 is computed lazily, once per interned code
+    }
+
+    // Resize the intern table; evicts down to the new size if smaller
+    public static void setMaxCacheBytes(long maxBytes) {
+        CODES.policy().eviction().ifPresent(e -> e.setMaximum(maxBytes));
+    }
 
-        // TODO: Cache the expensive kekkac256 cache
+    // Total estimated bytes held by the intern table
+    public static long cacheWeightedBytes() {
+        return CODES.policy().eviction().flatMap(e -> e.weightedSize()).orElse(0L);
+    }
+
+    // Hit and miss counts of the intern table, since startup
+    public static CacheStats cacheStats() { return CODES.stats(); }
+
+    // Basic blocks, decoded on first use with a given gas table
+    private volatile BasicBlocks _blocks;
+
+    int[] blocks(byte[] opGas, byte[] opStackMin) {
+        BasicBlocks blocks = _blocks;
+        if( blocks == null || blocks._opGas != opGas ) {
+            _blocks = blocks = new BasicBlocks(this, opGas, opStackMin);
+            // Re-weigh, if this is the interned copy
+            CODES.asMap().computeIfPresent(this, (k, v) -> v);
+        }
+        return blocks._info;
     }
 
     // Must jump to a jump dest, opcode 91/0x5B
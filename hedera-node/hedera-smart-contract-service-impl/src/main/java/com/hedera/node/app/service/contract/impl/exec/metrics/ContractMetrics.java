@@ -9,6 +9,7 @@ import static java.util.stream.Collectors.toMap;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.node.app.service.contract.impl.bonneville.CodeV2;
 import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethod;
 import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethod.Category;
 import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethodRegistry;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hiero.consensus.metrics.FunctionGauge;
 import org.hiero.consensus.metrics.platform.prometheus.NameConverter;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.frame.MessageFrame.State;
@@ -58,6 +60,11 @@ public class ContractMetrics {
             new ConcurrentHashMap<>();
     private Counter rejectedEthType3Counter;
 
+    // Counters for storage prefetch: slots predicted, predicted slots actually accessed, slots accessed
+    private Counter storagePrefetchPredicted;
+    private Counter storagePrefetchHits;
+    private Counter storagePrefetchAccessed;
+
     private enum MethodMetricType {
         TOTAL(0, "total"),
         FAILED(1, "failed");
@@ -218,6 +225,57 @@ public class ContractMetrics {
                     "Actual gas used by smart contract transactions");
             gasPrice = metrics.getOrCreate(new LongGauge.Config(METRIC_CATEGORY, METRIC_SERVICE + ":LatestGasPrice")
                     .withDescription("Gas price of the latest processed smart contract transaction"));
+
+            // Storage prefetch predictions, and how well they matched the slots actually accessed
+            storagePrefetchPredicted = newCounter(
+                    metrics,
+                    new Counter.Config(METRIC_CATEGORY, METRIC_SERVICE + ":StoragePrefetchPredicted_total")
+                            .withDescription("Storage slots prefetched for contract calls"));
+            storagePrefetchHits = newCounter(
+                    metrics,
+                    new Counter.Config(METRIC_CATEGORY, METRIC_SERVICE + ":StoragePrefetchHits_total")
+                            .withDescription("Prefetched storage slots that contract calls then accessed"));
+            storagePrefetchAccessed = newCounter(
+                    metrics,
+                    new Counter.Config(METRIC_CATEGORY, METRIC_SERVICE + ":StoragePrefetchAccessed_total")
+                            .withDescription("Storage slots accessed by contract calls with a prefetch profile"));
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRIC_CATEGORY,
+                            METRIC_SERVICE + ":StoragePrefetchPrecision",
+                            Double.class,
+                            () -> ratio(storagePrefetchHits.get(), storagePrefetchPredicted.get()))
+                    .withDescription("Fraction of prefetched storage slots that were then accessed")
+                    .withFormat("%,.4f"));
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRIC_CATEGORY,
+                            METRIC_SERVICE + ":StoragePrefetchRecall",
+                            Double.class,
+                            () -> ratio(storagePrefetchHits.get(), storagePrefetchAccessed.get()))
+                    .withDescription("Fraction of accessed storage slots that were prefetched")
+                    .withFormat("%,.4f"));
+
+            // Bytecode intern table of the Bonneville EVM
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRIC_CATEGORY,
+                            METRIC_SERVICE + ":CodeCacheHitRate",
+                            Double.class,
+                            () -> CodeV2.cacheStats().hitRate())
+                    .withDescription("Fraction of bytecode lookups served from the code cache")
+                    .withFormat("%,.4f"));
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRIC_CATEGORY,
+                            METRIC_SERVICE + ":CodeCacheEvictions",
+                            Long.class,
+                            () -> CodeV2.cacheStats().evictionCount())
+                    .withDescription("Bytecodes evicted from the code cache")
+                    .withFormat("%,d"));
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRIC_CATEGORY,
+                            METRIC_SERVICE + ":CodeCacheBytes",
+                            Long.class,
+                            CodeV2::cacheWeightedBytes)
+                    .withDescription("Estimated bytes held by the code cache")
+                    .withFormat("%,d"));
         }
     }
 
@@ -330,6 +388,25 @@ public class ContractMetrics {
         }
     }
 
+    /**
+     * Records how the storage slots prefetched for a contract call matched those it actually accessed.
+     *
+     * @param predicted the number of slots prefetched
+     * @param hits the number of prefetched slots that were accessed
+     * @param accessed the number of slots accessed
+     */
+    public void recordStoragePrefetch(final long predicted, final long hits, final long accessed) {
+        if (p1MetricsEnabled) {
+            storagePrefetchPredicted.add(predicted);
+            storagePrefetchHits.add(hits);
+            storagePrefetchAccessed.add(accessed);
+        }
+    }
+
+    private static double ratio(final long numerator, final long denominator) {
+        return denominator == 0 ? 0.0 : (double) numerator / denominator;
+    }
+
     // ---------------------------------------------
     // P2 metrics: System contract per-method counts
 
@@ -9,6 +9,7 @@ import static org.hyperledger.besu.evm.operation.SStoreOperation.FRONTIER_MINIMU
 import com.hedera.node.app.service.contract.impl.annotations.CustomOps;
 import com.hedera.node.app.service.contract.impl.annotations.ServicesV067;
 import com.hedera.node.app.service.contract.impl.bonneville.BonnevilleEVM;
+import com.hedera.node.app.service.contract.impl.bonneville.CodeV2;
 import com.hedera.node.app.service.contract.impl.exec.AddressChecks;
 import com.hedera.node.app.service.contract.impl.exec.FeatureFlags;
 import com.hedera.node.app.service.contract.impl.exec.FrameRunner;
@@ -131,8 +132,11 @@ public interface V067Module {
         registerCancunOperations(operationRegistry, gasCalculator, BigInteger.ZERO);
         customOperations.forEach(operationRegistry::put);
         customOps.forEach(operationRegistry::put);
+        // Sized whichever EVM is used, though only the Bonneville EVM interns bytecode in the code cache
+        CodeV2.setMaxCacheBytes(contractsConfigSupplier.get().evmCodeCacheMaxBytes());
         if (contractsConfigSupplier.get().useBonnevilleEVM()) {
-            return new BonnevilleEVM(operationRegistry, gasCalculator, evmConfiguration, EvmSpecVersion.CANCUN, featureFlags, addressChecks);
+            return new BonnevilleEVM(operationRegistry, gasCalculator, evmConfiguration, EvmSpecVersion.CANCUN, featureFlags, addressChecks,
+                                     contractsConfigSupplier.get().bonnevilleBasicBlocksEnabled());
         } else {
             return new     HederaEVM(operationRegistry, gasCalculator, evmConfiguration, EvmSpecVersion.CANCUN);
         }
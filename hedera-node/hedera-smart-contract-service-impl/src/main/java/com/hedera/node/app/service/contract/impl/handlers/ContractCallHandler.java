@@ -17,6 +17,7 @@ import com.hedera.node.app.hapi.utils.fee.SmartContractFeeBuilder;
 import com.hedera.node.app.service.contract.impl.ContractServiceComponent;
 import com.hedera.node.app.service.contract.impl.exec.TransactionComponent;
 import com.hedera.node.app.service.contract.impl.records.ContractCallStreamBuilder;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
 import com.hedera.node.app.service.contract.impl.utils.ConstantUtils;
 import com.hedera.node.app.service.entityid.EntityIdFactory;
 import com.hedera.node.app.spi.workflows.HandleContext;
@@ -24,6 +25,8 @@ import com.hedera.node.app.spi.workflows.HandleException;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.spi.workflows.PreHandleContext;
 import com.hedera.node.app.spi.workflows.PureChecksContext;
+import com.hedera.node.app.spi.workflows.WarmupContext;
+import com.hedera.node.config.data.ContractsConfig;
 import com.hederahashgraph.api.proto.java.FeeData;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Arrays;
@@ -65,9 +68,31 @@ public class ContractCallHandler extends AbstractContractTransactionHandler {
         final var streamBuilder = context.savepointStack().getBaseBuilder(ContractCallStreamBuilder.class);
         outcome.addCallDetailsTo(streamBuilder, context, entityIdFactory);
 
+        // Remember the slots this call touched, to prefetch them for the next call with the same selector
+        if (context.configuration().getConfigData(ContractsConfig.class).storagePrefetchEnabled()) {
+            final var op = context.body().contractCallOrThrow();
+            this.component
+                    .storageAccessProfiles()
+                    .record(
+                            op.contractIDOrThrow(),
+                            op.functionParameters(),
+                            component.hederaOperations().getStore());
+        }
+
         throwIfUnsuccessfulCall(outcome, component.hederaOperations());
     }
 
+    @Override
+    public void warm(@NonNull final WarmupContext context) {
+        requireNonNull(context);
+        final var op = context.body().contractCallOrThrow();
+        if (op.hasContractID()) {
+            component
+                    .storageAccessProfiles()
+                    .warm(op.contractIDOrThrow(), op.functionParameters(), context.createStore(ContractStateStore.class));
+        }
+    }
+
     @Override
     public void preHandle(@NonNull final PreHandleContext context) {
         // No non-payer signatures to verify
@@ -0,0 +1,121 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.infra;
+
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.node.app.service.contract.impl.exec.metrics.ContractMetrics;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
+import com.hedera.node.config.data.ContractsConfig;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.HashSet;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Remembers, for each contract and function selector, the storage slots that the most recent call to it accessed;
+ * so that the next call with the same selector can have those slots warmed while its round is still being
+ * pre-handled, rather than loading each one on demand in its {@code SLOAD}.
+ *
+ * <p>Profiles are kept in a bounded cache, and are only kept for calls to a contract by its number.
+ */
+@Singleton
+public class StorageAccessProfiles {
+    private static final long NO_SELECTOR = -1L;
+
+    private final Supplier<ContractsConfig> contractsConfigSupplier;
+    private final ContractMetrics contractMetrics;
+    private final Cache<ProfileKey, SlotKey[]> profiles;
+
+    private record ProfileKey(long contractNum, long selector) {}
+
+    /**
+     * @param contractsConfigSupplier the supplier of the current contracts configuration
+     * @param contractMetrics the metrics to record prediction precision and recall to
+     */
+    @Inject
+    public StorageAccessProfiles(
+            @NonNull final Supplier<ContractsConfig> contractsConfigSupplier,
+            @NonNull final ContractMetrics contractMetrics) {
+        this.contractsConfigSupplier = requireNonNull(contractsConfigSupplier);
+        this.contractMetrics = requireNonNull(contractMetrics);
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(contractsConfigSupplier.get().storagePrefetchMaxProfiles())
+                // Evict on the recording thread, so the cache never holds more profiles than its bound
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * If enabled, warms the slots accessed by the last call to the given contract with the same selector.
+     *
+     * @param contractID the contract to be called
+     * @param functionParameters the call data of the call
+     * @param store the store to warm the slots in
+     */
+    public void warm(
+            @NonNull final ContractID contractID,
+            @NonNull final Bytes functionParameters,
+            @NonNull final ContractStateStore store) {
+        if (!contractsConfigSupplier.get().storagePrefetchEnabled() || !contractID.hasContractNum()) {
+            return;
+        }
+        final var slots = profiles.getIfPresent(keyFor(contractID, functionParameters));
+        if (slots != null) {
+            for (final var slot : slots) {
+                store.warm(slot);
+            }
+        }
+    }
+
+    /**
+     * If enabled, replaces the profile of the given contract and selector with the slots just accessed through the
+     * given store; and records how well the replaced profile predicted them.
+     *
+     * @param contractID the contract that was called
+     * @param functionParameters the call data of the call
+     * @param store the store the call accessed slots through
+     */
+    public void record(
+            @NonNull final ContractID contractID,
+            @NonNull final Bytes functionParameters,
+            @NonNull final ContractStateStore store) {
+        final var contractsConfig = contractsConfigSupplier.get();
+        if (!contractsConfig.storagePrefetchEnabled() || !contractID.hasContractNum()) {
+            return;
+        }
+        final var accessed = new HashSet<>(store.getReadSlotKeys());
+        accessed.addAll(store.getModifiedSlotKeys());
+
+        final var key = keyFor(contractID, functionParameters);
+        final var predicted = profiles.getIfPresent(key);
+        if (predicted != null) {
+            int hits = 0;
+            for (final var slot : predicted) {
+                if (accessed.contains(slot)) {
+                    hits++;
+                }
+            }
+            contractMetrics.recordStoragePrefetch(predicted.length, hits, accessed.size());
+        }
+        if (accessed.isEmpty()) {
+            profiles.invalidate(key);
+        } else {
+            profiles.put(
+                    key,
+                    accessed.stream()
+                            .limit(contractsConfig.storagePrefetchMaxSlotsPerProfile())
+                            .toArray(SlotKey[]::new));
+        }
+    }
+
+    private static ProfileKey keyFor(@NonNull final ContractID contractID, @NonNull final Bytes functionParameters) {
+        final var selector = functionParameters.length() >= 4 ? functionParameters.getInt(0) & 0xFFFFFFFFL : NO_SELECTOR;
+        return new ProfileKey(contractID.contractNumOrThrow(), selector);
+    }
+}
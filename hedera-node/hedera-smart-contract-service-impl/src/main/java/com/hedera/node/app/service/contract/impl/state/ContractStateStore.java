@@ -64,6 +64,23 @@ public interface ContractStateStore {
      */
     Set<SlotKey> getModifiedSlotKeys();
 
+    /**
+     * Returns the {@link Set} of {@link SlotKey}s that have been read.
+     *
+     * @return the {@link Set} of {@link SlotKey}s that have been read
+     */
+    default Set<SlotKey> getReadSlotKeys() {
+        return Set.of();
+    }
+
+    /**
+     * Hints that the {@link SlotValue} for the given {@link SlotKey} will soon be read, so it can be
+     * loaded into memory ahead of time.
+     *
+     * @param key the {@link SlotKey} expected to be read
+     */
+    default void warm(@NonNull SlotKey key) {}
+
     /**
      * Returns the {@link SlotValue} for the given {@link SlotKey}, or null if not found.
      *
@@ -29,6 +29,11 @@ public class ProxyEvmContract extends AbstractProxyEvmAccount {
         return codeFactory.createCode(getCode(), false);
     }
 
+    /**
+     * Reads the code through the frame state on every call, rather than caching it by contract id here; a cache that
+     * outlived this frame would have to be invalidated on every create, self-destruct and reverted child frame. The
+     * decoded code is instead interned by content (see {@code CodeV2}), so repeated calls only pay for the state read.
+     */
     @Override
     public @NonNull Bytes getCode() {
         return state.getCode(hederaContractId());
@@ -92,6 +92,22 @@ public class ReadableContractStateStore implements ContractStateStore {
         return Collections.emptySet();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<SlotKey> getReadSlotKeys() {
+        return storage.readKeys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void warm(@NonNull final SlotKey key) {
+        storage.warm(key);
+    }
+
     /**
      * {@inheritDoc}
      */
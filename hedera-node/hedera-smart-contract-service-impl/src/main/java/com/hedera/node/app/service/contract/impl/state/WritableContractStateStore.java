@@ -85,6 +85,14 @@ public class WritableContractStateStore extends ReadableContractStateStore imple
         return storage.modifiedKeys();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<SlotKey> getReadSlotKeys() {
+        return storage.readKeys();
+    }
+
     /**
      * {@inheritDoc}
      */
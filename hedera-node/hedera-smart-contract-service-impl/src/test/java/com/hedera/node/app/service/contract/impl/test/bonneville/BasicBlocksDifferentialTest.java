@@ -0,0 +1,376 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.test.bonneville;
+
+import static com.hedera.node.app.service.contract.impl.exec.tracers.NoTracer.NO_TRACER;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.CONFIG_CONTEXT_VARIABLE;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.INVALID_ADDRESS_CONTEXT_VARIABLE;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.OPS_DURATION_COUNTER;
+import static com.hedera.node.app.service.contract.impl.exec.utils.FrameUtils.PROPAGATED_CALL_FAILURE_CONTEXT_VARIABLE;
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.asLongZeroAddress;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode.JOURNALED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.base.Timestamp;
+import com.hedera.hapi.node.state.contract.Bytecode;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.hapi.node.state.contract.SlotValue;
+import com.hedera.hapi.node.state.token.Account;
+import com.hedera.node.app.service.contract.impl.exec.FrameRunner;
+import com.hedera.node.app.service.contract.impl.exec.gas.CustomGasCalculator;
+import com.hedera.node.app.service.contract.impl.exec.metrics.ContractMetrics;
+import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
+import com.hedera.node.app.service.contract.impl.exec.scope.HederaOperations;
+import com.hedera.node.app.service.contract.impl.exec.scope.SystemContractOperations;
+import com.hedera.node.app.service.contract.impl.exec.utils.InvalidAddressContext;
+import com.hedera.node.app.service.contract.impl.exec.utils.OpsDurationCounter;
+import com.hedera.node.app.service.contract.impl.exec.utils.PropagatedCallFailureRef;
+import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethodRegistry;
+import com.hedera.node.app.service.contract.impl.exec.v038.Version038AddressChecks;
+import com.hedera.node.app.service.contract.impl.exec.v067.V067Module;
+import com.hedera.node.app.service.contract.impl.exec.v067.Version067FeatureFlags;
+import com.hedera.node.app.service.contract.impl.hevm.HederaWorldUpdater.Enhancement;
+import com.hedera.node.app.service.contract.impl.hevm.HevmBlockValues;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
+import com.hedera.node.app.service.contract.impl.state.DispatchingEvmFrameState;
+import com.hedera.node.app.service.contract.impl.state.ProxyWorldUpdater;
+import com.hedera.node.app.spi.fixtures.ids.FakeEntityIdFactoryImpl;
+import com.hedera.node.config.data.ContractsConfig;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.swirlds.config.api.Configuration;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.hiero.consensus.metrics.noop.NoOpMetrics;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Runs hand-assembled bytecode as a top-level message call on Besu and on the Bonneville EVM with pre-decoded basic
+ * blocks, and checks that both end in the same state, with the same halt reason, output, remaining gas, and storage
+ * changes. The gas limits include some that run out in the middle of a block.
+ */
+class BasicBlocksDifferentialTest {
+    private static final long SENDER_NUM = 1001L;
+    private static final long CONTRACT_NUM = 2001L;
+    private static final Bytes CALL_DATA =
+            Bytes.fromHexString("0x00000000000000000000000000000000000000000000000000000000000003e8");
+
+    /**
+     * Keeps an accumulator and a counter on the stack, and mixes the counter into the accumulator with shifts,
+     * multiplies, adds, and xors fifty times, then stores both. The loop body is a single block ended by a
+     * PUSH2-JUMPI.
+     */
+    private static final String ARITHMETIC_LOOP = String.join(
+            "",
+            "5f5f", // PUSH0 PUSH0                    acc i
+            "5b", // JUMPDEST
+            "8060021b", // DUP1 PUSH1 2 SHL           acc i i<<2
+            "8260030282", // DUP3 PUSH1 3 MUL DUP3    acc i i<<2 acc*3 i
+            "01189150", // ADD XOR SWAP2 POP          acc' i
+            "600101", // PUSH1 1 ADD                  acc' i+1
+            "8060321161000257", // DUP1 PUSH1 50 GT PUSH2 0x0002 JUMPI
+            "600155", // PUSH1 1 SSTORE
+            "5f55", // PUSH0 SSTORE
+            "00"); // STOP
+
+    /**
+     * Signed and modular arithmetic, sign extension, shifts, byte extraction and comparisons, with results stored.
+     */
+    private static final String SIGNED_AND_MODULAR = String.join(
+            "",
+            "60051960039005", // PUSH1 5 NOT PUSH1 3 SWAP1 SDIV       -2
+            "806007900701", // DUP1 PUSH1 7 SWAP1 SMOD ADD            -4
+            "600b60098208", // PUSH1 11 PUSH1 9 DUP3 ADDMOD           -4 r1
+            "600d60058209", // PUSH1 13 PUSH1 5 DUP3 MULMOD           -4 r1 r2
+            "5f0b60041d", // PUSH0 SIGNEXTEND PUSH1 4 SAR
+            "5f55600155", // PUSH0 SSTORE PUSH1 1 SSTORE              -4
+            "80601f1a", // DUP1 PUSH1 31 BYTE                         -4 b
+            "8112600255", // DUP2 SLT PUSH1 2 SSTORE
+            "811315600355", // DUP2 SGT ISZERO PUSH1 3 SSTORE
+            "14600455", // EQ PUSH1 4 SSTORE
+            "00"); // STOP
+
+    /**
+     * A JUMPI that is not taken, then a sum of frame and block values, which is stored.
+     */
+    private static final String FRAME_VALUES = String.join(
+            "",
+            "5f61000057", // PUSH0 PUSH2 0x0000 JUMPI
+            "3330013401360138013a013d01", // CALLER ADDRESS ADD CALLVALUE ADD ... RETURNDATASIZE ADD
+            "410142014301450158015901", // COINBASE ADD TIMESTAMP ADD ... PC ADD MSIZE ADD
+            "5f35013201", // PUSH0 CALLDATALOAD ADD ORIGIN ADD
+            "5f55", // PUSH0 SSTORE
+            "00"); // STOP
+
+    /** A computed jump to a JUMPDEST, then a store. */
+    private static final String COMPUTED_JUMP = "60065f0156005b600160015500";
+
+    /** A computed jump to an op that is not a JUMPDEST. */
+    private static final String BAD_COMPUTED_JUMP = "6003600201560000";
+
+    /** A PUSH1-JUMP to an op that is not a JUMPDEST. */
+    private static final String BAD_PUSHED_JUMP = "600556000000";
+
+    /** An ADD with only one stack item. */
+    private static final String STACK_UNDERFLOW = "60010100";
+
+    /** Pushes forever, until the stack overflows. */
+    private static final String STACK_OVERFLOW = "5b5f600056";
+
+    private final FakeEntityIdFactoryImpl entityIdFactory = new FakeEntityIdFactoryImpl(0, 0);
+    private final CustomGasCalculator gasCalculator = new CustomGasCalculator();
+    private final CodeFactory codeFactory = new CodeFactory(0, 0);
+    private final Address sender = asLongZeroAddress(SENDER_NUM);
+    private final Address contract = asLongZeroAddress(CONTRACT_NUM);
+
+    /**
+     * The outcome of a call, as far as the two interpreters must agree on it.
+     */
+    private record Outcome(
+            MessageFrame.State state,
+            ExceptionalHaltReason haltReason,
+            long remainingGas,
+            Bytes output,
+            Map<SlotKey, SlotValue> storageChanges) {}
+
+    static Stream<Arguments> programs() {
+        return Stream.of(
+                Arguments.of("arithmetic loop", ARITHMETIC_LOOP, 1_000_000L),
+                Arguments.of("arithmetic loop with 777 gas", ARITHMETIC_LOOP, 777L),
+                Arguments.of("arithmetic loop with 1500 gas", ARITHMETIC_LOOP, 1_500L),
+                Arguments.of("arithmetic loop with 2600 gas", ARITHMETIC_LOOP, 2_600L),
+                Arguments.of("signed and modular", SIGNED_AND_MODULAR, 1_000_000L),
+                Arguments.of("signed and modular with 10 gas", SIGNED_AND_MODULAR, 10L),
+                Arguments.of("frame values", FRAME_VALUES, 1_000_000L),
+                Arguments.of("computed jump", COMPUTED_JUMP, 1_000_000L),
+                Arguments.of("bad computed jump", BAD_COMPUTED_JUMP, 1_000_000L),
+                Arguments.of("bad pushed jump", BAD_PUSHED_JUMP, 1_000_000L),
+                Arguments.of("stack underflow", STACK_UNDERFLOW, 1_000_000L),
+                Arguments.of("stack overflow", STACK_OVERFLOW, 1_000_000L));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("programs")
+    void basicBlocksMatchBesu(final String name, final String code, final long gasLimit) {
+        final var expected = run(code, gasLimit, false);
+        final var actual = run(code, gasLimit, true);
+
+        assertThat(actual).as(name).isEqualTo(expected);
+    }
+
+    private Outcome run(final String hexCode, final long gasLimit, final boolean bonneville) {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("contracts.evm.UseBonnevilleEVM", bonneville)
+                .withValue("contracts.evm.bonneville.basicBlocks.enabled", bonneville)
+                // Bonneville expects state change sidecars only with action sidecars, which need a real tracer
+                .withValue("contracts.sidecars", "CONTRACT_BYTECODE")
+                .getOrCreateConfig();
+        final var contractsConfig = config.getConfigData(ContractsConfig.class);
+        final var featureFlags = new Version067FeatureFlags();
+        final var addressChecks = new Version038AddressChecks(Map.of(), entityIdFactory);
+        final var evm = V067Module.provideEVM(
+                customOperations(featureFlags, addressChecks),
+                new EvmConfiguration(EvmConfiguration.DEFAULT.jumpDestCacheWeightKB(), JOURNALED),
+                gasCalculator,
+                Set.of(),
+                () -> contractsConfig,
+                featureFlags,
+                addressChecks);
+        final var messageCallProcessor = V067Module.provideMessageCallProcessor(
+                evm,
+                featureFlags,
+                addressChecks,
+                V067Module.providePrecompileContractRegistry(gasCalculator),
+                Map.of(),
+                new ContractMetrics(new NoOpMetrics(), () -> contractsConfig, new SystemContractMethodRegistry()));
+
+        final var store = new MapContractStateStore();
+        final var code = Bytes.fromHexString(hexCode);
+        store.putBytecode(
+                entityIdFactory.newContractId(CONTRACT_NUM),
+                new Bytecode(com.hedera.pbj.runtime.io.buffer.Bytes.wrap(code.toArrayUnsafe())));
+        final var frame =
+                initialFrame(config, newUpdater(config, store), codeFactory.createCode(code, false), gasLimit);
+        new FrameRunner(gasCalculator, entityIdFactory)
+                .runToCompletion(
+                        gasLimit,
+                        entityIdFactory.newAccountId(SENDER_NUM),
+                        frame,
+                        NO_TRACER,
+                        messageCallProcessor,
+                        V067Module.provideContractCreationProcessor(evm, Set.of()),
+                        evm);
+        return new Outcome(
+                frame.getState(),
+                frame.getExceptionalHaltReason().orElse(null),
+                frame.getRemainingGas(),
+                frame.getOutputData(),
+                new HashMap<>(store.modified));
+    }
+
+    private ProxyWorldUpdater newUpdater(final Configuration config, final ContractStateStore store) {
+        final var accounts = Map.of(
+                SENDER_NUM,
+                Account.newBuilder()
+                        .accountId(entityIdFactory.newAccountId(SENDER_NUM))
+                        .tinybarBalance(1_000_000_000L)
+                        .build(),
+                CONTRACT_NUM,
+                Account.newBuilder()
+                        .accountId(entityIdFactory.newAccountId(CONTRACT_NUM))
+                        .smartContract(true)
+                        .build());
+        final var nativeOperations = mock(HederaNativeOperations.class);
+        given(nativeOperations.getAccount(any(AccountID.class)))
+                .willAnswer(invocation -> accounts.get(invocation.<AccountID>getArgument(0).accountNumOrElse(-1L)));
+        given(nativeOperations.getAccount(any(ContractID.class)))
+                .willAnswer(invocation -> accounts.get(invocation.<ContractID>getArgument(0).contractNumOrElse(-1L)));
+        given(nativeOperations.resolveAlias(anyLong(), anyLong(), any()))
+                .willReturn(HederaNativeOperations.MISSING_ENTITY_NUMBER);
+        given(nativeOperations.entityIdFactory()).willReturn(entityIdFactory);
+        given(nativeOperations.configuration()).willReturn(config);
+        final var frameState = new DispatchingEvmFrameState(nativeOperations, store, codeFactory);
+        final var enhancement = new Enhancement(
+                mock(HederaOperations.class, RETURNS_SELF), nativeOperations, mock(SystemContractOperations.class));
+        return new ProxyWorldUpdater(enhancement, () -> frameState, null);
+    }
+
+    private MessageFrame initialFrame(
+            final Configuration config,
+            final ProxyWorldUpdater updater,
+            final Code code,
+            final long gasLimit) {
+        final Map<String, Object> contextVariables = new HashMap<>();
+        contextVariables.put(CONFIG_CONTEXT_VARIABLE, config);
+        contextVariables.put(PROPAGATED_CALL_FAILURE_CONTEXT_VARIABLE, new PropagatedCallFailureRef());
+        contextVariables.put(OPS_DURATION_COUNTER, OpsDurationCounter.disabled());
+        contextVariables.put(INVALID_ADDRESS_CONTEXT_VARIABLE, new InvalidAddressContext());
+        return MessageFrame.builder()
+                .type(MessageFrame.Type.MESSAGE_CALL)
+                .maxStackSize(1024)
+                .worldUpdater(updater.updater())
+                .initialGas(gasLimit)
+                .originator(sender)
+                .gasPrice(Wei.ZERO)
+                .blobGasPrice(Wei.ONE)
+                .sender(sender)
+                .value(Wei.ZERO)
+                .apparentValue(Wei.ZERO)
+                .blockValues(new HevmBlockValues(
+                        gasLimit, 1L, Timestamp.newBuilder().seconds(1_700_000_000L).build()))
+                .completer(unused -> {})
+                .isStatic(false)
+                .miningBeneficiary(Address.ZERO)
+                .blockHashLookup((frame, blockNo) -> Hash.ZERO)
+                .contextVariables(contextVariables)
+                .address(contract)
+                .contract(contract)
+                .inputData(CALL_DATA)
+                .code(code)
+                .build();
+    }
+
+    private Set<Operation> customOperations(
+            final Version067FeatureFlags featureFlags, final Version038AddressChecks addressChecks) {
+        return Set.of(
+                V067Module.provideBalanceOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideDelegateCallOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideCallCodeOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideStaticCallOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideCallOperation(gasCalculator, featureFlags, addressChecks),
+                V067Module.provideChainIdOperation(gasCalculator),
+                V067Module.provideCreateOperation(gasCalculator, codeFactory),
+                V067Module.provideCreate2Operation(gasCalculator, featureFlags, codeFactory),
+                V067Module.provideLog0Operation(gasCalculator),
+                V067Module.provideLog1Operation(gasCalculator),
+                V067Module.provideLog2Operation(gasCalculator),
+                V067Module.provideLog3Operation(gasCalculator),
+                V067Module.provideLog4Operation(gasCalculator),
+                V067Module.provideExtCodeHashOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideExtCodeSizeOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.provideExtCodeCopyOperation(gasCalculator, addressChecks, featureFlags),
+                V067Module.providePrevRandaoOperation(gasCalculator),
+                V067Module.provideSelfDestructOperation(gasCalculator, addressChecks),
+                V067Module.provideSLoadOperation(gasCalculator, featureFlags),
+                V067Module.provideSStoreOperation(gasCalculator, featureFlags));
+    }
+
+    /**
+     * A {@link ContractStateStore} over maps, starting with no storage.
+     */
+    private static final class MapContractStateStore implements ContractStateStore {
+        private final Map<Long, Bytecode> bytecodes = new HashMap<>();
+        private final Map<SlotKey, SlotValue> modified = new HashMap<>();
+
+        @Override
+        public Bytecode getBytecode(@NonNull final ContractID contractID) {
+            return bytecodes.get(contractID.contractNumOrThrow());
+        }
+
+        @Override
+        public void putBytecode(@NonNull final ContractID contractID, @NonNull final Bytecode code) {
+            bytecodes.put(contractID.contractNumOrThrow(), code);
+        }
+
+        @Override
+        public void removeSlot(@NonNull final SlotKey key) {
+            modified.put(key, null);
+        }
+
+        @Override
+        public void adjustSlotCount(final long delta) {
+            // Not tracked
+        }
+
+        @Override
+        public void putSlot(@NonNull final SlotKey key, @NonNull final SlotValue value) {
+            modified.put(key, value);
+        }
+
+        @Override
+        public Set<SlotKey> getModifiedSlotKeys() {
+            return modified.keySet();
+        }
+
+        @Override
+        public @Nullable SlotValue getSlotValue(@NonNull final SlotKey key) {
+            return modified.get(key);
+        }
+
+        @Override
+        public @Nullable SlotValue getOriginalSlotValue(@NonNull final SlotKey key) {
+            return null;
+        }
+
+        @Override
+        public long getNumSlots() {
+            return 0;
+        }
+
+        @Override
+        public long getNumBytecodes() {
+            return bytecodes.size();
+        }
+    }
+}
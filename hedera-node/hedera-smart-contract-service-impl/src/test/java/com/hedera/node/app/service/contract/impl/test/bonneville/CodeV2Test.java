@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.test.bonneville;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.node.app.service.contract.impl.bonneville.CodeV2;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CodeV2Test {
+    private final Random random = new Random();
+
+    @AfterEach
+    void restoreCacheSize() {
+        CodeV2.setMaxCacheBytes(CodeV2.DEFAULT_MAX_CACHE_BYTES);
+    }
+
+    @Test
+    void internsEqualBytecodeAsOneEntry() {
+        final var bytecode = randomBytecode(100);
+        final var before = CodeV2.cacheStats();
+
+        final var first = CodeV2.make(bytecode);
+        final var second = CodeV2.make(bytecode.clone());
+
+        assertThat(second).isSameAs(first);
+        final var stats = CodeV2.cacheStats().minus(before);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotInternScopedBytecode() {
+        final var bytecode = randomBytecode(100);
+        final var before = CodeV2.cacheStats();
+
+        final var scoped = CodeV2.make(bytecode, 0, bytecode.length, false);
+        final var interned = CodeV2.make(bytecode.clone());
+
+        assertThat(interned).isNotSameAs(scoped).isEqualTo(scoped);
+        assertThat(CodeV2.cacheStats().minus(before).missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void weighsEntriesByBytecodeLength() {
+        drainCache();
+        final long weightBefore = CodeV2.cacheWeightedBytes();
+
+        CodeV2.make(randomBytecode(10_000));
+
+        drainCache();
+        assertThat(CodeV2.cacheWeightedBytes() - weightBefore).isGreaterThanOrEqualTo(10_000);
+    }
+
+    @Test
+    void evictsDownToMaxBytes() {
+        for (int i = 0; i < 20; i++) {
+            CodeV2.make(randomBytecode(10_000));
+        }
+        final long evictionsBefore = CodeV2.cacheStats().evictionCount();
+
+        CodeV2.setMaxCacheBytes(50_000);
+
+        assertThat(CodeV2.cacheWeightedBytes()).isLessThanOrEqualTo(50_000);
+        assertThat(CodeV2.cacheStats().evictionCount() - evictionsBefore).isGreaterThanOrEqualTo(15);
+    }
+
+    @Test
+    void reinternsEvictedBytecode() {
+        final var bytecode = randomBytecode(10_000);
+        final var first = CodeV2.make(bytecode);
+        CodeV2.setMaxCacheBytes(0);
+        CodeV2.setMaxCacheBytes(CodeV2.DEFAULT_MAX_CACHE_BYTES);
+        final var before = CodeV2.cacheStats();
+
+        final var second = CodeV2.make(bytecode.clone());
+
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+        assertThat(CodeV2.cacheStats().minus(before).missCount()).isEqualTo(1);
+        assertThat(CodeV2.make(bytecode.clone())).isSameAs(second);
+    }
+
+    // Setting the size runs the cache's pending maintenance, which updates its weighted size
+    private static void drainCache() {
+        CodeV2.setMaxCacheBytes(CodeV2.DEFAULT_MAX_CACHE_BYTES);
+    }
+
+    private byte[] randomBytecode(final int length) {
+        final var bytecode = new byte[length];
+        random.nextBytes(bytecode);
+        return bytecode;
+    }
+}
@@ -7,11 +7,13 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.when;
 
 import com.hedera.hapi.node.base.HederaFunctionality;
+import com.hedera.node.app.service.contract.impl.bonneville.CodeV2;
 import com.hedera.node.app.service.contract.impl.exec.metrics.ContractMetrics;
 import com.hedera.node.app.service.contract.impl.exec.systemcontracts.hts.wipe.WipeTranslator;
 import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethodRegistry;
 import com.hedera.node.config.data.ContractsConfig;
 import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.swirlds.metrics.api.Metric.ValueType;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Map;
@@ -125,6 +127,27 @@ public class ContractMetricsTest {
         assertThat(subject.getProcessedTransactionCount()).isEqualTo(1L);
     }
 
+    @Test
+    void codeCacheGaugesReportCodeCacheStats() {
+        given(contractsConfig.metricsSmartContractPrimaryEnabled()).willReturn(true);
+        getSubject();
+        final var bytecode = new byte[] {0x60, 0x01, 0x60, 0x02, 0x01, 0x5f, 0x55, 0x00, 0x01, 0x02, 0x03};
+        CodeV2.make(bytecode);
+        CodeV2.make(bytecode.clone());
+        // Runs the cache's pending maintenance, so its weighted size is settled
+        CodeV2.setMaxCacheBytes(CodeV2.DEFAULT_MAX_CACHE_BYTES);
+
+        assertThat(metrics.getMetric("app", "SmartContractService:CodeCacheHitRate")
+                        .get(ValueType.VALUE))
+                .isEqualTo(CodeV2.cacheStats().hitRate());
+        assertThat(metrics.getMetric("app", "SmartContractService:CodeCacheEvictions")
+                        .get(ValueType.VALUE))
+                .isEqualTo(CodeV2.cacheStats().evictionCount());
+        assertThat(metrics.getMetric("app", "SmartContractService:CodeCacheBytes")
+                        .get(ValueType.VALUE))
+                .isEqualTo(CodeV2.cacheWeightedBytes());
+    }
+
     private static final long DEFAULT_NODE_ID = 3;
 
     public static Metrics fakeMetrics() {
@@ -18,6 +18,9 @@ import com.hedera.hapi.node.base.ContractID;
 import com.hedera.hapi.node.base.HederaFunctionality;
 import com.hedera.hapi.node.base.TransactionID;
 import com.hedera.hapi.node.contract.ContractCallTransactionBody;
+import com.hedera.hapi.node.state.contract.Bytecode;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.hapi.node.state.contract.SlotValue;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.service.contract.impl.ContractServiceComponent;
 import com.hedera.node.app.service.contract.impl.exec.CallOutcome;
@@ -27,19 +30,29 @@ import com.hedera.node.app.service.contract.impl.exec.metrics.ContractMetrics;
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaOperations;
 import com.hedera.node.app.service.contract.impl.exec.utils.SystemContractMethodRegistry;
 import com.hedera.node.app.service.contract.impl.handlers.ContractCallHandler;
+import com.hedera.node.app.service.contract.impl.infra.StorageAccessProfiles;
 import com.hedera.node.app.service.contract.impl.records.ContractCallStreamBuilder;
+import com.hedera.node.app.service.contract.impl.schemas.V0490ContractSchema;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
 import com.hedera.node.app.service.contract.impl.state.EvmFrameStates;
 import com.hedera.node.app.service.contract.impl.state.RootProxyWorldUpdater;
+import com.hedera.node.app.service.contract.impl.state.WritableContractStateStore;
 import com.hedera.node.app.service.contract.impl.utils.ConstantUtils;
 import com.hedera.node.app.service.entityid.EntityIdFactory;
+import com.hedera.node.app.service.entityid.WritableEntityCounters;
 import com.hedera.node.app.spi.fixtures.workflows.FakePreHandleContext;
 import com.hedera.node.app.spi.workflows.HandleContext;
 import com.hedera.node.app.spi.workflows.PreCheckException;
 import com.hedera.node.app.spi.workflows.PureChecksContext;
+import com.hedera.node.app.spi.workflows.WarmupContext;
 import com.hedera.node.config.data.ContractsConfig;
 import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.config.api.Configuration;
 import com.swirlds.metrics.api.Metrics;
+import com.swirlds.state.spi.WrappedWritableKVState;
+import com.swirlds.state.spi.WritableKVState;
+import com.swirlds.state.spi.WritableStates;
 import org.hiero.consensus.metrics.noop.NoOpMetrics;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.junit.jupiter.api.BeforeEach;
@@ -99,6 +112,21 @@ class ContractCallHandlerTest extends ContractHandlerTestBase {
     @Mock
     private ContractsConfig contractsConfig;
 
+    @Mock
+    private WarmupContext warmupContext;
+
+    @Mock
+    private WritableKVState<SlotKey, SlotValue> committedStorage;
+
+    @Mock
+    private WritableStates writableStates;
+
+    @Mock
+    private WritableEntityCounters entityCounters;
+
+    @Mock
+    private ContractStateStore warmedStore;
+
     private final SystemContractMethodRegistry systemContractMethodRegistry = new SystemContractMethodRegistry();
 
     private final Metrics metrics = new NoOpMetrics();
@@ -248,6 +276,79 @@ class ContractCallHandlerTest extends ContractHandlerTestBase {
         verify(recordBuilder, never()).contractCallResult(any());
     }
 
+    @Test
+    void nextCallWithSameSelectorWarmsSlotsTheLastCallAccessedIncludingInNestedCalls() {
+        final var config = HederaTestConfigBuilder.create()
+                .withValue("blockStream.streamMode", "BOTH")
+                .withValue("contracts.storagePrefetch.enabled", true)
+                .getOrCreateConfig();
+        final var storageAccessProfiles =
+                new StorageAccessProfiles(() -> config.getConfigData(ContractsConfig.class), contractMetrics);
+        given(contractServiceComponent.storageAccessProfiles()).willReturn(storageAccessProfiles);
+        // The transaction's storage, and a savepoint for a nested call on top of it
+        final var txnStorage = new WrappedWritableKVState<>(committedStorage);
+        final var nestedCallStorage = new WrappedWritableKVState<>(txnStorage);
+        given(writableStates.<SlotKey, SlotValue>get(V0490ContractSchema.STORAGE_STATE_ID))
+                .willReturn(txnStorage);
+        given(writableStates.<ContractID, Bytecode>get(V0490ContractSchema.BYTECODE_STATE_ID))
+                .willReturn(null);
+        final var store = new WritableContractStateStore(writableStates, entityCounters);
+        final var topLevelRead = new SlotKey(CALLED_CONTRACT_ID, Bytes.fromHex("01"));
+        final var nestedRead = new SlotKey(CALLED_CONTRACT_ID, Bytes.fromHex("02"));
+        final var nestedWrite = new SlotKey(CALLED_CONTRACT_ID, Bytes.fromHex("03"));
+        final var txn = TransactionBody.newBuilder()
+                .contractCall(ContractCallTransactionBody.newBuilder()
+                        .contractID(CALLED_CONTRACT_ID)
+                        .functionParameters(Bytes.fromHex("a9059cbb")))
+                .build();
+
+        given(factory.create(context, HederaFunctionality.CONTRACT_CALL, EvmFrameStates.DEFAULT))
+                .willReturn(component);
+        given(component.contextTransactionProcessor()).willReturn(processor);
+        given(component.hederaOperations()).willReturn(hederaOperations);
+        given(hederaOperations.getStore()).willReturn(store);
+        given(context.configuration()).willReturn(config);
+        given(context.body()).willReturn(txn);
+        given(context.savepointStack()).willReturn(stack);
+        given(stack.getBaseBuilder(ContractCallStreamBuilder.class)).willReturn(recordBuilder);
+        given(baseProxyWorldUpdater.entityIdFactory()).willReturn(entityIdFactory);
+        final var expectedResult = SUCCESS_RESULT.asProtoResultOf(null, baseProxyWorldUpdater, null);
+        final var expectedOutcome = new CallOutcome(
+                expectedResult,
+                SUCCESS_RESULT.finalStatus(),
+                CALLED_CONTRACT_ID,
+                null,
+                null,
+                null,
+                null,
+                SUCCESS_RESULT.asEvmTxResultOf(null, baseProxyWorldUpdater, null, null),
+                SUCCESS_RESULT.signerNonce(),
+                null,
+                null);
+        given(processor.call()).willAnswer(invocation -> {
+            store.getSlotValue(topLevelRead);
+            nestedCallStorage.get(nestedRead);
+            nestedCallStorage.put(nestedWrite, new SlotValue(Bytes.fromHex("ff"), Bytes.EMPTY, Bytes.EMPTY));
+            nestedCallStorage.commit();
+            return expectedOutcome;
+        });
+        given(recordBuilder.contractID(CALLED_CONTRACT_ID)).willReturn(recordBuilder);
+        given(recordBuilder.contractCallResult(expectedResult)).willReturn(recordBuilder);
+        given(recordBuilder.withCommonFieldsSetFrom(expectedOutcome, context, entityIdFactory))
+                .willReturn(recordBuilder);
+
+        subject.handle(context);
+
+        given(warmupContext.body()).willReturn(txn);
+        given(warmupContext.createStore(ContractStateStore.class)).willReturn(warmedStore);
+
+        subject.warm(warmupContext);
+
+        verify(warmedStore).warm(topLevelRead);
+        verify(warmedStore).warm(nestedRead);
+        verify(warmedStore).warm(nestedWrite);
+    }
+
     @Test
     @DisplayName("Succeeds for valid payer account")
     void validPayer() throws PreCheckException {
@@ -0,0 +1,186 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.contract.impl.test.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.hapi.node.base.ContractID;
+import com.hedera.hapi.node.state.contract.SlotKey;
+import com.hedera.node.app.service.contract.impl.exec.metrics.ContractMetrics;
+import com.hedera.node.app.service.contract.impl.infra.StorageAccessProfiles;
+import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
+import com.hedera.node.config.data.ContractsConfig;
+import com.hedera.node.config.testfixtures.HederaTestConfigBuilder;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StorageAccessProfilesTest {
+    private static final ContractID CONTRACT_ID =
+            ContractID.newBuilder().contractNum(1234L).build();
+    private static final ContractID OTHER_CONTRACT_ID =
+            ContractID.newBuilder().contractNum(5678L).build();
+    private static final Bytes TRANSFER_CALL = Bytes.fromHex("a9059cbb0000000000000000000000000000000000000000");
+    private static final Bytes APPROVE_CALL = Bytes.fromHex("095ea7b30000000000000000000000000000000000000000");
+
+    @Mock
+    private ContractMetrics contractMetrics;
+
+    @Mock
+    private ContractStateStore store;
+
+    @Mock
+    private ContractStateStore warmedStore;
+
+    @Test
+    void warmsNothingWithoutAProfile() {
+        final var subject = subjectWith(true, 16, 16);
+
+        subject.warm(CONTRACT_ID, TRANSFER_CALL, warmedStore);
+
+        verifyNoInteractions(warmedStore);
+    }
+
+    @Test
+    void warmsReadAndModifiedSlotsOfLastCallWithSameSelector() {
+        final var subject = subjectWith(true, 16, 16);
+        given(store.getReadSlotKeys()).willReturn(Set.of(slot(1), slot(2)));
+        given(store.getModifiedSlotKeys()).willReturn(Set.of(slot(2), slot(3)));
+
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+        subject.warm(CONTRACT_ID, TRANSFER_CALL, warmedStore);
+
+        verify(warmedStore).warm(slot(1));
+        verify(warmedStore).warm(slot(2));
+        verify(warmedStore).warm(slot(3));
+        verify(contractMetrics, never()).recordStoragePrefetch(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void keepsProfilesPerContractAndSelector() {
+        final var subject = subjectWith(true, 16, 16);
+        given(store.getReadSlotKeys()).willReturn(Set.of(slot(1)));
+        given(store.getModifiedSlotKeys()).willReturn(Set.of());
+
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+        subject.warm(CONTRACT_ID, APPROVE_CALL, warmedStore);
+        subject.warm(OTHER_CONTRACT_ID, TRANSFER_CALL, warmedStore);
+        subject.warm(CONTRACT_ID, Bytes.EMPTY, warmedStore);
+
+        verifyNoInteractions(warmedStore);
+    }
+
+    @Test
+    void replacesProfileAndRecordsHowWellItPredicted() {
+        final var subject = subjectWith(true, 16, 16);
+        given(store.getReadSlotKeys()).willReturn(Set.of(slot(1), slot(2)));
+        given(store.getModifiedSlotKeys()).willReturn(Set.of());
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+
+        given(store.getReadSlotKeys()).willReturn(Set.of(slot(2), slot(3), slot(4)));
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+        subject.warm(CONTRACT_ID, TRANSFER_CALL, warmedStore);
+
+        verify(contractMetrics).recordStoragePrefetch(2, 1, 3);
+        verify(warmedStore, never()).warm(slot(1));
+        verify(warmedStore).warm(slot(2));
+        verify(warmedStore).warm(slot(3));
+        verify(warmedStore).warm(slot(4));
+    }
+
+    @Test
+    void dropsProfileOfCallThatAccessedNothing() {
+        final var subject = subjectWith(true, 16, 16);
+        given(store.getReadSlotKeys()).willReturn(Set.of(slot(1)));
+        given(store.getModifiedSlotKeys()).willReturn(Set.of());
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+
+        given(store.getReadSlotKeys()).willReturn(Set.of());
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+        subject.warm(CONTRACT_ID, TRANSFER_CALL, warmedStore);
+
+        verifyNoInteractions(warmedStore);
+    }
+
+    @Test
+    void boundsSlotsPerProfile() {
+        final var subject = subjectWith(true, 16, 2);
+        given(store.getReadSlotKeys()).willReturn(Set.of(slot(1), slot(2), slot(3), slot(4), slot(5)));
+        given(store.getModifiedSlotKeys()).willReturn(Set.of());
+
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+        subject.warm(CONTRACT_ID, TRANSFER_CALL, warmedStore);
+
+        verify(warmedStore, times(2)).warm(any());
+    }
+
+    @Test
+    void evictsProfilesBeyondMaxProfiles() {
+        final int maxProfiles = 4;
+        final var subject = subjectWith(true, maxProfiles, 16);
+        given(store.getModifiedSlotKeys()).willReturn(Set.of());
+        for (int i = 0; i < 10 * maxProfiles; i++) {
+            given(store.getReadSlotKeys()).willReturn(Set.of(slot(i)));
+            subject.record(ContractID.newBuilder().contractNum(i).build(), TRANSFER_CALL, store);
+        }
+
+        for (int i = 0; i < 10 * maxProfiles; i++) {
+            subject.warm(ContractID.newBuilder().contractNum(i).build(), TRANSFER_CALL, warmedStore);
+        }
+
+        final var warmed = ArgumentCaptor.forClass(SlotKey.class);
+        verify(warmedStore, atMost(maxProfiles)).warm(warmed.capture());
+        assertThat(new HashSet<>(warmed.getAllValues())).hasSizeLessThanOrEqualTo(maxProfiles);
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        final var subject = subjectWith(false, 16, 16);
+
+        subject.record(CONTRACT_ID, TRANSFER_CALL, store);
+        subject.warm(CONTRACT_ID, TRANSFER_CALL, warmedStore);
+
+        verifyNoInteractions(store, warmedStore, contractMetrics);
+    }
+
+    @Test
+    void ignoresCallsToContractsByEvmAddress() {
+        final var subject = subjectWith(true, 16, 16);
+        final var byAddress = ContractID.newBuilder()
+                .evmAddress(Bytes.fromHex("00000000000000000000000000000000000004d2"))
+                .build();
+
+        subject.record(byAddress, TRANSFER_CALL, store);
+        subject.warm(byAddress, TRANSFER_CALL, warmedStore);
+
+        verifyNoInteractions(store, warmedStore);
+    }
+
+    private StorageAccessProfiles subjectWith(
+            final boolean enabled, final int maxProfiles, final int maxSlotsPerProfile) {
+        final var contractsConfig = HederaTestConfigBuilder.create()
+                .withValue("contracts.storagePrefetch.enabled", enabled)
+                .withValue("contracts.storagePrefetch.maxProfiles", maxProfiles)
+                .withValue("contracts.storagePrefetch.maxSlotsPerProfile", maxSlotsPerProfile)
+                .getOrCreateConfig()
+                .getConfigData(ContractsConfig.class);
+        return new StorageAccessProfiles(() -> contractsConfig, contractMetrics);
+    }
+
+    private static SlotKey slot(final int n) {
+        return new SlotKey(CONTRACT_ID, Bytes.wrap(new byte[] {(byte) (n >>> 8), (byte) n}));
+    }
+}
@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.token.impl.handlers.transfer;
+
+import static com.hedera.hapi.node.base.ResponseCodeEnum.INSUFFICIENT_ACCOUNT_BALANCE;
+import static com.hedera.hapi.node.base.ResponseCodeEnum.INVALID_ACCOUNT_ID;
+import static com.hedera.hapi.node.base.ResponseCodeEnum.TRANSFER_TO_FEE_COLLECTION_ACCOUNT_NOT_ALLOWED;
+import static com.hedera.node.app.service.token.impl.util.TokenHandlerHelper.getIfUsable;
+import static com.hedera.node.app.spi.workflows.HandleException.validateFalse;
+import static com.hedera.node.app.spi.workflows.HandleException.validateTrue;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.node.app.service.entityid.EntityIdFactory;
+import com.hedera.node.app.service.token.impl.WritableAccountStore;
+import com.hedera.node.config.data.AccountsConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Applies a plain hbar transfer in a single pass over its account amounts. A transfer is plain if it has no token
+ * transfers, and every account amount names an account by number, with no approval and no allowance hook. For such
+ * a transfer the alias, association, and custom fee steps have nothing to do; and since pure checks already
+ * guarantee each account appears once, there is nothing to aggregate either. So this step has exactly the
+ * effects of {@link AdjustHbarChangesStep} on the same transfer, including its order of account updates and its
+ * failure codes, without building the intermediate ops and maps of the general path.
+ */
+public class PlainHbarTransferStep implements TransferStep {
+    private final CryptoTransferTransactionBody op;
+    private final EntityIdFactory entityIdFactory;
+
+    /**
+     * Constructs the step for a plain hbar transfer.
+     * @param op - the operation, which must be a plain hbar transfer
+     * @param entityIdFactory - the entity id factory
+     */
+    public PlainHbarTransferStep(
+            @NonNull final CryptoTransferTransactionBody op, @NonNull final EntityIdFactory entityIdFactory) {
+        this.op = requireNonNull(op);
+        this.entityIdFactory = requireNonNull(entityIdFactory);
+    }
+
+    /**
+     * Returns whether the given operation is a plain hbar transfer that this step can apply.
+     * @param op - the operation
+     * @return true if the operation is a plain hbar transfer
+     */
+    public static boolean appliesTo(@NonNull final CryptoTransferTransactionBody op) {
+        if (!op.tokenTransfers().isEmpty()) {
+            return false;
+        }
+        for (final var aa : op.transfersOrElse(TransferList.DEFAULT).accountAmounts()) {
+            if (!isPlain(aa)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void doIn(@NonNull final TransferContext transferContext) {
+        requireNonNull(transferContext);
+        final var handleContext = transferContext.getHandleContext();
+        final var accountStore = handleContext.storeFactory().writableStore(WritableAccountStore.class);
+        final var accountAmounts = op.transfersOrElse(TransferList.DEFAULT).accountAmounts();
+
+        // Verify that no credits are going to the fee collection account
+        final var accountsConfig = handleContext.configuration().getConfigData(AccountsConfig.class);
+        final var feeCollectionAccount = entityIdFactory.newAccountId(accountsConfig.feeCollectionAccount());
+        for (int i = 0, n = accountAmounts.size(); i < n; i++) {
+            final var aa = accountAmounts.get(i);
+            if (aa.amount() > 0) {
+                validateFalse(
+                        aa.accountIDOrThrow().equals(feeCollectionAccount),
+                        TRANSFER_TO_FEE_COLLECTION_ACCOUNT_NOT_ALLOWED);
+            }
+        }
+
+        final var expiryValidator = handleContext.expiryValidator();
+        for (int i = 0, n = accountAmounts.size(); i < n; i++) {
+            final var aa = accountAmounts.get(i);
+            final var account = getIfUsable(aa.accountIDOrThrow(), accountStore, expiryValidator, INVALID_ACCOUNT_ID);
+            final var newBalance = account.tinybarBalance() + aa.amount();
+            validateTrue(newBalance >= 0, INSUFFICIENT_ACCOUNT_BALANCE);
+            accountStore.put(account.copyBuilder().tinybarBalance(newBalance).build());
+        }
+    }
+
+    private static boolean isPlain(@NonNull final AccountAmount aa) {
+        return aa.hasAccountID()
+                && aa.accountIDOrThrow().hasAccountNum()
+                && !aa.isApproval()
+                && !aa.hasPreTxAllowanceHook()
+                && !aa.hasPrePostTxAllowanceHook();
+    }
+}
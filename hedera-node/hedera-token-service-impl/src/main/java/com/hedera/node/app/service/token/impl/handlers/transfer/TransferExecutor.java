@@ -17,6 +17,7 @@ import static com.hedera.node.app.service.token.impl.handlers.transfer.TransferE
 import static com.hedera.node.app.service.token.impl.util.CryptoTransferValidationHelper.checkReceiver;
 import static com.hedera.node.app.service.token.impl.util.CryptoTransferValidationHelper.checkSender;
 import static com.hedera.node.app.spi.validation.Validations.validateAccountID;
+import static com.hedera.node.app.spi.workflows.HandleContext.DispatchMetadata.Type.TRANSACTION_FIXED_FEE;
 import static java.util.Objects.requireNonNull;
 
 import com.esaulpaugh.headlong.abi.Function;
@@ -31,6 +32,7 @@ import com.hedera.hapi.node.base.TokenTransferList;
 import com.hedera.hapi.node.base.TransferList;
 import com.hedera.hapi.node.hooks.HookExecution;
 import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.hapi.node.transaction.FixedCustomFee;
 import com.hedera.hapi.node.transaction.TransactionBody;
 import com.hedera.node.app.hapi.utils.contracts.HookUtils;
 import com.hedera.node.app.service.entityid.EntityIdFactory;
@@ -173,6 +175,12 @@ public class TransferExecutor extends BaseTokenHandler {
             HandleContext context,
             CryptoTransferStreamBuilder recordBuilder,
             boolean skipCustomFee) {
+        // Plain hbar transfers only need their balance adjustments, so skip building the intermediate ops
+        // of the general path; with custom fees skipped, the body may be synthetic and not pure-checked
+        if (!skipCustomFee && isPlainHbarTransfer(txn.cryptoTransferOrThrow(), context)) {
+            new PlainHbarTransferStep(txn.cryptoTransferOrThrow(), entityIdFactory).doIn(transferContext);
+            return;
+        }
         final var topLevelPayer = context.payer();
         transferContext.validateHbarAllowances();
         // Replace all aliases in the transaction body with its account ids; use in all further steps
@@ -403,6 +411,22 @@ public class TransferExecutor extends BaseTokenHandler {
         return transferBodies.getFirst();
     }
 
+    /**
+     * Returns whether the given operation is a plain hbar transfer that is not being dispatched to charge a
+     * transaction fixed fee, and so can be applied by a {@link PlainHbarTransferStep} alone.
+     *
+     * @param op the crypto transfer operation
+     * @param context the handle context
+     * @return true if the operation can skip the general transfer steps
+     */
+    private static boolean isPlainHbarTransfer(
+            @NonNull final CryptoTransferTransactionBody op, @NonNull final HandleContext context) {
+        return PlainHbarTransferStep.appliesTo(op)
+                && context.dispatchMetadata()
+                        .getMetadata(TRANSACTION_FIXED_FEE, FixedCustomFee.class)
+                        .isEmpty();
+    }
+
     /**
      * Executes crypto transfer, but skip custom fee steps. Used when custom fees should be prepaid in
      * {@link com.hedera.node.app.service.token.impl.handlers.TokenAirdropHandler}
@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.node.app.service.token.impl.test.handlers.transfer;
+
+import static com.hedera.hapi.node.base.ResponseCodeEnum.OK;
+import static com.hedera.node.app.service.token.impl.handlers.BaseCryptoHandler.asAccount;
+import static com.hedera.node.app.service.token.impl.test.handlers.transfer.AccountAmountUtils.aaWith;
+import static com.hedera.node.app.service.token.impl.test.handlers.transfer.AccountAmountUtils.aaWithAllowance;
+import static com.hedera.node.app.spi.fixtures.workflows.ExceptionConditions.responseCode;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+import com.hedera.hapi.node.base.AccountAmount;
+import com.hedera.hapi.node.base.ResponseCodeEnum;
+import com.hedera.hapi.node.base.TokenTransferList;
+import com.hedera.hapi.node.base.TransferList;
+import com.hedera.hapi.node.token.CryptoTransferTransactionBody;
+import com.hedera.node.app.service.token.impl.handlers.transfer.PlainHbarTransferStep;
+import com.hedera.node.app.service.token.impl.handlers.transfer.TransferContextImpl;
+import com.hedera.node.app.spi.workflows.HandleException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlainHbarTransferStepTest extends StepsBase {
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+        refreshWritableStores();
+        writableAccountStore.put(
+                hbarReceiverAccount.copyBuilder().tinybarBalance(10000L).build());
+        givenStoresAndConfig(handleContext);
+        transferContext = new TransferContextImpl(handleContext);
+    }
+
+    @Test
+    void appliesOnlyToPlainHbarTransfers() {
+        final var receiver = asAccount(0L, 0L, hbarReceiver);
+
+        assertThat(PlainHbarTransferStep.appliesTo(hbarTransfer(aaWith(ownerId, -1), aaWith(receiver, 1))))
+                .isTrue();
+        assertThat(PlainHbarTransferStep.appliesTo(hbarTransfer(aaWithAllowance(ownerId, -1), aaWith(receiver, 1))))
+                .isFalse();
+        assertThat(PlainHbarTransferStep.appliesTo(hbarTransfer(aaWith(ownerId, -1), aaWith(unknownAliasedId, 1))))
+                .isFalse();
+        assertThat(PlainHbarTransferStep.appliesTo(CryptoTransferTransactionBody.newBuilder()
+                        .tokenTransfers(TokenTransferList.newBuilder()
+                                .token(fungibleTokenId)
+                                .transfers(aaWith(ownerId, -1), aaWith(receiver, 1))
+                                .build())
+                        .build()))
+                .isFalse();
+    }
+
+    @Test
+    void adjustsHbarBalances() {
+        final var receiver = asAccount(0L, 0L, hbarReceiver);
+        given(expiryValidator.expirationStatus(any(), anyBoolean(), anyLong())).willReturn(OK);
+        final var subject =
+                new PlainHbarTransferStep(hbarTransfer(aaWith(ownerId, -1000), aaWith(receiver, 1000)), idFactory);
+
+        final var senderBalance =
+                writableAccountStore.getAliasedAccountById(ownerId).tinybarBalance();
+        final var receiverBalance =
+                writableAccountStore.getAliasedAccountById(receiver).tinybarBalance();
+
+        subject.doIn(transferContext);
+
+        assertThat(writableAccountStore.getAliasedAccountById(ownerId).tinybarBalance())
+                .isEqualTo(senderBalance - 1000);
+        assertThat(writableAccountStore.getAliasedAccountById(receiver).tinybarBalance())
+                .isEqualTo(receiverBalance + 1000);
+    }
+
+    @Test
+    void transferGreaterThanBalanceFails() {
+        final var receiver = asAccount(0L, 0L, hbarReceiver);
+        given(expiryValidator.expirationStatus(any(), anyBoolean(), anyLong())).willReturn(OK);
+        final var senderBalance =
+                writableAccountStore.getAliasedAccountById(ownerId).tinybarBalance();
+        final var subject = new PlainHbarTransferStep(
+                hbarTransfer(aaWith(ownerId, -(senderBalance + 1)), aaWith(receiver, senderBalance + 1)), idFactory);
+
+        assertThatThrownBy(() -> subject.doIn(transferContext))
+                .isInstanceOf(HandleException.class)
+                .has(responseCode(ResponseCodeEnum.INSUFFICIENT_ACCOUNT_BALANCE));
+    }
+
+    private static CryptoTransferTransactionBody hbarTransfer(final AccountAmount... amounts) {
+        return CryptoTransferTransactionBody.newBuilder()
+                .transfers(TransferList.newBuilder().accountAmounts(amounts).build())
+                .build();
+    }
+}
@@ -0,0 +1,422 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.hiero.metrics.core.HistogramMeasurementSnapshot;
+import org.hiero.metrics.core.LabelValues;
+import org.hiero.metrics.core.MeasurementSnapshot;
+import org.hiero.metrics.core.MetricKey;
+import org.hiero.metrics.core.MetricType;
+import org.hiero.metrics.core.MetricUtils;
+import org.hiero.metrics.core.SettableMetric;
+import org.hiero.metrics.core.SummaryMeasurementSnapshot;
+
+/**
+ * A metric that holds {@link Measurement} per label set, recording the distribution of non-negative {@code long}
+ * observations, like latencies, with bounded memory and relative precision.
+ * <p>
+ * Each measurement counts observations in log-linear buckets (like HDR histograms): values below
+ * {@code 2^precisionBits} are counted exactly, and each larger power of two range is split into
+ * {@code 2^precisionBits} buckets of equal width, so the relative error of a reported value is below
+ * {@code 2^-precisionBits}. Counts are striped over several arrays to reduce contention between threads recording
+ * concurrently. Recording an observation is lock-free and doesn't allocate. See {@link Layout} for memory usage.
+ * <p>
+ * A metric created with {@link #builder(MetricKey, long...)} is of type {@link MetricType#HISTOGRAM} and is exported
+ * with the configured bucket bounds. A metric created with {@link #summaryBuilder(MetricKey)} is of type
+ * {@link MetricType#SUMMARY} and is exported with values at the configured quantiles. Both also export the total count
+ * and sum of observations.
+ */
+public final class LongHistogram extends SettableMetric<LongHistogram.Layout, LongHistogram.Measurement> {
+
+    private static final double[] DEFAULT_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final long[] bucketBounds;
+    private final double[] quantiles;
+
+    private LongHistogram(Builder builder) {
+        super(builder);
+
+        bucketBounds = builder.bucketBounds;
+        quantiles = builder.quantiles;
+    }
+
+    /**
+     * Create a metric key for a {@link LongHistogram} with the given name. <br>
+     * Name must match {@value MetricUtils#NAME_UNIT_LABEL_REGEX}.
+     *
+     * @param name the name of the metric
+     * @return the metric key
+     */
+    @NonNull
+    public static MetricKey<LongHistogram> key(@NonNull String name) {
+        return MetricKey.of(name, LongHistogram.class);
+    }
+
+    /**
+     * Create a builder for a {@link LongHistogram} of type {@link MetricType#HISTOGRAM} with the given metric key.
+     * <p>
+     * Observations are exported in buckets with the given upper bounds, plus an unbounded bucket. Because observations
+     * are recorded with limited precision, an observation that is close to a bound, within the relative error of the
+     * {@link Layout}, may be counted in the next bucket.
+     *
+     * @param key          the metric key
+     * @param bucketBounds the strictly ascending, non-negative upper bounds of the exported buckets
+     * @return the builder
+     * @throws IllegalArgumentException if the bounds are negative or not strictly ascending
+     */
+    @NonNull
+    public static Builder builder(@NonNull MetricKey<LongHistogram> key, @NonNull long... bucketBounds) {
+        return new Builder(key, MetricType.HISTOGRAM).setBucketBounds(bucketBounds);
+    }
+
+    /**
+     * Create a builder for a {@link LongHistogram} of type {@link MetricType#HISTOGRAM} with the given metric name.
+     * Name must match {@value MetricUtils#NAME_UNIT_LABEL_REGEX}.
+     *
+     * @param name         the name of the metric
+     * @param bucketBounds the strictly ascending, non-negative upper bounds of the exported buckets
+     * @return the builder
+     * @see #builder(MetricKey, long...)
+     */
+    @NonNull
+    public static Builder builder(@NonNull String name, @NonNull long... bucketBounds) {
+        return builder(key(name), bucketBounds);
+    }
+
+    /**
+     * Create a builder for a {@link LongHistogram} of type {@link MetricType#SUMMARY} with the given metric key.
+     * Values are exported at quantiles 0.5, 0.9, 0.99 and 0.999, that can be changed via
+     * {@link Builder#setQuantiles(double...)}.
+     *
+     * @param key the metric key
+     * @return the builder
+     */
+    @NonNull
+    public static Builder summaryBuilder(@NonNull MetricKey<LongHistogram> key) {
+        return new Builder(key, MetricType.SUMMARY).setQuantiles(DEFAULT_QUANTILES);
+    }
+
+    /**
+     * Create a builder for a {@link LongHistogram} of type {@link MetricType#SUMMARY} with the given metric name.
+     * Name must match {@value MetricUtils#NAME_UNIT_LABEL_REGEX}.
+     *
+     * @param name the name of the metric
+     * @return the builder
+     * @see #summaryBuilder(MetricKey)
+     */
+    @NonNull
+    public static Builder summaryBuilder(@NonNull String name) {
+        return summaryBuilder(key(name));
+    }
+
+    @Override
+    protected Measurement createMeasurement(@NonNull Layout initializer) {
+        return new Measurement(initializer);
+    }
+
+    @Override
+    protected MeasurementSnapshot createMeasurementSnapshot(
+            @NonNull Measurement measurement, @NonNull LabelValues labelValues) {
+        if (type() == MetricType.HISTOGRAM) {
+            return new HistogramMeasurementSnapshot(
+                    labelValues, bucketBounds, data -> measurement.collectBuckets(bucketBounds, data));
+        } else {
+            return new SummaryMeasurementSnapshot(
+                    labelValues, quantiles, data -> measurement.collectQuantiles(quantiles, data));
+        }
+    }
+
+    @Override
+    protected void reset(Measurement measurement) {
+        measurement.reset();
+    }
+
+    /**
+     * The layout of the buckets and stripes of a {@link Measurement}, used as measurement initializer.
+     * <p>
+     * A measurement uses about {@code stripes * 2^precisionBits * (log2(highestTrackableValue) - precisionBits + 2)}
+     * counters of 8 bytes, e.g. 7.5KB per stripe for the {@link #DEFAULT} layout. Observations above
+     * {@code highestTrackableValue} are counted as unbounded.
+     *
+     * @param precisionBits         the number of bits of precision, from 1 to 10, the relative error of reported
+     *                              values is below {@code 2^-precisionBits}
+     * @param highestTrackableValue the highest observation that is tracked with precision, must be positive
+     * @param stripes               the number of stripes to spread concurrent observations over, must be a power of
+     *                              two from 1 to 64
+     */
+    public record Layout(int precisionBits, long highestTrackableValue, int stripes) {
+
+        /**
+         * Layout with 4 bits of precision (relative error below 6.25%), tracking all {@code long} values, using
+         * 4 stripes.
+         */
+        public static final Layout DEFAULT = new Layout(4, Long.MAX_VALUE, 4);
+
+        /**
+         * @throws IllegalArgumentException if any parameter is out of range
+         */
+        public Layout {
+            if (precisionBits < 1 || precisionBits > 10) {
+                throw new IllegalArgumentException("precisionBits must be from 1 to 10, but was: " + precisionBits);
+            }
+            if (highestTrackableValue < 1) {
+                throw new IllegalArgumentException(
+                        "highestTrackableValue must be positive, but was: " + highestTrackableValue);
+            }
+            if (stripes < 1 || stripes > 64 || Integer.bitCount(stripes) != 1) {
+                throw new IllegalArgumentException("stripes must be a power of two from 1 to 64, but was: " + stripes);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link LongHistogram}.
+     * <p>
+     * Default measurement initializer is {@link Layout#DEFAULT}, that can be changed via
+     * {@link #setDefaultInitializer(Object)}.
+     */
+    public static final class Builder extends SettableMetric.Builder<Layout, Builder, LongHistogram> {
+
+        private final boolean summary;
+        private long[] bucketBounds = new long[0];
+        private double[] quantiles = new double[0];
+
+        private Builder(@NonNull MetricKey<LongHistogram> key, @NonNull MetricType type) {
+            super(type, key, Layout.DEFAULT);
+            summary = type == MetricType.SUMMARY;
+        }
+
+        private Builder setBucketBounds(@NonNull long... bucketBounds) {
+            Objects.requireNonNull(bucketBounds, "bucket bounds must not be null");
+            for (int i = 0; i < bucketBounds.length; i++) {
+                if (bucketBounds[i] < 0L || (i > 0 && bucketBounds[i] <= bucketBounds[i - 1])) {
+                    throw new IllegalArgumentException("Bucket bounds must be non-negative and strictly ascending");
+                }
+            }
+            this.bucketBounds = bucketBounds.clone();
+            return this;
+        }
+
+        /**
+         * Set the quantiles to export values at. Only applies to metrics of type {@link MetricType#SUMMARY}.
+         *
+         * @param quantiles the strictly ascending quantiles between {@code 0.0} and {@code 1.0}
+         * @return this builder
+         * @throws IllegalStateException    if the metric is not of type {@link MetricType#SUMMARY}
+         * @throws IllegalArgumentException if the quantiles are out of range or not strictly ascending
+         */
+        @NonNull
+        public Builder setQuantiles(@NonNull double... quantiles) {
+            Objects.requireNonNull(quantiles, "quantiles must not be null");
+            if (!summary) {
+                throw new IllegalStateException("Quantiles can only be set for summaries");
+            }
+            for (int i = 0; i < quantiles.length; i++) {
+                if (!(quantiles[i] >= 0.0 && quantiles[i] <= 1.0) || (i > 0 && quantiles[i] <= quantiles[i - 1])) {
+                    throw new IllegalArgumentException("Quantiles must be from 0.0 to 1.0 and strictly ascending");
+                }
+            }
+            this.quantiles = quantiles.clone();
+            return this;
+        }
+
+        /**
+         * Build the {@link LongHistogram} metric.
+         *
+         * @return the built metric
+         */
+        @NonNull
+        @Override
+        protected LongHistogram buildMetric() {
+            return new LongHistogram(this);
+        }
+    }
+
+    /**
+     * A measurement recording the distribution of non-negative {@code long} observations.
+     * Operations are thread-safe, recording is lock-free.
+     */
+    public static final class Measurement {
+
+        private final int precisionBits;
+        private final long highestTrackableValue;
+        /** Index of the bucket counting observations above {@link #highestTrackableValue}. */
+        private final int overflowIndex;
+        /** Index of the sum of observations in each stripe, following the buckets. */
+        private final int sumIndex;
+
+        private final AtomicLongArray[] stripes;
+        private final int stripeMask;
+
+        private Measurement(@NonNull Layout layout) {
+            Objects.requireNonNull(layout, "layout must not be null");
+
+            precisionBits = layout.precisionBits();
+            highestTrackableValue = layout.highestTrackableValue();
+            overflowIndex = trackedBucketIndex(highestTrackableValue) + 1;
+            sumIndex = overflowIndex + 1;
+
+            stripes = new AtomicLongArray[layout.stripes()];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new AtomicLongArray(sumIndex + 1);
+            }
+            stripeMask = stripes.length - 1;
+        }
+
+        /**
+         * Record an observation.
+         *
+         * @param value the observed value
+         * @throws IllegalArgumentException if the given value is negative
+         */
+        public void observe(long value) {
+            if (value < 0L) {
+                throw new IllegalArgumentException("Observed value must be non-negative, but was: " + value);
+            }
+            final AtomicLongArray stripe = stripes[(int) Thread.currentThread().threadId() & stripeMask];
+            stripe.getAndIncrement(value > highestTrackableValue ? overflowIndex : trackedBucketIndex(value));
+            stripe.getAndAdd(sumIndex, value);
+        }
+
+        /**
+         * @return the number of observations
+         */
+        public long count() {
+            long count = 0L;
+            for (int i = 0; i <= overflowIndex; i++) {
+                count += bucketCount(i);
+            }
+            return count;
+        }
+
+        /**
+         * @return the sum of observations
+         */
+        public long sum() {
+            long sum = 0L;
+            for (AtomicLongArray stripe : stripes) {
+                sum += stripe.get(sumIndex);
+            }
+            return sum;
+        }
+
+        /**
+         * Get the value at the given quantile, which is the highest value that is equivalent, within the precision of
+         * this measurement, to the observation at that quantile.
+         *
+         * @param quantile the quantile between {@code 0.0} and {@code 1.0}
+         * @return the value at the quantile, {@code 0} if there are no observations, or {@link Long#MAX_VALUE} if it is
+         * above the highest trackable value
+         */
+        public long valueAtQuantile(double quantile) {
+            final long[] data = new long[3];
+            collectQuantiles(new double[] {quantile}, data);
+            return data[0];
+        }
+
+        /**
+         * Add the number of observations for each of the given bucket bounds to {@code data}, followed by the sum.
+         * See {@link HistogramMeasurementSnapshot} for the layout of {@code data}.
+         */
+        void collectBuckets(long[] bucketBounds, long[] data) {
+            int bound = 0;
+            for (int i = 0; i <= overflowIndex; i++) {
+                final long count = bucketCount(i);
+                if (count != 0L) {
+                    final long highestValue = highestEquivalentValue(i);
+                    while (bound < bucketBounds.length && bucketBounds[bound] < highestValue) {
+                        bound++;
+                    }
+                    data[bound] += count;
+                }
+            }
+            data[data.length - 1] = sum();
+        }
+
+        /**
+         * Set the values at the given quantiles to {@code data}, followed by the count and sum.
+         * See {@link SummaryMeasurementSnapshot} for the layout of {@code data}.
+         */
+        void collectQuantiles(double[] quantiles, long[] data) {
+            final long count = count();
+            data[quantiles.length] = count;
+            data[quantiles.length + 1] = sum();
+            if (count == 0L) {
+                return;
+            }
+
+            int quantile = 0;
+            long rank = rank(quantiles[quantile], count);
+            long cumulativeCount = 0L;
+            long highestValue = 0L;
+            for (int i = 0; i <= overflowIndex && quantile < quantiles.length; i++) {
+                final long bucketCount = bucketCount(i);
+                if (bucketCount == 0L) {
+                    continue;
+                }
+                cumulativeCount += bucketCount;
+                highestValue = highestEquivalentValue(i);
+                while (quantile < quantiles.length && cumulativeCount >= rank) {
+                    data[quantile++] = highestValue;
+                    if (quantile < quantiles.length) {
+                        rank = rank(quantiles[quantile], count);
+                    }
+                }
+            }
+            // observations recorded concurrently may not have been counted in the total
+            while (quantile < quantiles.length) {
+                data[quantile++] = highestValue;
+            }
+        }
+
+        void reset() {
+            for (AtomicLongArray stripe : stripes) {
+                for (int i = 0; i < stripe.length(); i++) {
+                    stripe.set(i, 0L);
+                }
+            }
+        }
+
+        private static long rank(double quantile, long count) {
+            return Math.max(1L, (long) Math.ceil(quantile * count));
+        }
+
+        private long bucketCount(int bucketIndex) {
+            long count = 0L;
+            for (AtomicLongArray stripe : stripes) {
+                count += stripe.get(bucketIndex);
+            }
+            return count;
+        }
+
+        /**
+         * Values below {@code 2^precisionBits} have their own bucket. Above that, a value with its highest bit at
+         * position {@code precisionBits + shift} is in one of the {@code 2^precisionBits} buckets following the
+         * buckets of the previous power of two, selected by the bits below its highest bit.
+         */
+        private int trackedBucketIndex(long value) {
+            final long subBucketCount = 1L << precisionBits;
+            if (value < subBucketCount) {
+                return (int) value;
+            }
+            final int shift = 63 - Long.numberOfLeadingZeros(value) - precisionBits;
+            return (shift << precisionBits) + (int) (value >>> shift);
+        }
+
+        private long highestEquivalentValue(int bucketIndex) {
+            if (bucketIndex == overflowIndex) {
+                return Long.MAX_VALUE;
+            }
+            if (bucketIndex < (1 << precisionBits)) {
+                return bucketIndex;
+            }
+            final int shift = (bucketIndex >> precisionBits) - 1;
+            final long mantissa = bucketIndex - ((long) shift << precisionBits);
+            // overflows to Long.MAX_VALUE for the bucket of the highest long values
+            final long highestValue = ((mantissa + 1) << shift) - 1;
+            return Math.min(highestValue, highestTrackableValue);
+        }
+    }
+}
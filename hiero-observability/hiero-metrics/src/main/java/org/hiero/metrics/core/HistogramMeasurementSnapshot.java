@@ -0,0 +1,103 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.core;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A snapshot of a measurement of {@link MetricType#HISTOGRAM} type, that holds the number of observations in each
+ * bucket together with the total count and sum of observations.
+ * <p>
+ * Buckets are defined by ascending upper bounds. The last bucket has no upper bound and contains all observations,
+ * its bound is reported as {@link Long#MAX_VALUE} to be exported as {@code +Inf}. Bucket counts are cumulative,
+ * i.e. each bucket counts all observations less than or equal to its bound.
+ */
+public final class HistogramMeasurementSnapshot extends MeasurementSnapshot {
+
+    private final long[] bucketBounds;
+    private final Consumer<long[]> collector;
+
+    /**
+     * Cumulative count of each bucket (including the last unbounded one), followed by the sum of observations.
+     */
+    private final long[] data;
+
+    /**
+     * Create a histogram measurement snapshot.
+     * <p>
+     * On each update the collector is called with an array of {@code bucketBounds.length + 2} zeros. It must add the
+     * number of observations of each bucket to the first {@code bucketBounds.length + 1} elements, where an
+     * observation belongs to the first bucket whose bound is greater than or equal to it (the last element for
+     * observations greater than all bounds), and the sum of all observations to the last element.
+     *
+     * @param dynamicLabelValues the dynamic label values of the measurement
+     * @param bucketBounds       the ascending upper bounds of the buckets, without the unbounded last bucket,
+     *                           must not be modified after creating the snapshot
+     * @param collector          the collector of bucket counts and sum
+     */
+    public HistogramMeasurementSnapshot(
+            @NonNull LabelValues dynamicLabelValues,
+            @NonNull long[] bucketBounds,
+            @NonNull Consumer<long[]> collector) {
+        super(dynamicLabelValues);
+        this.bucketBounds = Objects.requireNonNull(bucketBounds, "bucket bounds must not be null");
+        this.collector = Objects.requireNonNull(collector, "collector must not be null");
+        data = new long[bucketBounds.length + 2];
+        update();
+    }
+
+    /**
+     * @return the number of buckets, including the last unbounded bucket
+     */
+    public int bucketCount() {
+        return bucketBounds.length + 1;
+    }
+
+    /**
+     * @param bucketIndex the bucket index, from {@code 0} to {@link #bucketCount()} exclusive
+     * @return the upper bound of the bucket, or {@link Long#MAX_VALUE} for the last unbounded bucket
+     */
+    public long bucketBound(int bucketIndex) {
+        return bucketIndex == bucketBounds.length ? Long.MAX_VALUE : bucketBounds[bucketIndex];
+    }
+
+    /**
+     * @param bucketIndex the bucket index, from {@code 0} to {@link #bucketCount()} exclusive
+     * @return the number of observations less than or equal to the bucket bound
+     */
+    public long cumulativeCount(int bucketIndex) {
+        Objects.checkIndex(bucketIndex, bucketCount());
+        return data[bucketIndex];
+    }
+
+    /**
+     * @return the total number of observations
+     */
+    public long count() {
+        return data[bucketBounds.length];
+    }
+
+    /**
+     * @return the sum of all observations
+     */
+    public long sum() {
+        return data[data.length - 1];
+    }
+
+    @Override
+    void update() {
+        Arrays.fill(data, 0L);
+        collector.accept(data);
+        for (int i = 1; i <= bucketBounds.length; i++) {
+            data[i] += data[i - 1];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "{" + super.toString() + ", bucketBounds=" + Arrays.toString(bucketBounds) + ", cumulativeCounts="
+                + Arrays.toString(Arrays.copyOf(data, bucketCount())) + ", sum=" + sum() + "}";
+    }
+}
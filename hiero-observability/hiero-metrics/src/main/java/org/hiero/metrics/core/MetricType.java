@@ -12,5 +12,15 @@ public enum MetricType {
     /**
      * A metric that represents a single numerical value that can arbitrarily go up and down and set to any value.
      */
-    GAUGE
+    GAUGE,
+    /**
+     * A metric that samples observations (like latencies) and counts them in configurable buckets, also providing
+     * the total count and sum of all observations.
+     */
+    HISTOGRAM,
+    /**
+     * A metric that samples observations (like latencies) and provides configurable quantiles over them, also
+     * providing the total count and sum of all observations.
+     */
+    SUMMARY
 }
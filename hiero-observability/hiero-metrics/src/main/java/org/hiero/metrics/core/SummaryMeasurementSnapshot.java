@@ -0,0 +1,101 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.core;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A snapshot of a measurement of {@link MetricType#SUMMARY} type, that holds the values at configured quantiles
+ * together with the total count and sum of observations.
+ */
+public final class SummaryMeasurementSnapshot extends MeasurementSnapshot {
+
+    private final double[] quantiles;
+    private final Consumer<long[]> collector;
+
+    /**
+     * Value at each quantile, followed by the count and the sum of observations.
+     */
+    private final long[] data;
+
+    /**
+     * Create a summary measurement snapshot.
+     * <p>
+     * On each update the collector is called with an array of {@code quantiles.length + 2} zeros. It must set the value
+     * at each quantile to the first {@code quantiles.length} elements, followed by the count and the sum of all
+     * observations. A quantile value of {@link Long#MAX_VALUE} means the value is unbounded.
+     *
+     * @param dynamicLabelValues the dynamic label values of the measurement
+     * @param quantiles          the ascending quantiles between {@code 0.0} and {@code 1.0},
+     *                           must not be modified after creating the snapshot
+     * @param collector          the collector of quantile values, count and sum
+     */
+    public SummaryMeasurementSnapshot(
+            @NonNull LabelValues dynamicLabelValues,
+            @NonNull double[] quantiles,
+            @NonNull Consumer<long[]> collector) {
+        super(dynamicLabelValues);
+        this.quantiles = Objects.requireNonNull(quantiles, "quantiles must not be null");
+        this.collector = Objects.requireNonNull(collector, "collector must not be null");
+        data = new long[quantiles.length + 2];
+        update();
+    }
+
+    /**
+     * @return the number of quantiles
+     */
+    public int quantileCount() {
+        return quantiles.length;
+    }
+
+    /**
+     * @param quantileIndex the quantile index, from {@code 0} to {@link #quantileCount()} exclusive
+     * @return the quantile, between {@code 0.0} and {@code 1.0}
+     */
+    public double quantile(int quantileIndex) {
+        return quantiles[quantileIndex];
+    }
+
+    /**
+     * @param quantileIndex the quantile index, from {@code 0} to {@link #quantileCount()} exclusive
+     * @return the value at the quantile, {@link Double#NaN} if there are no observations,
+     * or {@link Double#POSITIVE_INFINITY} if the value is unbounded
+     */
+    public double quantileValue(int quantileIndex) {
+        Objects.checkIndex(quantileIndex, quantiles.length);
+        if (count() == 0) {
+            return Double.NaN;
+        }
+        final long value = data[quantileIndex];
+        return value == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : value;
+    }
+
+    /**
+     * @return the total number of observations
+     */
+    public long count() {
+        return data[quantiles.length];
+    }
+
+    /**
+     * @return the sum of all observations
+     */
+    public long sum() {
+        return data[quantiles.length + 1];
+    }
+
+    @Override
+    void update() {
+        Arrays.fill(data, 0L);
+        collector.accept(data);
+    }
+
+    @Override
+    public String toString() {
+        return "{" + super.toString() + ", quantiles=" + Arrays.toString(quantiles) + ", values="
+                + Arrays.toString(Arrays.copyOf(data, quantiles.length)) + ", count=" + count() + ", sum=" + sum()
+                + "}";
+    }
+}
@@ -0,0 +1,340 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.hiero.metrics.core.HistogramMeasurementSnapshot;
+import org.hiero.metrics.core.MeasurementSnapshot;
+import org.hiero.metrics.core.MetricBaseTest;
+import org.hiero.metrics.core.MetricKey;
+import org.hiero.metrics.core.MetricSnapshotVerifier;
+import org.hiero.metrics.core.MetricType;
+import org.hiero.metrics.core.SettableMetricBaseTest;
+import org.hiero.metrics.core.SummaryMeasurementSnapshot;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class LongHistogramTest extends SettableMetricBaseTest<LongHistogram, LongHistogram.Builder> {
+
+    @Override
+    protected MetricType metricType() {
+        return MetricType.HISTOGRAM;
+    }
+
+    @Override
+    protected LongHistogram.Builder emptyMetricBuilder(String name) {
+        return LongHistogram.builder(name, 10, 100, 1000);
+    }
+
+    @Test
+    void testNullNameMetricKey() {
+        assertThatThrownBy(() -> LongHistogram.key(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testNullMetricKeyBuilder() {
+        assertThatThrownBy(() -> LongHistogram.builder((MetricKey<LongHistogram>) null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("key must not be null");
+    }
+
+    @Test
+    void testNullMetricNameBuilder() {
+        assertThatThrownBy(() -> LongHistogram.builder((String) null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void testSummaryType() {
+        LongHistogram metric = LongHistogram.summaryBuilder(DEFAULT_NAME).build();
+        assertThat(metric.type()).isEqualTo(MetricType.SUMMARY);
+    }
+
+    @Nested
+    class BuilderTests extends MetricBaseTest<LongHistogram, LongHistogram.Builder>.BuilderTests {
+
+        @Test
+        void testNegativeBucketBoundThrows() {
+            assertThatThrownBy(() -> LongHistogram.builder(DEFAULT_NAME, -1, 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Bucket bounds must be non-negative and strictly ascending");
+        }
+
+        @Test
+        void testNotAscendingBucketBoundsThrows() {
+            assertThatThrownBy(() -> LongHistogram.builder(DEFAULT_NAME, 10, 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Bucket bounds must be non-negative and strictly ascending");
+        }
+
+        @Test
+        void testBucketBoundsAreCopied() {
+            long[] bounds = {10, 100};
+            LongHistogram metric = LongHistogram.builder(DEFAULT_NAME, bounds).build();
+            bounds[0] = 1000;
+
+            metric.getOrCreateNotLabeled().observe(5);
+            HistogramMeasurementSnapshot snapshot = takeHistogramSnapshot(metric);
+            assertThat(snapshot.bucketBound(0)).isEqualTo(10);
+            assertThat(snapshot.cumulativeCount(0)).isEqualTo(1);
+        }
+
+        @Test
+        void testQuantilesOfHistogramThrows() {
+            LongHistogram.Builder builder = emptyMetricBuilder();
+
+            assertThatThrownBy(() -> builder.setQuantiles(0.5))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Quantiles can only be set for summaries");
+        }
+
+        @Test
+        void testNotAscendingQuantilesThrows() {
+            LongHistogram.Builder builder = LongHistogram.summaryBuilder(DEFAULT_NAME);
+
+            assertThatThrownBy(() -> builder.setQuantiles(0.9, 0.5))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Quantiles must be from 0.0 to 1.0 and strictly ascending");
+        }
+
+        @ParameterizedTest
+        @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+        void testOutOfRangeQuantileThrows(double quantile) {
+            LongHistogram.Builder builder = LongHistogram.summaryBuilder(DEFAULT_NAME);
+
+            assertThatThrownBy(() -> builder.setQuantiles(quantile))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Quantiles must be from 0.0 to 1.0 and strictly ascending");
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 11})
+        void testInvalidLayoutPrecisionThrows(int precisionBits) {
+            assertThatThrownBy(() -> new LongHistogram.Layout(precisionBits, 1000, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("precisionBits must be from 1 to 10");
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 3, 128})
+        void testInvalidLayoutStripesThrows(int stripes) {
+            assertThatThrownBy(() -> new LongHistogram.Layout(4, 1000, stripes))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("stripes must be a power of two from 1 to 64");
+        }
+
+        @Test
+        void testInvalidLayoutHighestTrackableValueThrows() {
+            assertThatThrownBy(() -> new LongHistogram.Layout(4, 0, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("highestTrackableValue must be positive");
+        }
+    }
+
+    @Nested
+    class ModifyMeasurementsTests {
+
+        @Test
+        void testCountAndSum() {
+            LongHistogram.Measurement measurement = emptyMetricBuilder().build().getOrCreateNotLabeled();
+            assertThat(measurement.count()).isZero();
+            assertThat(measurement.sum()).isZero();
+            assertThat(measurement.valueAtQuantile(0.5)).isZero();
+
+            measurement.observe(3);
+            measurement.observe(40);
+
+            assertThat(measurement.count()).isEqualTo(2);
+            assertThat(measurement.sum()).isEqualTo(43);
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {-1, -100, Long.MIN_VALUE})
+        void testNegativeObservationThrows(long value) {
+            LongHistogram.Measurement measurement = emptyMetricBuilder().build().getOrCreateNotLabeled();
+
+            assertThatThrownBy(() -> measurement.observe(value))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Observed value must be non-negative");
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 1, 15, 16, 31})
+        void testSmallValuesAreExact(long value) {
+            LongHistogram.Measurement measurement = emptyMetricBuilder().build().getOrCreateNotLabeled();
+            measurement.observe(value);
+
+            assertThat(measurement.valueAtQuantile(1.0)).isEqualTo(value);
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {32, 100, 1000, 123456789, 1L << 40, (1L << 62) + 1, Long.MAX_VALUE})
+        void testRelativeError(long value) {
+            LongHistogram.Measurement measurement = emptyMetricBuilder().build().getOrCreateNotLabeled();
+            measurement.observe(value);
+
+            // default layout has 4 bits of precision
+            long reported = measurement.valueAtQuantile(1.0);
+            assertThat(reported).isGreaterThanOrEqualTo(value);
+            assertThat(reported - value).isLessThanOrEqualTo(value >> 4);
+        }
+
+        @Test
+        void testValuesAboveHighestTrackableValue() {
+            LongHistogram metric = emptyMetricBuilder()
+                    .setDefaultInitializer(new LongHistogram.Layout(2, 1000, 1))
+                    .build();
+            LongHistogram.Measurement measurement = metric.getOrCreateNotLabeled();
+
+            measurement.observe(1000);
+            assertThat(measurement.valueAtQuantile(1.0)).isEqualTo(1000);
+
+            measurement.observe(1001);
+            assertThat(measurement.valueAtQuantile(1.0)).isEqualTo(Long.MAX_VALUE);
+            assertThat(measurement.count()).isEqualTo(2);
+            assertThat(measurement.sum()).isEqualTo(2001);
+        }
+
+        @Test
+        void testQuantiles() {
+            LongHistogram.Measurement measurement = emptyMetricBuilder().build().getOrCreateNotLabeled();
+            for (int i = 1; i <= 100; i++) {
+                measurement.observe(i);
+            }
+
+            // highest values equivalent to the observations at the ranks within 4 bits of precision
+            assertThat(measurement.valueAtQuantile(0.0)).isEqualTo(1);
+            assertThat(measurement.valueAtQuantile(0.5)).isEqualTo(51);
+            assertThat(measurement.valueAtQuantile(0.9)).isEqualTo(91);
+            assertThat(measurement.valueAtQuantile(0.99)).isEqualTo(99);
+            assertThat(measurement.valueAtQuantile(1.0)).isEqualTo(103);
+        }
+
+        @Test
+        void testReset() {
+            LongHistogram metric = emptyMetricBuilder().addDynamicLabelNames("label").build();
+            metric.getOrCreateLabeled("label", "1").observe(10);
+            metric.getOrCreateLabeled("label", "2").observe(20);
+
+            resetMetric(metric);
+
+            assertThat(metric.getOrCreateLabeled("label", "1").count()).isZero();
+            assertThat(metric.getOrCreateLabeled("label", "2").sum()).isZero();
+        }
+
+        @Test
+        void testConcurrentMeasurementModification() throws InterruptedException {
+            LongHistogram metric = emptyMetricBuilder().build();
+            LongHistogram.Measurement measurement = metric.getOrCreateNotLabeled();
+
+            final int threadCount = 10;
+            final int updatesPerThread = 10000;
+
+            ThreadUtils.runConcurrentAndWait(threadCount, Duration.ofSeconds(1), threadIdx -> () -> {
+                for (int i = 0; i < updatesPerThread; i++) {
+                    measurement.observe(i);
+                }
+            });
+
+            assertThat(measurement.count()).isEqualTo(threadCount * updatesPerThread);
+            assertThat(measurement.sum()).isEqualTo((long) threadCount * updatesPerThread * (updatesPerThread - 1) / 2);
+        }
+    }
+
+    @Nested
+    class SnapshotTests extends MetricBaseTest<LongHistogram, LongHistogram.Builder>.SnapshotTests {
+
+        @Test
+        void testHistogramSnapshot() {
+            LongHistogram metric = emptyMetricBuilder().build();
+
+            verifySnapshotIsEmpty(metric);
+
+            LongHistogram.Measurement measurement = metric.getOrCreateNotLabeled();
+            HistogramMeasurementSnapshot snapshot = takeHistogramSnapshot(metric);
+            assertThat(snapshot.bucketCount()).isEqualTo(4);
+            assertThat(snapshot.bucketBound(3)).isEqualTo(Long.MAX_VALUE);
+            assertThat(snapshot.count()).isZero();
+
+            for (long value : new long[] {5, 10, 50, 90, 500, 5000}) {
+                measurement.observe(value);
+            }
+
+            snapshot = takeHistogramSnapshot(metric);
+            assertThat(snapshot.cumulativeCount(0)).isEqualTo(2);
+            assertThat(snapshot.cumulativeCount(1)).isEqualTo(4);
+            assertThat(snapshot.cumulativeCount(2)).isEqualTo(5);
+            assertThat(snapshot.cumulativeCount(3)).isEqualTo(6);
+            assertThat(snapshot.count()).isEqualTo(6);
+            assertThat(snapshot.sum()).isEqualTo(5655);
+        }
+
+        @Test
+        void testHistogramSnapshotCountsImpreciseValuesInNextBucket() {
+            LongHistogram metric = emptyMetricBuilder().build();
+
+            // 100 is tracked in the bucket of values from 100 to 103
+            metric.getOrCreateNotLabeled().observe(100);
+
+            HistogramMeasurementSnapshot snapshot = takeHistogramSnapshot(metric);
+            assertThat(snapshot.cumulativeCount(1)).isZero();
+            assertThat(snapshot.cumulativeCount(2)).isEqualTo(1);
+        }
+
+        @Test
+        void testSummarySnapshot() {
+            LongHistogram metric = LongHistogram.summaryBuilder(DEFAULT_NAME)
+                    .setQuantiles(0.5, 0.9, 1.0)
+                    .build();
+            LongHistogram.Measurement measurement = metric.getOrCreateNotLabeled();
+
+            SummaryMeasurementSnapshot snapshot = takeSummarySnapshot(metric);
+            assertThat(snapshot.quantileCount()).isEqualTo(3);
+            assertThat(snapshot.quantile(1)).isEqualTo(0.9);
+            assertThat(snapshot.quantileValue(0)).isNaN();
+            assertThat(snapshot.count()).isZero();
+
+            for (int i = 1; i <= 100; i++) {
+                measurement.observe(i);
+            }
+
+            snapshot = takeSummarySnapshot(metric);
+            assertThat(snapshot.quantileValue(0)).isEqualTo(51.0);
+            assertThat(snapshot.quantileValue(1)).isEqualTo(91.0);
+            assertThat(snapshot.quantileValue(2)).isEqualTo(103.0);
+            assertThat(snapshot.count()).isEqualTo(100);
+            assertThat(snapshot.sum()).isEqualTo(5050);
+
+            measurement.observe(Long.MAX_VALUE);
+            snapshot = takeSummarySnapshot(metric);
+            assertThat(snapshot.quantileValue(2)).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        void testSnapshotWithLabels() {
+            LongHistogram metric = emptyMetricBuilder().addDynamicLabelNames("label").build();
+            metric.getOrCreateLabeled("label", "1").observe(5);
+            metric.getOrCreateLabeled("label", "2").observe(50);
+
+            for (MeasurementSnapshot measurementSnapshot : MetricSnapshotVerifier.takeSnapshot(metric)) {
+                HistogramMeasurementSnapshot snapshot = (HistogramMeasurementSnapshot) measurementSnapshot;
+                int expectedBucket = snapshot.getDynamicLabelValues().get(0).equals("1") ? 0 : 1;
+                assertThat(snapshot.cumulativeCount(expectedBucket)).isEqualTo(1);
+                assertThat(snapshot.count()).isEqualTo(1);
+            }
+        }
+    }
+
+    private static HistogramMeasurementSnapshot takeHistogramSnapshot(LongHistogram metric) {
+        return (HistogramMeasurementSnapshot)
+                MetricSnapshotVerifier.takeSnapshot(metric).iterator().next();
+    }
+
+    private static SummaryMeasurementSnapshot takeSummarySnapshot(LongHistogram metric) {
+        return (SummaryMeasurementSnapshot)
+                MetricSnapshotVerifier.takeSnapshot(metric).iterator().next();
+    }
+}
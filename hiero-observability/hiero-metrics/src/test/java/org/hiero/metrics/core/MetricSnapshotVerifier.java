@@ -94,6 +94,18 @@ public class MetricSnapshotVerifier {
                 .isNull();
     }
 
+    /**
+     * Update and return the snapshot of a metric, to verify measurement snapshot types without a dedicated
+     * {@code add} method.
+     */
+    public static MetricSnapshot takeSnapshot(Metric metric) {
+        MetricSnapshot snapshot = metric.snapshot();
+        assertThat(snapshot).isNotNull();
+
+        snapshot.update();
+        return snapshot;
+    }
+
     public void verify() {
         MetricSnapshot snapshot = metric.snapshot();
         assertThat(snapshot).isNotNull();
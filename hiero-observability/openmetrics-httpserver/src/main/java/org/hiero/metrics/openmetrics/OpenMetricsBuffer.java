@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.openmetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer that encoded metrics are written to.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, methods are not synchronized and the backing array is exposed,
+ * so that a buffer can be reused across scrapes without copying its content.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class OpenMetricsBuffer {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 64 * 1024;
+
+    private byte[] bytes;
+    private int size;
+
+    OpenMetricsBuffer() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    OpenMetricsBuffer(int initialCapacity) {
+        bytes = new byte[initialCapacity];
+    }
+
+    /**
+     * Discard the content of this buffer, keeping its capacity.
+     */
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * @return the number of bytes written to this buffer
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the backing array, valid up to {@link #size()}
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    void write(byte b) {
+        ensureCapacity(size + 1);
+        bytes[size++] = b;
+    }
+
+    void write(byte[] src) {
+        write(src, 0, src.length);
+    }
+
+    void write(byte[] src, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(src, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * Write the characters of a string that is known to contain only ASCII characters.
+     *
+     * @param ascii the string to write
+     */
+    void writeAscii(String ascii) {
+        final int length = ascii.length();
+        ensureCapacity(size + length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    /**
+     * Write the decimal digits of a non-negative number, left padded with zeros to at least {@code minDigits} digits.
+     *
+     * @param value     the number, must not be negative
+     * @param minDigits the minimum number of digits to write
+     */
+    void writeDigits(long value, int minDigits) {
+        int digits = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        ensureCapacity(size + digits);
+        int position = size + digits;
+        for (int i = 0; i < digits; i++) {
+            bytes[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    /**
+     * Reserve space for at least {@code length} more bytes, so that they can be written directly to {@link #array()}
+     * starting at {@link #size()}. Callers must then call {@link #advance(int)} with the number of bytes written.
+     *
+     * @param length the number of bytes to reserve
+     */
+    void reserve(int length) {
+        ensureCapacity(size + length);
+    }
+
+    /**
+     * Account for bytes that were written directly to {@link #array()}.
+     *
+     * @param length the number of bytes written
+     */
+    void advance(int length) {
+        size += length;
+    }
+
+    /**
+     * @return the number of bytes that can be written before the buffer grows
+     */
+    int remaining() {
+        return bytes.length - size;
+    }
+
+    void writeTo(OutputStream output) throws IOException {
+        output.write(bytes, 0, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+}
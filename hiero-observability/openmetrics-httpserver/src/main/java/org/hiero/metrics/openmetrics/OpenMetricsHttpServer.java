@@ -9,7 +9,6 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import com.sun.net.httpserver.spi.HttpServerProvider;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
@@ -17,9 +16,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
-import java.util.zip.GZIPOutputStream;
 import org.hiero.metrics.core.MetricRegistrySnapshot;
 import org.hiero.metrics.core.MetricsExporter;
 import org.hiero.metrics.openmetrics.config.OpenMetricsHttpServerConfig;
@@ -31,8 +28,9 @@ import org.hiero.metrics.openmetrics.config.OpenMetricsHttpServerConfig;
  * in response to HTTP GET requests. HEAD requests are also supported for health checks.
  * It supports gzip compression if the client indicates support for it via the "Accept-Encoding" header.
  * <p>
- * Exposed endpoint allows only one GET request at a time using virtual threads per request.
- * Concurrent GET requests will be rejected with 429 (Too Many Requests).
+ * Requests are handled by virtual threads. Concurrent GET requests share a single snapshot and its encoding:
+ * requests arriving while a snapshot is being encoded wait for it instead of taking their own, and the gzip
+ * compressed form is computed at most once per snapshot.
  */
 class OpenMetricsHttpServer implements MetricsExporter {
 
@@ -40,24 +38,20 @@ class OpenMetricsHttpServer implements MetricsExporter {
 
     public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
 
-    private final OpenMetricsWriter writer;
+    private final SharedSnapshotEncoder encoder;
     private final ExecutorService executorService;
 
     private final HttpServer server;
     private final int bufferSize;
 
-    // This flag is used to prohibit concurrent GET requests to scrape metrics.
-    // Additionally, OpenMetricsWriter is not thread safe due to DecimalFormat usage.
-    private final AtomicBoolean isHandlingRequest = new AtomicBoolean(false);
-
     private volatile Supplier<MetricRegistrySnapshot> snapshotSupplier;
 
     public OpenMetricsHttpServer(@NonNull OpenMetricsHttpServerConfig config) throws IOException {
         Objects.requireNonNull(config, "OpenMetrics HTTP endpoint config must not be null");
 
         bufferSize = config.bufferSize();
-        writer = new OpenMetricsWriter(config.decimalFormat());
-        // Use virtual threads to handle each request, but reject concurrent GET requests using the boolean flag
+        encoder = new SharedSnapshotEncoder(new OpenMetricsWriter(config.decimalFormat()));
+        // Use virtual threads to handle each request, concurrent GET requests share the encoded snapshot
         executorService = Executors.newVirtualThreadPerTaskExecutor();
 
         final InetSocketAddress address;
@@ -68,7 +62,7 @@ class OpenMetricsHttpServer implements MetricsExporter {
         }
 
         // Use a small accept backlog to absorb short TCP connection bursts so clients can receive an HTTP
-        // response (e.g., 429) instead of failing at the TCP layer. GET concurrency is limited separately.
+        // response instead of failing at the TCP layer.
         server = HttpServerProvider.provider().createHttpServer(address, 3);
         server.setExecutor(executorService);
         server.createContext(config.path(), this::handleMetricsPath); // main metrics endpoint
@@ -129,35 +123,30 @@ class OpenMetricsHttpServer implements MetricsExporter {
             return;
         }
 
-        if (!isHandlingRequest.compareAndSet(false, true)) {
-            logger.log(WARNING, "Another request is being processed, rejecting this one");
-            exchange.getResponseHeaders().set("Retry-After", "3"); // Suggest retry after 3 seconds
-            exchange.getResponseHeaders().set("Cache-Control", "no-store");
-            exchange.sendResponseHeaders(429, -1); // Too Many Requests
-            return;
-        }
-
+        // fails with a CompletionException if snapshotting failed in the concurrent request this one joined
+        final SharedSnapshotEncoder.EncodedSnapshot encodedSnapshot = encoder.acquire(snapshotSupplierRef);
         try {
-            MetricRegistrySnapshot registrySnapshot = snapshotSupplierRef.get();
-
             setCommonOkResponseHeaders(exchange.getResponseHeaders());
             boolean useGzip = handleGzipHeaders(exchange);
+            final OpenMetricsBuffer body = useGzip ? encodedSnapshot.gzip() : encodedSnapshot.plain();
 
-            exchange.sendResponseHeaders(200, 0);
+            exchange.sendResponseHeaders(200, body.size());
 
-            // Choose output stream based on compression and buffer size and send body
-            OutputStream outputStream = exchange.getResponseBody();
-            if (useGzip) {
-                outputStream = new GZIPOutputStream(outputStream);
-            }
-            if (bufferSize != 0) {
-                outputStream = new BufferedOutputStream(outputStream, bufferSize);
-            }
-            try (OutputStream os = outputStream) {
-                writer.write(registrySnapshot, os);
+            try (OutputStream os = exchange.getResponseBody()) {
+                writeBody(body, os);
             }
         } finally {
-            isHandlingRequest.set(false);
+            encodedSnapshot.release();
+        }
+    }
+
+    private void writeBody(OpenMetricsBuffer body, OutputStream output) throws IOException {
+        if (bufferSize == 0) {
+            body.writeTo(output);
+            return;
+        }
+        for (int offset = 0; offset < body.size(); offset += bufferSize) {
+            output.write(body.array(), offset, Math.min(bufferSize, body.size() - offset));
         }
     }
 
@@ -195,5 +184,6 @@ class OpenMetricsHttpServer implements MetricsExporter {
         logger.log(INFO, "Stopping OpenMetrics HttpServer...");
         server.stop(1);
         executorService.shutdownNow();
+        encoder.close();
     }
 }
@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.openmetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats numbers for the OpenMetrics text format the same way a {@link DecimalFormat} with the configured pattern
+ * would, but without allocating.
+ * <p>
+ * Patterns made of {@code #} and {@code 0} characters with an optional single {@code .}, like the default
+ * {@code #.###}, are formatted directly into an {@link OpenMetricsBuffer}. A {@link DecimalFormat} is only used for
+ * other patterns, for doubles too large to be scaled exactly, and for doubles that are so close to a rounding tie that
+ * only {@link DecimalFormat}'s exact rounding gives the same result.
+ * <p>
+ * The decimal separator is always {@code .}, regardless of the default locale.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class OpenMetricsNumberFormat {
+
+    private static final byte MINUS = '-';
+    private static final byte DOT = '.';
+
+    /**
+     * Doubles are only formatted directly if the scaled value is below this limit, so that the error of scaling is far
+     * below the distance to the nearest rounding tie that is still formatted directly.
+     */
+    private static final double MAX_SCALED_VALUE = 0x1p40;
+
+    /**
+     * Scaled doubles whose fraction is closer than this to 0.5 are formatted by {@link DecimalFormat}.
+     */
+    private static final double TIE_TOLERANCE = 1e-3;
+
+    /**
+     * At most this many fraction digits are formatted directly.
+     */
+    private static final int MAX_FAST_FRACTION_DIGITS = 9;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private final DecimalFormat fallback;
+    private final boolean fastPattern;
+    private final int minIntegerDigits;
+    private final int minFractionDigits;
+    private final int maxFractionDigits;
+
+    OpenMetricsNumberFormat(String pattern) {
+        fallback = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+        minIntegerDigits = Math.max(1, fallback.getMinimumIntegerDigits());
+        minFractionDigits = fallback.getMinimumFractionDigits();
+        maxFractionDigits = fallback.getMaximumFractionDigits();
+        fastPattern = isSimplePattern(pattern) && maxFractionDigits <= MAX_FAST_FRACTION_DIGITS;
+    }
+
+    /**
+     * Check whether a pattern only consists of digit placeholders and at most one decimal separator.
+     */
+    private static boolean isSimplePattern(String pattern) {
+        boolean dotSeen = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '.') {
+                if (dotSeen) {
+                    return false;
+                }
+                dotSeen = true;
+            } else if (c != '#' && c != '0') {
+                return false;
+            }
+        }
+        return !pattern.isEmpty();
+    }
+
+    /**
+     * Format a long value. {@link Long#MIN_VALUE} and {@link Long#MAX_VALUE} must be handled by the caller.
+     *
+     * @param value  the value
+     * @param output the buffer to write to
+     */
+    void format(long value, OpenMetricsBuffer output) {
+        if (!fastPattern) {
+            writeFallback(fallback.format(value), output);
+            return;
+        }
+        if (value < 0) {
+            output.write(MINUS);
+            value = -value;
+        }
+        output.writeDigits(value, minIntegerDigits);
+        if (minFractionDigits > 0) {
+            output.write(DOT);
+            output.writeDigits(0, minFractionDigits);
+        }
+    }
+
+    /**
+     * Format a finite double value. Infinities and NaN must be handled by the caller.
+     *
+     * @param value  the value
+     * @param output the buffer to write to
+     */
+    void format(double value, OpenMetricsBuffer output) {
+        if (!fastPattern) {
+            writeFallback(fallback.format(value), output);
+            return;
+        }
+
+        final long scale = POWERS_OF_TEN[maxFractionDigits];
+        final double scaled = Math.abs(value) * scale;
+        if (!(scaled < MAX_SCALED_VALUE)) {
+            writeFallback(fallback.format(value), output);
+            return;
+        }
+        final long truncated = (long) scaled;
+        final double fraction = scaled - truncated;
+        if (Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+            writeFallback(fallback.format(value), output);
+            return;
+        }
+        final long rounded = fraction > 0.5 ? truncated + 1 : truncated;
+
+        // Like DecimalFormat, negative values that round to zero keep their sign
+        if (value < 0 || (value == 0 && Double.doubleToRawLongBits(value) != 0)) {
+            output.write(MINUS);
+        }
+        output.writeDigits(rounded / scale, minIntegerDigits);
+
+        long fractionDigits = rounded % scale;
+        int fractionDigitCount = maxFractionDigits;
+        while (fractionDigitCount > minFractionDigits && fractionDigits % 10 == 0) {
+            fractionDigits /= 10;
+            fractionDigitCount--;
+        }
+        if (fractionDigitCount > 0) {
+            output.write(DOT);
+            output.writeDigits(fractionDigits, fractionDigitCount);
+        }
+    }
+
+    private static void writeFallback(String formatted, OpenMetricsBuffer output) {
+        output.write(formatted.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,10 +6,12 @@ import static java.lang.System.Logger.Level.WARNING;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
 import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import org.hiero.metrics.core.DoubleMeasurementSnapshot;
+import org.hiero.metrics.core.HistogramMeasurementSnapshot;
 import org.hiero.metrics.core.Label;
 import org.hiero.metrics.core.LabelValues;
 import org.hiero.metrics.core.LongMeasurementSnapshot;
@@ -17,11 +19,22 @@ import org.hiero.metrics.core.MeasurementSnapshot;
 import org.hiero.metrics.core.MetricRegistrySnapshot;
 import org.hiero.metrics.core.MetricSnapshot;
 import org.hiero.metrics.core.MetricType;
+import org.hiero.metrics.core.SummaryMeasurementSnapshot;
 
 /**
  * A writer that writes metrics in the OpenMetrics text format.
  * <p>
- * This class in not thread-safe, due to the use of {@link DecimalFormat}.
+ * Metric and measurement snapshots are long-lived objects that are updated in place on every scrape, and their names
+ * and labels never change. The writer therefore encodes the metadata lines of each metric and the
+ * {@code name{labels} } prefixes of the sample lines of each measurement only once, and reuses the encoded bytes on
+ * later scrapes. Numbers are formatted by an {@link OpenMetricsNumberFormat}, so a scrape of metrics that were seen
+ * before doesn't allocate.
+ * <p>
+ * Histogram measurements are written as cumulative {@code _bucket} samples with an {@code le} label per bucket bound,
+ * followed by {@code _count} and {@code _sum} samples. Summary measurements are written as samples with a
+ * {@code quantile} label per quantile, followed by {@code _count} and {@code _sum} samples.
+ * <p>
+ * This class in not thread-safe, callers must not write concurrently.
  *
  * <p>See <a href="https://github.com/prometheus/OpenMetrics/blob/main/specification/OpenMetrics.md">OpenMetrics</a> for details.
  */
@@ -29,60 +42,115 @@ class OpenMetricsWriter {
 
     private static final System.Logger logger = System.getLogger(OpenMetricsWriter.class.getName());
 
-    private static final EnumMap<MetricType, byte[]> METRIC_TYPES = new EnumMap<>(MetricType.class);
-    private static final byte[] UNKNOWN_TYPE = "unknown".getBytes(StandardCharsets.UTF_8);
+    private static final EnumMap<MetricType, String> METRIC_TYPES = new EnumMap<>(MetricType.class);
+    private static final String UNKNOWN_TYPE = "unknown";
 
     static {
-        METRIC_TYPES.put(MetricType.GAUGE, "gauge".getBytes(StandardCharsets.UTF_8));
-        METRIC_TYPES.put(MetricType.COUNTER, "counter".getBytes(StandardCharsets.UTF_8));
+        METRIC_TYPES.put(MetricType.GAUGE, "gauge");
+        METRIC_TYPES.put(MetricType.COUNTER, "counter");
+        METRIC_TYPES.put(MetricType.HISTOGRAM, "histogram");
+        METRIC_TYPES.put(MetricType.SUMMARY, "summary");
     }
 
-    private static final byte COMMA = ',';
-    private static final byte QUOTE = '"';
-    private static final byte SPACE = ' ';
     private static final byte NEW_LINE = '\n';
-    private static final byte OPEN_BRACKET = '{';
-    private static final byte CLOSE_BRACKET = '}';
-    private static final byte[] EQUALS_QUOTE = "=\"".getBytes(StandardCharsets.UTF_8);
 
-    private static final byte[] COUNTER_SUFFIX = "_total".getBytes(StandardCharsets.UTF_8);
+    private static final String COUNTER_SUFFIX = "_total";
+    private static final String BUCKET_SUFFIX = "_bucket";
+    private static final String COUNT_SUFFIX = "_count";
+    private static final String SUM_SUFFIX = "_sum";
+    private static final String BUCKET_BOUND_LABEL = "le";
+    private static final String QUANTILE_LABEL = "quantile";
 
-    private static final byte[] TYPE = "# TYPE ".getBytes(StandardCharsets.UTF_8);
-    private static final byte[] UNIT = "# UNIT ".getBytes(StandardCharsets.UTF_8);
-    private static final byte[] HELP = "# HELP ".getBytes(StandardCharsets.UTF_8);
+    private static final String TYPE = "# TYPE ";
+    private static final String UNIT = "# UNIT ";
+    private static final String HELP = "# HELP ";
 
     private static final byte[] END = "# EOF\n".getBytes(StandardCharsets.UTF_8);
     private static final byte[] POSITIVE_INF = "+Inf".getBytes(StandardCharsets.UTF_8);
     private static final byte[] NEGATIVE_INF = "-Inf".getBytes(StandardCharsets.UTF_8);
     private static final byte[] NAN = "NaN".getBytes(StandardCharsets.UTF_8);
 
-    private final DecimalFormat formatter;
+    /**
+     * Pre-encoded parts of a metric.
+     *
+     * @param metadata     the encoded TYPE, UNIT and HELP lines
+     * @param sampleName   the name used for samples, including the counter suffix
+     * @param staticLabels the static labels in the form {@code name="value",...}, empty if there are none
+     */
+    private record MetricEncoding(byte[] metadata, String sampleName, String staticLabels) {}
+
+    private final OpenMetricsNumberFormat numberFormat;
+
+    /**
+     * Metric snapshots are never removed from a registry, so these caches don't need to evict entries. Snapshots don't
+     * override {@code equals}, identity maps avoid calling it anyway.
+     */
+    private final Map<MetricSnapshot, MetricEncoding> metricCache = new IdentityHashMap<>();
+
+    private final Map<MeasurementSnapshot, byte[][]> samplePrefixCache = new IdentityHashMap<>();
+
+    /**
+     * Buffer used by {@link #write(MetricRegistrySnapshot, OutputStream)}, reused across calls.
+     */
+    private final OpenMetricsBuffer streamBuffer = new OpenMetricsBuffer();
 
     public OpenMetricsWriter(String decimalFormat) {
-        formatter = new DecimalFormat(decimalFormat);
+        numberFormat = new OpenMetricsNumberFormat(decimalFormat);
     }
 
     public final void write(MetricRegistrySnapshot registrySnapshot, OutputStream output) throws IOException {
+        streamBuffer.reset();
+        write(registrySnapshot, streamBuffer);
+        streamBuffer.writeTo(output);
+        output.flush();
+    }
+
+    /**
+     * Write all metrics of a registry snapshot to a buffer.
+     *
+     * @param registrySnapshot the snapshot to write
+     * @param output           the buffer to append to
+     */
+    final void write(MetricRegistrySnapshot registrySnapshot, OpenMetricsBuffer output) {
         for (MetricSnapshot metricSnapshot : registrySnapshot) {
             writeMetric(metricSnapshot, output);
         }
 
         output.write(END);
-        output.flush();
     }
 
-    private void writeMetric(MetricSnapshot metricSnapshot, OutputStream output) throws IOException {
-        byte[] metricNameBytes = writeMetricMetadata(metricSnapshot, output);
+    private void writeMetric(MetricSnapshot metricSnapshot, OpenMetricsBuffer output) {
+        final MetricEncoding metricEncoding =
+                metricCache.computeIfAbsent(metricSnapshot, OpenMetricsWriter::encodeMetric);
+        output.write(metricEncoding.metadata());
 
         for (MeasurementSnapshot measurementSnapshot : metricSnapshot) {
             if (measurementSnapshot instanceof LongMeasurementSnapshot longSnapshot) {
-                writeSingleValueMeasurementMetadata(metricNameBytes, metricSnapshot, measurementSnapshot, output);
-                output.write(convertValue(longSnapshot.get()));
+                output.write(getSamplePrefixes(metricEncoding, metricSnapshot, measurementSnapshot)[0]);
+                writeValue(longSnapshot.get(), output);
                 output.write(NEW_LINE);
             } else if (measurementSnapshot instanceof DoubleMeasurementSnapshot doubleSnapshot) {
-                writeSingleValueMeasurementMetadata(metricNameBytes, metricSnapshot, measurementSnapshot, output);
-                output.write(convertValue(doubleSnapshot.get()));
+                output.write(getSamplePrefixes(metricEncoding, metricSnapshot, measurementSnapshot)[0]);
+                writeValue(doubleSnapshot.get(), output);
                 output.write(NEW_LINE);
+            } else if (measurementSnapshot instanceof HistogramMeasurementSnapshot histogramSnapshot) {
+                final byte[][] prefixes = getSamplePrefixes(metricEncoding, metricSnapshot, measurementSnapshot);
+                final int bucketCount = histogramSnapshot.bucketCount();
+                for (int i = 0; i < bucketCount; i++) {
+                    writeSample(prefixes[i], histogramSnapshot.cumulativeCount(i), output);
+                }
+                writeSample(prefixes[bucketCount], histogramSnapshot.count(), output);
+                writeSample(prefixes[bucketCount + 1], histogramSnapshot.sum(), output);
+            } else if (measurementSnapshot instanceof SummaryMeasurementSnapshot summarySnapshot) {
+                final byte[][] prefixes = getSamplePrefixes(metricEncoding, metricSnapshot, measurementSnapshot);
+                final int quantileCount = summarySnapshot.quantileCount();
+                for (int i = 0; i < quantileCount; i++) {
+                    output.write(prefixes[i]);
+                    writeValue(summarySnapshot.quantileValue(i), output);
+                    output.write(NEW_LINE);
+                }
+                writeSample(prefixes[quantileCount], summarySnapshot.count(), output);
+                writeSample(prefixes[quantileCount + 1], summarySnapshot.sum(), output);
             } else {
                 logger.log(
                         WARNING,
@@ -92,7 +160,7 @@ class OpenMetricsWriter {
         }
     }
 
-    private byte[] writeMetricMetadata(MetricSnapshot metricSnapshot, OutputStream output) throws IOException {
+    private static MetricEncoding encodeMetric(MetricSnapshot metricSnapshot) {
         String metricName = metricSnapshot.name();
         final String metricUnit = metricSnapshot.unit();
         final boolean metricUnitAvailable = metricUnit != null && !metricUnit.isBlank();
@@ -101,110 +169,140 @@ class OpenMetricsWriter {
             metricName += '_' + metricUnit;
         }
 
-        byte[] metricNameBytes = metricName.getBytes(StandardCharsets.UTF_8);
-
-        output.write(TYPE);
-        output.write(metricNameBytes);
-        output.write(SPACE);
-        output.write(METRIC_TYPES.getOrDefault(metricSnapshot.type(), UNKNOWN_TYPE));
-        output.write(NEW_LINE);
+        final StringBuilder metadata = new StringBuilder();
+        metadata.append(TYPE)
+                .append(metricName)
+                .append(' ')
+                .append(METRIC_TYPES.getOrDefault(metricSnapshot.type(), UNKNOWN_TYPE))
+                .append('\n');
 
         if (metricUnitAvailable) {
-            output.write(UNIT);
-            output.write(metricNameBytes);
-            output.write(SPACE);
-            output.write(metricUnit.getBytes(StandardCharsets.UTF_8));
-            output.write(NEW_LINE);
+            metadata.append(UNIT)
+                    .append(metricName)
+                    .append(' ')
+                    .append(metricUnit)
+                    .append('\n');
         }
 
         String description = metricSnapshot.description();
         if (description != null && !description.isBlank()) {
-            output.write(HELP);
-            output.write(metricNameBytes);
-            output.write(SPACE);
-            output.write(escape(description).getBytes(StandardCharsets.UTF_8));
-            output.write(NEW_LINE);
+            metadata.append(HELP)
+                    .append(metricName)
+                    .append(' ')
+                    .append(escape(description))
+                    .append('\n');
         }
 
-        return metricNameBytes;
+        final String sampleName =
+                metricSnapshot.type() == MetricType.COUNTER ? metricName + COUNTER_SUFFIX : metricName;
+
+        final StringBuilder staticLabels = new StringBuilder();
+        for (Label label : metricSnapshot.staticLabels()) {
+            appendLabel(staticLabels, label.name(), label.value());
+        }
+
+        return new MetricEncoding(
+                metadata.toString().getBytes(StandardCharsets.UTF_8), sampleName, staticLabels.toString());
+    }
+
+    private void writeSample(byte[] prefix, long value, OpenMetricsBuffer output) {
+        output.write(prefix);
+        writeValue(value, output);
+        output.write(NEW_LINE);
     }
 
-    private void writeSingleValueMeasurementMetadata(
-            byte[] metricNameBytes,
-            MetricSnapshot metricSnapshot,
-            MeasurementSnapshot measurementSnapshot,
-            OutputStream output)
-            throws IOException {
-        output.write(metricNameBytes);
-        if (metricSnapshot.type() == MetricType.COUNTER) {
-            output.write(COUNTER_SUFFIX);
+    /**
+     * Get the encoded {@code name{labels} } prefixes of a measurement's sample lines, encoding them on first use.
+     * There is a single prefix for gauges and counters. For histograms there is a prefix per bucket, and for summaries
+     * a prefix per quantile, followed by the prefixes of the count and sum samples.
+     */
+    private byte[][] getSamplePrefixes(
+            MetricEncoding metricEncoding, MetricSnapshot metricSnapshot, MeasurementSnapshot measurementSnapshot) {
+        byte[][] prefixes = samplePrefixCache.get(measurementSnapshot);
+        if (prefixes == null) {
+            prefixes = encodeSamplePrefixes(metricEncoding, metricSnapshot, measurementSnapshot);
+            samplePrefixCache.put(measurementSnapshot, prefixes);
         }
+        return prefixes;
+    }
 
-        if (!metricSnapshot.staticLabels().isEmpty()
-                || !metricSnapshot.dynamicLabelNames().isEmpty()) {
-            output.write(OPEN_BRACKET);
-            boolean firstLabel = appendStaticLabels(metricSnapshot, output);
-            appendDynamicLabels(metricSnapshot, measurementSnapshot, output, firstLabel);
-            output.write(CLOSE_BRACKET);
+    private static byte[][] encodeSamplePrefixes(
+            MetricEncoding metricEncoding, MetricSnapshot metricSnapshot, MeasurementSnapshot measurementSnapshot) {
+        final StringBuilder labels = new StringBuilder(metricEncoding.staticLabels());
+        final List<String> labelNames = metricSnapshot.dynamicLabelNames();
+        final LabelValues dynamicLabelValues = measurementSnapshot.getDynamicLabelValues();
+        for (int i = 0; i < labelNames.size(); i++) {
+            appendLabel(labels, labelNames.get(i), dynamicLabelValues.get(i));
         }
 
-        output.write(SPACE);
+        final String sampleName = metricEncoding.sampleName();
+        if (measurementSnapshot instanceof HistogramMeasurementSnapshot histogramSnapshot) {
+            final int bucketCount = histogramSnapshot.bucketCount();
+            final byte[][] prefixes = new byte[bucketCount + 2][];
+            for (int i = 0; i < bucketCount; i++) {
+                final long bound = histogramSnapshot.bucketBound(i);
+                final String boundValue = bound == Long.MAX_VALUE ? "+Inf" : bound + ".0";
+                prefixes[i] = encodeSamplePrefix(
+                        sampleName + BUCKET_SUFFIX, withLabel(labels, BUCKET_BOUND_LABEL, boundValue));
+            }
+            prefixes[bucketCount] = encodeSamplePrefix(sampleName + COUNT_SUFFIX, labels);
+            prefixes[bucketCount + 1] = encodeSamplePrefix(sampleName + SUM_SUFFIX, labels);
+            return prefixes;
+        } else if (measurementSnapshot instanceof SummaryMeasurementSnapshot summarySnapshot) {
+            final int quantileCount = summarySnapshot.quantileCount();
+            final byte[][] prefixes = new byte[quantileCount + 2][];
+            for (int i = 0; i < quantileCount; i++) {
+                final String quantile = Double.toString(summarySnapshot.quantile(i));
+                prefixes[i] = encodeSamplePrefix(sampleName, withLabel(labels, QUANTILE_LABEL, quantile));
+            }
+            prefixes[quantileCount] = encodeSamplePrefix(sampleName + COUNT_SUFFIX, labels);
+            prefixes[quantileCount + 1] = encodeSamplePrefix(sampleName + SUM_SUFFIX, labels);
+            return prefixes;
+        }
+        return new byte[][] {encodeSamplePrefix(sampleName, labels)};
     }
 
-    private byte[] convertValue(long value) {
-        if (value == Long.MAX_VALUE) {
-            return POSITIVE_INF;
-        } else if (value == Long.MIN_VALUE) {
-            return NEGATIVE_INF;
-        } else return formatter.format(value).getBytes(StandardCharsets.UTF_8);
+    private static byte[] encodeSamplePrefix(String sampleName, CharSequence labels) {
+        final StringBuilder prefix = new StringBuilder(sampleName);
+        if (!labels.isEmpty()) {
+            prefix.append('{').append(labels).append('}');
+        }
+        prefix.append(' ');
+        return prefix.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    private byte[] convertValue(double value) {
-        if (value == Double.POSITIVE_INFINITY) {
-            return POSITIVE_INF;
-        } else if (value == Double.NEGATIVE_INFINITY) {
-            return NEGATIVE_INF;
-        } else if (Double.isNaN(value)) {
-            return NAN;
-        } else {
-            return formatter.format(value).getBytes(StandardCharsets.UTF_8);
-        }
+    private static StringBuilder withLabel(CharSequence labels, String name, String value) {
+        final StringBuilder result = new StringBuilder(labels);
+        appendLabel(result, name, value);
+        return result;
     }
 
-    private boolean appendStaticLabels(MetricSnapshot metricSnapshot, OutputStream output) throws IOException {
-        boolean first = true;
-        for (Label label : metricSnapshot.staticLabels()) {
-            if (!first) {
-                output.write(COMMA);
-            }
-            first = false;
-            output.write(label.name().getBytes(StandardCharsets.UTF_8));
-            output.write(EQUALS_QUOTE);
-            output.write(escape(label.value()).getBytes(StandardCharsets.UTF_8));
-            output.write(QUOTE);
+    private static void appendLabel(StringBuilder labels, String name, String value) {
+        if (!labels.isEmpty()) {
+            labels.append(',');
         }
-        return first;
+        labels.append(name).append("=\"").append(escape(value)).append('"');
     }
 
-    private void appendDynamicLabels(
-            MetricSnapshot metricSnapshot,
-            MeasurementSnapshot measurementSnapshot,
-            OutputStream output,
-            boolean firstLabel)
-            throws IOException {
-        List<String> labelNames = metricSnapshot.dynamicLabelNames();
-        LabelValues dynamicLabelValues = measurementSnapshot.getDynamicLabelValues();
+    private void writeValue(long value, OpenMetricsBuffer output) {
+        if (value == Long.MAX_VALUE) {
+            output.write(POSITIVE_INF);
+        } else if (value == Long.MIN_VALUE) {
+            output.write(NEGATIVE_INF);
+        } else {
+            numberFormat.format(value, output);
+        }
+    }
 
-        for (int i = 0; i < labelNames.size(); i++) {
-            String labelValue = dynamicLabelValues.get(i);
-            if (!firstLabel) {
-                output.write(COMMA);
-            }
-            firstLabel = false;
-            output.write(labelNames.get(i).getBytes(StandardCharsets.UTF_8));
-            output.write(EQUALS_QUOTE);
-            output.write(escape(labelValue).getBytes(StandardCharsets.UTF_8));
-            output.write(QUOTE);
+    private void writeValue(double value, OpenMetricsBuffer output) {
+        if (value == Double.POSITIVE_INFINITY) {
+            output.write(POSITIVE_INF);
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            output.write(NEGATIVE_INF);
+        } else if (Double.isNaN(value)) {
+            output.write(NAN);
+        } else {
+            numberFormat.format(value, output);
         }
     }
 
@@ -0,0 +1,211 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.openmetrics;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.hiero.metrics.core.MetricRegistrySnapshot;
+
+/**
+ * Encodes metrics snapshots for concurrent scrapes, so that scrapes arriving at the same time share one encoding.
+ * <p>
+ * The first scrape that {@link #acquire(Supplier) acquires} an encoding takes a snapshot and encodes it. Scrapes that
+ * arrive while it is doing so wait for it and get the same encoding, rather than taking and encoding a snapshot of
+ * their own. A scrape that arrives after the encoding is done starts a new one, so no scrape is served data that was
+ * snapshotted before it arrived.
+ * <p>
+ * Each encoding holds the plain text and, once a scrape asks for it, its gzip compressed form. Encodings are pooled
+ * and reused once all scrapes sharing them have {@link EncodedSnapshot#release() released} them, so in steady state
+ * encoding doesn't allocate.
+ * <p>
+ * This class is thread-safe.
+ */
+final class SharedSnapshotEncoder implements AutoCloseable {
+
+    /**
+     * Header of a gzip member without optional fields, see RFC 1952.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    private final OpenMetricsWriter writer;
+
+    private final Object lock = new Object();
+
+    // guarded by lock
+    private final ArrayDeque<EncodedSnapshot> freeSnapshots = new ArrayDeque<>();
+    // guarded by lock, not null while a snapshot is being encoded
+    private CompletableFuture<EncodedSnapshot> inFlight;
+    // guarded by lock, number of scrapes waiting for the in-flight encoding, including the encoding one
+    private int inFlightReaders;
+    // guarded by lock
+    private boolean closed;
+
+    /**
+     * @param writer the writer to encode snapshots with, only ever used by one thread at a time
+     */
+    SharedSnapshotEncoder(OpenMetricsWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Get an encoding of a fresh snapshot, either by encoding one or by joining an encoding that is in progress. The
+     * caller must {@link EncodedSnapshot#release() release} the returned encoding once it's done with it.
+     *
+     * @param snapshotSupplier the supplier of the snapshot to encode
+     * @return the encoded snapshot
+     * @throws java.util.concurrent.CompletionException if joining an encoding that failed
+     */
+    EncodedSnapshot acquire(Supplier<MetricRegistrySnapshot> snapshotSupplier) {
+        final CompletableFuture<EncodedSnapshot> future;
+        final EncodedSnapshot target;
+        synchronized (lock) {
+            inFlightReaders++;
+            if (inFlight != null) {
+                future = inFlight;
+                target = null;
+            } else {
+                future = inFlight = new CompletableFuture<>();
+                final EncodedSnapshot free = freeSnapshots.poll();
+                target = free != null ? free : new EncodedSnapshot();
+            }
+        }
+
+        if (target == null) {
+            return future.join();
+        }
+
+        try {
+            target.encode(writer, snapshotSupplier.get());
+        } catch (RuntimeException | Error e) {
+            synchronized (lock) {
+                inFlight = null;
+                inFlightReaders = 0;
+                freeSnapshots.push(target);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (lock) {
+            target.readers = inFlightReaders;
+            inFlight = null;
+            inFlightReaders = 0;
+        }
+        future.complete(target);
+        return target;
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            freeSnapshots.forEach(EncodedSnapshot::end);
+            freeSnapshots.clear();
+        }
+    }
+
+    private void release(EncodedSnapshot snapshot) {
+        synchronized (lock) {
+            if (--snapshot.readers > 0) {
+                return;
+            }
+            if (closed) {
+                snapshot.end();
+            } else {
+                freeSnapshots.push(snapshot);
+            }
+        }
+    }
+
+    /**
+     * An encoded snapshot, shared by all scrapes that acquired it.
+     */
+    final class EncodedSnapshot {
+
+        private final OpenMetricsBuffer plain = new OpenMetricsBuffer();
+        private final OpenMetricsBuffer gzip = new OpenMetricsBuffer();
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final CRC32 crc = new CRC32();
+
+        // guarded by this, whether gzip holds the compressed form of plain
+        private boolean gzipReady;
+
+        // guarded by SharedSnapshotEncoder.lock, number of scrapes that haven't released this encoding yet
+        private int readers;
+
+        private EncodedSnapshot() {}
+
+        private void encode(OpenMetricsWriter writer, MetricRegistrySnapshot snapshot) {
+            plain.reset();
+            writer.write(snapshot, plain);
+            synchronized (this) {
+                gzipReady = false;
+            }
+        }
+
+        /**
+         * @return the plain text encoding
+         */
+        OpenMetricsBuffer plain() {
+            return plain;
+        }
+
+        /**
+         * Get the gzip compressed encoding, compressing it on first use. Other scrapes sharing this encoding reuse it.
+         *
+         * @return the gzip compressed encoding
+         */
+        synchronized OpenMetricsBuffer gzip() {
+            if (!gzipReady) {
+                compress();
+                gzipReady = true;
+            }
+            return gzip;
+        }
+
+        private void compress() {
+            gzip.reset();
+            gzip.write(GZIP_HEADER);
+
+            deflater.reset();
+            deflater.setInput(plain.array(), 0, plain.size());
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (gzip.remaining() == 0) {
+                    gzip.reserve(plain.size() / 4 + 64);
+                }
+                final int written =
+                        deflater.deflate(gzip.array(), gzip.size(), gzip.remaining(), Deflater.NO_FLUSH);
+                gzip.advance(written);
+            }
+
+            crc.reset();
+            crc.update(plain.array(), 0, plain.size());
+            gzip.reserve(GZIP_TRAILER_LENGTH);
+            writeIntLittleEndian((int) crc.getValue());
+            writeIntLittleEndian(plain.size());
+        }
+
+        private void writeIntLittleEndian(int value) {
+            gzip.write((byte) value);
+            gzip.write((byte) (value >>> 8));
+            gzip.write((byte) (value >>> 16));
+            gzip.write((byte) (value >>> 24));
+        }
+
+        /**
+         * Release this encoding, allowing it to be reused once all scrapes sharing it released it.
+         */
+        void release() {
+            SharedSnapshotEncoder.this.release(this);
+        }
+
+        private void end() {
+            deflater.end();
+        }
+    }
+}
@@ -13,8 +13,10 @@ import com.swirlds.config.api.validation.annotation.Min;
  * @param hostname the hostname to bind to, while empty means all interfaces (default: localhost)
  * @param port the port to listen on (default: 8888, range: 1024-65535)
  * @param path the HTTP path to serve metrics on (default: /metrics)
- * @param bufferSize the buffer size for HTTP response output stream (default: 1024, range: 0-2mb, 0 = no buffering)
- * @param decimalFormat the decimal format for numbers (default: #.###)
+ * @param bufferSize the size of chunks the encoded response is written in (default: 1024, range: 0-2mb,
+ *                   0 = write the whole response at once)
+ * @param decimalFormat the {@link java.text.DecimalFormat} pattern for numbers (default: #.###), patterns of only
+ *                      {@code #}, {@code 0} and {@code .} characters are formatted without {@code DecimalFormat}
  */
 // spotless:off
 @ConfigData("metrics.exporter.openmetrics.http")
@@ -2,20 +2,23 @@
 package org.hiero.metrics.openmetrics;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.swirlds.config.api.Configuration;
 import com.swirlds.config.api.ConfigurationBuilder;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -24,6 +27,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 import org.hiero.metrics.core.MetricRegistrySnapshot;
 import org.hiero.metrics.core.MetricsExporter;
 import org.junit.jupiter.api.AfterAll;
@@ -134,7 +138,7 @@ public class OpenMetricsHttpServerMockTest {
 
         // simulate a long-running snapshotting in the first request until the second request is done
         when(snapshotSupplier.get()).thenAnswer(invocation -> {
-            firstRequestStarted.countDown(); // Signal that lock is acquired
+            firstRequestStarted.countDown(); // Signal that snapshotting started
             secondRequestFinished.await(1, TimeUnit.SECONDS); // Wait until the concurrent request is done
             return new MetricRegistrySnapshot();
         });
@@ -143,22 +147,41 @@ public class OpenMetricsHttpServerMockTest {
         CompletableFuture<HttpResponse<String>> firstRequestResponseFuture =
                 CompletableFuture.supplyAsync(this::callMetrics);
 
-        // Wait until the first request acquires the lock
+        // Wait until the first request started snapshotting
         firstRequestStarted.await(1, TimeUnit.SECONDS);
-        // Now make the second concurrent request
-        HttpResponse<String> concurrentResponse = callMetrics();
+        // Now make the second concurrent request, which shares the snapshot of the first one
+        CompletableFuture<HttpResponse<String>> concurrentResponseFuture =
+                CompletableFuture.supplyAsync(this::callMetrics);
         // Allow the first request to finish
         secondRequestFinished.countDown();
 
-        assertThat(concurrentResponse.statusCode()).isEqualTo(429);
-        assertThat(concurrentResponse.headers().firstValue("Retry-After")).hasValue("3");
-        assertThat(concurrentResponse.body()).isEmpty();
+        HttpResponse<String> concurrentResponse = concurrentResponseFuture.get();
+        assertThat(concurrentResponse.statusCode()).isEqualTo(200);
+        assertThat(concurrentResponse.body()).isEqualTo("# EOF\n");
 
         HttpResponse<String> firstRequestResponse = firstRequestResponseFuture.get();
         assertThat(firstRequestResponse.statusCode()).isEqualTo(200);
         assertThat(firstRequestResponse.body()).isEqualTo("# EOF\n");
 
-        verify(snapshotSupplier, times(1)).get();
+        // the second request may arrive after the first one is done and take its own snapshot
+        verify(snapshotSupplier, atLeast(1)).get();
+        verify(snapshotSupplier, atMost(2)).get();
+    }
+
+    @Test
+    void testGzipGetRequest() throws IOException, InterruptedException {
+        when(snapshotSupplier.get()).thenReturn(new MetricRegistrySnapshot());
+
+        HttpResponse<byte[]> response = httpClient.send(
+                newRequest().GET().header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("# EOF\n");
+        }
+        verify(snapshotSupplier).get();
     }
 
     @Test
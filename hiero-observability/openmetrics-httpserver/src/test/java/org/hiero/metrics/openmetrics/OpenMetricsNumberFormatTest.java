@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.openmetrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class OpenMetricsNumberFormatTest {
+
+    private static final double[] EDGE_CASES = {
+        0.0,
+        -0.0,
+        Double.MIN_VALUE,
+        -Double.MIN_VALUE,
+        0.0005,
+        0.0015,
+        -0.0005,
+        0.5,
+        1.5,
+        2.5,
+        -2.5,
+        0.1 + 0.2,
+        123.123456789,
+        999.9995,
+        999.9994,
+        1e12 + 0.5,
+        1e20,
+        -1e20,
+        Double.MAX_VALUE,
+        -Double.MAX_VALUE,
+        Long.MAX_VALUE,
+        Long.MIN_VALUE
+    };
+
+    private static final long[] LONG_EDGE_CASES = {
+        0, 1, -1, 9, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {"#.###", "#", "0.00", "00.0#", "#.#########", "#,##0.###", "0.###E0"})
+    void testDoublesFormattedLikeDecimalFormat(String pattern) {
+        final DecimalFormat expected = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+        final OpenMetricsNumberFormat format = new OpenMetricsNumberFormat(pattern);
+
+        for (double value : EDGE_CASES) {
+            assertThat(format(format, value)).as("value %s", value).isEqualTo(expected.format(value));
+        }
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final double value =
+                    switch (i % 4) {
+                        case 0 -> random.nextDouble();
+                        case 1 -> (random.nextDouble() - 0.5) * 1e6;
+                        case 2 -> random.nextInt(1_000_000) / 1000.0;
+                        default -> random.nextGaussian() * Math.pow(10, random.nextInt(30) - 10);
+                    };
+            assertThat(format(format, value)).as("value %s", value).isEqualTo(expected.format(value));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"#.###", "#", "0.00", "00.0#", "#,##0.###"})
+    void testLongsFormattedLikeDecimalFormat(String pattern) {
+        final DecimalFormat expected = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+        final OpenMetricsNumberFormat format = new OpenMetricsNumberFormat(pattern);
+
+        for (long value : LONG_EDGE_CASES) {
+            assertThat(format(format, value)).as("value %s", value).isEqualTo(expected.format(value));
+        }
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final long value = i % 2 == 0 ? random.nextLong() : random.nextInt(1_000_000) - 500_000;
+            assertThat(format(format, value)).as("value %s", value).isEqualTo(expected.format(value));
+        }
+    }
+
+    private static String format(OpenMetricsNumberFormat format, double value) {
+        final OpenMetricsBuffer buffer = new OpenMetricsBuffer(16);
+        format.format(value, buffer);
+        return new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8);
+    }
+
+    private static String format(OpenMetricsNumberFormat format, long value) {
+        final OpenMetricsBuffer buffer = new OpenMetricsBuffer(16);
+        format.format(value, buffer);
+        return new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8);
+    }
+}
@@ -14,6 +14,7 @@ import org.hiero.metrics.DoubleCounter;
 import org.hiero.metrics.DoubleGauge;
 import org.hiero.metrics.LongCounter;
 import org.hiero.metrics.LongGauge;
+import org.hiero.metrics.LongHistogram;
 import org.hiero.metrics.core.Label;
 import org.hiero.metrics.core.MetricRegistry;
 import org.hiero.metrics.core.MetricRegistrySnapshot;
@@ -352,4 +353,82 @@ public class OpenMetricsWriterTest {
                     Arguments.of(-123.123456789, "-123.123"));
         }
     }
+
+    @Nested
+    class HistogramTests {
+
+        @Test
+        void testEmpty() {
+            MetricRegistry registry = createRegistry();
+
+            LongHistogram.builder("histogram", 10, 100).register(registry);
+            LongHistogram.summaryBuilder("summary").register(registry);
+
+            exporter.exportAndVerify(defaultWriter, """
+                    # TYPE histogram histogram
+                    # TYPE summary summary
+                    # EOF
+                    """);
+        }
+
+        @Test
+        void testHistogramWithLabels() {
+            LongHistogram histogram = LongHistogram.builder("latency", 10, 100, 1000)
+                    .setUnit("ns")
+                    .addStaticLabels(new Label("static", "value"))
+                    .addDynamicLabelNames("op")
+                    .register(createRegistry());
+            for (long value : new long[] {5, 10, 50, 90, 500, 5000}) {
+                histogram.getOrCreateLabeled("op", "a").observe(value);
+            }
+
+            exporter.exportAndVerify(defaultWriter, """
+                    # TYPE latency_ns histogram
+                    # UNIT latency_ns ns
+                    latency_ns_bucket{static="value",op="a",le="10.0"} 2
+                    latency_ns_bucket{static="value",op="a",le="100.0"} 4
+                    latency_ns_bucket{static="value",op="a",le="1000.0"} 5
+                    latency_ns_bucket{static="value",op="a",le="+Inf"} 6
+                    latency_ns_count{static="value",op="a"} 6
+                    latency_ns_sum{static="value",op="a"} 5655
+                    # EOF
+                    """);
+        }
+
+        @Test
+        void testSummaryNoLabels() {
+            LongHistogram summary = LongHistogram.summaryBuilder("latency")
+                    .setQuantiles(0.5, 0.9, 1.0)
+                    .register(createRegistry());
+            for (int value = 1; value <= 100; value++) {
+                summary.getOrCreateNotLabeled().observe(value);
+            }
+
+            exporter.exportAndVerify(defaultWriter, """
+                    # TYPE latency summary
+                    latency{quantile="0.5"} 51
+                    latency{quantile="0.9"} 91
+                    latency{quantile="1.0"} 103
+                    latency_count 100
+                    latency_sum 5050
+                    # EOF
+                    """);
+        }
+
+        @Test
+        void testSummaryWithoutObservations() {
+            LongHistogram summary = LongHistogram.summaryBuilder("latency")
+                    .setQuantiles(0.5)
+                    .register(createRegistry());
+            summary.getOrCreateNotLabeled();
+
+            exporter.exportAndVerify(defaultWriter, """
+                    # TYPE latency summary
+                    latency{quantile="0.5"} NaN
+                    latency_count 0
+                    latency_sum 0
+                    # EOF
+                    """);
+        }
+    }
 }
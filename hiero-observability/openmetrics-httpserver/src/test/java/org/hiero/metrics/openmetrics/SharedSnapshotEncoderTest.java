@@ -0,0 +1,215 @@
+// SPDX-License-Identifier: Apache-2.0
+package org.hiero.metrics.openmetrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import org.hiero.metrics.LongGauge;
+import org.hiero.metrics.core.MetricRegistry;
+import org.hiero.metrics.core.MetricRegistrySnapshot;
+import org.hiero.metrics.core.MetricsExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedSnapshotEncoderTest {
+
+    private static final String EXPECTED = """
+            # TYPE test_gauge gauge
+            test_gauge{label="value"} 42
+            # EOF
+            """;
+
+    private Supplier<MetricRegistrySnapshot> snapshotSupplier;
+    private SharedSnapshotEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        MetricRegistry registry = MetricRegistry.builder()
+                .setMetricsExporter(new MetricsExporter() {
+                    @Override
+                    public void setSnapshotSupplier(Supplier<MetricRegistrySnapshot> snapshotSupplier) {
+                        SharedSnapshotEncoderTest.this.snapshotSupplier = snapshotSupplier;
+                    }
+
+                    @Override
+                    public void close() {
+                        // no-op
+                    }
+                })
+                .build();
+        LongGauge.builder("test_gauge")
+                .addDynamicLabelNames("label")
+                .register(registry)
+                .getOrCreateLabeled("label", "value")
+                .set(42);
+
+        encoder = new SharedSnapshotEncoder(new OpenMetricsWriter("#.###"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void testPlainAndGzipEncoding() throws IOException {
+        SharedSnapshotEncoder.EncodedSnapshot encoded = encoder.acquire(snapshotSupplier);
+
+        assertThat(toString(encoded.plain())).isEqualTo(EXPECTED);
+        assertThat(gunzip(encoded.gzip())).isEqualTo(EXPECTED);
+        // compressed only once
+        assertThat(encoded.gzip()).isSameAs(encoded.gzip());
+
+        encoded.release();
+    }
+
+    @Test
+    void testReleasedEncodingIsReused() throws IOException {
+        SharedSnapshotEncoder.EncodedSnapshot first = encoder.acquire(snapshotSupplier);
+        first.gzip();
+        first.release();
+
+        SharedSnapshotEncoder.EncodedSnapshot second = encoder.acquire(snapshotSupplier);
+        assertThat(second).isSameAs(first);
+        assertThat(toString(second.plain())).isEqualTo(EXPECTED);
+        assertThat(gunzip(second.gzip())).isEqualTo(EXPECTED);
+
+        // an encoding that is still in use is not reused
+        SharedSnapshotEncoder.EncodedSnapshot third = encoder.acquire(snapshotSupplier);
+        assertThat(third).isNotSameAs(second);
+
+        second.release();
+        third.release();
+    }
+
+    @Test
+    void testConcurrentAcquireSharesEncoding() throws Exception {
+        final CountDownLatch snapshotStarted = new CountDownLatch(1);
+        final CountDownLatch snapshotAllowed = new CountDownLatch(1);
+        final AtomicInteger snapshotCount = new AtomicInteger();
+        final Supplier<MetricRegistrySnapshot> slowSupplier = () -> {
+            snapshotCount.incrementAndGet();
+            snapshotStarted.countDown();
+            try {
+                snapshotAllowed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return snapshotSupplier.get();
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<SharedSnapshotEncoder.EncodedSnapshot> leader = executor.submit(() -> encoder.acquire(slowSupplier));
+            assertThat(snapshotStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final Thread[] followerThread = new Thread[1];
+            final CountDownLatch followerStarted = new CountDownLatch(1);
+            Future<SharedSnapshotEncoder.EncodedSnapshot> follower = executor.submit(() -> {
+                followerThread[0] = Thread.currentThread();
+                followerStarted.countDown();
+                return encoder.acquire(slowSupplier);
+            });
+            assertThat(followerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            awaitWaiting(followerThread[0]);
+            snapshotAllowed.countDown();
+
+            SharedSnapshotEncoder.EncodedSnapshot leaderEncoded = leader.get(5, TimeUnit.SECONDS);
+            SharedSnapshotEncoder.EncodedSnapshot followerEncoded = follower.get(5, TimeUnit.SECONDS);
+            assertThat(followerEncoded).isSameAs(leaderEncoded);
+            assertThat(snapshotCount).hasValue(1);
+            assertThat(toString(followerEncoded.plain())).isEqualTo(EXPECTED);
+
+            // still in use by the follower, so not reused
+            leaderEncoded.release();
+            SharedSnapshotEncoder.EncodedSnapshot next = encoder.acquire(snapshotSupplier);
+            assertThat(next).isNotSameAs(leaderEncoded);
+            next.release();
+            followerEncoded.release();
+        }
+    }
+
+    @Test
+    void testFailedSnapshotIsNotShared() {
+        final RuntimeException failure = new IllegalStateException("test");
+        assertThatThrownBy(() -> encoder.acquire(() -> {
+                    throw failure;
+                }))
+                .isSameAs(failure);
+
+        // the next acquire takes a new snapshot
+        SharedSnapshotEncoder.EncodedSnapshot encoded = encoder.acquire(snapshotSupplier);
+        assertThat(toString(encoded.plain())).isEqualTo(EXPECTED);
+        encoded.release();
+    }
+
+    @Test
+    void testFailedSnapshotFailsFollowers() throws Exception {
+        final CountDownLatch snapshotStarted = new CountDownLatch(1);
+        final CountDownLatch snapshotAllowed = new CountDownLatch(1);
+        final Supplier<MetricRegistrySnapshot> failingSupplier = () -> {
+            snapshotStarted.countDown();
+            try {
+                snapshotAllowed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("test");
+        };
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> leader = executor.submit(() -> encoder.acquire(failingSupplier));
+            assertThat(snapshotStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final Thread[] followerThread = new Thread[1];
+            final CountDownLatch followerStarted = new CountDownLatch(1);
+            Future<?> follower = executor.submit(() -> {
+                followerThread[0] = Thread.currentThread();
+                followerStarted.countDown();
+                return encoder.acquire(failingSupplier);
+            });
+            assertThat(followerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            awaitWaiting(followerThread[0]);
+            snapshotAllowed.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(CompletionException.class)
+                    .hasRootCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    /**
+     * Wait until a thread blocks, which for the threads in these tests means it joined the in-flight encoding.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static String toString(OpenMetricsBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8);
+    }
+
+    private static String gunzip(OpenMetricsBuffer buffer) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.size()))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
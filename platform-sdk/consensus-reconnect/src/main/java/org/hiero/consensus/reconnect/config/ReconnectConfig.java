@@ -3,6 +3,8 @@ package org.hiero.consensus.reconnect.config;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.config.api.validation.annotation.Max;
+import com.swirlds.config.api.validation.annotation.Min;
 import java.time.Duration;
 
 /**
@@ -32,6 +34,15 @@ import java.time.Duration;
  *                                               then there is no limit.
  * @param teacherRateLimiterSleep                The amount of time that a teacher will sleep when throttling is
  *                                               engaged
+ * @param maxProtocolVersion                     The newest virtual map reconnect wire protocol version this node
+ *                                               speaks. The learner and the teacher use the older of their two
+ *                                               versions. Version 1 sends every message in its own frame; version 2
+ *                                               coalesces messages into framed batches, which may be compressed.
+ * @param maxBatchBytes                          With protocol version 2, the number of message bytes at which a batch
+ *                                               is sent without waiting for more messages. At most 8 MiB, the largest
+ *                                               message a peer reads.
+ * @param compressBatches                        With protocol version 2, whether to compress the batches this node
+ *                                               sends. A batch is only sent compressed if that makes it smaller.
  */
 @ConfigData("reconnect")
 public record ReconnectConfig(
@@ -44,4 +55,7 @@ public record ReconnectConfig(
         @ConfigProperty(defaultValue = "10") int maximumReconnectFailuresBeforeShutdown,
         @ConfigProperty(defaultValue = "10m") Duration minimumTimeBetweenReconnects,
         @ConfigProperty(defaultValue = "0") int teacherMaxNodesPerSecond,
-        @ConfigProperty(defaultValue = "1us") Duration teacherRateLimiterSleep) {}
+        @ConfigProperty(defaultValue = "1us") Duration teacherRateLimiterSleep,
+        @ConfigProperty(defaultValue = "2") int maxProtocolVersion,
+        @Min(1) @Max(8388608) @ConfigProperty(defaultValue = "65536") int maxBatchBytes,
+        @ConfigProperty(defaultValue = "true") boolean compressBatches) {}
@@ -75,6 +75,20 @@ public class ReconnectBench extends VirtualMapBaseBench {
     @Param({"0.15"})
     public double delayNetworkFuzzRangePercent;
 
+    /**
+     * The number of teachers the learner pulls the map from at once, each with its own connection and its own
+     * detached copy of the teacher map.
+     */
+    @Param({"1", "2", "4"})
+    public int teacherCount;
+
+    /**
+     * The reconnect wire protocol version the learner and teachers speak: 1 sends every message in its
+     * own frame, 2 sends framed, compressed batches. The bytes sent each way are logged for every run.
+     */
+    @Param({"1", "2"})
+    public int protocolVersion;
+
     private static final String TEACHER_MAP_NAME = "teacher";
     private VirtualMap teacherMap;
     private VirtualMap teacherMapCopy;
@@ -211,6 +225,8 @@ public class ReconnectBench extends VirtualMapBaseBench {
                 delayStorageFuzzRangePercent,
                 delayNetworkMicroseconds,
                 delayNetworkFuzzRangePercent,
+                teacherCount,
+                protocolVersion,
                 new NodeId(),
                 configuration);
     }
@@ -0,0 +1,152 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.benchmark;
+
+import static com.swirlds.benchmark.BenchmarkKeyUtils.longToKey;
+import static com.swirlds.benchmark.Utils.RUN_DELIMITER;
+import static org.awaitility.Awaitility.await;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.merkledb.MerkleDbDataSource;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.virtualmap.VirtualMap;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures round latency while a state snapshot is written. A round is {@code numRecords} updates
+ * followed by a map copy, as in {@link VirtualMapEditBench}. The map is filled with {@code numFiles}
+ * rounds, then a snapshot of the latest immutable copy is written in the background, and rounds
+ * keep running until it's done. The same number of rounds is then run without a snapshot, as a
+ * baseline. Average and max round latencies of both phases are logged.
+ * <p>
+ * Run with different {@code merkleDb.snapshotMaxWriteMbPerSecond} values in settings.txt to
+ * compare how limiting snapshot writes affects round latency and snapshot time.
+ */
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class VirtualMapSnapshotBench extends VirtualMapBaseBench {
+
+    /** The mutable map */
+    private VirtualMap virtualMap;
+
+    @Override
+    String benchmarkName() {
+        return "VirtualMapSnapshotBench";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onInvocationSetup() {
+        super.onInvocationSetup();
+
+        virtualMap = createMap(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onInvocationTearDown() throws Exception {
+        if (virtualMap != null) {
+            flushMap(virtualMap).release();
+            virtualMap = null;
+        }
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> MerkleDbDataSource.getCountOfOpenDatabases() == 0);
+
+        super.onInvocationTearDown();
+    }
+
+    /**
+     * Run a single round, returns its duration in nanoseconds.
+     */
+    private long round() {
+        final long start = System.nanoTime();
+        for (int j = 0; j < numRecords; ++j) {
+            final Bytes key = longToKey(Utils.randomLong(maxKey));
+            virtualMap.put(key, new BenchmarkValue(nextValue()), BenchmarkValueCodec.INSTANCE);
+        }
+        virtualMap = copyMap(virtualMap);
+        return System.nanoTime() - start;
+    }
+
+    private static String formatLatencies(final long rounds, final long totalNanos, final long maxNanos) {
+        return String.format(
+                "%d rounds, avg %.2f ms, max %.2f ms",
+                rounds, rounds == 0 ? 0.0 : totalNanos / 1e6 / rounds, maxNanos / 1e6);
+    }
+
+    /**
+     * Round latency during and after a snapshot. Single-threaded.
+     */
+    @Benchmark
+    public void roundsDuringSnapshot() throws Exception {
+        logger.info(RUN_DELIMITER);
+
+        // Fill the map
+        for (int i = 0; i < numFiles; i++) {
+            round();
+        }
+
+        // Write a snapshot of the latest immutable copy in the background
+        final VirtualMap snapshotCopy = virtualMap;
+        snapshotCopy.reserve();
+        virtualMap = copyMap(virtualMap);
+        final Path snapshotDir = Files.createDirectories(getBenchDir().resolve(SNAPSHOT));
+        final long snapshotStart = System.nanoTime();
+        final CompletableFuture<Long> snapshot = CompletableFuture.supplyAsync(() -> {
+            try {
+                snapshotCopy.getHash();
+                snapshotCopy.createSnapshot(snapshotDir);
+                return System.nanoTime() - snapshotStart;
+            } catch (final Exception ex) {
+                throw new IllegalStateException("Failed to take a snapshot", ex);
+            } finally {
+                snapshotCopy.release();
+            }
+        });
+
+        long rounds = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        while (!snapshot.isDone()) {
+            final long nanos = round();
+            rounds++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+        final long snapshotNanos = snapshot.get();
+        Utils.deleteRecursively(snapshotDir);
+
+        long baselineTotalNanos = 0;
+        long baselineMaxNanos = 0;
+        for (long i = 0; i < rounds; i++) {
+            final long nanos = round();
+            baselineTotalNanos += nanos;
+            baselineMaxNanos = Math.max(baselineMaxNanos, nanos);
+        }
+
+        logger.info(
+                "Snapshot took {} ms with snapshotMaxWriteMbPerSecond={}. During snapshot: {}. Without snapshot: {}",
+                TimeUnit.NANOSECONDS.toMillis(snapshotNanos),
+                getConfig(MerkleDbConfig.class).snapshotMaxWriteMbPerSecond(),
+                formatLatencies(rounds, totalNanos, maxNanos),
+                formatLatencies(rounds, baselineTotalNanos, baselineMaxNanos));
+    }
+}
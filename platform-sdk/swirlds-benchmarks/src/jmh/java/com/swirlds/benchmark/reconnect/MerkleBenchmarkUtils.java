@@ -15,6 +15,8 @@ import com.swirlds.virtualmap.sync.LearningSynchronizer;
 import com.swirlds.virtualmap.sync.MerkleSynchronizationException;
 import com.swirlds.virtualmap.sync.TeachingSynchronizer;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
@@ -40,6 +42,8 @@ public class MerkleBenchmarkUtils {
             final double delayStorageFuzzRangePercent,
             final long delayNetworkMicroseconds,
             final double delayNetworkFuzzRangePercent,
+            final int teacherCount,
+            final int protocolVersion,
             final NodeId selfId,
             final Configuration configuration)
             throws Exception {
@@ -62,12 +66,16 @@ public class MerkleBenchmarkUtils {
                 delayStorageFuzzRangePercent,
                 delayNetworkMicroseconds,
                 delayNetworkFuzzRangePercent,
+                teacherCount,
+                protocolVersion,
                 selfId,
                 configuration);
     }
 
     /**
-     * Synchronize two trees and verify that the end result is the expected result.
+     * Synchronize two trees and verify that the end result is the expected result. The learner pulls the desired
+     * tree from the given number of teachers at once, each with its own connection and its own detached copy of
+     * the tree. Both sides speak the given reconnect wire protocol version, and the bytes sent each way are logged.
      */
     private static VirtualMap testSynchronization(
             final VirtualMap startingTree,
@@ -77,23 +85,32 @@ public class MerkleBenchmarkUtils {
             final double delayStorageFuzzRangePercent,
             final long delayNetworkMicroseconds,
             final double delayNetworkFuzzRangePercent,
+            final int teacherCount,
+            final int protocolVersion,
             final NodeId selfId,
             final Configuration configuration)
             throws Exception {
         final SocketConfig socketConfig = configuration.getConfigData(SocketConfig.class);
         final GossipConfig gossipConfig = configuration.getConfigData(GossipConfig.class);
-        final ReconnectConfig reconnectConfig = configuration.getConfigData(ReconnectConfig.class);
+        final ReconnectConfig reconnectConfig =
+                withProtocolVersion(configuration.getConfigData(ReconnectConfig.class), protocolVersion);
 
         final Metrics metrics = BenchmarkMetrics.getMetrics();
 
-        try (PairedStreams streams = new PairedStreams(selfId, socketConfig, gossipConfig)) {
+        final List<PairedStreams> allStreams = new ArrayList<>(teacherCount);
+        try {
+            for (int i = 0; i < teacherCount; i++) {
+                allStreams.add(new PairedStreams(selfId, socketConfig, gossipConfig));
+            }
             final LearningSynchronizer learner;
-            final TeachingSynchronizer teacher;
+            final List<TeachingSynchronizer> teachers = new ArrayList<>(teacherCount);
 
             if (delayStorageMicroseconds == 0 && delayNetworkMicroseconds == 0) {
                 learner = new LearningSynchronizer(getStaticThreadManager(), reconnectConfig, metrics);
-                teacher = new TeachingSynchronizer(
-                        desiredTree, Time.getCurrent(), getStaticThreadManager(), reconnectConfig);
+                for (int i = 0; i < teacherCount; i++) {
+                    teachers.add(new TeachingSynchronizer(
+                            desiredTree, Time.getCurrent(), getStaticThreadManager(), reconnectConfig));
+                }
             } else {
                 learner = new BenchmarkSlowLearningSynchronizer(
                         reconnectConfig,
@@ -103,14 +120,17 @@ public class MerkleBenchmarkUtils {
                         delayStorageFuzzRangePercent,
                         delayNetworkMicroseconds,
                         delayNetworkFuzzRangePercent);
-                teacher = new BenchmarkSlowTeachingSynchronizer(
-                        desiredTree,
-                        reconnectConfig,
-                        randomSeed,
-                        delayStorageMicroseconds,
-                        delayStorageFuzzRangePercent,
-                        delayNetworkMicroseconds,
-                        delayNetworkFuzzRangePercent);
+                for (int i = 0; i < teacherCount; i++) {
+                    // Different seeds, so the teachers do not all lag at the same moments
+                    teachers.add(new BenchmarkSlowTeachingSynchronizer(
+                            desiredTree,
+                            reconnectConfig,
+                            randomSeed + i,
+                            delayStorageMicroseconds,
+                            delayStorageFuzzRangePercent,
+                            delayNetworkMicroseconds,
+                            delayNetworkFuzzRangePercent));
+                }
             }
 
             final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
@@ -122,10 +142,15 @@ public class MerkleBenchmarkUtils {
             AtomicReference<VirtualMap> syncMapContainer = new AtomicReference<>();
             final StandardWorkGroup workGroup =
                     new StandardWorkGroup(getStaticThreadManager(), "synchronization-test", null, exceptionListener);
-            workGroup.execute("teaching-synchronizer-main", () -> teachingSynchronizerThread(streams, teacher));
+            for (int i = 0; i < teacherCount; i++) {
+                final PairedStreams streams = allStreams.get(i);
+                final TeachingSynchronizer teacher = teachers.get(i);
+                workGroup.execute(
+                        "teaching-synchronizer-main-" + i, () -> teachingSynchronizerThread(streams, teacher));
+            }
             workGroup.execute(
                     "learning-synchronizer-main",
-                    () -> learningSynchronizerThread(streams, startingTree, learner, syncMapContainer));
+                    () -> learningSynchronizerThread(allStreams, startingTree, learner, syncMapContainer));
 
             try {
                 workGroup.waitForTermination();
@@ -139,10 +164,47 @@ public class MerkleBenchmarkUtils {
                         "Exception(s) in synchronization test", firstReconnectException.get());
             }
 
+            long teacherBytes = 0;
+            long learnerBytes = 0;
+            for (final PairedStreams streams : allStreams) {
+                teacherBytes += streams.getTeacherBytesWritten();
+                learnerBytes += streams.getLearnerBytesWritten();
+            }
+            logger.info(
+                    "Reconnect bytes on wire: protocolVersion={}, teachers={}, toLearner={}, toTeacher={}",
+                    protocolVersion,
+                    teacherCount,
+                    teacherBytes,
+                    learnerBytes);
+
             return syncMapContainer.get();
+        } finally {
+            for (final PairedStreams streams : allStreams) {
+                streams.close();
+            }
         }
     }
 
+    /**
+     * Returns a copy of the given reconnect config that speaks at most the given wire protocol version.
+     */
+    private static ReconnectConfig withProtocolVersion(final ReconnectConfig config, final int protocolVersion) {
+        return new ReconnectConfig(
+                config.active(),
+                config.reconnectWindowSeconds(),
+                config.asyncStreamTimeout(),
+                config.asyncOutputStreamFlush(),
+                config.asyncStreamBufferSize(),
+                config.maxAckDelay(),
+                config.maximumReconnectFailuresBeforeShutdown(),
+                config.minimumTimeBetweenReconnects(),
+                config.teacherMaxNodesPerSecond(),
+                config.teacherRateLimiterSleep(),
+                protocolVersion,
+                config.maxBatchBytes(),
+                config.compressBatches());
+    }
+
     private static void teachingSynchronizerThread(final PairedStreams streams, final TeachingSynchronizer teacher) {
         try {
             teacher.synchronize(streams.getTeacherInput(), streams.getTeacherOutput(), () -> {
@@ -159,18 +221,23 @@ public class MerkleBenchmarkUtils {
     }
 
     private static void learningSynchronizerThread(
-            final PairedStreams streams,
+            final List<PairedStreams> allStreams,
             final VirtualMap startingTree,
             final LearningSynchronizer learner,
             final AtomicReference<VirtualMap> syncMapContainer) {
         try {
-            syncMapContainer.set(
-                    learner.synchronize(startingTree, streams.getLearnerInput(), streams.getLearnerOutput(), () -> {
-                        try {
-                            streams.disconnect();
-                        } catch (final IOException e) {
-                            // test code, no danger
-                            logger.error("Error while shutting down sockets", e);
+            syncMapContainer.set(learner.synchronize(
+                    startingTree,
+                    allStreams.stream().map(PairedStreams::getLearnerInput).toList(),
+                    allStreams.stream().map(PairedStreams::getLearnerOutput).toList(),
+                    () -> {
+                        for (final PairedStreams streams : allStreams) {
+                            try {
+                                streams.disconnect();
+                            } catch (final IOException e) {
+                                // test code, no danger
+                                logger.error("Error while shutting down sockets", e);
+                            }
                         }
                     }));
         } catch (final InterruptedException e) {
@@ -82,6 +82,20 @@ public class PairedStreams implements AutoCloseable {
         return learnerInput;
     }
 
+    /**
+     * @return the number of bytes the teacher has written to the learner, saturating at {@link Integer#MAX_VALUE}
+     */
+    public long getTeacherBytesWritten() {
+        return teacherOutput.size();
+    }
+
+    /**
+     * @return the number of bytes the learner has written to the teacher, saturating at {@link Integer#MAX_VALUE}
+     */
+    public long getLearnerBytesWritten() {
+        return learnerOutput.size();
+    }
+
     @Override
     public void close() throws IOException {
         final List<Closeable> toClose = List.of(
@@ -2,6 +2,7 @@
 plugins {
     id("org.hiero.gradle.module.library")
     id("org.hiero.gradle.feature.publish-artifactregistry")
+    id("org.hiero.gradle.feature.benchmark")
 }
 
 description = "Component Framework"
@@ -24,3 +25,5 @@ testModuleInfo {
     requires("org.junit.jupiter.params")
     requires("org.mockito")
 }
+
+jmhModuleInfo { requires("jmh.core") }
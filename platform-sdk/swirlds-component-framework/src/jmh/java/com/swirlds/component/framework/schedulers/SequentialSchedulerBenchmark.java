@@ -0,0 +1,118 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers;
+
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerBuilder.UNLIMITED_CAPACITY;
+
+import com.swirlds.base.time.Time;
+import com.swirlds.component.framework.model.WiringModel;
+import com.swirlds.component.framework.model.WiringModelBuilder;
+import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import com.swirlds.component.framework.wires.input.BindableInputWire;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.hiero.consensus.metrics.noop.NoOpMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A JMH benchmark that measures the per task overhead of sequential task schedulers. Small tasks are put into a
+ * scheduler from a single thread, and the benchmark waits until all of them have been handled. Comparing
+ * {@link TaskSchedulerType#SEQUENTIAL} with {@link TaskSchedulerType#SEQUENTIAL_BATCHED} shows the cost of scheduling
+ * one pool task and updating counters and timers per task, rather than per batch.
+ */
+@State(Scope.Thread)
+@Fork(value = 1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class SequentialSchedulerBenchmark {
+    /** The number of tasks put into the scheduler per benchmark invocation. */
+    private static final int NUMBER_OF_TASKS = 100_000;
+
+    @Param({"SEQUENTIAL", "SEQUENTIAL_BATCHED"})
+    public TaskSchedulerType schedulerType;
+
+    /** If true, the handler is bound with {@link BindableInputWire#bindBatchConsumer}. */
+    @Param({"false", "true"})
+    public boolean batchConsumer;
+
+    /** Only used by {@link TaskSchedulerType#SEQUENTIAL_BATCHED} schedulers. */
+    @Param({"256"})
+    public int maxBatchSize;
+
+    /** The busy fraction timer is one of the costs that batching amortizes. */
+    @Param({"true"})
+    public boolean busyFractionMetricEnabled;
+
+    /** The number of threads in the {@link ForkJoinPool} used by the wiring model. */
+    @Param({"4"})
+    public int numberOfThreads;
+
+    private ForkJoinPool threadPool;
+    private WiringModel model;
+    private TaskScheduler<Void> scheduler;
+    private BindableInputWire<Long, Void> inputWire;
+    private long sum;
+
+    @Setup(Level.Trial)
+    public void beforeBenchmark() {
+        threadPool = new ForkJoinPool(numberOfThreads);
+        model = WiringModelBuilder.create(new NoOpMetrics(), Time.getCurrent())
+                .withDefaultPool(threadPool)
+                .build();
+        scheduler = model.<Void>schedulerBuilder("benchmark")
+                .withType(schedulerType)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .withFlushingEnabled(true)
+                .withBusyFractionMetricsEnabled(busyFractionMetricEnabled)
+                .withMaxBatchSize(maxBatchSize)
+                .build();
+        inputWire = scheduler.buildInputWire("input");
+        if (batchConsumer) {
+            inputWire.bindBatchConsumer(this::handleBatch);
+        } else {
+            inputWire.bindConsumer(this::handle);
+        }
+        model.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void afterBenchmark() {
+        model.stop();
+        threadPool.shutdown();
+    }
+
+    private void handle(final long value) {
+        sum += value;
+    }
+
+    private void handleBatch(final List<Long> values) {
+        for (final Long value : values) {
+            sum += value;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(NUMBER_OF_TASKS)
+    public long putAndFlush() {
+        for (long i = 0; i < NUMBER_OF_TASKS; i++) {
+            inputWire.put(i);
+        }
+        scheduler.flush();
+        return sum;
+    }
+}
@@ -6,7 +6,6 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Duration;
 import java.util.Objects;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ManagedBlocker;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
@@ -85,7 +84,7 @@ public class BackpressureObjectCounter extends ObjectCounter {
                 // CPUs, blocking (e.g. Thread.sleep()) on a fork join pool may monopolize an entire CPU core.
                 // The managedBlock() pattern allows us to block while yielding the physical CPU core to other
                 // tasks.
-                ForkJoinPool.managedBlock(new ManagedBlocker() {
+                ManagedBlocking.managedBlock(new ManagedBlocker() {
 
                     @Override
                     public boolean block() throws InterruptedException {
@@ -174,7 +173,7 @@ public class BackpressureObjectCounter extends ObjectCounter {
         }
 
         try {
-            ForkJoinPool.managedBlock(waitUntilEmptyBlocker);
+            ManagedBlocking.managedBlock(waitUntilEmptyBlocker);
         } catch (final InterruptedException e) {
             // This should be impossible.
             Thread.currentThread().interrupt();
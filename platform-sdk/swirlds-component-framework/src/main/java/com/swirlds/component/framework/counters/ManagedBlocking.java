@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.counters;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+
+/**
+ * Blocks with {@link ForkJoinPool#managedBlock(ManagedBlocker)}, and lets whoever runs the current thread know that it
+ * is about to block.
+ * <p>
+ * The fork join pool compensates for a blocked thread by starting a spare thread, but only tasks submitted to the pool
+ * can run on it. Code that hands out work to pool threads by itself, such as a dispatcher that runs a limited number of
+ * workers, needs to know when one of its workers blocks, so that it can run another worker in its place.
+ */
+public final class ManagedBlocking {
+
+    /**
+     * Notified when the current thread blocks and unblocks.
+     */
+    public interface BlockingListener {
+
+        /**
+         * Called on the current thread right before it blocks.
+         */
+        void beforeBlocking();
+
+        /**
+         * Called on the current thread right after it stops blocking.
+         */
+        void afterBlocking();
+    }
+
+    private static final ThreadLocal<BlockingListener> LISTENER = new ThreadLocal<>();
+
+    private ManagedBlocking() {}
+
+    /**
+     * Set the listener notified when the current thread blocks.
+     *
+     * @param listener the listener, or null to remove the current listener
+     * @return the previous listener, or null if there was none
+     */
+    @Nullable
+    public static BlockingListener setListener(@Nullable final BlockingListener listener) {
+        final BlockingListener previous = LISTENER.get();
+        if (listener == null) {
+            LISTENER.remove();
+        } else {
+            LISTENER.set(listener);
+        }
+        return previous;
+    }
+
+    /**
+     * Block until the blocker is releasable, notifying the listener of the current thread, if any, if the thread
+     * actually has to block.
+     *
+     * @param blocker the blocker
+     * @throws InterruptedException if the blocker was interrupted
+     * @see ForkJoinPool#managedBlock(ManagedBlocker)
+     */
+    public static void managedBlock(@NonNull final ManagedBlocker blocker) throws InterruptedException {
+        Objects.requireNonNull(blocker);
+        final BlockingListener listener = LISTENER.get();
+        if (listener == null) {
+            ForkJoinPool.managedBlock(blocker);
+            return;
+        }
+        if (blocker.isReleasable()) {
+            return;
+        }
+        listener.beforeBlocking();
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } finally {
+            listener.afterBlocking();
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.swirlds.component.framework.counters;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Duration;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ManagedBlocker;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -76,7 +75,7 @@ public class StandardObjectCounter extends ObjectCounter {
         }
 
         try {
-            ForkJoinPool.managedBlock(waitUntilEmptyBlocker);
+            ManagedBlocking.managedBlock(waitUntilEmptyBlocker);
         } catch (final InterruptedException e) {
             // This should be impossible.
             Thread.currentThread().interrupt();
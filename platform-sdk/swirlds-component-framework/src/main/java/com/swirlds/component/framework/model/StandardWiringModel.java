@@ -15,6 +15,7 @@ import com.swirlds.component.framework.schedulers.ExceptionHandlers;
 import com.swirlds.component.framework.schedulers.TaskScheduler;
 import com.swirlds.component.framework.schedulers.builders.TaskSchedulerBuilder;
 import com.swirlds.component.framework.schedulers.builders.internal.StandardTaskSchedulerBuilder;
+import com.swirlds.component.framework.schedulers.internal.FairShareDispatcher;
 import com.swirlds.component.framework.schedulers.internal.SequentialThreadTaskScheduler;
 import com.swirlds.component.framework.wires.input.BindableInputWire;
 import com.swirlds.component.framework.wires.output.OutputWire;
@@ -25,7 +26,9 @@ import java.lang.Thread.UncaughtExceptionHandler;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ForkJoinPool;
@@ -68,6 +71,11 @@ public class StandardWiringModel extends TraceableWiringModel {
      */
     private final ForkJoinPool defaultPool;
 
+    /**
+     * Shares pool threads among weighted schedulers, one dispatcher per pool.
+     */
+    private final Map<ForkJoinPool, FairShareDispatcher> fairShareDispatchers = new HashMap<>();
+
     /**
      * Used to prevent the JVM from prematurely exiting.
      */
@@ -187,6 +195,19 @@ public class StandardWiringModel extends TraceableWiringModel {
         }
     }
 
+    /**
+     * Get the dispatcher that shares the threads of a pool among the weighted schedulers in this model, creating it if
+     * necessary. Intended for use by the framework only.
+     *
+     * @param pool the pool
+     * @return the dispatcher for the pool
+     */
+    @NonNull
+    public FairShareDispatcher getFairShareDispatcher(@NonNull final ForkJoinPool pool) {
+        throwIfStarted();
+        return fairShareDispatchers.computeIfAbsent(pool, p -> new FairShareDispatcher(p, time));
+    }
+
     /**
      * Get the uncaught exception handler for the heartbeat scheduler if it has been set, otherwise return a default
      *
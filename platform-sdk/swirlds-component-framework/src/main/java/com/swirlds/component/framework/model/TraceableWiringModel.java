@@ -18,6 +18,7 @@ import com.swirlds.component.framework.model.internal.analysis.StandardVertex;
 import com.swirlds.component.framework.model.internal.analysis.WiringFlowchart;
 import com.swirlds.component.framework.schedulers.TaskScheduler;
 import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import com.swirlds.component.framework.schedulers.internal.WeightedTaskScheduler;
 import com.swirlds.component.framework.wires.SolderType;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -168,6 +169,10 @@ public abstract class TraceableWiringModel implements WiringModel {
         Objects.requireNonNull(scheduler);
         schedulers.add(scheduler);
         registerVertex(scheduler.getName(), scheduler.getType(), hyperlink, scheduler.isInsertionBlocking());
+        if (scheduler instanceof final WeightedTaskScheduler<?> weightedScheduler
+                && vertices.get(scheduler.getName()) instanceof final StandardVertex vertex) {
+            vertex.setWeight(weightedScheduler.getWeight(), weightedScheduler.getMaxCpuShare());
+        }
     }
 
     /**
@@ -54,6 +54,16 @@ public class StandardVertex implements ModelVertex {
      */
     private final String hyperlink;
 
+    /**
+     * The weight of this vertex relative to other weighted vertices, or 0 if the vertex is not weighted.
+     */
+    private int weight;
+
+    /**
+     * The maximum fraction of the pool's CPU time this vertex may use, only meaningful if the vertex is weighted.
+     */
+    private double maxCpuShare = 1.0;
+
     /**
      * Constructor.
      *
@@ -103,6 +113,35 @@ public class StandardVertex implements ModelVertex {
         return hyperlink;
     }
 
+    /**
+     * Set the scheduling weight of this vertex, shown in the wiring diagram.
+     *
+     * @param weight      the weight of this vertex relative to other weighted vertices
+     * @param maxCpuShare the maximum fraction of the pool's CPU time this vertex may use
+     */
+    public void setWeight(final int weight, final double maxCpuShare) {
+        this.weight = weight;
+        this.maxCpuShare = maxCpuShare;
+    }
+
+    /**
+     * Get the scheduling weight of this vertex.
+     *
+     * @return the weight, or 0 if the vertex is not weighted
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get the maximum fraction of the pool's CPU time this vertex may use.
+     *
+     * @return the maximum CPU share, 1.0 if not limited
+     */
+    public double getMaxCpuShare() {
+        return maxCpuShare;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -217,6 +256,13 @@ public class StandardVertex implements ModelVertex {
             sb.append("</a>");
         }
 
+        if (weight > 0) {
+            sb.append("<br />weight ").append(weight);
+            if (maxCpuShare < 1.0) {
+                sb.append(", max ").append(Math.round(maxCpuShare * 100)).append("% CPU");
+            }
+        }
+
         if (!substitutedInputs.isEmpty()) {
             sb.append("<br />");
             substitutedInputs.stream().sorted().forEachOrdered(sb::append);
@@ -7,7 +7,9 @@ import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerT
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.DIRECT;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.DIRECT_THREADSAFE;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.SEQUENTIAL;
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.SEQUENTIAL_BATCHED;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.SEQUENTIAL_THREAD;
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.SEQUENTIAL_WEIGHTED;
 
 import com.swirlds.component.framework.model.diagram.ModelEdgeSubstitution;
 import com.swirlds.component.framework.model.diagram.ModelGroup;
@@ -294,7 +296,10 @@ public class WiringFlowchart {
                 return CONCURRENT;
             }
 
-            if (vertex.getType() == SEQUENTIAL || vertex.getType() == SEQUENTIAL_THREAD) {
+            if (vertex.getType() == SEQUENTIAL
+                    || vertex.getType() == SEQUENTIAL_THREAD
+                    || vertex.getType() == SEQUENTIAL_WEIGHTED
+                    || vertex.getType() == SEQUENTIAL_BATCHED) {
                 if (hasSequential) {
                     // We've detected more than one sequential scheduler type, so there is more than one logical
                     // thread of execution within this group.
@@ -60,7 +60,7 @@ public class DeterministicTaskSchedulerBuilder<OUT> extends AbstractTaskSchedule
 
         final TaskScheduler<OUT> scheduler =
                 switch (type) {
-                    case CONCURRENT, SEQUENTIAL, SEQUENTIAL_THREAD ->
+                    case CONCURRENT, SEQUENTIAL, SEQUENTIAL_THREAD, SEQUENTIAL_WEIGHTED, SEQUENTIAL_BATCHED ->
                         new DeterministicTaskScheduler<>(
                                 model,
                                 name,
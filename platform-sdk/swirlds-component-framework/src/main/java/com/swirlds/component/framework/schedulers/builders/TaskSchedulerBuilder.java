@@ -20,6 +20,11 @@ public interface TaskSchedulerBuilder<OUT> {
 
     long UNLIMITED_CAPACITY = -1;
 
+    /**
+     * The default maximum number of tasks per batch of a {@link TaskSchedulerType#SEQUENTIAL_BATCHED} scheduler.
+     */
+    int DEFAULT_MAX_BATCH_SIZE = 256;
+
     /**
      * Configure this task scheduler with values from settings.
      *
@@ -143,6 +148,64 @@ public interface TaskSchedulerBuilder<OUT> {
     @NonNull
     TaskSchedulerBuilder<OUT> withBusyFractionMetricsEnabled(boolean enabled);
 
+    /**
+     * Set whether the queueing delay metrics should be enabled. Default false. These metrics show percentiles of the
+     * time tasks spend waiting in the queue before they are executed.
+     * <p>
+     * Note: these metrics are currently only supported for {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} schedulers.
+     *
+     * @param enabled true if the queueing delay metrics should be enabled, false otherwise
+     * @return this
+     */
+    @NonNull
+    TaskSchedulerBuilder<OUT> withQueueingDelayMetricEnabled(boolean enabled);
+
+    /**
+     * Set the weight of this task scheduler. Default 1. When the threads of the pool are contended, each
+     * {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} scheduler gets CPU time in proportion to its weight. Ignored by
+     * other scheduler types.
+     *
+     * @param weight the weight, must be positive
+     * @return this
+     */
+    @NonNull
+    TaskSchedulerBuilder<OUT> withWeight(int weight);
+
+    /**
+     * Set the maximum share of the pool's CPU time this task scheduler may use. Default 1.0, which means no limit. A
+     * {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} scheduler that has used up its share is not run again until its
+     * budget is replenished, even if threads are idle. Ignored by other scheduler types.
+     *
+     * @param maxCpuShare the maximum fraction of the pool's CPU time, must be greater than 0 and at most 1
+     * @return this
+     */
+    @NonNull
+    TaskSchedulerBuilder<OUT> withMaxCpuShare(double maxCpuShare);
+
+    /**
+     * Set the maximum number of tasks a {@link TaskSchedulerType#SEQUENTIAL_BATCHED} scheduler handles per batch.
+     * Default {@link #DEFAULT_MAX_BATCH_SIZE}. Larger batches amortize more overhead, but a batch is also the unit of
+     * work that holds a pool thread, so very large batches may delay other schedulers. Ignored by other scheduler
+     * types.
+     *
+     * @param maxBatchSize the maximum number of tasks per batch, must be positive
+     * @return this
+     */
+    @NonNull
+    TaskSchedulerBuilder<OUT> withMaxBatchSize(int maxBatchSize);
+
+    /**
+     * Set the longest time a {@link TaskSchedulerType#SEQUENTIAL_BATCHED} scheduler may wait for a batch to fill up
+     * before handling it. Default zero, which means a batch is handled as soon as a thread is available, and only tasks
+     * that arrived while the previous batch was running are batched together. The wait ends early if
+     * {@link #withMaxBatchSize(int)} tasks are queued. Ignored by other scheduler types.
+     *
+     * @param maxBatchDelay the maximum batch delay, must not be negative
+     * @return this
+     */
+    @NonNull
+    TaskSchedulerBuilder<OUT> withMaxBatchDelay(@NonNull Duration maxBatchDelay);
+
     /**
      * Provide a custom thread pool for this task scheduler. If none is provided then the common fork join pool will be
      * used.
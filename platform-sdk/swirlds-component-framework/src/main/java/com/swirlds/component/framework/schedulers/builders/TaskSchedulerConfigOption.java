@@ -19,6 +19,11 @@ public enum TaskSchedulerConfigOption {
      * Only supported for {@link TaskSchedulerType#CONCURRENT} schedulers.
      */
     INFLIGHT_TASK_METRIC,
+    /**
+     * If present, metrics will be created to show percentiles of the time tasks wait in the queue before they are
+     * executed. Only supported for {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} schedulers.
+     */
+    QUEUEING_DELAY_METRIC,
     /**
      * If present, the scheduler will be capable of being flushed.
      */
@@ -33,4 +38,33 @@ public enum TaskSchedulerConfigOption {
      * use a string in the form "CAPACITY(1234)" where 1234 is the desired capacity.
      */
     public static final String CAPACITY = "CAPACITY";
+
+    /**
+     * This is not defined as an enum constant because it is used in a special way. To specify the weight of a
+     * {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} scheduler, use a string in the form "WEIGHT(4)" where 4 is the
+     * desired weight.
+     */
+    public static final String WEIGHT = "WEIGHT";
+
+    /**
+     * This is not defined as an enum constant because it is used in a special way. To specify the maximum CPU share of
+     * a {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} scheduler, use a string in the form "MAX_CPU_SHARE(0.25)" where
+     * 0.25 is the desired fraction of the pool's CPU time.
+     */
+    public static final String MAX_CPU_SHARE = "MAX_CPU_SHARE";
+
+    /**
+     * This is not defined as an enum constant because it is used in a special way. To specify the maximum batch size of
+     * a {@link TaskSchedulerType#SEQUENTIAL_BATCHED} scheduler, use a string in the form "MAX_BATCH_SIZE(256)" where
+     * 256 is the desired maximum number of tasks per batch.
+     */
+    public static final String MAX_BATCH_SIZE = "MAX_BATCH_SIZE";
+
+    /**
+     * This is not defined as an enum constant because it is used in a special way. To specify the maximum batch delay
+     * of a {@link TaskSchedulerType#SEQUENTIAL_BATCHED} scheduler, use a string in the form
+     * "MAX_BATCH_DELAY_MICROS(500)" where 500 is the longest time, in microseconds, the scheduler may wait for a batch
+     * to fill up.
+     */
+    public static final String MAX_BATCH_DELAY_MICROS = "MAX_BATCH_DELAY_MICROS";
 }
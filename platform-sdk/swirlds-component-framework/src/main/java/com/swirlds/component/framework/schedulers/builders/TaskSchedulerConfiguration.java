@@ -4,11 +4,15 @@ package com.swirlds.component.framework.schedulers.builders;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfigOption.BUSY_FRACTION_METRIC;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfigOption.FLUSHABLE;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfigOption.INFLIGHT_TASK_METRIC;
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfigOption.QUEUEING_DELAY_METRIC;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfigOption.SQUELCHABLE;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfigOption.UNHANDLED_TASK_METRIC;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 
 /**
  * Configures a task scheduler.
@@ -23,6 +27,18 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  * @param busyFractionMetricEnabled  whether the busy fraction metric should be enabled, if null then false is used
  * @param flushingEnabled            whether flushing is enabled, if null then false is used
  * @param squelchingEnabled          whether squelching is enabled, if null then false is used
+ * @param queueingDelayMetricEnabled whether the queueing delay metrics should be enabled, if null then false is used.
+ *                                   Only supported for {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} schedulers.
+ * @param weight                     the weight of the scheduler, if null then 1 is used. Only used by
+ *                                   {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} schedulers.
+ * @param maxCpuShare                the maximum fraction of the pool's CPU time the scheduler may use, if null then 1.0
+ *                                   (no limit) is used. Only used by {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED}
+ *                                   schedulers.
+ * @param maxBatchSize               the maximum number of tasks per batch, if null then
+ *                                   {@link TaskSchedulerBuilder#DEFAULT_MAX_BATCH_SIZE} is used. Only used by
+ *                                   {@link TaskSchedulerType#SEQUENTIAL_BATCHED} schedulers.
+ * @param maxBatchDelay              the longest time to wait for a batch to fill up, if null then zero (no waiting) is
+ *                                   used. Only used by {@link TaskSchedulerType#SEQUENTIAL_BATCHED} schedulers.
  */
 public record TaskSchedulerConfiguration(
         @Nullable TaskSchedulerType type,
@@ -31,7 +47,12 @@ public record TaskSchedulerConfiguration(
         @Nullable Boolean inflightTaskMetricEnabled,
         @Nullable Boolean busyFractionMetricEnabled,
         @Nullable Boolean flushingEnabled,
-        @Nullable Boolean squelchingEnabled) {
+        @Nullable Boolean squelchingEnabled,
+        @Nullable Boolean queueingDelayMetricEnabled,
+        @Nullable Integer weight,
+        @Nullable Double maxCpuShare,
+        @Nullable Integer maxBatchSize,
+        @Nullable Duration maxBatchDelay) {
 
     /**
      * This configuration is for a no-op task scheduler. It is not necessary to use this constant for a no-op task
@@ -54,6 +75,45 @@ public record TaskSchedulerConfiguration(
     public static final TaskSchedulerConfiguration DIRECT_THREADSAFE_CONFIGURATION =
             new TaskSchedulerConfiguration(TaskSchedulerType.DIRECT_THREADSAFE, 0L, false, false, false, false, false);
 
+    /**
+     * Constructor for configurations that don't use any of the options specific to
+     * {@link TaskSchedulerType#SEQUENTIAL_WEIGHTED} or {@link TaskSchedulerType#SEQUENTIAL_BATCHED} schedulers.
+     *
+     * @param type                       the type of task scheduler, if null then {@link TaskSchedulerType#SEQUENTIAL}
+     *                                   is used
+     * @param unhandledTaskCapacity      the maximum number of unhandled tasks, or 0 if unbounded, if null then 0 is
+     *                                   used
+     * @param unhandledTaskMetricEnabled whether the unhandled task count metric should be enabled, if null than false
+     *                                   is used
+     * @param inflightTaskMetricEnabled  whether the in-flight task count metric should be enabled, if null then false
+     *                                   is used. Only supported for {@link TaskSchedulerType#CONCURRENT} schedulers.
+     * @param busyFractionMetricEnabled  whether the busy fraction metric should be enabled, if null then false is used
+     * @param flushingEnabled            whether flushing is enabled, if null then false is used
+     * @param squelchingEnabled          whether squelching is enabled, if null then false is used
+     */
+    public TaskSchedulerConfiguration(
+            @Nullable final TaskSchedulerType type,
+            @Nullable final Long unhandledTaskCapacity,
+            @Nullable final Boolean unhandledTaskMetricEnabled,
+            @Nullable final Boolean inflightTaskMetricEnabled,
+            @Nullable final Boolean busyFractionMetricEnabled,
+            @Nullable final Boolean flushingEnabled,
+            @Nullable final Boolean squelchingEnabled) {
+        this(
+                type,
+                unhandledTaskCapacity,
+                unhandledTaskMetricEnabled,
+                inflightTaskMetricEnabled,
+                busyFractionMetricEnabled,
+                flushingEnabled,
+                squelchingEnabled,
+                null,
+                null,
+                null,
+                null,
+                null);
+    }
+
     /**
      * Parse a string representation of a task scheduler configuration.
      * <p>
@@ -67,6 +127,21 @@ public record TaskSchedulerConfiguration(
      *         Zero or one string of the form "CAPACITY(1234)", specifies the maximum number of unhandled tasks.
      *     </li>
      *     <li>
+     *         Zero or one string of the form "WEIGHT(4)", specifies the weight of a weighted scheduler.
+     *     </li>
+     *     <li>
+     *         Zero or one string of the form "MAX_CPU_SHARE(0.25)", specifies the maximum fraction of the pool's CPU
+     *         time a weighted scheduler may use.
+     *     </li>
+     *     <li>
+     *         Zero or one string of the form "MAX_BATCH_SIZE(256)", specifies the maximum number of tasks per batch of
+     *         a batched scheduler.
+     *     </li>
+     *     <li>
+     *         Zero or one string of the form "MAX_BATCH_DELAY_MICROS(500)", specifies the longest time in microseconds
+     *         a batched scheduler may wait for a batch to fill up.
+     *     </li>
+     *     <li>
      *         Zero or more values from the {@link TaskSchedulerConfigOption} enum, specifies the configuration options.
      *         Sets a boolean configuration option to true if the value is present, and false if the value is prefixed
      *         with a "!". If not present then the default is used.
@@ -74,6 +149,10 @@ public record TaskSchedulerConfiguration(
      * </ul>
      * Example: "SEQUENTIAL CAPACITY(500) !FLUSHABLE UNHANDLED_TASK_METRIC"
      * <p>
+     * Example: "SEQUENTIAL_WEIGHTED CAPACITY(500) WEIGHT(4) MAX_CPU_SHARE(0.5) QUEUEING_DELAY_METRIC"
+     * <p>
+     * Example: "SEQUENTIAL_BATCHED CAPACITY(5000) MAX_BATCH_SIZE(256) MAX_BATCH_DELAY_MICROS(200)"
+     * <p>
      * Note that default values are not specified within this class. Default values are the responsibility of the
      * {@link TaskSchedulerBuilder} class.
      *
@@ -89,6 +168,11 @@ public record TaskSchedulerConfiguration(
         Boolean busyFractionMetricEnabled = null;
         Boolean flushingEnabled = null;
         Boolean squelchingEnabled = null;
+        Boolean queueingDelayMetricEnabled = null;
+        Integer weight = null;
+        Double maxCpuShare = null;
+        Integer maxBatchSize = null;
+        Duration maxBatchDelay = null;
 
         final String[] parts = string.split(" ");
         for (final String part : parts) {
@@ -115,6 +199,42 @@ public record TaskSchedulerConfiguration(
                 continue;
             }
 
+            final Integer parsedWeight = tryToParseWeight(strippedPart);
+            if (parsedWeight != null) {
+                if (weight != null) {
+                    throw new IllegalArgumentException("Multiple weights specified: " + string);
+                }
+                weight = parsedWeight;
+                continue;
+            }
+
+            final Double parsedMaxCpuShare = tryToParseMaxCpuShare(strippedPart);
+            if (parsedMaxCpuShare != null) {
+                if (maxCpuShare != null) {
+                    throw new IllegalArgumentException("Multiple max CPU shares specified: " + string);
+                }
+                maxCpuShare = parsedMaxCpuShare;
+                continue;
+            }
+
+            final Integer parsedMaxBatchSize = tryToParseMaxBatchSize(strippedPart);
+            if (parsedMaxBatchSize != null) {
+                if (maxBatchSize != null) {
+                    throw new IllegalArgumentException("Multiple max batch sizes specified: " + string);
+                }
+                maxBatchSize = parsedMaxBatchSize;
+                continue;
+            }
+
+            final Duration parsedMaxBatchDelay = tryToParseMaxBatchDelay(strippedPart);
+            if (parsedMaxBatchDelay != null) {
+                if (maxBatchDelay != null) {
+                    throw new IllegalArgumentException("Multiple max batch delays specified: " + string);
+                }
+                maxBatchDelay = parsedMaxBatchDelay;
+                continue;
+            }
+
             final Boolean parsedUnhandledTaskMetric = tryToParseOption(UNHANDLED_TASK_METRIC, strippedPart);
             if (parsedUnhandledTaskMetric != null) {
                 if (unhandledTaskMetricEnabled != null) {
@@ -145,6 +265,16 @@ public record TaskSchedulerConfiguration(
                 continue;
             }
 
+            final Boolean parsedQueueingDelayMetric = tryToParseOption(QUEUEING_DELAY_METRIC, strippedPart);
+            if (parsedQueueingDelayMetric != null) {
+                if (queueingDelayMetricEnabled != null) {
+                    throw new IllegalArgumentException(
+                            "Multiple queueing delay metric configurations specified: " + string);
+                }
+                queueingDelayMetricEnabled = parsedQueueingDelayMetric;
+                continue;
+            }
+
             final Boolean parsedFlushing = tryToParseOption(FLUSHABLE, strippedPart);
             if (parsedFlushing != null) {
                 if (flushingEnabled != null) {
@@ -173,7 +303,12 @@ public record TaskSchedulerConfiguration(
                 inflightTaskMetricEnabled,
                 busyFractionMetricEnabled,
                 flushingEnabled,
-                squelchingEnabled);
+                squelchingEnabled,
+                queueingDelayMetricEnabled,
+                weight,
+                maxCpuShare,
+                maxBatchSize,
+                maxBatchDelay);
     }
 
     /**
@@ -199,22 +334,112 @@ public record TaskSchedulerConfiguration(
      */
     @Nullable
     private static Long tryToParseCapacity(@NonNull final String string) {
-        if (string.startsWith(TaskSchedulerConfigOption.CAPACITY)) {
-
-            try {
-                // parse a string in the form "CAPACITY(1234)"
-                final int openParenIndex = string.indexOf('(');
-                final int closeParenIndex = string.indexOf(')');
-                if (openParenIndex == -1 || closeParenIndex == -1) {
-                    throw new IllegalArgumentException("Invalid capacity \"" + string + "\"");
-                }
-                final String capacityString = string.substring(openParenIndex + 1, closeParenIndex);
-                return Long.parseLong(capacityString);
-            } catch (final NumberFormatException e) {
-                throw new IllegalArgumentException("Invalid capacity \"" + string + "\"", e);
-            }
+        final String capacityString = tryToParseParenthesizedValue(TaskSchedulerConfigOption.CAPACITY, string);
+        if (capacityString == null) {
+            return null;
         }
-        return null;
+        try {
+            return Long.parseLong(capacityString);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid capacity \"" + string + "\"", e);
+        }
+    }
+
+    /**
+     * Try to parse a string as a weight.
+     *
+     * @param string the string to parse
+     * @return the parsed weight, or null if the string is not a weight
+     */
+    @Nullable
+    private static Integer tryToParseWeight(@NonNull final String string) {
+        final String weightString = tryToParseParenthesizedValue(TaskSchedulerConfigOption.WEIGHT, string);
+        if (weightString == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(weightString);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid weight \"" + string + "\"", e);
+        }
+    }
+
+    /**
+     * Try to parse a string as a maximum CPU share.
+     *
+     * @param string the string to parse
+     * @return the parsed maximum CPU share, or null if the string is not a maximum CPU share
+     */
+    @Nullable
+    private static Double tryToParseMaxCpuShare(@NonNull final String string) {
+        final String shareString = tryToParseParenthesizedValue(TaskSchedulerConfigOption.MAX_CPU_SHARE, string);
+        if (shareString == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(shareString);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid max CPU share \"" + string + "\"", e);
+        }
+    }
+
+    /**
+     * Try to parse a string as a maximum batch size.
+     *
+     * @param string the string to parse
+     * @return the parsed maximum batch size, or null if the string is not a maximum batch size
+     */
+    @Nullable
+    private static Integer tryToParseMaxBatchSize(@NonNull final String string) {
+        final String sizeString = tryToParseParenthesizedValue(TaskSchedulerConfigOption.MAX_BATCH_SIZE, string);
+        if (sizeString == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(sizeString);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid max batch size \"" + string + "\"", e);
+        }
+    }
+
+    /**
+     * Try to parse a string as a maximum batch delay.
+     *
+     * @param string the string to parse
+     * @return the parsed maximum batch delay, or null if the string is not a maximum batch delay
+     */
+    @Nullable
+    private static Duration tryToParseMaxBatchDelay(@NonNull final String string) {
+        final String delayString =
+                tryToParseParenthesizedValue(TaskSchedulerConfigOption.MAX_BATCH_DELAY_MICROS, string);
+        if (delayString == null) {
+            return null;
+        }
+        try {
+            return Duration.of(Long.parseLong(delayString), ChronoUnit.MICROS);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid max batch delay \"" + string + "\"", e);
+        }
+    }
+
+    /**
+     * Try to parse a string in the form "NAME(value)", e.g. "CAPACITY(1234)".
+     *
+     * @param name   the name the string must start with
+     * @param string the string to parse
+     * @return the string between the parentheses, or null if the string does not start with the name
+     */
+    @Nullable
+    private static String tryToParseParenthesizedValue(@NonNull final String name, @NonNull final String string) {
+        if (!string.startsWith(name)) {
+            return null;
+        }
+        final int openParenIndex = string.indexOf('(');
+        final int closeParenIndex = string.indexOf(')');
+        if (openParenIndex != name.length() || closeParenIndex < openParenIndex) {
+            throw new IllegalArgumentException("Invalid " + name.toLowerCase(Locale.ROOT) + " \"" + string + "\"");
+        }
+        return string.substring(openParenIndex + 1, closeParenIndex);
     }
 
     /**
@@ -17,6 +17,25 @@ public enum TaskSchedulerType {
      * the implementation and performance characteristics are not identical.
      */
     SEQUENTIAL_THREAD,
+    /**
+     * Tasks are executed in a fork join pool one at a time in the order they were enqueued, with the same semantics as
+     * {@link #SEQUENTIAL}. Unlike {@link #SEQUENTIAL}, the pool's threads are shared fairly among all schedulers of
+     * this type that use the same pool. Each scheduler has a weight, and when there is more work than threads,
+     * schedulers get CPU time in proportion to their weights. Each scheduler may also be capped to a maximum share of
+     * the pool's CPU time, so that a burst of work in one component can't starve the others. See
+     * {@link TaskSchedulerBuilder#withWeight(int)} and {@link TaskSchedulerBuilder#withMaxCpuShare(double)}.
+     */
+    SEQUENTIAL_WEIGHTED,
+    /**
+     * Tasks are executed in a fork join pool in the order they were enqueued, with the same semantics as
+     * {@link #SEQUENTIAL}. Unlike {@link #SEQUENTIAL}, queued tasks are drained in batches by a single pool task, and
+     * counters and timers are updated once per batch rather than once per task. Consecutive tasks for an input wire
+     * bound with {@link com.swirlds.component.framework.wires.input.BindableInputWire#bindBatchConsumer
+     * bindBatchConsumer()} are delivered to its handler as one list. Batches are bounded by
+     * {@link TaskSchedulerBuilder#withMaxBatchSize(int)}, and {@link TaskSchedulerBuilder#withMaxBatchDelay} allows the
+     * scheduler to wait a little for a batch to fill up.
+     */
+    SEQUENTIAL_BATCHED,
     /**
      * Tasks are executed on a fork join pool. Tasks may be executed in parallel with each other. Ordering is not
      * guaranteed.
@@ -27,22 +46,23 @@ public enum TaskSchedulerType {
      * or otherwise). Useful for scenarios where tasks are extremely small and not worth the scheduling overhead.
      * <p>
      * Only a single logical thread of execution is permitted to send data to a direct task scheduler.
-     * {@link #SEQUENTIAL} and {@link #SEQUENTIAL_THREAD} schedulers are permitted to send data to a direct task
-     * scheduler, but it is illegal for more than one of these schedulers to send data to the same direct task
-     * scheduler. {@link #CONCURRENT} task schedulers are forbidden from sending data to a direct task scheduler. It is
-     * legal for operations that are executed on the calling thread (e.g. filters, transformers, stateless/stateful
-     * direct schedulers) to call into a direct scheduler as long as the calling thread is not in a concurrent scheduler
-     * or originating from more than one sequential scheduler.
+     * {@link #SEQUENTIAL}, {@link #SEQUENTIAL_THREAD}, {@link #SEQUENTIAL_WEIGHTED} and {@link #SEQUENTIAL_BATCHED}
+     * schedulers are permitted to send data to a direct task scheduler, but it is illegal for more than one of these
+     * schedulers to send data to the same direct task scheduler. {@link #CONCURRENT} task schedulers are forbidden from
+     * sending data to a direct task scheduler. It is legal for operations that are executed on the calling thread (e.g.
+     * filters, transformers, stateless/stateful direct schedulers) to call into a direct scheduler as long as the
+     * calling thread is not in a concurrent scheduler or originating from more than one sequential scheduler.
      * <p>
      * To decide if a direct scheduler is wired in a legal way, the following algorithm is used:
      * <ul>
      * <li>Create a directed graph where vertices are schedulers and edges are wires between schedulers</li>
      * <li>Starting from each vertex, walk over the graph in depth first order. Follow edges that lead to
      * DIRECT or DIRECT_THREADSAFE vertices, but do not follow edges that lead into SEQUENTIAL, SEQUENTIAL_THREAD,
-     * or CONCURRENT vertices.</li>
+     * SEQUENTIAL_WEIGHTED, SEQUENTIAL_BATCHED, or CONCURRENT vertices.</li>
      * <li>If a DIRECT vertex is reachable starting from a CONCURRENT vertex, the wiring is illegal.</li>
-     * <li>For each vertex with type DIRECT, count the number of unique SEQUENTIAL or SEQUENTIAL_THREAD vertexes that
-     * it can be reached by. If that number exceeds 1, then the wiring is illegal.</li>
+     * <li>For each vertex with type DIRECT, count the number of unique SEQUENTIAL, SEQUENTIAL_THREAD,
+     * SEQUENTIAL_WEIGHTED, or SEQUENTIAL_BATCHED vertexes that it can be reached by. If that number exceeds 1, then
+     * the wiring is illegal.</li>
      * </ul>
      *
      * <p>
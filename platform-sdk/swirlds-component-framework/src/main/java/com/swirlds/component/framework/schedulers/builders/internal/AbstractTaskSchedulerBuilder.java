@@ -55,6 +55,13 @@ public abstract class AbstractTaskSchedulerBuilder<OUT> implements TaskScheduler
     protected boolean unhandledTaskMetricEnabled = false;
     protected boolean inflightTaskMetricEnabled = false;
     protected boolean busyFractionMetricEnabled = false;
+    protected boolean queueingDelayMetricEnabled = false;
+
+    protected int weight = 1;
+    protected double maxCpuShare = 1.0;
+
+    protected int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    protected Duration maxBatchDelay = Duration.ZERO;
 
     protected Duration sleepDuration = Duration.ofNanos(100);
 
@@ -117,6 +124,21 @@ public abstract class AbstractTaskSchedulerBuilder<OUT> implements TaskScheduler
         if (configuration.squelchingEnabled() != null) {
             withSquelchingEnabled(configuration.squelchingEnabled());
         }
+        if (configuration.queueingDelayMetricEnabled() != null) {
+            withQueueingDelayMetricEnabled(configuration.queueingDelayMetricEnabled());
+        }
+        if (configuration.weight() != null) {
+            withWeight(configuration.weight());
+        }
+        if (configuration.maxCpuShare() != null) {
+            withMaxCpuShare(configuration.maxCpuShare());
+        }
+        if (configuration.maxBatchSize() != null) {
+            withMaxBatchSize(configuration.maxBatchSize());
+        }
+        if (configuration.maxBatchDelay() != null) {
+            withMaxBatchDelay(configuration.maxBatchDelay());
+        }
         return this;
     }
 
@@ -233,6 +255,68 @@ public abstract class AbstractTaskSchedulerBuilder<OUT> implements TaskScheduler
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AbstractTaskSchedulerBuilder<OUT> withQueueingDelayMetricEnabled(final boolean enabled) {
+        this.queueingDelayMetricEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AbstractTaskSchedulerBuilder<OUT> withWeight(final int weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        this.weight = weight;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AbstractTaskSchedulerBuilder<OUT> withMaxCpuShare(final double maxCpuShare) {
+        if (!(maxCpuShare > 0 && maxCpuShare <= 1)) {
+            throw new IllegalArgumentException("Max CPU share must be in (0, 1]: " + maxCpuShare);
+        }
+        this.maxCpuShare = maxCpuShare;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AbstractTaskSchedulerBuilder<OUT> withMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AbstractTaskSchedulerBuilder<OUT> withMaxBatchDelay(@NonNull final Duration maxBatchDelay) {
+        if (maxBatchDelay.isNegative()) {
+            throw new IllegalArgumentException("Max batch delay must not be negative: " + maxBatchDelay);
+        }
+        this.maxBatchDelay = maxBatchDelay;
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -3,16 +3,20 @@ package com.swirlds.component.framework.schedulers.builders.internal;
 
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.DIRECT_THREADSAFE;
 import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.NO_OP;
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerType.SEQUENTIAL_WEIGHTED;
 
 import com.swirlds.base.time.Time;
 import com.swirlds.component.framework.model.StandardWiringModel;
 import com.swirlds.component.framework.schedulers.TaskScheduler;
 import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import com.swirlds.component.framework.schedulers.internal.BatchedTaskScheduler;
 import com.swirlds.component.framework.schedulers.internal.ConcurrentTaskScheduler;
 import com.swirlds.component.framework.schedulers.internal.DirectTaskScheduler;
 import com.swirlds.component.framework.schedulers.internal.NoOpTaskScheduler;
+import com.swirlds.component.framework.schedulers.internal.QueueingDelayHistogram;
 import com.swirlds.component.framework.schedulers.internal.SequentialTaskScheduler;
 import com.swirlds.component.framework.schedulers.internal.SequentialThreadTaskScheduler;
+import com.swirlds.component.framework.schedulers.internal.WeightedTaskScheduler;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -33,6 +37,8 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
 
     protected final Time time;
 
+    private final StandardWiringModel standardModel;
+
     /**
      * Constructor.
      *
@@ -52,6 +58,7 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
 
         super(metrics, model, name, defaultPool);
         this.time = time;
+        this.standardModel = model;
     }
 
     /**
@@ -86,15 +93,35 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
         return new StandardFractionalTimer(time);
     }
 
+    /**
+     * Build a queueing delay histogram if enabled.
+     *
+     * @return the histogram, or null if not enabled
+     */
+    @Nullable
+    private QueueingDelayHistogram buildQueueingDelayHistogram() {
+        if (!queueingDelayMetricEnabled || type == NO_OP) {
+            return null;
+        }
+        if (type != SEQUENTIAL_WEIGHTED) {
+            throw new IllegalStateException(
+                    "Queueing delay metric is only compatible with sequential weighted schedulers");
+        }
+        return new QueueingDelayHistogram(time, QueueingDelayHistogram.DEFAULT_WINDOW);
+    }
+
     /**
      * Register all configured metrics.
      *
      * @param scheduler         the scheduler to register metrics for
      * @param busyFractionTimer the timer that is used to track the fraction of the time that the underlying thread
      *                             is busy
+     * @param queueingDelay     the queueing delay histogram, or null if not enabled
      */
     private void registerMetrics(
-            @NonNull final TaskScheduler<OUT> scheduler, @NonNull final FractionalTimer busyFractionTimer) {
+            @NonNull final TaskScheduler<OUT> scheduler,
+            @NonNull final FractionalTimer busyFractionTimer,
+            @Nullable final QueueingDelayHistogram queueingDelay) {
 
         if (type == NO_OP) {
             return;
@@ -122,6 +149,10 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
                     name + "_busy_fraction",
                     "Fraction (out of 1.0) of time spent processing tasks for the task scheduler " + name);
         }
+
+        if (queueingDelay != null) {
+            queueingDelay.registerMetrics(metrics, "platform", name);
+        }
     }
 
     /**
@@ -136,6 +167,7 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
                 ((unhandledTaskCapacity != UNLIMITED_CAPACITY) || externalBackPressure) && (type != NO_OP);
 
         final AtomicLong inflightCount = buildInflightCount();
+        final QueueingDelayHistogram queueingDelay = buildQueueingDelayHistogram();
 
         final TaskScheduler<OUT> scheduler =
                 switch (type) {
@@ -165,6 +197,37 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
                                 flushingEnabled,
                                 squelchingEnabled,
                                 insertionIsBlocking);
+                    case SEQUENTIAL_WEIGHTED ->
+                        new WeightedTaskScheduler<>(
+                                model,
+                                name,
+                                standardModel.getFairShareDispatcher(pool),
+                                buildUncaughtExceptionHandler(),
+                                counters.onRamp(),
+                                counters.offRamp(),
+                                busyFractionTimer,
+                                queueingDelay,
+                                weight,
+                                maxCpuShare,
+                                unhandledTaskCapacity,
+                                flushingEnabled,
+                                squelchingEnabled,
+                                insertionIsBlocking);
+                    case SEQUENTIAL_BATCHED ->
+                        new BatchedTaskScheduler<>(
+                                model,
+                                name,
+                                pool,
+                                buildUncaughtExceptionHandler(),
+                                counters.onRamp(),
+                                counters.offRamp(),
+                                busyFractionTimer,
+                                maxBatchSize,
+                                maxBatchDelay,
+                                unhandledTaskCapacity,
+                                flushingEnabled,
+                                squelchingEnabled,
+                                insertionIsBlocking);
                     case SEQUENTIAL_THREAD ->
                         new SequentialThreadTaskScheduler<>(
                                 model,
@@ -195,7 +258,7 @@ public class StandardTaskSchedulerBuilder<OUT> extends AbstractTaskSchedulerBuil
             model.registerScheduler(scheduler, hyperlink);
         }
 
-        registerMetrics(scheduler, busyFractionTimer);
+        registerMetrics(scheduler, busyFractionTimer, queueingDelay);
 
         return scheduler;
     }
@@ -0,0 +1,45 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A task handler that accepts a list of data objects at once. A {@link BatchedTaskScheduler} delivers consecutive
+ * queued tasks for the same batch handler in a single call to {@link #acceptBatch(List)}. All other schedulers call
+ * {@link #accept(Object)} once per task, which delivers a batch of one.
+ */
+public final class BatchHandler implements Consumer<Object> {
+
+    private final Consumer<List<Object>> batchConsumer;
+
+    /**
+     * Constructor.
+     *
+     * @param batchConsumer the consumer that handles a batch of data objects, in the order they were scheduled
+     */
+    public BatchHandler(@NonNull final Consumer<List<Object>> batchConsumer) {
+        this.batchConsumer = Objects.requireNonNull(batchConsumer);
+    }
+
+    /**
+     * Handle a single data object as a batch of one.
+     *
+     * @param data the data object
+     */
+    @Override
+    public void accept(@NonNull final Object data) {
+        batchConsumer.accept(List.of(data));
+    }
+
+    /**
+     * Handle a batch of data objects.
+     *
+     * @param batch the data objects, in the order they were scheduled
+     */
+    public void acceptBatch(@NonNull final List<Object> batch) {
+        batchConsumer.accept(batch);
+    }
+}
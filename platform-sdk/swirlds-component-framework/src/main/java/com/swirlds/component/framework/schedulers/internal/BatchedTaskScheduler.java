@@ -0,0 +1,324 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers.internal;
+
+import com.swirlds.component.framework.counters.ObjectCounter;
+import com.swirlds.component.framework.model.TraceableWiringModel;
+import com.swirlds.component.framework.schedulers.TaskScheduler;
+import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.hiero.consensus.metrics.extensions.FractionalTimer;
+
+/**
+ * A {@link TaskScheduler} that executes tasks sequentially in the order they are received, and drains its queue in
+ * batches.
+ * <p>
+ * A single pool task handles up to the maximum batch size of queued tasks before it yields the thread. The busy timer
+ * is activated once per batch, and the off ramp is decremented once per batch, so capacity is released when a batch
+ * is done rather than after each task. Consecutive tasks for the same {@link BatchHandler} are delivered to it in a
+ * single call. Other handlers are called once per task, in order.
+ * <p>
+ * If a maximum batch delay is configured, a scheduler that was idle waits up to that long for its queue to fill up
+ * before it handles the first batch. The wait ends early once a full batch is queued.
+ *
+ * @param <OUT> the output type of the scheduler (use {@link Void} for a task scheduler with no output type)
+ */
+public class BatchedTaskScheduler<OUT> extends TaskScheduler<OUT> {
+
+    /**
+     * A task waiting to be handled.
+     *
+     * @param handler the method that will be called when this task is executed
+     * @param data    the data to be passed to the consumer for this task
+     */
+    private record BatchedTask(@NonNull Consumer<Object> handler, @NonNull Object data) {}
+
+    /**
+     * No tasks are queued and no drain is scheduled.
+     */
+    private static final int IDLE = 0;
+
+    /**
+     * A drain is scheduled to start once the maximum batch delay elapses, or earlier if a full batch is queued.
+     */
+    private static final int WAITING = 1;
+
+    /**
+     * A drain is running or has been submitted to the pool.
+     */
+    private static final int RUNNING = 2;
+
+    private final Queue<BatchedTask> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of tasks in the queue. May briefly lag behind the queue, it is only used to decide when to drain.
+     */
+    private final AtomicInteger queuedCount = new AtomicInteger();
+
+    /**
+     * One of {@link #IDLE}, {@link #WAITING} or {@link #RUNNING}.
+     */
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    private final ObjectCounter onRamp;
+    private final ObjectCounter offRamp;
+    private final FractionalTimer busyTimer;
+    private final ForkJoinPool pool;
+    private final long capacity;
+    private final int maxBatchSize;
+
+    /**
+     * Runs tasks on the pool after the maximum batch delay, or null if there is no batch delay.
+     */
+    private final Executor delayedExecutor;
+
+    /**
+     * Constructor.
+     *
+     * @param model                    the wiring model containing this scheduler
+     * @param name                     the name of the task scheduler
+     * @param pool                     the fork join pool that will execute tasks on this scheduler
+     * @param uncaughtExceptionHandler the uncaught exception handler
+     * @param onRamp                   an object counter that is incremented when data is added to the task scheduler
+     * @param offRamp                  an object counter that is decremented when data is removed from the task
+     *                                 scheduler
+     * @param busyTimer                a timer that tracks the amount of time the scheduler is busy
+     * @param maxBatchSize             the maximum number of tasks handled per batch
+     * @param maxBatchDelay            the longest time an idle scheduler waits for a batch to fill up
+     * @param capacity                 the maximum desired capacity for this task scheduler
+     * @param flushEnabled             if true, then {@link #flush()} will be enabled, otherwise it will throw.
+     * @param squelchingEnabled        if true, then squelching will be enabled, otherwise trying to squelch will throw
+     * @param insertionIsBlocking      when data is inserted into this task scheduler, will it block until capacity is
+     *                                 available?
+     */
+    public BatchedTaskScheduler(
+            @NonNull final TraceableWiringModel model,
+            @NonNull final String name,
+            @NonNull final ForkJoinPool pool,
+            @NonNull final UncaughtExceptionHandler uncaughtExceptionHandler,
+            @NonNull final ObjectCounter onRamp,
+            @NonNull final ObjectCounter offRamp,
+            @NonNull final FractionalTimer busyTimer,
+            final int maxBatchSize,
+            @NonNull final Duration maxBatchDelay,
+            final long capacity,
+            final boolean flushEnabled,
+            final boolean squelchingEnabled,
+            final boolean insertionIsBlocking) {
+
+        super(
+                model,
+                name,
+                TaskSchedulerType.SEQUENTIAL_BATCHED,
+                uncaughtExceptionHandler,
+                flushEnabled,
+                squelchingEnabled,
+                insertionIsBlocking);
+
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        if (maxBatchDelay.isNegative()) {
+            throw new IllegalArgumentException("Max batch delay must not be negative: " + maxBatchDelay);
+        }
+
+        this.pool = Objects.requireNonNull(pool);
+        this.onRamp = Objects.requireNonNull(onRamp);
+        this.offRamp = Objects.requireNonNull(offRamp);
+        this.busyTimer = Objects.requireNonNull(busyTimer);
+        this.maxBatchSize = maxBatchSize;
+        this.capacity = capacity;
+        this.delayedExecutor = maxBatchDelay.isZero()
+                ? null
+                : CompletableFuture.delayedExecutor(maxBatchDelay.toNanos(), TimeUnit.NANOSECONDS, pool);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void put(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.onRamp();
+        scheduleTask(handler, data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean offer(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        final boolean accepted = onRamp.attemptOnRamp();
+        if (accepted) {
+            scheduleTask(handler, data);
+        }
+        return accepted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void inject(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.forceOnRamp();
+        scheduleTask(handler, data);
+    }
+
+    /**
+     * Schedule a task to be handled. This should only be called after successfully on-ramping (one way or another).
+     *
+     * @param handler the method that will be called when this task is executed
+     * @param data    the data to be passed to the consumer for this task
+     */
+    private void scheduleTask(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        tasks.add(new BatchedTask(handler, data));
+        wakeUp(queuedCount.incrementAndGet());
+    }
+
+    /**
+     * Make sure a drain is scheduled for the queued tasks.
+     *
+     * @param queued the number of queued tasks
+     */
+    private void wakeUp(final int queued) {
+        while (true) {
+            final int current = state.get();
+            if (current == RUNNING) {
+                return;
+            }
+            final boolean fullBatch = queued >= maxBatchSize;
+            if (current == WAITING) {
+                if (!fullBatch) {
+                    return;
+                }
+                if (state.compareAndSet(WAITING, RUNNING)) {
+                    // The delayed drain will find the scheduler running and do nothing
+                    pool.execute(this::drain);
+                    return;
+                }
+            } else if (delayedExecutor != null && !fullBatch) {
+                if (state.compareAndSet(IDLE, WAITING)) {
+                    delayedExecutor.execute(this::onBatchDelayElapsed);
+                    return;
+                }
+            } else if (state.compareAndSet(IDLE, RUNNING)) {
+                pool.execute(this::drain);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called when the maximum batch delay has elapsed. If the scheduler is still waiting, the queue is drained now.
+     * A delay that was scheduled before the scheduler last went idle may end the current wait early, which is harmless.
+     */
+    private void onBatchDelayElapsed() {
+        if (state.compareAndSet(WAITING, RUNNING)) {
+            drain();
+        }
+    }
+
+    /**
+     * Handle one batch. If more tasks are queued afterwards, the next batch is submitted as a new pool task so that
+     * other work on the pool gets a chance to run in between.
+     */
+    private void drain() {
+        handleBatch();
+        if (queuedCount.get() > 0) {
+            pool.execute(this::drain);
+            return;
+        }
+        state.set(IDLE);
+        // A task may have been scheduled after the queue was found empty but before the state was changed
+        final int queued = queuedCount.get();
+        if (queued > 0) {
+            wakeUp(queued);
+        }
+    }
+
+    /**
+     * Handle up to the maximum batch size of queued tasks in order.
+     */
+    private void handleBatch() {
+        int handled = 0;
+        busyTimer.activate();
+        try {
+            BatchedTask task;
+            while (handled < maxBatchSize && (task = tasks.poll()) != null) {
+                if (task.handler() instanceof final BatchHandler batchHandler) {
+                    final List<Object> batch = new ArrayList<>();
+                    batch.add(task.data());
+                    BatchedTask next;
+                    while (handled + batch.size() < maxBatchSize
+                            && (next = tasks.peek()) != null
+                            && next.handler() == batchHandler) {
+                        tasks.poll();
+                        batch.add(next.data());
+                    }
+                    handled += batch.size();
+                    handle(batchHandler::acceptBatch, batch);
+                } else {
+                    handled++;
+                    handle(task.handler(), task.data());
+                }
+            }
+        } finally {
+            queuedCount.addAndGet(-handled);
+            if (handled > 0) {
+                offRamp.offRamp(handled);
+            }
+            busyTimer.deactivate();
+        }
+    }
+
+    /**
+     * Pass data to a handler, reporting any exception to the uncaught exception handler.
+     *
+     * @param handler the handler
+     * @param data    the data
+     * @param <T>     the type of the data
+     */
+    private <T> void handle(@NonNull final Consumer<T> handler, @NonNull final T data) {
+        try {
+            handler.accept(data);
+        } catch (final Throwable t) {
+            getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), t);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnprocessedTaskCount() {
+        return onRamp.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        throwIfFlushDisabled();
+        onRamp.waitUntilEmpty();
+    }
+}
@@ -0,0 +1,245 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers.internal;
+
+import com.swirlds.base.time.Time;
+import com.swirlds.component.framework.counters.ManagedBlocking;
+import com.swirlds.component.framework.counters.ManagedBlocking.BlockingListener;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the threads of a fork join pool among {@link WeightedTaskScheduler}s.
+ * <p>
+ * Each weighted scheduler is run by at most one worker at a time, which keeps its tasks in order. Workers are plain
+ * tasks on the pool, and there are never more running workers than the pool's parallelism. A worker that blocks with
+ * {@link ManagedBlocking}, for example on backpressure from a full downstream scheduler, doesn't count as running, and
+ * another worker is started in its place if schedulers are waiting. When more schedulers have work than there are
+ * workers, the next one to run is the one with the least virtual runtime, which is the CPU time a scheduler has used
+ * divided by its weight. Over time, contended schedulers therefore get CPU time in proportion to their weights. A
+ * scheduler that was idle doesn't bank credit while it was idle, its virtual runtime is brought up to the smallest
+ * virtual runtime of the schedulers with work when it gets new work.
+ * <p>
+ * A scheduler may also be capped to a share of the pool's CPU time. Its CPU time is counted over windows of
+ * {@link #BUDGET_WINDOW_NANOS}. Once it has used its share of a window, it is not run again until the next window
+ * starts, even if threads are idle.
+ * <p>
+ * CPU time is the CPU time of the worker threads while they handle a scheduler's tasks. If the JVM doesn't measure the
+ * CPU time of threads, the elapsed wall clock time is used instead, which also counts time spent blocked.
+ * <p>
+ * Only weighted schedulers are arbitrated by this dispatcher. Other schedulers using the same pool compete with the
+ * workers of this dispatcher as usual.
+ */
+public class FairShareDispatcher {
+
+    /**
+     * The length of the windows over which maximum CPU shares are enforced.
+     */
+    static final long BUDGET_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * How long a worker keeps handling tasks of a scheduler before it gives other schedulers a chance to run. A task
+     * is never interrupted, so a slice may run over by the length of one task.
+     */
+    static final long TIME_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ForkJoinPool pool;
+    private final Time time;
+    private final int maxWorkers;
+    private final boolean measureCpuTime;
+    private final BlockingListener blockingListener = new BlockingListener() {
+        @Override
+        public void beforeBlocking() {
+            workerBlocked();
+        }
+
+        @Override
+        public void afterBlocking() {
+            workerUnblocked();
+        }
+    };
+
+    /**
+     * Schedulers that have work and are waiting for a worker, ordered by virtual runtime. Guarded by this.
+     */
+    private final PriorityQueue<WeightedTaskScheduler<?>> ready =
+            new PriorityQueue<>(Comparator.comparingLong(WeightedTaskScheduler::getVirtualRuntime));
+
+    /**
+     * The number of workers currently running, not counting workers blocked in a managed block. May briefly exceed
+     * the maximum after blocked workers resume, until the extra workers retire. Guarded by this.
+     */
+    private int activeWorkers;
+
+    /**
+     * Never decreases. New work can't bring a scheduler's virtual runtime below this value. Guarded by this.
+     */
+    private long minVirtualRuntime;
+
+    /**
+     * Constructor.
+     *
+     * @param pool the pool to run tasks on
+     * @param time provides wall clock time
+     */
+    public FairShareDispatcher(@NonNull final ForkJoinPool pool, @NonNull final Time time) {
+        this.pool = Objects.requireNonNull(pool);
+        this.time = Objects.requireNonNull(time);
+        this.maxWorkers = Math.max(1, pool.getParallelism());
+        this.measureCpuTime = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    }
+
+    /**
+     * Get the source of time used by this dispatcher.
+     *
+     * @return the time
+     */
+    @NonNull
+    Time getTime() {
+        return time;
+    }
+
+    /**
+     * Get the maximum number of workers, which is the parallelism of the pool.
+     *
+     * @return the maximum number of workers
+     */
+    int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * Called when a scheduler that was idle has work. The scheduler must not already be ready or running.
+     *
+     * @param scheduler the scheduler
+     */
+    void makeReady(@NonNull final WeightedTaskScheduler<?> scheduler) {
+        final boolean startWorker;
+        synchronized (this) {
+            scheduler.setVirtualRuntime(Math.max(scheduler.getVirtualRuntime(), minVirtualRuntime));
+            ready.add(scheduler);
+            startWorker = activeWorkers < maxWorkers;
+            if (startWorker) {
+                activeWorkers++;
+            }
+        }
+        if (startWorker) {
+            pool.execute(this::runWorker);
+        }
+    }
+
+    /**
+     * Run schedulers until none are ready.
+     */
+    private void runWorker() {
+        final BlockingListener previousListener = ManagedBlocking.setListener(blockingListener);
+        try {
+            runSchedulers();
+        } finally {
+            ManagedBlocking.setListener(previousListener);
+        }
+    }
+
+    /**
+     * Run schedulers on the current worker until none are ready, or until there are more running workers than
+     * allowed.
+     */
+    private void runSchedulers() {
+        while (true) {
+            final WeightedTaskScheduler<?> scheduler = nextScheduler();
+            if (scheduler == null) {
+                return;
+            }
+            final long cpuStart = cpuTimeNanos();
+            final long start = time.nanoTime();
+            final long end = scheduler.handleTasks(start, start + TIME_SLICE_NANOS);
+            scheduler.charge(measureCpuTime ? cpuTimeNanos() - cpuStart : end - start, end);
+
+            if (scheduler.hasQueuedTasks()) {
+                synchronized (this) {
+                    ready.add(scheduler);
+                }
+            } else if (scheduler.deactivate()) {
+                // Work arrived after the queue was found empty and the scheduler was claimed again
+                makeReady(scheduler);
+            }
+        }
+    }
+
+    /**
+     * Get the CPU time of the current thread, if measured.
+     *
+     * @return the CPU time of the current thread in nanoseconds, or 0 if CPU time is not measured
+     */
+    private long cpuTimeNanos() {
+        return measureCpuTime ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Called when a worker is about to block. The worker no longer counts as running, and if schedulers are waiting
+     * for a worker, another worker is started, so that blocked workers can't starve the schedulers that would unblock
+     * them.
+     */
+    private void workerBlocked() {
+        final boolean startWorker;
+        synchronized (this) {
+            activeWorkers--;
+            startWorker = !ready.isEmpty() && activeWorkers < maxWorkers;
+            if (startWorker) {
+                activeWorkers++;
+            }
+        }
+        if (startWorker) {
+            pool.execute(this::runWorker);
+        }
+    }
+
+    /**
+     * Called when a worker stops blocking. The worker finishes its current slice, and retires afterwards if there are
+     * too many running workers.
+     */
+    private synchronized void workerUnblocked() {
+        activeWorkers++;
+    }
+
+    /**
+     * Take the ready scheduler with the least virtual runtime that has not used up its CPU share. Schedulers that have
+     * used up their share are parked until their next budget window. If no scheduler can run, or if there are more
+     * running workers than allowed, the calling worker retires.
+     *
+     * @return the next scheduler to run, or null if the worker should retire
+     */
+    @Nullable
+    private WeightedTaskScheduler<?> nextScheduler() {
+        synchronized (this) {
+            if (activeWorkers > maxWorkers) {
+                activeWorkers--;
+                return null;
+            }
+            while (true) {
+                final WeightedTaskScheduler<?> scheduler = ready.poll();
+                if (scheduler == null) {
+                    activeWorkers--;
+                    return null;
+                }
+                minVirtualRuntime = Math.max(minVirtualRuntime, scheduler.getVirtualRuntime());
+                final long now = time.nanoTime();
+                final long throttledNanos = scheduler.getThrottledNanos(now);
+                if (throttledNanos <= 0) {
+                    return scheduler;
+                }
+                CompletableFuture.delayedExecutor(throttledNanos, TimeUnit.NANOSECONDS, pool)
+                        .execute(() -> makeReady(scheduler));
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers.internal;
+
+import com.swirlds.base.time.Time;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.hiero.consensus.metrics.FunctionGauge;
+
+/**
+ * A histogram of the time tasks wait in a task scheduler's queue before they are executed. Delays are counted in
+ * power-of-two buckets of microseconds, so reported percentiles are accurate to within a factor of two. That is coarse,
+ * but it is enough to tell a scheduler that is starved from one that is not, and recording a delay is a single atomic
+ * increment.
+ * <p>
+ * Percentiles are reported over the most recent complete window, so that they reflect the current behavior of the
+ * scheduler rather than its entire history.
+ */
+public class QueueingDelayHistogram {
+
+    /**
+     * The number of buckets. Bucket 0 counts delays under 1 microsecond, bucket i counts delays in [2^(i-1), 2^i)
+     * microseconds. The last bucket also counts all longer delays.
+     */
+    private static final int BUCKET_COUNT = 32;
+
+    /**
+     * The default length of a window.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(1);
+
+    private final Time time;
+    private final long windowNanos;
+
+    /**
+     * Counts for the current window.
+     */
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Counts for the most recent complete window.
+     */
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * The time when the current window started.
+     */
+    private volatile long windowStart;
+
+    /**
+     * Constructor.
+     *
+     * @param time   provides wall clock time
+     * @param window the length of the window percentiles are reported over
+     */
+    public QueueingDelayHistogram(@NonNull final Time time, @NonNull final Duration window) {
+        this.time = Objects.requireNonNull(time);
+        this.windowNanos = window.toNanos();
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.windowStart = time.nanoTime();
+    }
+
+    /**
+     * Record the queueing delay of a task.
+     *
+     * @param delayNanos the time the task spent in the queue, in nanoseconds
+     * @param now        the current time, as returned by {@link Time#nanoTime()}
+     */
+    public void record(final long delayNanos, final long now) {
+        rotateIfNeeded(now);
+        current.incrementAndGet(bucketOf(delayNanos));
+    }
+
+    /**
+     * Get a percentile of the queueing delays recorded in the most recent complete window.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket the percentile falls into, in microseconds, or 0 if no delays were
+     * recorded in the window
+     */
+    public long getPercentileMicros(final double percentile) {
+        rotateIfNeeded(time.nanoTime());
+        final AtomicLongArray counts = previous;
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Register metrics for the 50th, 90th and 99th percentiles of the queueing delay.
+     *
+     * @param metrics  the metrics
+     * @param category the metric category
+     * @param name     the name of the task scheduler
+     */
+    public void registerMetrics(
+            @NonNull final Metrics metrics, @NonNull final String category, @NonNull final String name) {
+        registerPercentile(metrics, category, name, 50);
+        registerPercentile(metrics, category, name, 90);
+        registerPercentile(metrics, category, name, 99);
+    }
+
+    private void registerPercentile(
+            @NonNull final Metrics metrics,
+            @NonNull final String category,
+            @NonNull final String name,
+            final int percentile) {
+        final FunctionGauge.Config<Long> config = new FunctionGauge.Config<>(
+                        category,
+                        name + "_queueing_delay_p" + percentile + "_us",
+                        Long.class,
+                        () -> getPercentileMicros(percentile))
+                .withDescription("The " + percentile + "th percentile of the time tasks wait before they are handled "
+                        + "by the task scheduler " + name + ", in microseconds");
+        metrics.getOrCreate(config);
+    }
+
+    /**
+     * Start a new window if the current one is over. If more than one window has passed since the last rotation, the
+     * current counts still become the previous window's counts, as there is nothing better to report.
+     */
+    private void rotateIfNeeded(final long now) {
+        if (now - windowStart < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            if (now - windowStart < windowNanos) {
+                return;
+            }
+            previous = current;
+            current = new AtomicLongArray(BUCKET_COUNT);
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Get the bucket a delay is counted in.
+     */
+    private static int bucketOf(final long delayNanos) {
+        final long micros = delayNanos / 1_000;
+        if (micros <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -0,0 +1,317 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers.internal;
+
+import com.swirlds.base.time.Time;
+import com.swirlds.component.framework.counters.ObjectCounter;
+import com.swirlds.component.framework.model.TraceableWiringModel;
+import com.swirlds.component.framework.schedulers.TaskScheduler;
+import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.hiero.consensus.metrics.extensions.FractionalTimer;
+
+/**
+ * A {@link TaskScheduler} that executes tasks sequentially in the order they are received, on threads shared fairly
+ * with other weighted schedulers by a {@link FairShareDispatcher}.
+ *
+ * @param <OUT> the output type of the scheduler (use {@link Void} for a task scheduler with no output type)
+ */
+public class WeightedTaskScheduler<OUT> extends TaskScheduler<OUT> {
+
+    /**
+     * A task waiting to be handled.
+     *
+     * @param handler     the method that will be called when this task is executed
+     * @param data        the data to be passed to the consumer for this task
+     * @param enqueueTime the time the task was enqueued, or 0 if queueing delay is not measured
+     */
+    private record WeightedTask(
+            @NonNull Consumer<Object> handler, @NonNull Object data, long enqueueTime) {}
+
+    private final FairShareDispatcher dispatcher;
+    private final Time time;
+    private final Queue<WeightedTask> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * True while this scheduler is owned by the dispatcher, i.e. it is waiting for a worker, running, or waiting for
+     * its CPU budget to be replenished. False while it is idle.
+     */
+    private final AtomicBoolean active = new AtomicBoolean(false);
+
+    private final ObjectCounter onRamp;
+    private final ObjectCounter offRamp;
+    private final FractionalTimer busyTimer;
+    private final QueueingDelayHistogram queueingDelay;
+    private final long capacity;
+    private final int weight;
+    private final double maxCpuShare;
+
+    /**
+     * The CPU time this scheduler may use per budget window, or {@link Long#MAX_VALUE} if it is not limited.
+     */
+    private final long budgetNanos;
+
+    // The following fields are only accessed by the dispatcher, while it owns this scheduler
+
+    private long virtualRuntime;
+    private long budgetWindowStart;
+    private long budgetWindowUsed;
+
+    /**
+     * Constructor.
+     *
+     * @param model                    the wiring model containing this scheduler
+     * @param name                     the name of the task scheduler
+     * @param dispatcher               the dispatcher that shares threads among weighted schedulers
+     * @param uncaughtExceptionHandler the uncaught exception handler
+     * @param onRamp                   an object counter that is incremented when data is added to the task scheduler
+     * @param offRamp                  an object counter that is decremented when data is removed from the task
+     *                                 scheduler
+     * @param busyTimer                a timer that tracks the amount of time the scheduler is busy
+     * @param queueingDelay            tracks the time tasks wait before they are handled, or null if not tracked
+     * @param weight                   the weight of this scheduler relative to other weighted schedulers
+     * @param maxCpuShare              the maximum fraction of the pool's CPU time this scheduler may use
+     * @param capacity                 the maximum desired capacity for this task scheduler
+     * @param flushEnabled             if true, then {@link #flush()} will be enabled, otherwise it will throw.
+     * @param squelchingEnabled        if true, then squelching will be enabled, otherwise trying to squelch will throw
+     * @param insertionIsBlocking      when data is inserted into this task scheduler, will it block until capacity is
+     *                                 available?
+     */
+    public WeightedTaskScheduler(
+            @NonNull final TraceableWiringModel model,
+            @NonNull final String name,
+            @NonNull final FairShareDispatcher dispatcher,
+            @NonNull final UncaughtExceptionHandler uncaughtExceptionHandler,
+            @NonNull final ObjectCounter onRamp,
+            @NonNull final ObjectCounter offRamp,
+            @NonNull final FractionalTimer busyTimer,
+            @Nullable final QueueingDelayHistogram queueingDelay,
+            final int weight,
+            final double maxCpuShare,
+            final long capacity,
+            final boolean flushEnabled,
+            final boolean squelchingEnabled,
+            final boolean insertionIsBlocking) {
+
+        super(
+                model,
+                name,
+                TaskSchedulerType.SEQUENTIAL_WEIGHTED,
+                uncaughtExceptionHandler,
+                flushEnabled,
+                squelchingEnabled,
+                insertionIsBlocking);
+
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        if (!(maxCpuShare > 0 && maxCpuShare <= 1)) {
+            throw new IllegalArgumentException("Max CPU share must be in (0, 1]: " + maxCpuShare);
+        }
+
+        this.dispatcher = Objects.requireNonNull(dispatcher);
+        this.time = dispatcher.getTime();
+        this.onRamp = Objects.requireNonNull(onRamp);
+        this.offRamp = Objects.requireNonNull(offRamp);
+        this.busyTimer = Objects.requireNonNull(busyTimer);
+        this.queueingDelay = queueingDelay;
+        this.weight = weight;
+        this.maxCpuShare = maxCpuShare;
+        this.capacity = capacity;
+
+        // A sequential scheduler can't use more than one thread, so a share of at least one thread is no limit
+        final double threadsShare = maxCpuShare * dispatcher.getMaxWorkers();
+        this.budgetNanos =
+                threadsShare >= 1 ? Long.MAX_VALUE : (long) (threadsShare * FairShareDispatcher.BUDGET_WINDOW_NANOS);
+        this.budgetWindowStart = time.nanoTime();
+    }
+
+    /**
+     * Get the weight of this scheduler.
+     *
+     * @return the weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get the maximum fraction of the pool's CPU time this scheduler may use.
+     *
+     * @return the maximum CPU share, 1.0 if not limited
+     */
+    public double getMaxCpuShare() {
+        return maxCpuShare;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void put(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.onRamp();
+        scheduleTask(handler, data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean offer(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        final boolean accepted = onRamp.attemptOnRamp();
+        if (accepted) {
+            scheduleTask(handler, data);
+        }
+        return accepted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void inject(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        onRamp.forceOnRamp();
+        scheduleTask(handler, data);
+    }
+
+    /**
+     * Schedule a task to be handled. This should only be called after successfully on-ramping (one way or another).
+     *
+     * @param handler the method that will be called when this task is executed
+     * @param data    the data to be passed to the consumer for this task
+     */
+    private void scheduleTask(@NonNull final Consumer<Object> handler, @NonNull final Object data) {
+        tasks.add(new WeightedTask(handler, data, queueingDelay == null ? 0 : time.nanoTime()));
+        if (!active.get() && active.compareAndSet(false, true)) {
+            dispatcher.makeReady(this);
+        }
+    }
+
+    /**
+     * Handle queued tasks in order until the queue is empty or the time slice is over. Only called by the dispatcher.
+     *
+     * @param start    the current time
+     * @param sliceEnd the time after which no new task is started
+     * @return the time when the last task finished
+     */
+    long handleTasks(final long start, final long sliceEnd) {
+        long now = start;
+        busyTimer.activate();
+        try {
+            WeightedTask task;
+            while (now < sliceEnd && (task = tasks.poll()) != null) {
+                if (queueingDelay != null) {
+                    queueingDelay.record(now - task.enqueueTime(), now);
+                }
+                try {
+                    task.handler().accept(task.data());
+                } catch (final Throwable t) {
+                    getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), t);
+                } finally {
+                    offRamp.offRamp();
+                }
+                now = time.nanoTime();
+            }
+        } finally {
+            busyTimer.deactivate();
+        }
+        return now;
+    }
+
+    /**
+     * Check whether tasks are waiting to be handled. Only called by the dispatcher.
+     *
+     * @return true if the queue is not empty
+     */
+    boolean hasQueuedTasks() {
+        return !tasks.isEmpty();
+    }
+
+    /**
+     * Mark this scheduler as idle. Only called by the dispatcher, after it found the queue empty. If a task was
+     * enqueued in the meantime, the scheduler may have to be claimed again right away.
+     *
+     * @return true if the scheduler was claimed again and must be made ready by the caller
+     */
+    boolean deactivate() {
+        active.set(false);
+        return !tasks.isEmpty() && active.compareAndSet(false, true);
+    }
+
+    /**
+     * Account for CPU time used by this scheduler. Only called by the dispatcher.
+     *
+     * @param elapsedNanos the CPU time used, or the elapsed time if the CPU time of threads is not measured
+     * @param now          the current time
+     */
+    void charge(final long elapsedNanos, final long now) {
+        virtualRuntime += elapsedNanos / weight;
+        if (now - budgetWindowStart >= FairShareDispatcher.BUDGET_WINDOW_NANOS) {
+            budgetWindowStart = now;
+            budgetWindowUsed = 0;
+        }
+        budgetWindowUsed += elapsedNanos;
+    }
+
+    /**
+     * Get how long this scheduler must wait before it may run again. Only called by the dispatcher.
+     *
+     * @param now the current time
+     * @return the time until the scheduler's budget is replenished, or 0 or less if it may run now
+     */
+    long getThrottledNanos(final long now) {
+        if (budgetWindowUsed < budgetNanos) {
+            return 0;
+        }
+        return budgetWindowStart + FairShareDispatcher.BUDGET_WINDOW_NANOS - now;
+    }
+
+    /**
+     * Get the CPU time this scheduler has used divided by its weight. Only called by the dispatcher.
+     *
+     * @return the virtual runtime, in nanoseconds
+     */
+    long getVirtualRuntime() {
+        return virtualRuntime;
+    }
+
+    /**
+     * Set the virtual runtime of this scheduler. Only called by the dispatcher.
+     *
+     * @param virtualRuntime the virtual runtime, in nanoseconds
+     */
+    void setVirtualRuntime(final long virtualRuntime) {
+        this.virtualRuntime = virtualRuntime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnprocessedTaskCount() {
+        return onRamp.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        throwIfFlushDisabled();
+        onRamp.waitUntilEmpty();
+    }
+}
@@ -1,7 +1,9 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.swirlds.component.framework.wires.input;
 
+import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -30,4 +32,15 @@ public interface Bindable<IN, OUT> {
      * @throws IllegalStateException if a handler is already bound and this method is called a second time
      */
     void bind(@NonNull final Function<IN, OUT> handler);
+
+    /**
+     * Bind this object to a handler that accepts batches of data. For things that don't send data to the output wire.
+     * A {@link TaskSchedulerType#SEQUENTIAL_BATCHED} scheduler passes consecutive queued values for this wire to the
+     * handler in one list. Other scheduler types pass each value in a list of its own.
+     *
+     * @param handler the handler to bind to this input wire, lists passed to it are in the order the data was
+     *                scheduled and must not be modified
+     * @throws IllegalStateException if a handler is already bound and this method is called a second time
+     */
+    void bindBatchConsumer(@NonNull Consumer<List<IN>> handler);
 }
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.swirlds.component.framework.schedulers.builders.TaskSchedulerConfiguration;
 import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import java.time.Duration;
 import java.util.Random;
 import org.junit.jupiter.api.Test;
 
@@ -25,6 +26,11 @@ class TaskSchedulerConfigurationTests {
         assertNull(config.busyFractionMetricEnabled());
         assertNull(config.flushingEnabled());
         assertNull(config.squelchingEnabled());
+        assertNull(config.queueingDelayMetricEnabled());
+        assertNull(config.weight());
+        assertNull(config.maxCpuShare());
+        assertNull(config.maxBatchSize());
+        assertNull(config.maxBatchDelay());
     }
 
     @Test
@@ -97,6 +103,48 @@ class TaskSchedulerConfigurationTests {
                 expectedSquelchingEnabled = null;
             }
 
+            final Boolean expectedQueueingDelayMetricEnabled;
+            if (random.nextBoolean()) {
+                expectedQueueingDelayMetricEnabled = random.nextBoolean();
+                configStringBuilder.append(
+                        expectedQueueingDelayMetricEnabled ? "QUEUEING_DELAY_METRIC " : "!QUEUEING_DELAY_METRIC ");
+            } else {
+                expectedQueueingDelayMetricEnabled = null;
+            }
+
+            final Integer expectedWeight;
+            if (random.nextBoolean()) {
+                expectedWeight = random.nextInt(1, 100);
+                configStringBuilder.append("WEIGHT(").append(expectedWeight).append(") ");
+            } else {
+                expectedWeight = null;
+            }
+
+            final Double expectedMaxCpuShare;
+            if (random.nextBoolean()) {
+                expectedMaxCpuShare = random.nextInt(1, 101) / 100.0;
+                configStringBuilder.append("MAX_CPU_SHARE(").append(expectedMaxCpuShare).append(") ");
+            } else {
+                expectedMaxCpuShare = null;
+            }
+
+            final Integer expectedMaxBatchSize;
+            if (random.nextBoolean()) {
+                expectedMaxBatchSize = random.nextInt(1, 10_000);
+                configStringBuilder.append("MAX_BATCH_SIZE(").append(expectedMaxBatchSize).append(") ");
+            } else {
+                expectedMaxBatchSize = null;
+            }
+
+            final Duration expectedMaxBatchDelay;
+            if (random.nextBoolean()) {
+                final long micros = random.nextLong(0, 10_000);
+                expectedMaxBatchDelay = Duration.ofNanos(micros * 1_000);
+                configStringBuilder.append("MAX_BATCH_DELAY_MICROS(").append(micros).append(") ");
+            } else {
+                expectedMaxBatchDelay = null;
+            }
+
             final String configString = configStringBuilder.toString();
 
             final TaskSchedulerConfiguration config = TaskSchedulerConfiguration.parse(configString);
@@ -108,6 +156,11 @@ class TaskSchedulerConfigurationTests {
             assertEquals(expectedBusyFractionMetricEnabled, config.busyFractionMetricEnabled());
             assertEquals(expectedFlushingEnabled, config.flushingEnabled());
             assertEquals(expectedSquelchingEnabled, config.squelchingEnabled());
+            assertEquals(expectedQueueingDelayMetricEnabled, config.queueingDelayMetricEnabled());
+            assertEquals(expectedWeight, config.weight());
+            assertEquals(expectedMaxCpuShare, config.maxCpuShare());
+            assertEquals(expectedMaxBatchSize, config.maxBatchSize());
+            assertEquals(expectedMaxBatchDelay, config.maxBatchDelay());
         }
     }
 
@@ -147,6 +200,31 @@ class TaskSchedulerConfigurationTests {
         assertThrows(
                 IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("SQUELCHABLE !SQUELCHABLE"));
         assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("SQUELCHABLE SQUELCHABLE"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> TaskSchedulerConfiguration.parse("QUEUEING_DELAY_METRIC !QUEUEING_DELAY_METRIC"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("WEIGHT(1) WEIGHT(2)"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> TaskSchedulerConfiguration.parse("MAX_CPU_SHARE(0.5) MAX_CPU_SHARE(0.5)"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> TaskSchedulerConfiguration.parse("MAX_BATCH_SIZE(10) MAX_BATCH_SIZE(20)"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> TaskSchedulerConfiguration.parse("MAX_BATCH_DELAY_MICROS(10) MAX_BATCH_DELAY_MICROS(10)"));
+    }
+
+    @Test
+    void malformedValueTest() {
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("CAPACITY(abc)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("CAPACITY"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("WEIGHT(1.5)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("MAX_CPU_SHARE(half)"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("MAX_CPU_SHARE)0.5("));
+        assertThrows(IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("MAX_BATCH_SIZE(many)"));
+        assertThrows(
+                IllegalArgumentException.class, () -> TaskSchedulerConfiguration.parse("MAX_BATCH_DELAY_MICROS(1ms)"));
     }
 
     @Test
@@ -0,0 +1,226 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers;
+
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerBuilder.UNLIMITED_CAPACITY;
+import static org.hiero.base.utility.NonCryptographicHashing.hash32;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.base.time.Time;
+import com.swirlds.component.framework.model.WiringModel;
+import com.swirlds.component.framework.model.WiringModelBuilder;
+import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import com.swirlds.component.framework.wires.input.BindableInputWire;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hiero.consensus.metrics.noop.NoOpMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BatchedTaskSchedulerTests {
+
+    private ForkJoinPool pool;
+    private WiringModel model;
+
+    @AfterEach
+    void tearDown() {
+        if (model != null && model.isRunning()) {
+            model.stop();
+        }
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private void buildModel() {
+        pool = new ForkJoinPool(4);
+        model = WiringModelBuilder.create(new NoOpMetrics(), Time.getCurrent())
+                .withDefaultPool(pool)
+                .build();
+    }
+
+    private TaskScheduler<Void> buildScheduler(final int maxBatchSize, final Duration maxBatchDelay) {
+        return model.<Void>schedulerBuilder("test")
+                .withType(TaskSchedulerType.SEQUENTIAL_BATCHED)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .withFlushingEnabled(true)
+                .withMaxBatchSize(maxBatchSize)
+                .withMaxBatchDelay(maxBatchDelay)
+                .build();
+    }
+
+    /**
+     * Add values to the task scheduler from several threads, ensure that each value was processed in order.
+     */
+    @Test
+    void orderOfOperationsTest() throws InterruptedException {
+        buildModel();
+
+        final TaskScheduler<Void> taskScheduler = buildScheduler(16, Duration.ZERO);
+        final AtomicInteger wireValue = new AtomicInteger();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(x -> wireValue.set(hash32(wireValue.get(), x)));
+        model.start();
+
+        int value = 0;
+        for (int i = 0; i < 10_000; i++) {
+            channel.put(i);
+            value = hash32(value, i);
+        }
+        taskScheduler.flush();
+
+        assertEquals(value, wireValue.get());
+        assertEquals(0, taskScheduler.getUnprocessedTaskCount());
+        assertEquals(TaskSchedulerType.SEQUENTIAL_BATCHED, taskScheduler.getType());
+    }
+
+    /**
+     * Tasks for a batch consumer are delivered in lists no larger than the max batch size, and interleave correctly
+     * with tasks for other wires on the same scheduler.
+     */
+    @Test
+    void batchConsumerTest() throws InterruptedException {
+        buildModel();
+
+        final int maxBatchSize = 8;
+        final TaskScheduler<Void> taskScheduler = buildScheduler(maxBatchSize, Duration.ZERO);
+        final List<String> handled = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        final CountDownLatch gate = new CountDownLatch(1);
+        final BindableInputWire<Integer, Void> gateWire = taskScheduler.buildInputWire("gate");
+        gateWire.bindConsumer(x -> {
+            try {
+                gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final BindableInputWire<Integer, Void> batchWire = taskScheduler.buildInputWire("batch");
+        batchWire.bindBatchConsumer(batch -> {
+            batchSizes.add(batch.size());
+            batch.forEach(x -> handled.add("batch" + x));
+        });
+        final BindableInputWire<Integer, Void> singleWire = taskScheduler.buildInputWire("single");
+        singleWire.bindConsumer(x -> handled.add("single" + x));
+        model.start();
+
+        // Hold the scheduler, so that everything below is queued before any of it is handled
+        gateWire.put(0);
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batchWire.put(i);
+            expected.add("batch" + i);
+        }
+        singleWire.put(0);
+        expected.add("single0");
+        for (int i = 20; i < 25; i++) {
+            batchWire.put(i);
+            expected.add("batch" + i);
+        }
+        gate.countDown();
+        taskScheduler.flush();
+
+        assertEquals(expected, handled);
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= maxBatchSize), batchSizes.toString());
+        assertTrue(batchSizes.contains(maxBatchSize), batchSizes.toString());
+    }
+
+    /**
+     * A batch consumer bound to a scheduler that is not batched receives one value per list.
+     */
+    @Test
+    void batchConsumerOnSequentialSchedulerTest() throws InterruptedException {
+        buildModel();
+
+        final TaskScheduler<Void> taskScheduler = model.<Void>schedulerBuilder("sequential")
+                .withType(TaskSchedulerType.SEQUENTIAL)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .withFlushingEnabled(true)
+                .build();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final BindableInputWire<Integer, Void> batchWire = taskScheduler.buildInputWire("batch");
+        batchWire.bindBatchConsumer(batch -> batchSizes.add(batch.size()));
+        model.start();
+
+        for (int i = 0; i < 10; i++) {
+            batchWire.put(i);
+        }
+        taskScheduler.flush();
+
+        assertEquals(List.of(1, 1, 1, 1, 1, 1, 1, 1, 1, 1), batchSizes);
+    }
+
+    /**
+     * With a batch delay, tasks that trickle in are collected into one batch. A full batch does not wait.
+     */
+    @Test
+    void maxBatchDelayTest() throws InterruptedException {
+        buildModel();
+
+        final TaskScheduler<Void> taskScheduler = buildScheduler(5, Duration.ofSeconds(10));
+        final List<Integer> batchSizes = new ArrayList<>();
+        final BindableInputWire<Integer, Void> batchWire = taskScheduler.buildInputWire("batch");
+        batchWire.bindBatchConsumer(batch -> batchSizes.add(batch.size()));
+        model.start();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            batchWire.put(i);
+        }
+        taskScheduler.flush();
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(List.of(5), batchSizes);
+        assertTrue(elapsed < Duration.ofSeconds(5).toNanos(), "full batch waited " + elapsed + "ns");
+    }
+
+    /**
+     * An exception thrown by a handler is reported, and the scheduler keeps handling tasks.
+     */
+    @Test
+    void exceptionTest() throws InterruptedException {
+        buildModel();
+
+        final AtomicInteger exceptionCount = new AtomicInteger();
+        final TaskScheduler<Void> taskScheduler = model.<Void>schedulerBuilder("test")
+                .withType(TaskSchedulerType.SEQUENTIAL_BATCHED)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .withFlushingEnabled(true)
+                .withUncaughtExceptionHandler((t, e) -> exceptionCount.incrementAndGet())
+                .build();
+        final AtomicInteger handledCount = new AtomicInteger();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(x -> {
+            if (x % 10 == 0) {
+                throw new IllegalStateException("intentional");
+            }
+            handledCount.incrementAndGet();
+        });
+        model.start();
+
+        for (int i = 0; i < 100; i++) {
+            channel.put(i);
+        }
+        taskScheduler.flush();
+
+        assertEquals(10, exceptionCount.get());
+        assertEquals(90, handledCount.get());
+    }
+
+    @Test
+    void illegalConfigurationTest() {
+        buildModel();
+
+        assertThrows(IllegalArgumentException.class, () -> model.schedulerBuilder("a").withMaxBatchSize(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> model.schedulerBuilder("b").withMaxBatchDelay(Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,265 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.component.framework.schedulers;
+
+import static com.swirlds.component.framework.schedulers.builders.TaskSchedulerBuilder.UNLIMITED_CAPACITY;
+import static org.hiero.base.utility.NonCryptographicHashing.hash32;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.base.test.fixtures.time.FakeTime;
+import com.swirlds.base.time.Time;
+import com.swirlds.component.framework.model.WiringModel;
+import com.swirlds.component.framework.model.WiringModelBuilder;
+import com.swirlds.component.framework.schedulers.builders.TaskSchedulerType;
+import com.swirlds.component.framework.schedulers.internal.QueueingDelayHistogram;
+import com.swirlds.component.framework.wires.input.BindableInputWire;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hiero.consensus.metrics.noop.NoOpMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WeightedTaskSchedulerTests {
+
+    private ForkJoinPool pool;
+    private WiringModel model;
+
+    @AfterEach
+    void tearDown() {
+        if (model != null && model.isRunning()) {
+            model.stop();
+        }
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private void buildModel(final int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+        model = WiringModelBuilder.create(new NoOpMetrics(), Time.getCurrent())
+                .withDefaultPool(pool)
+                .build();
+    }
+
+    private TaskScheduler<Void> buildScheduler(final String name, final int weight, final double maxCpuShare) {
+        return model.<Void>schedulerBuilder(name)
+                .withType(TaskSchedulerType.SEQUENTIAL_WEIGHTED)
+                .withUnhandledTaskCapacity(UNLIMITED_CAPACITY)
+                .withFlushingEnabled(true)
+                .withWeight(weight)
+                .withMaxCpuShare(maxCpuShare)
+                .build();
+    }
+
+    private static void spin(final long nanos) {
+        final long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Add values to the task scheduler from several threads, ensure that each value was processed in order.
+     */
+    @Test
+    void orderOfOperationsTest() throws InterruptedException {
+        buildModel(4);
+
+        final TaskScheduler<Void> taskScheduler = buildScheduler("test", 1, 1.0);
+        final AtomicInteger wireValue = new AtomicInteger();
+        final BindableInputWire<Integer, Void> channel = taskScheduler.buildInputWire("channel");
+        channel.bindConsumer(x -> wireValue.set(hash32(wireValue.get(), x)));
+        model.start();
+
+        int value = 0;
+        for (int i = 0; i < 10_000; i++) {
+            channel.put(i);
+            value = hash32(value, i);
+        }
+        taskScheduler.flush();
+
+        assertEquals(value, wireValue.get());
+        assertEquals(TaskSchedulerType.SEQUENTIAL_WEIGHTED, taskScheduler.getType());
+    }
+
+    /**
+     * When two schedulers compete for a single thread, they should get CPU time in proportion to their weights.
+     */
+    @Test
+    void weightsTest() throws InterruptedException {
+        buildModel(1);
+
+        final TaskScheduler<Void> gateScheduler = buildScheduler("gate", 1, 1.0);
+        final TaskScheduler<Void> lightScheduler = buildScheduler("light", 1, 1.0);
+        final TaskScheduler<Void> heavyScheduler = buildScheduler("heavy", 3, 1.0);
+
+        final CountDownLatch gate = new CountDownLatch(1);
+        final BindableInputWire<Integer, Void> gateWire = gateScheduler.buildInputWire("gate");
+        gateWire.bindConsumer(x -> {
+            try {
+                gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        final int tasks = 300;
+        final AtomicInteger lightCount = new AtomicInteger();
+        final AtomicInteger lightCountWhenHeavyDone = new AtomicInteger(-1);
+        final BindableInputWire<Integer, Void> lightWire = lightScheduler.buildInputWire("light");
+        lightWire.bindConsumer(x -> {
+            spin(TimeUnit.MICROSECONDS.toNanos(100));
+            lightCount.incrementAndGet();
+        });
+        final BindableInputWire<Integer, Void> heavyWire = heavyScheduler.buildInputWire("heavy");
+        heavyWire.bindConsumer(x -> {
+            spin(TimeUnit.MICROSECONDS.toNanos(100));
+            if (x == tasks - 1) {
+                lightCountWhenHeavyDone.set(lightCount.get());
+            }
+        });
+        model.start();
+
+        // Hold the only worker, so that both schedulers have all their work queued before either runs
+        gateWire.put(0);
+        for (int i = 0; i < tasks; i++) {
+            lightWire.put(i);
+            heavyWire.put(i);
+        }
+        gate.countDown();
+        heavyScheduler.flush();
+        lightScheduler.flush();
+
+        // Ideally a third of the light tasks are done when the heavy scheduler finishes
+        final int lightDone = lightCountWhenHeavyDone.get();
+        assertTrue(
+                lightDone >= tasks / 6 && lightDone <= tasks / 2,
+                "light scheduler handled " + lightDone + " of " + tasks + " tasks");
+    }
+
+    /**
+     * A scheduler that has used up its CPU share must wait for its budget to be replenished.
+     */
+    @Test
+    void maxCpuShareTest() throws InterruptedException {
+        buildModel(1);
+
+        final TaskScheduler<Void> cappedScheduler = buildScheduler("capped", 1, 0.1);
+        final BindableInputWire<Integer, Void> cappedWire = cappedScheduler.buildInputWire("capped");
+        cappedWire.bindConsumer(x -> spin(TimeUnit.MILLISECONDS.toNanos(1)));
+        model.start();
+
+        // 50ms of work with a budget of 10ms per 100ms window can't finish in less than 4 windows
+        final long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            cappedWire.put(i);
+        }
+        cappedScheduler.flush();
+        final long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(300), "capped work finished in " + elapsed + "ns");
+    }
+
+    /**
+     * When every worker is blocked on backpressure from a full downstream scheduler, the downstream scheduler must
+     * still get a worker, or the wiring deadlocks.
+     */
+    @Test
+    void blockedWorkersTest() throws InterruptedException {
+        pool = new ForkJoinPool(2);
+        model = WiringModelBuilder.create(new NoOpMetrics(), Time.getCurrent())
+                .withDefaultPool(pool)
+                .enableHardBackpressure()
+                .build();
+
+        final TaskScheduler<Void> sinkScheduler = model.<Void>schedulerBuilder("sink")
+                .withType(TaskSchedulerType.SEQUENTIAL_WEIGHTED)
+                .withUnhandledTaskCapacity(1)
+                .withFlushingEnabled(true)
+                .build();
+        final AtomicInteger sinkCount = new AtomicInteger();
+        final BindableInputWire<Integer, Void> sinkWire = sinkScheduler.buildInputWire("sink");
+        sinkWire.bindConsumer(x -> {
+            spin(TimeUnit.MICROSECONDS.toNanos(10));
+            sinkCount.incrementAndGet();
+        });
+
+        // As many upstream schedulers as workers, all writing to the sink as fast as they can
+        final TaskScheduler<Void> upstreamA = buildScheduler("upstreamA", 1, 1.0);
+        final TaskScheduler<Void> upstreamB = buildScheduler("upstreamB", 1, 1.0);
+        final BindableInputWire<Integer, Void> wireA = upstreamA.buildInputWire("upstreamA");
+        wireA.bindConsumer(sinkWire::put);
+        final BindableInputWire<Integer, Void> wireB = upstreamB.buildInputWire("upstreamB");
+        wireB.bindConsumer(sinkWire::put);
+        model.start();
+
+        final int tasks = 1_000;
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < tasks; i++) {
+                wireA.put(i);
+                wireB.put(i);
+            }
+            upstreamA.flush();
+            upstreamB.flush();
+            sinkScheduler.flush();
+            done.countDown();
+        });
+        producer.setDaemon(true);
+        producer.start();
+
+        assertTrue(done.await(30, TimeUnit.SECONDS), "deadlocked after " + sinkCount.get() + " sink tasks");
+        assertEquals(2 * tasks, sinkCount.get());
+    }
+
+    @Test
+    void illegalConfigurationTest() {
+        buildModel(1);
+
+        assertThrows(IllegalArgumentException.class, () -> model.schedulerBuilder("a").withWeight(0));
+        assertThrows(IllegalArgumentException.class, () -> model.schedulerBuilder("b").withMaxCpuShare(0));
+        assertThrows(IllegalArgumentException.class, () -> model.schedulerBuilder("c").withMaxCpuShare(1.5));
+        assertThrows(IllegalStateException.class, () -> model.schedulerBuilder("d")
+                .withType(TaskSchedulerType.SEQUENTIAL)
+                .withQueueingDelayMetricEnabled(true)
+                .build());
+    }
+
+    @Test
+    void wiringDiagramShowsWeightsTest() {
+        buildModel(1);
+
+        buildScheduler("weighted", 3, 0.25).buildInputWire("input").bindConsumer(x -> {});
+        final String diagram = model.generateWiringDiagram(List.of(), List.of(), List.of(), false);
+
+        assertTrue(diagram.contains("weight 3, max 25% CPU"), diagram);
+    }
+
+    @Test
+    void queueingDelayHistogramTest() {
+        final FakeTime time = new FakeTime();
+        final QueueingDelayHistogram histogram = new QueueingDelayHistogram(time, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 98; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(10), time.nanoTime());
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5), time.nanoTime());
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5), time.nanoTime());
+
+        // Nothing is reported until the window is complete
+        assertEquals(0, histogram.getPercentileMicros(50));
+
+        time.tick(Duration.ofSeconds(1));
+        assertEquals(16, histogram.getPercentileMicros(50));
+        assertEquals(8192, histogram.getPercentileMicros(99));
+
+        // An idle window reports nothing
+        time.tick(Duration.ofSeconds(1));
+        assertEquals(0, histogram.getPercentileMicros(99));
+    }
+}
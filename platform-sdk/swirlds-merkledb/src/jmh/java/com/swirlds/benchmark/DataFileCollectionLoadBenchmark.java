@@ -0,0 +1,116 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.benchmark;
+
+import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.base.test.fixtures.util.DataUtils;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.DataFileCollection;
+import com.swirlds.merkledb.files.DataFileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.hiero.base.file.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark measures how long it takes to load a {@link DataFileCollection} with many data files,
+ * as it's done when a node loads a state from disk on startup, and to read some data items from it.
+ */
+@State(Scope.Benchmark)
+public class DataFileCollectionLoadBenchmark {
+
+    private static final String STORE_NAME = "benchmark";
+
+    /**
+     * Number of data files in the collection.
+     */
+    @Param({"1000", "5000"})
+    public int fileCount;
+
+    /**
+     * Number of data items in every data file.
+     */
+    @Param({"1000"})
+    public int itemsPerFile;
+
+    /**
+     * Percentage of data files to read a data item from after the collection is loaded.
+     */
+    @Param({"1", "100"})
+    public int readFilesPercent;
+
+    // Runtime variables
+    private MerkleDbConfig dbConfig;
+    private Path storeDir;
+    private long[] dataLocations;
+
+    @Setup(Level.Trial)
+    public void setupGlobal() throws IOException {
+        dbConfig = ConfigurationBuilder.create()
+                .withConfigDataType(MerkleDbConfig.class)
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        storeDir = Files.createTempDirectory("dataFileCollectionLoadBenchmark");
+
+        final Random random = new Random(1234);
+        final BufferedData dataItem = BufferedData.wrap(DataUtils.randomUtf8Bytes(100));
+        dataLocations = new long[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            final DataFileWriter writer =
+                    new DataFileWriter(STORE_NAME, storeDir, i, Instant.now(), 0, MEBIBYTES_TO_BYTES, 1L << 30);
+            final int sampleItem = random.nextInt(itemsPerFile);
+            for (int j = 0; j < itemsPerFile; j++) {
+                final long dataLocation = writer.storeDataItem(dataItem);
+                dataItem.flip();
+                if (j == sampleItem) {
+                    dataLocations[i] = dataLocation;
+                }
+            }
+            writer.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownGlobal() throws IOException {
+        if (storeDir != null) {
+            FileUtils.deleteDirectory(storeDir);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Measurement(iterations = 5)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = 1)
+    @Warmup(iterations = 1)
+    public void loadAndRead(final Blackhole blackhole) throws IOException {
+        final DataFileCollection collection = new DataFileCollection(dbConfig, storeDir, STORE_NAME, null);
+        try {
+            final int readStep = 100 / readFilesPercent;
+            for (int i = 0; i < fileCount; i += readStep) {
+                blackhole.consume(collection.readDataItem(dataLocations[i]));
+            }
+        } finally {
+            collection.close();
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class LongListBenchmark {
     private LongList list;
     private int nextIndex = INITIAL_DATA_SIZE;
 
-    @Param({"LongListHeap", "LongListOffHeap", "LongListSegment"})
+    @Param({"LongListHeap", "LongListOffHeap", "LongListSegment", "LongListSegmentHugePages"})
     public String listImpl;
 
     @Setup(Level.Trial)
@@ -48,6 +48,7 @@ public class LongListBenchmark {
             default -> new LongListHeap(1024 * 1024, INITIAL_DATA_SIZE, 256 * 1024);
             case "LongListOffHeap" -> new LongListOffHeap(1024 * 1024, INITIAL_DATA_SIZE, 256 * 1024);
             case "LongListSegment" -> new LongListSegment(1024 * 1024, INITIAL_DATA_SIZE, 256 * 1024);
+            case "LongListSegmentHugePages" -> new LongListSegment(1024 * 1024, INITIAL_DATA_SIZE, 256 * 1024, true);
         };
         // fill with some data
         for (int i = 0; i < INITIAL_DATA_SIZE; i++) {
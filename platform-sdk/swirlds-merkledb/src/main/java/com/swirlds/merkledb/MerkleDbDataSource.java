@@ -2,6 +2,7 @@
 package com.swirlds.merkledb;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.base.units.UnitConstants.MEBIBYTES_TO_BYTES;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
 import static com.swirlds.merkledb.KeyRange.INVALID_KEY_RANGE;
@@ -29,6 +30,7 @@ import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.files.DataFileReader;
 import com.swirlds.merkledb.files.MemoryIndexDiskKeyValueStore;
 import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
+import com.swirlds.merkledb.utilities.SnapshotWriteBudget;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.config.VirtualMapConfig;
 import com.swirlds.virtualmap.datasource.VirtualDataSource;
@@ -52,6 +54,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.LongAdder;
@@ -116,6 +120,14 @@ public final class MerkleDbDataSource implements VirtualDataSource {
      */
     private final boolean preferDiskBasedIndices;
 
+    /**
+     * Indicates whether this data source is a copy for offline use, for example a copy detached
+     * from a virtual map to write a state snapshot. Only snapshots of such copies are subject to
+     * {@link MerkleDbConfig#snapshotMaxWriteMbPerSecond()}, snapshots of live data sources are
+     * taken while the virtual pipeline is paused and are never throttled.
+     */
+    private final boolean offlineUse;
+
     /**
      * In memory off-heap index for hash chunks. Maps chunk IDs to disk locations.
      * A part of the hash chunk store.
@@ -189,7 +201,10 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** Thread pool storing key-to-path mappings */
     private final ExecutorService storeLeafKeysExecutor;
 
-    /** Thread pool creating snapshots, it is unbounded in threads, but we use at most 7 */
+    /**
+     * Thread pool creating snapshots, one task per store. It has {@link MerkleDbConfig#snapshotThreads()}
+     * threads, tasks that don't fit wait in the queue
+     */
     private final ExecutorService snapshotExecutor;
 
     /** Flag for if a snapshot is in progress */
@@ -260,7 +275,9 @@ public final class MerkleDbDataSource implements VirtualDataSource {
      *                        is read from MerkleDb metadata file
      * @param compactionEnabled Indicates whether background compaction should be running for this data
      *                          source
-     * @param diskBasedIndices Indicates that the data source should use disk based indices
+     * @param offlineUse Indicates that the data source is a copy for offline use. Such data sources
+     *                   use disk based indices, and their snapshots are subject to the snapshot write
+     *                   rate limit
      * @throws IOException If an I/O error occurs
      */
     public MerkleDbDataSource(
@@ -270,11 +287,11 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             final String tableName,
             final long initialCapacity,
             final boolean compactionEnabled,
-            final boolean diskBasedIndices)
+            final boolean offlineUse)
             throws IOException {
         this.tableName = tableName;
-        this.preferDiskBasedIndices =
-                diskBasedIndices || config.getConfigData(MerkleDbConfig.class).useDiskIndices();
+        this.offlineUse = offlineUse;
+        this.preferDiskBasedIndices = offlineUse || config.getConfigData(MerkleDbConfig.class).useDiskIndices();
 
         final VirtualMapConfig virtualMapConfig = config.getConfigData(VirtualMapConfig.class);
         this.hashChunkHeight = virtualMapConfig.hashChunkHeight();
@@ -306,14 +323,23 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 .setExceptionHandler((t, ex) -> logger.error(
                         EXCEPTION.getMarker(), "[{}] Uncaught exception during storing leaf keys", tableName, ex))
                 .buildFactory());
-        // thread pool creating snapshots, it is unbounded in threads, but we use at most 7
-        snapshotExecutor = Executors.newCachedThreadPool(new ThreadConfiguration(getStaticThreadManager())
-                .setComponent(MERKLEDB_COMPONENT)
-                .setThreadGroup(threadGroup)
-                .setThreadName("Snapshot")
-                .setExceptionHandler(
-                        (t, ex) -> logger.error(EXCEPTION.getMarker(), "Uncaught exception during snapshots", ex))
-                .buildFactory());
+        // thread pool creating snapshots, threads are only kept while snapshots are running
+        final int snapshotThreads = merkleDbConfig.snapshotThreads();
+        final ThreadPoolExecutor snapshotThreadPool = new ThreadPoolExecutor(
+                snapshotThreads,
+                snapshotThreads,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadConfiguration(getStaticThreadManager())
+                        .setComponent(MERKLEDB_COMPONENT)
+                        .setThreadGroup(threadGroup)
+                        .setThreadName("Snapshot")
+                        .setExceptionHandler((t, ex) ->
+                                logger.error(EXCEPTION.getMarker(), "Uncaught exception during snapshots", ex))
+                        .buildFactory());
+        snapshotThreadPool.allowCoreThreadTimeOut(true);
+        snapshotExecutor = snapshotThreadPool;
 
         dbPaths = new MerkleDbPaths(storageDir);
 
@@ -1017,6 +1043,13 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             // create snapshot dir if it doesn't exist
             Files.createDirectories(snapshotDirectory);
             final MerkleDbPaths snapshotDbPaths = new MerkleDbPaths(snapshotDirectory);
+            final LongAdder indexBytesWritten = new LongAdder();
+            // index writes of all stores share a single write budget, if configured. Live data sources
+            // are snapshotted while the virtual pipeline is paused, they must never be throttled
+            final long maxWriteMbPerSecond = merkleDbConfig.snapshotMaxWriteMbPerSecond();
+            final SnapshotWriteBudget writeBudget = offlineUse && maxWriteMbPerSecond > 0
+                    ? new SnapshotWriteBudget(maxWriteMbPerSecond * MEBIBYTES_TO_BYTES)
+                    : null;
             // main snapshotting process in multiple-threads
             try {
                 // Flush cached hash chunks to the hash chunk store
@@ -1029,27 +1062,30 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 }
                 final CountDownLatch countDownLatch = new CountDownLatch(6);
                 // write all data stores
-                runWithSnapshotExecutor(countDownLatch, "idToDiskLocationHashChunks", () -> {
-                    idToDiskLocationHashChunks.writeToFile(snapshotDbPaths.idToDiskLocationHashChunksFile);
+                runWithSnapshotExecutor(countDownLatch, writeBudget, "idToDiskLocationHashChunks", () -> {
+                    indexBytesWritten.add(
+                            writeIndex(idToDiskLocationHashChunks, snapshotDbPaths.idToDiskLocationHashChunksFile));
                     return true;
                 });
-                runWithSnapshotExecutor(countDownLatch, "pathToDiskLocationLeafNodes", () -> {
-                    pathToDiskLocationLeafNodes.writeToFile(snapshotDbPaths.pathToDiskLocationLeafNodesFile);
+                runWithSnapshotExecutor(countDownLatch, writeBudget, "pathToDiskLocationLeafNodes", () -> {
+                    indexBytesWritten.add(
+                            writeIndex(pathToDiskLocationLeafNodes, snapshotDbPaths.pathToDiskLocationLeafNodesFile));
                     return true;
                 });
-                runWithSnapshotExecutor(countDownLatch, "hashChunkStore", () -> {
+                runWithSnapshotExecutor(countDownLatch, writeBudget, "hashChunkStore", () -> {
                     hashChunkStore.snapshot(snapshotDbPaths.hashChunkDirectory);
                     return true;
                 });
-                runWithSnapshotExecutor(countDownLatch, "keyToPath", () -> {
+                runWithSnapshotExecutor(countDownLatch, writeBudget, "keyToPath", () -> {
                     keyToPath.snapshot(snapshotDbPaths.keyToPathDirectory);
+                    indexBytesWritten.add(keyToPath.getLastSnapshotIndexBytes());
                     return true;
                 });
-                runWithSnapshotExecutor(countDownLatch, "keyValueStore", () -> {
+                runWithSnapshotExecutor(countDownLatch, writeBudget, "keyValueStore", () -> {
                     keyValueStore.snapshot(snapshotDbPaths.pathToKeyValueDirectory);
                     return true;
                 });
-                runWithSnapshotExecutor(countDownLatch, "metadata", () -> {
+                runWithSnapshotExecutor(countDownLatch, writeBudget, "metadata", () -> {
                     saveMetadata(snapshotDbPaths);
                     return true;
                 });
@@ -1063,16 +1099,38 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                         e);
                 Thread.currentThread().interrupt();
             }
+            final long snapshotTimeMs = System.currentTimeMillis() - START;
+            final long throttledMs =
+                    writeBudget == null ? 0 : TimeUnit.NANOSECONDS.toMillis(writeBudget.getThrottledNanos());
+            statisticsUpdater.setSnapshotStats(snapshotTimeMs, indexBytesWritten.sum(), throttledMs);
             logger.info(
                     MERKLE_DB.getMarker(),
-                    "[{}] Snapshot all finished in {} seconds",
+                    "[{}] Snapshot all finished in {} seconds, {} index bytes written, {} seconds throttled",
                     tableName,
-                    (System.currentTimeMillis() - START) * UnitConstants.MILLISECONDS_TO_SECONDS);
+                    snapshotTimeMs * UnitConstants.MILLISECONDS_TO_SECONDS,
+                    indexBytesWritten.sum(),
+                    throttledMs * UnitConstants.MILLISECONDS_TO_SECONDS);
         } finally {
             snapshotInProgress.set(false);
         }
     }
 
+    /**
+     * Writes an index to a snapshot, incrementally if enabled in MerkleDb config.
+     *
+     * @param index the index to write
+     * @param file the index file in the snapshot
+     * @return the number of bytes written
+     * @throws IOException if there was a problem writing the index
+     */
+    private long writeIndex(final LongList index, final Path file) throws IOException {
+        if (merkleDbConfig.incrementalIndexSnapshots()) {
+            return index.writeToFileIncrementally(file);
+        }
+        index.writeToFile(file);
+        return Files.size(file);
+    }
+
     /** toString for debugging */
     @Override
     public String toString() {
@@ -1213,24 +1271,31 @@ public final class MerkleDbDataSource implements VirtualDataSource {
 
     /**
      * Run a runnable on background thread using snapshot ExecutorService, counting down latch when
-     * done.
+     * done. The time it takes is reported to the snapshot time metric of the task as soon as the task
+     * is complete.
      *
      * @param countDownLatch latch to count down when done
-     * @param taskName the name of the task for logging
+     * @param writeBudget the write budget to bind to the thread while running, or {@code null}
+     * @param taskName the name of the task for logging and metrics
      * @param runnable the code to run
      */
     private void runWithSnapshotExecutor(
-            final CountDownLatch countDownLatch, final String taskName, final Callable<Object> runnable) {
+            final CountDownLatch countDownLatch,
+            @Nullable final SnapshotWriteBudget writeBudget,
+            final String taskName,
+            final Callable<Object> runnable) {
         snapshotExecutor.submit(() -> {
             final long START = System.currentTimeMillis();
             try {
-                runnable.call();
+                SnapshotWriteBudget.callWith(writeBudget, runnable);
+                final long taskTimeMs = System.currentTimeMillis() - START;
+                statisticsUpdater.setSnapshotTaskTime(taskName, taskTimeMs);
                 logger.trace(
                         MERKLE_DB.getMarker(),
                         "[{}] Snapshot {} complete in {} seconds",
                         tableName,
                         taskName,
-                        (System.currentTimeMillis() - START) * UnitConstants.MILLISECONDS_TO_SECONDS);
+                        taskTimeMs * UnitConstants.MILLISECONDS_TO_SECONDS);
                 return true; // turns this into a callable, so it can throw checked
                 // exceptions
             } catch (final Throwable t) {
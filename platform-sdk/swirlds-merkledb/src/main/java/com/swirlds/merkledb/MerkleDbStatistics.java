@@ -8,7 +8,9 @@ import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
 import com.swirlds.metrics.api.Metrics;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -26,9 +28,20 @@ public class MerkleDbStatistics {
     private static final String READS_PREFIX = "reads_";
     /** Prefix for all metrics related to data flushing */
     private static final String FLUSHES_PREFIX = "flushes_";
+    /** Prefix for all metrics related to data source snapshots */
+    private static final String SNAPSHOTS_PREFIX = "snapshots_";
     /** Prefix for compaction related metrics */
     private static final String COMPACTIONS_PREFIX = "compactions_";
 
+    /** Names of data source snapshot tasks, one per store, a time metric is registered for each */
+    static final List<String> SNAPSHOT_TASKS = List.of(
+            "idToDiskLocationHashChunks",
+            "pathToDiskLocationLeafNodes",
+            "hashChunkStore",
+            "keyToPath",
+            "keyValueStore",
+            "metadata");
+
     private static final String LEVEL_PREFIX = "level_";
     /** Prefix for all off-heap related metrics */
     private static final String OFFHEAP_PREFIX = "offheap_";
@@ -68,6 +81,15 @@ public class MerkleDbStatistics {
     private LongAccumulator flushLeafKeysWritten;
     private DoubleAccumulator flushLeafKeysStoreFileSizeMb;
 
+    /** Snapshots - time in ms */
+    private LongAccumulator snapshotTimeMs;
+    /** Snapshots - index data written in Mb, data linked from earlier snapshots isn't counted */
+    private DoubleAccumulator snapshotIndexWrittenMb;
+    /** Snapshots - time in ms stores waited for the snapshot write budget */
+    private LongAccumulator snapshotThrottledMs;
+    /** Snapshots - time in ms of each store snapshot task, by task name */
+    private final Map<String, LongAccumulator> snapshotTaskTimeMs = new HashMap<>();
+
     /** Hashes store compactions - time in ms */
     private final List<LongAccumulator> hashesStoreCompactionTimeMsList;
     /** Hashes store compactions - saved space in Mb */
@@ -218,6 +240,26 @@ public class MerkleDbStatistics {
                 DS_PREFIX + FLUSHES_PREFIX + "leafKeysStoreFileSizeMb_" + label,
                 "Size of the new leaf keys store file created during flush, " + label + ", Mb");
 
+        // Snapshots
+        snapshotTimeMs = buildLongAccumulator(
+                metrics, DS_PREFIX + SNAPSHOTS_PREFIX + "timeMs_" + label, "Snapshot time, " + label + ", ms");
+        snapshotIndexWrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "indexWrittenMb_" + label,
+                "Size of index data written during snapshot, " + label + ", Mb");
+        snapshotThrottledMs = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + SNAPSHOTS_PREFIX + "throttledMs_" + label,
+                "Time stores waited for snapshot write budget, " + label + ", ms");
+        for (final String task : SNAPSHOT_TASKS) {
+            snapshotTaskTimeMs.put(
+                    task,
+                    buildLongAccumulator(
+                            metrics,
+                            DS_PREFIX + SNAPSHOTS_PREFIX + task + "TimeMs_" + label,
+                            "Snapshot time, " + task + ", " + label + ", ms"));
+        }
+
         // Compaction
 
         for (int level = 0; level <= dbConfig.maxCompactionLevel(); level++) {
@@ -435,6 +477,38 @@ public class MerkleDbStatistics {
         }
     }
 
+    public void setSnapshotTimeMs(final long value) {
+        if (snapshotTimeMs != null) {
+            snapshotTimeMs.update(value);
+        }
+    }
+
+    public void setSnapshotIndexWrittenMb(final double value) {
+        if (snapshotIndexWrittenMb != null) {
+            snapshotIndexWrittenMb.update(value);
+        }
+    }
+
+    public void setSnapshotThrottledMs(final long value) {
+        if (snapshotThrottledMs != null) {
+            snapshotThrottledMs.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for the snapshot time metric of the given store snapshot task. No-op
+     * if the task is not one of {@link #SNAPSHOT_TASKS}.
+     *
+     * @param task the snapshot task name
+     * @param value the value to set
+     */
+    public void setSnapshotTaskTimeMs(final String task, final long value) {
+        final LongAccumulator taskTimeMs = snapshotTaskTimeMs.get(task);
+        if (taskTimeMs != null) {
+            taskTimeMs.update(value);
+        }
+    }
+
     /**
      * Set the current value for the accumulator corresponding to provided compaction level from
      * {@link #hashesStoreCompactionTimeMsList}
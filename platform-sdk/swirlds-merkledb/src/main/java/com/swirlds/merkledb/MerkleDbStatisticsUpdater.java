@@ -43,6 +43,23 @@ public class MerkleDbStatisticsUpdater {
         statistics.registerMetrics(metrics);
     }
 
+    /**
+     * Updates statistics with the duration of a data source snapshot, the number of index bytes
+     * it wrote, and the time its stores waited for the snapshot write budget.
+     */
+    void setSnapshotStats(final long snapshotTimeMs, final long indexBytesWritten, final long throttledMs) {
+        statistics.setSnapshotTimeMs(snapshotTimeMs);
+        statistics.setSnapshotIndexWrittenMb(indexBytesWritten * BYTES_TO_MEBIBYTES);
+        statistics.setSnapshotThrottledMs(throttledMs);
+    }
+
+    /**
+     * Updates statistics with the duration of a single store snapshot task.
+     */
+    void setSnapshotTaskTime(final String taskName, final long taskTimeMs) {
+        statistics.setSnapshotTaskTimeMs(taskName, taskTimeMs);
+    }
+
     /** Updates statistics with leaf keys store file size. */
     void setFlushLeafKeysStoreFileSize(final DataFileReader newLeafKeysFile) {
         statistics.setFlushLeafKeysStoreFileSizeMb(
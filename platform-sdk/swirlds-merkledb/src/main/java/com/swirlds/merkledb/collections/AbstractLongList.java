@@ -15,6 +15,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -23,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BooleanSupplier;
 import java.util.stream.LongStream;
@@ -60,9 +62,15 @@ public abstract class AbstractLongList<C> implements LongList {
     /** File format with no capacity / longs per chunk info */
     private static final int NO_CAPACITY_VERSION = 3;
 
+    /** File format with list metadata only, list chunks are stored in separate chunk files */
+    private static final int CHUNK_FILES_VERSION = 4;
+
     /** The version number for format of current data files */
     private static final int CURRENT_FILE_FORMAT_VERSION = NO_CAPACITY_VERSION;
 
+    /** Suffix of the directory with chunk files, it's next to the list file of the same name */
+    public static final String CHUNK_FILES_DIR_SUFFIX = ".chunks";
+
     /** The number of bytes required to store file version */
     protected static final int VERSION_METADATA_SIZE = Integer.BYTES;
 
@@ -78,12 +86,22 @@ public abstract class AbstractLongList<C> implements LongList {
      */
     protected static final int FORMAT_METADATA_SIZE_V3 = Long.BYTES;
 
+    /** The number of bytes to read for format metadata, v4:
+     * - min valid index<br>
+     * - size<br>
+     * - number of longs per chunk<br>
+     */
+    protected static final int FORMAT_METADATA_SIZE_V4 = Long.BYTES + Long.BYTES + Integer.BYTES;
+
     /** The number for bytes to read for file header, v2 */
     protected static final int FILE_HEADER_SIZE_V2 = VERSION_METADATA_SIZE + FORMAT_METADATA_SIZE_V2;
 
     /** The number for bytes to read for file header, v3 */
     protected static final int FILE_HEADER_SIZE_V3 = VERSION_METADATA_SIZE + FORMAT_METADATA_SIZE_V3;
 
+    /** The number for bytes to read for file header, v4 */
+    protected static final int FILE_HEADER_SIZE_V4 = VERSION_METADATA_SIZE + FORMAT_METADATA_SIZE_V4;
+
     /**
      * The number of longs to store in each allocated buffer. Must be a positive integer. If the
      * value is small, then we will end up allocating a very large number of buffers. If the value
@@ -130,6 +148,21 @@ public abstract class AbstractLongList<C> implements LongList {
      */
     protected final long reservedBufferSize;
 
+    /**
+     * One bit per chunk. A bit is set when the chunk is changed, and cleared when the chunk is
+     * written by {@link #writeToFileIncrementally(Path)}.
+     */
+    private final AtomicLongArray dirtyChunks;
+
+    /**
+     * Chunk files directory written by the last successful {@link #writeToFileIncrementally(Path)},
+     * or the one this list was loaded from. Clean chunks are linked from there. Null if there is none.
+     */
+    private volatile Path lastChunkFilesDir;
+
+    /** Chunk files directory to read chunks from, set only while the list is loaded from a v4 file */
+    private Path chunkFilesDirToLoad;
+
     /**
      * Create a new long list with the specified capacity. Number of longs per chunk and
      * reserved buffer size are read from the provided configuration.
@@ -147,6 +180,7 @@ public abstract class AbstractLongList<C> implements LongList {
         this.reservedBufferSize = merkleDbConfig.longListReservedBufferSize();
 
         chunkList = new AtomicReferenceArray<>(calculateNumberOfChunks(capacity));
+        dirtyChunks = new AtomicLongArray((chunkList.length() + Long.SIZE - 1) / Long.SIZE);
     }
 
     /**
@@ -170,10 +204,12 @@ public abstract class AbstractLongList<C> implements LongList {
         this.reservedBufferSize = reservedBufferSize;
 
         chunkList = new AtomicReferenceArray<>(calculateNumberOfChunks(capacity));
+        dirtyChunks = new AtomicLongArray((chunkList.length() + Long.SIZE - 1) / Long.SIZE);
     }
 
     /**
-     * Loads index data from a file, which was previously saved using {@link #writeToFile(Path)}.
+     * Loads index data from a file, which was previously saved using {@link #writeToFile(Path)} or
+     * {@link #writeToFileIncrementally(Path)}.
      *
      * @param file The file to load from
      * @throws IOException
@@ -187,6 +223,10 @@ public abstract class AbstractLongList<C> implements LongList {
             // read header from existing file
             final ByteBuffer versionBuffer = readFromFileChannel(fileChannel, VERSION_METADATA_SIZE);
             final int formatVersion = versionBuffer.getInt();
+            if (formatVersion == CHUNK_FILES_VERSION) {
+                loadFromChunkFiles(file, fileChannel);
+                return;
+            }
             final int formatMetadataSize;
             final int currentFileHeaderSize;
             if (formatVersion == MIN_VALID_INDEX_SUPPORT_VERSION) {
@@ -199,7 +239,7 @@ public abstract class AbstractLongList<C> implements LongList {
                 throw new IOException("File format version is not supported. File format version ["
                         + formatVersion
                         + "], the latest supported version is ["
-                        + CURRENT_FILE_FORMAT_VERSION
+                        + CHUNK_FILES_VERSION
                         + "].");
             }
 
@@ -238,6 +278,112 @@ public abstract class AbstractLongList<C> implements LongList {
         }
     }
 
+    /**
+     * Loads index data from a v4 file, which only contains list metadata, and chunk files next to it.
+     * If chunks can't be read from chunk files in place, because the number of longs per chunk has
+     * changed or this list doesn't read chunk files, they are assembled into a single v3 file first.
+     *
+     * @param file the v4 file
+     * @param fileChannel the file channel to read list metadata from, positioned after file version
+     * @throws IOException if there was a problem reading the files
+     */
+    private void loadFromChunkFiles(@NonNull final Path file, @NonNull final FileChannel fileChannel)
+            throws IOException {
+        final ByteBuffer headerBuffer = readFromFileChannel(fileChannel, FORMAT_METADATA_SIZE_V4);
+        final long readMinValidIndex = headerBuffer.getLong();
+        final long readSize = headerBuffer.getLong();
+        final int readLongsPerChunk = headerBuffer.getInt();
+        final Path chunkFilesDir = chunkFilesDir(file);
+
+        if ((readLongsPerChunk != longsPerChunk) || !supportsChunkFiles()) {
+            final Path assembledFile = file.resolveSibling(file.getFileName() + ".assembled");
+            try {
+                assembleChunkFiles(chunkFilesDir, readMinValidIndex, readSize, readLongsPerChunk, assembledFile);
+                loadFromFile(assembledFile);
+            } finally {
+                Files.deleteIfExists(assembledFile);
+            }
+            return;
+        }
+
+        if (readMinValidIndex < 0 || readSize <= readMinValidIndex) {
+            size.set(0);
+            minValidIndex.set(-1);
+            maxValidIndex.set(-1);
+        } else {
+            minValidIndex.set(readMinValidIndex);
+            size.set(readSize);
+            maxValidIndex.set(readSize - 1);
+        }
+
+        if (size.get() > capacity) {
+            throw new IllegalArgumentException(
+                    "Failed to read index from file, " + "size=" + size.get() + ", capacity=" + capacity);
+        }
+
+        chunkFilesDirToLoad = chunkFilesDir;
+        try {
+            readBodyFromFileChannelOnInit(fileChannel);
+        } finally {
+            chunkFilesDirToLoad = null;
+        }
+        // Chunks are not dirty after loading, they can be linked from where they were loaded
+        lastChunkFilesDir = chunkFilesDir;
+    }
+
+    /**
+     * Assembles chunk files into a single v3 file, with no assumptions about this list's chunk size.
+     *
+     * @param chunkFilesDir the chunk files directory
+     * @param readMinValidIndex min valid index from the v4 file
+     * @param readSize list size from the v4 file
+     * @param readLongsPerChunk number of longs per chunk from the v4 file
+     * @param assembledFile the v3 file to create
+     * @throws IOException if there was a problem reading chunk files or writing the v3 file
+     */
+    private static void assembleChunkFiles(
+            @NonNull final Path chunkFilesDir,
+            final long readMinValidIndex,
+            final long readSize,
+            final int readLongsPerChunk,
+            @NonNull final Path assembledFile)
+            throws IOException {
+        try (final FileChannel fc =
+                FileChannel.open(assembledFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final ByteBuffer headerBuffer = ByteBuffer.allocate(FILE_HEADER_SIZE_V3);
+            headerBuffer.putInt(NO_CAPACITY_VERSION);
+            headerBuffer.putLong(readMinValidIndex);
+            headerBuffer.flip();
+            long position = MerkleDbFileUtils.completelyWrite(fc, headerBuffer, 0);
+            if (readMinValidIndex >= 0 && readSize > readMinValidIndex) {
+                final long firstChunkIndex = readMinValidIndex / readLongsPerChunk;
+                final long lastChunkIndex = (readSize - 1) / readLongsPerChunk;
+                for (long chunkIndex = firstChunkIndex; chunkIndex <= lastChunkIndex; chunkIndex++) {
+                    final long startIndex = (chunkIndex == firstChunkIndex) ? readMinValidIndex % readLongsPerChunk : 0;
+                    final long endIndex =
+                            (chunkIndex == lastChunkIndex) ? (readSize - 1) % readLongsPerChunk + 1 : readLongsPerChunk;
+                    final long bytesToCopy = (endIndex - startIndex) * Long.BYTES;
+                    final Path chunkFile = chunkFile(chunkFilesDir, toIntExact(chunkIndex));
+                    if (Files.exists(chunkFile)) {
+                        try (final FileChannel chunkChannel = FileChannel.open(chunkFile, StandardOpenOption.READ)) {
+                            chunkChannel.position(startIndex * Long.BYTES);
+                            if (MerkleDbFileUtils.completelyTransferFrom(fc, chunkChannel, position, bytesToCopy)
+                                    != bytesToCopy) {
+                                throw new IOException("Failed to read chunk file " + chunkFile);
+                            }
+                        }
+                    }
+                    // Missing chunk files are empty chunks, they are left as zeroes in the assembled file
+                    position += bytesToCopy;
+                }
+            }
+            // Extend the file to the full size, if the last chunks are missing
+            if (fc.size() < position) {
+                MerkleDbFileUtils.completelyWrite(fc, ByteBuffer.allocate(1), position - 1);
+            }
+        }
+    }
+
     /**
      * Initializes the list from the given file channel. At the moment of the call all the class metadata
      * is already initialized from the file header.
@@ -260,8 +406,21 @@ public abstract class AbstractLongList<C> implements LongList {
             final int startIndexInChunk = (chunkIndex == firstChunkIndex) ? minValidIndexInChunk : 0;
             final int endIndexInChunk = (chunkIndex == lastChunkIndex) ? (maxValidIndexInChunk + 1) : longsPerChunk;
 
-            C chunk = readChunkData(fileChannel, chunkIndex, startIndexInChunk, endIndexInChunk);
-            setChunk(chunkIndex, chunk);
+            if (chunkFilesDirToLoad == null) {
+                C chunk = readChunkData(fileChannel, chunkIndex, startIndexInChunk, endIndexInChunk);
+                setChunk(chunkIndex, chunk);
+                continue;
+            }
+            final Path chunkFile = chunkFile(chunkFilesDirToLoad, chunkIndex);
+            if (!Files.exists(chunkFile)) {
+                // Chunks with no files were not allocated when written
+                continue;
+            }
+            try (final FileChannel chunkChannel = FileChannel.open(chunkFile, StandardOpenOption.READ)) {
+                chunkChannel.position((long) startIndexInChunk * Long.BYTES);
+                C chunk = readChunkData(chunkChannel, chunkIndex, startIndexInChunk, endIndexInChunk);
+                setChunk(chunkIndex, chunk);
+            }
         }
     }
 
@@ -385,6 +544,7 @@ public abstract class AbstractLongList<C> implements LongList {
         final C chunk = createOrGetChunk(index);
         final int subIndex = toIntExact(index % longsPerChunk);
         putToChunk(chunk, subIndex, value);
+        markChunkDirty(toIntExact(index / longsPerChunk));
     }
 
     /**
@@ -420,6 +580,7 @@ public abstract class AbstractLongList<C> implements LongList {
         final int subIndex = toIntExact(index % longsPerChunk);
         boolean result = putIfEqual(chunk, subIndex, oldValue, newValue);
         if (result) {
+            markChunkDirty(chunkIndex);
             // update the size if necessary
             size.getAndUpdate(oldSize -> index >= oldSize ? (index + 1) : oldSize);
         }
@@ -508,6 +669,158 @@ public abstract class AbstractLongList<C> implements LongList {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The file only contains list metadata. Chunks are written to separate files, one file per
+     * chunk, in a directory next to the file, see {@link #chunkFilesDir(Path)}. Chunks that have not
+     * changed since the previous call to this method are hard-linked from the previous chunk files
+     * directory instead of written. If the previous call failed, or the previous chunk files can't
+     * be linked, the chunks are written. Chunks that are not allocated get no files.
+     *
+     * <p>The same consistency notes as for {@link #writeToFile(Path)} apply.
+     */
+    @Override
+    public long writeToFileIncrementally(@NonNull final Path file) throws IOException {
+        if (!supportsChunkFiles()) {
+            return LongList.super.writeToFileIncrementally(file);
+        }
+        final Path previousChunkFilesDir = lastChunkFilesDir;
+        // If this write fails, dirty bits of some chunks are already cleared. Make sure the next
+        // write doesn't link such chunks from the previous directory
+        lastChunkFilesDir = null;
+        final Path chunkFilesDir = chunkFilesDir(file);
+        Files.createDirectories(chunkFilesDir);
+
+        final long currentMinValidIndex = minValidIndex.get();
+        final long currentSize = size();
+        long bytesWritten = 0;
+        if (currentMinValidIndex >= 0 && currentSize > currentMinValidIndex) {
+            final int firstChunkIndex = toIntExact(currentMinValidIndex / longsPerChunk);
+            final int lastChunkIndex = toIntExact((currentSize - 1) / longsPerChunk);
+            for (int chunkIndex = firstChunkIndex; chunkIndex <= lastChunkIndex; chunkIndex++) {
+                // Dirty bit is cleared before the chunk is read, so concurrent changes are not lost
+                final boolean dirty = clearChunkDirty(chunkIndex);
+                final C chunk = chunkList.get(chunkIndex);
+                if (chunk == null) {
+                    continue;
+                }
+                final Path chunkFile = chunkFile(chunkFilesDir, chunkIndex);
+                if (!dirty && (previousChunkFilesDir != null)) {
+                    try {
+                        Files.createLink(chunkFile, chunkFile(previousChunkFilesDir, chunkIndex));
+                        continue;
+                    } catch (final IOException | UnsupportedOperationException e) {
+                        // The previous chunk file is gone or can't be linked, write the chunk
+                    }
+                }
+                try (final FileChannel fc =
+                        FileChannel.open(chunkFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    writeChunkData(fc, chunk);
+                    fc.force(true);
+                }
+                bytesWritten += memoryChunkSize;
+            }
+        }
+
+        try (final FileChannel fc = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final ByteBuffer headerBuffer = ByteBuffer.allocate(FILE_HEADER_SIZE_V4);
+            headerBuffer.putInt(CHUNK_FILES_VERSION);
+            headerBuffer.putLong(currentMinValidIndex);
+            headerBuffer.putLong(currentSize);
+            headerBuffer.putInt(longsPerChunk);
+            headerBuffer.flip();
+            bytesWritten += MerkleDbFileUtils.completelyWrite(fc, headerBuffer, 0);
+            fc.force(true);
+        }
+        lastChunkFilesDir = chunkFilesDir;
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the directory with chunk files for the given list file, which is written with
+     * {@link #writeToFileIncrementally(Path)}.
+     *
+     * @param file the list file
+     * @return the chunk files directory
+     */
+    @NonNull
+    public static Path chunkFilesDir(@NonNull final Path file) {
+        return file.resolveSibling(file.getFileName() + CHUNK_FILES_DIR_SUFFIX);
+    }
+
+    private static Path chunkFile(@NonNull final Path chunkFilesDir, final int chunkIndex) {
+        return chunkFilesDir.resolve(Integer.toString(chunkIndex));
+    }
+
+    /**
+     * Indicates whether this list can write its chunks to chunk files and read them back in place.
+     * Lists that don't still load chunk files written by other lists, but write complete files
+     * in {@link #writeToFileIncrementally(Path)}.
+     *
+     * @return whether chunk files are supported
+     */
+    protected boolean supportsChunkFiles() {
+        return true;
+    }
+
+    /**
+     * Writes all longs of a chunk to a chunk file, from the first long in the chunk to the last one.
+     * Subclasses with a faster way to get chunk data as bytes should override this method.
+     *
+     * @param fc the chunk file channel to write to
+     * @param chunk the chunk to write
+     * @throws IOException if there was a problem writing longs
+     */
+    protected void writeChunkData(@NonNull final FileChannel fc, @NonNull final C chunk) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(memoryChunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < longsPerChunk; i++) {
+            buffer.putLong(lookupInChunk(chunk, i));
+        }
+        buffer.flip();
+        MerkleDbFileUtils.completelyWrite(fc, buffer);
+    }
+
+    /**
+     * Marks a chunk as changed since the last {@link #writeToFileIncrementally(Path)}. Must be called
+     * after the chunk is changed.
+     *
+     * @param chunkIndex the chunk index
+     */
+    protected final void markChunkDirty(final int chunkIndex) {
+        final int wordIndex = chunkIndex / Long.SIZE;
+        final long bit = 1L << chunkIndex;
+        long word = dirtyChunks.get(wordIndex);
+        // Chunks are usually changed many times between snapshots, avoid CAS if the bit is already set
+        while ((word & bit) == 0) {
+            final long witness = dirtyChunks.compareAndExchange(wordIndex, word, word | bit);
+            if (witness == word) {
+                return;
+            }
+            word = witness;
+        }
+    }
+
+    /**
+     * Clears the dirty bit of a chunk.
+     *
+     * @param chunkIndex the chunk index
+     * @return whether the chunk was dirty
+     */
+    private boolean clearChunkDirty(final int chunkIndex) {
+        final int wordIndex = chunkIndex / Long.SIZE;
+        final long bit = 1L << chunkIndex;
+        long word = dirtyChunks.get(wordIndex);
+        while ((word & bit) != 0) {
+            final long witness = dirtyChunks.compareAndExchange(wordIndex, word, word & ~bit);
+            if (witness == word) {
+                return true;
+            }
+            word = witness;
+        }
+        return false;
+    }
+
     /**
      * Write or rewrite header in file
      *
@@ -612,6 +925,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkDirty(i);
             }
         }
 
@@ -621,6 +935,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfElementsToCleanUp > 0) {
             partialChunkCleanup(chunk, true, numberOfElementsToCleanUp);
+            markChunkDirty(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -628,6 +943,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, true, longsPerChunk);
+                markChunkDirty(i);
             }
         }
     }
@@ -649,6 +965,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkDirty(i);
             }
         }
 
@@ -658,6 +975,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfEntriesToCleanUp > 0) {
             partialChunkCleanup(chunk, false, numberOfEntriesToCleanUp);
+            markChunkDirty(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -665,6 +983,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, false, longsPerChunk);
+                markChunkDirty(i);
             }
         }
     }
@@ -0,0 +1,196 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.collections;
+
+import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Advises the OS to back off-heap memory segments with transparent huge pages, which reduces TLB
+ * misses on random access to large long lists. This is done with a {@code madvise(MADV_HUGEPAGE)}
+ * call through the {@link Linker foreign function API}, so it's only supported on Linux. Everywhere
+ * else, or if the call can't be linked or fails, segments are used as is with regular pages.
+ *
+ * <p>The advice only affects pages faulted in after it's given. Pages already there are only
+ * collapsed into huge pages later, if ever, by the kernel in the background. So segments meant to
+ * be backed by huge pages are best {@link #allocate(long, Arena) allocated here}: they are mapped
+ * directly with an anonymous {@code mmap} and advised before any of their memory is touched.
+ *
+ * <p>Linking native functions is a restricted operation. Unless native access is enabled for this
+ * module with {@code --enable-native-access}, the JVM prints a warning the first time it's done.
+ */
+final class HugePages {
+
+    private static final Logger logger = LogManager.getLogger(HugePages.class);
+
+    /** Size of a transparent huge page on x86-64 and most aarch64 Linux systems */
+    static final long HUGE_PAGE_SIZE = 2L * 1024 * 1024;
+
+    /** {@code MADV_HUGEPAGE} advice value from {@code <sys/mman.h>} */
+    private static final int MADV_HUGEPAGE = 14;
+
+    /** {@code PROT_READ | PROT_WRITE} from {@code <sys/mman.h>} */
+    private static final int PROT_READ_WRITE = 0x1 | 0x2;
+
+    /** {@code MAP_PRIVATE | MAP_ANONYMOUS} from {@code <sys/mman.h>} on x86-64 and aarch64 Linux */
+    private static final int MAP_PRIVATE_ANONYMOUS = 0x02 | 0x20;
+
+    /** {@code MAP_FAILED} returned by {@code mmap} on failure */
+    private static final long MAP_FAILED = -1;
+
+    /** {@code int madvise(void *addr, size_t length, int advice)}, or null if not available */
+    @Nullable
+    private static final MethodHandle MADVISE = lookup(
+            "madvise",
+            FunctionDescriptor.of(
+                    ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT));
+
+    /**
+     * {@code void *mmap(void *addr, size_t length, int prot, int flags, int fd, off_t offset)}, or null if not
+     * available
+     */
+    @Nullable
+    private static final MethodHandle MMAP = lookup(
+            "mmap",
+            FunctionDescriptor.of(
+                    ValueLayout.ADDRESS,
+                    ValueLayout.ADDRESS,
+                    ValueLayout.JAVA_LONG,
+                    ValueLayout.JAVA_INT,
+                    ValueLayout.JAVA_INT,
+                    ValueLayout.JAVA_INT,
+                    ValueLayout.JAVA_LONG));
+
+    /** {@code int munmap(void *addr, size_t length)}, or null if not available */
+    @Nullable
+    private static final MethodHandle MUNMAP = lookup(
+            "munmap", FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_LONG));
+
+    /** Failures are logged once, they are expected to be the same for all segments */
+    private static final AtomicBoolean failureLogged = new AtomicBoolean(false);
+
+    private HugePages() {}
+
+    /**
+     * Indicates whether huge pages can be requested on this system.
+     *
+     * @return whether {@link #advise(MemorySegment)} may succeed
+     */
+    static boolean isSupported() {
+        return MADVISE != null;
+    }
+
+    /**
+     * Advises the OS to back the given segment with huge pages. The segment should be aligned to
+     * {@link #HUGE_PAGE_SIZE}, and its size should be a multiple of it. This is only a hint, the
+     * segment can be used normally whatever the result.
+     *
+     * @param segment the native memory segment
+     * @return whether the advice was accepted
+     */
+    static boolean advise(@NonNull final MemorySegment segment) {
+        if (MADVISE == null) {
+            return false;
+        }
+        try {
+            final int result = (int) MADVISE.invokeExact(segment, segment.byteSize(), MADV_HUGEPAGE);
+            if (result != 0) {
+                logFailureOnce("madvise returned " + result, null);
+            }
+            return result == 0;
+        } catch (final Throwable e) {
+            logFailureOnce("madvise failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * Allocates a native memory segment advised to be backed by huge pages. The segment is mapped with an
+     * anonymous {@code mmap}, aligned to {@link #HUGE_PAGE_SIZE}, and advised before any of its memory is
+     * touched, so its pages can be huge pages from the first write. Like all anonymous mappings, it's filled
+     * with zeros. It's unmapped when the given arena is closed.
+     *
+     * @param size the segment size, should be a multiple of {@link #HUGE_PAGE_SIZE}
+     * @param arena the arena that controls the segment's lifetime
+     * @return the segment, or null if it can't be mapped, in which case it should be allocated some other way
+     */
+    @Nullable
+    static MemorySegment allocate(final long size, @NonNull final Arena arena) {
+        if ((MADVISE == null) || (MMAP == null) || (MUNMAP == null)) {
+            return null;
+        }
+        // Map an extra huge page, to have an aligned range in it
+        final long mappedSize = size + HUGE_PAGE_SIZE;
+        final long mapped;
+        try {
+            final MemorySegment mapping = (MemorySegment) MMAP.invokeExact(
+                    MemorySegment.NULL, mappedSize, PROT_READ_WRITE, MAP_PRIVATE_ANONYMOUS, -1, 0L);
+            mapped = mapping.address();
+        } catch (final Throwable e) {
+            logFailureOnce("mmap failed", e);
+            return null;
+        }
+        if (mapped == MAP_FAILED) {
+            logFailureOnce("mmap failed to map " + mappedSize + " bytes", null);
+            return null;
+        }
+        // Unmap the parts before and after the aligned range, they are never used
+        final long aligned = (mapped + HUGE_PAGE_SIZE - 1) & -HUGE_PAGE_SIZE;
+        unmap(mapped, aligned - mapped);
+        unmap(aligned + size, mapped + mappedSize - aligned - size);
+
+        final MemorySegment segment =
+                MemorySegment.ofAddress(aligned).reinterpret(size, arena, s -> unmap(s.address(), size));
+        advise(segment);
+        return segment;
+    }
+
+    private static void unmap(final long address, final long size) {
+        if (size == 0) {
+            return;
+        }
+        try {
+            final int result = (int) MUNMAP.invokeExact(MemorySegment.ofAddress(address), size);
+            if (result != 0) {
+                logFailureOnce("munmap returned " + result, null);
+            }
+        } catch (final Throwable e) {
+            logFailureOnce("munmap failed", e);
+        }
+    }
+
+    @Nullable
+    private static MethodHandle lookup(@NonNull final String name, @NonNull final FunctionDescriptor descriptor) {
+        if (!System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("linux")) {
+            return null;
+        }
+        try {
+            final Linker linker = Linker.nativeLinker();
+            return linker.defaultLookup()
+                    .find(name)
+                    .map(address -> linker.downcallHandle(address, descriptor))
+                    .orElse(null);
+        } catch (final RuntimeException e) {
+            // E.g. native access is denied for this module
+            logger.info(MERKLE_DB.getMarker(), "Huge pages are not available for long lists", e);
+            return null;
+        }
+    }
+
+    private static void logFailureOnce(@NonNull final String message, @Nullable final Throwable e) {
+        if (failureLogged.compareAndSet(false, true)) {
+            logger.info(MERKLE_DB.getMarker(), "Huge pages are not used for long lists: {}", message, e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.swirlds.merkledb.collections;
 import com.swirlds.merkledb.files.DataFileCommon;
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.LongStream;
 
@@ -103,6 +104,21 @@ public interface LongList extends CASableLongIndex, Closeable, OffHeapUser {
      */
     void writeToFile(Path file) throws IOException;
 
+    /**
+     * Write all longs in this LongList into a file, reusing what was written by the previous call to
+     * this method where possible. Implementations that don't support incremental writes write the
+     * complete list, like {@link #writeToFile(Path)} does.
+     *
+     * @param file The file to write into, it should not exist but its parent directory should exist
+     *             and be writable.
+     * @return the number of bytes written, not counting any reused data
+     * @throws IOException If there was a problem creating or writing to the file.
+     */
+    default long writeToFileIncrementally(final Path file) throws IOException {
+        writeToFile(file);
+        return Files.size(file);
+    }
+
     /**
      * Updates min and max valid indexes in this list. If both values are -1, this indicates
      * the list is empty.
@@ -407,6 +407,17 @@ public class LongListDisk extends AbstractLongList<Long> {
         return (index % longsPerChunk) * Long.BYTES;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Disk lists always write complete files. Their chunks are already on disk, there is
+     * little to gain from writing them to chunk files.
+     */
+    @Override
+    protected boolean supportsChunkFiles() {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
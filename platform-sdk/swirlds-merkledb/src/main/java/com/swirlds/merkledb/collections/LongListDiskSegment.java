@@ -573,6 +573,17 @@ public final class LongListDiskSegment extends AbstractLongList<LongListDiskSegm
         return chunk;
     }
 
+    ///
+    /// {@inheritDoc}
+    ///
+    /// All index entries of this list are already in its backing file, so snapshots always
+    /// write complete files.
+    ///
+    @Override
+    protected boolean supportsChunkFiles() {
+        return false;
+    }
+
     ///
     /// {@inheritDoc}
     ///
@@ -143,6 +143,13 @@ public final class LongListOffHeap extends AbstractLongList<ByteBuffer> implemen
         return MemoryUtils.compareAndSwapLong(chunk, subIndexBytes, oldValue, newValue);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void writeChunkData(@NonNull final FileChannel fc, @NonNull final ByteBuffer chunk) throws IOException {
+        // Slice so we don't mess with the byte buffer pointers
+        MerkleDbFileUtils.completelyWrite(fc, chunk.slice(0, chunk.capacity()));
+    }
+
     /**
      * Write the long data to file, This it is expected to be in one simple block of raw longs.
      *
@@ -81,6 +81,21 @@ import com.swirlds.config.api.validation.annotation.Positive;
  * @param consolidationMinFileCount
  *      Minimum number of small files at a level before consolidation triggers. Prevents
  *      pointless runs when only a few small files exist.
+ * @param longListHugePages
+ *      If true, chunks of off-heap memory segment long lists, as large as a huge page or larger, are aligned
+ *      to huge pages and the OS is advised to back them with transparent huge pages. Linux only.
+ * @param incrementalIndexSnapshots
+ *      If true, in-memory long list indices are written to snapshots as one file per chunk, and chunks not
+ *      changed since the previous snapshot are hard-linked from it rather than written again. Snapshots
+ *      written this way can't be read by versions that predate this setting.
+ * @param snapshotThreads
+ *      Max number of data source stores to write to a snapshot in parallel. Stores that don't fit are written
+ *      when others are done. The default writes all stores in parallel.
+ * @param snapshotMaxWriteMbPerSecond
+ *      Max rate, in Mb per second, of index data written to a snapshot by all stores of a data source together,
+ *      to limit the impact of snapshots on flushes and compactions. A zero value disables this limit. Only
+ *      applies to snapshots of data source copies for offline use, such as the copy a state is written to disk
+ *      from. Snapshots of live data sources are taken while the virtual pipeline is paused and are never limited.
  */
 // spotless:off
 @ConfigData("merkleDb")
@@ -111,7 +126,11 @@ public record MerkleDbConfig(
         @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
         @ConfigProperty(defaultValue = "false") boolean useDiskIndices,
         @Min(0) @ConfigProperty(defaultValue = "50") long consolidationMaxInputFileSizeMB,
-        @Min(2) @ConfigProperty(defaultValue = "10") int consolidationMinFileCount){
+        @Min(2) @ConfigProperty(defaultValue = "10") int consolidationMinFileCount,
+        @ConfigProperty(defaultValue = "false") boolean longListHugePages,
+        @ConfigProperty(defaultValue = "false") boolean incrementalIndexSnapshots,
+        @Min(1) @ConfigProperty(defaultValue = "6") int snapshotThreads,
+        @Min(0) @ConfigProperty(defaultValue = "0") long snapshotMaxWriteMbPerSecond){
 
     // spotless:on
 
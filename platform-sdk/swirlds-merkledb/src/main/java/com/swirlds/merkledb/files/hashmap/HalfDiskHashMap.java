@@ -108,6 +108,12 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
 
     /** Bucket pool used by this HDHM */
     private final ReusableBucketPool bucketPool;
+
+    /** Whether the bucket index is written to snapshots incrementally */
+    private final boolean incrementalIndexSnapshots;
+
+    /** Number of bytes written to the bucket index file(s) by the last snapshot */
+    private volatile long lastSnapshotIndexBytes;
     /** Store for session data during a writing transaction */
     private IntObjectHashMap<List<BucketMutation>> oneTransactionsData = null;
 
@@ -180,6 +186,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         this.config = requireNonNull(configuration);
         final MerkleDbConfig merkleDbConfig = this.config.getConfigData(MerkleDbConfig.class);
         this.goodAverageBucketEntryCount = merkleDbConfig.goodAverageBucketEntryCount();
+        this.incrementalIndexSnapshots = merkleDbConfig.incrementalIndexSnapshots();
         // Max number of keys is limited by merkleDbConfig.maxNumberOfKeys. Number of buckets is,
         // on average, goodAverageBucketEntryCount times smaller than the number of keys.
         // Additionally, HDHM resize is initiated, when avg number of keys per bucket exceeds
@@ -399,7 +406,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         // create snapshot directory if needed
         Files.createDirectories(snapshotDirectory);
         // write index to file
-        bucketIndexToBucketLocation.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        final Path indexFile = snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
+        if (incrementalIndexSnapshots) {
+            lastSnapshotIndexBytes = bucketIndexToBucketLocation.writeToFileIncrementally(indexFile);
+        } else {
+            bucketIndexToBucketLocation.writeToFile(indexFile);
+            lastSnapshotIndexBytes = Files.size(indexFile);
+        }
         // snapshot files
         fileCollection.snapshot(snapshotDirectory);
         // write metadata
@@ -818,6 +831,16 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return bucketIndexToBucketLocation;
     }
 
+    /**
+     * Returns the number of bytes written to the bucket index file(s) by the last {@link #snapshot(Path)}.
+     * Data hard-linked from earlier snapshots is not counted.
+     *
+     * @return bucket index bytes written by the last snapshot
+     */
+    public long getLastSnapshotIndexBytes() {
+        return lastSnapshotIndexBytes;
+    }
+
     // =================================================================================================================
     // Private API
 
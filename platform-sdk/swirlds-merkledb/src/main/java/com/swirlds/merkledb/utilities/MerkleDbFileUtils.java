@@ -91,6 +91,9 @@ public final class MerkleDbFileUtils {
      * <p>
      * FileChannel's position is updated as well as ByteBuffer's position.
      * See also for additional details: {@link WritableByteChannel#write(ByteBuffer)}
+     * <p>
+     * If a {@link SnapshotWriteBudget} is bound to the current thread, waits until it allows
+     * the bytes to be written.
      *
      * @param fileChannel
      * 		the FileChannel to write to.
@@ -102,6 +105,7 @@ public final class MerkleDbFileUtils {
      */
     public static int completelyWrite(
             @NonNull final WritableByteChannel fileChannel, @NonNull final ByteBuffer srcBuffer) throws IOException {
+        SnapshotWriteBudget.acquireForCurrentThread(srcBuffer.remaining());
         int totalBytesWritten = 0;
         while (srcBuffer.hasRemaining()) {
             totalBytesWritten += fileChannel.write(srcBuffer);
@@ -114,6 +118,9 @@ public final class MerkleDbFileUtils {
      * <p>
      * FileChannel's position is unchanged. ByteBuffer's position is updated.
      * See also: {@link FileChannel#write(ByteBuffer, long)}
+     * <p>
+     * If a {@link SnapshotWriteBudget} is bound to the current thread, waits until it allows
+     * the bytes to be written.
      *
      * @param fileChannel
      * 		the FileChannel to write to.
@@ -126,6 +133,7 @@ public final class MerkleDbFileUtils {
      */
     public static int completelyWrite(
             final FileChannel fileChannel, final ByteBuffer srcBuffer, final long startPosition) throws IOException {
+        SnapshotWriteBudget.acquireForCurrentThread(srcBuffer.remaining());
         int totalBytesWritten = 0;
         while (srcBuffer.hasRemaining()) {
             totalBytesWritten += fileChannel.write(srcBuffer, startPosition + totalBytesWritten);
@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.utilities;
+
+import static com.swirlds.base.units.UnitConstants.SECONDS_TO_NANOSECONDS;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A write rate limit shared by all threads that write a data source snapshot, so the snapshot
+ * doesn't take all disk bandwidth from flushes and compactions running at the same time.
+ * <p>
+ * A budget is bound to the current thread with {@link #callWith(SnapshotWriteBudget, Callable)}.
+ * While bound, every {@code MerkleDbFileUtils.completelyWrite()} call on that thread, sequential or
+ * positional, waits until the budget allows the bytes to be written.
+ * Index lists and the half disk hash map bucket index write their snapshot files through this
+ * method. Data files are hard-linked to snapshots, they aren't written and aren't limited.
+ * <p>
+ * Writes are scheduled one after another at the configured rate: a write that would exceed the
+ * rate waits until the bytes written before it are paid for. The first write after an idle
+ * period is not delayed.
+ * <p>
+ * This class is thread safe.
+ */
+public final class SnapshotWriteBudget {
+
+    /** The budget bound to the current thread, if any */
+    private static final ThreadLocal<SnapshotWriteBudget> CURRENT = new ThreadLocal<>();
+
+    /** Max number of bytes to write per second */
+    private final long bytesPerSecond;
+
+    /** The time, in {@link System#nanoTime()} terms, when all writes scheduled so far are paid for */
+    private long paidUntilNanos = System.nanoTime();
+
+    /** Total time spent waiting for this budget */
+    private final LongAdder throttledNanos = new LongAdder();
+
+    /**
+     * Create a new budget.
+     *
+     * @param bytesPerSecond max number of bytes to write per second, must be positive
+     */
+    public SnapshotWriteBudget(final long bytesPerSecond) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("bytesPerSecond must be positive, but was: " + bytesPerSecond);
+        }
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Call a task with the given budget bound to the current thread. The previously bound budget,
+     * if any, is restored when the task completes.
+     *
+     * @param budget the budget to bind, or {@code null} to run the task without a budget
+     * @param task the task to call
+     * @return the task result
+     * @throws Exception if the task throws
+     */
+    public static <T> T callWith(final SnapshotWriteBudget budget, @NonNull final Callable<T> task) throws Exception {
+        Objects.requireNonNull(task);
+        final SnapshotWriteBudget previous = CURRENT.get();
+        CURRENT.set(budget);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Wait until the budget bound to the current thread, if any, allows the given number of bytes
+     * to be written.
+     *
+     * @param bytes the number of bytes to write
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    static void acquireForCurrentThread(final long bytes) throws InterruptedIOException {
+        final SnapshotWriteBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.acquire(bytes);
+        }
+    }
+
+    /**
+     * Wait until this budget allows the given number of bytes to be written.
+     *
+     * @param bytes the number of bytes to write
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public void acquire(final long bytes) throws InterruptedIOException {
+        if (bytes <= 0) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final long waitUntil = schedule(start, bytes);
+        long remaining = waitUntil - start;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for snapshot write budget");
+            }
+            remaining = waitUntil - System.nanoTime();
+        }
+        if (waitUntil - start > 0) {
+            throttledNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Schedule a write of the given number of bytes.
+     *
+     * @return the time, in {@link System#nanoTime()} terms, when the write may start
+     */
+    private synchronized long schedule(final long now, final long bytes) {
+        final long writeStart = paidUntilNanos - now < 0 ? now : paidUntilNanos;
+        paidUntilNanos = writeStart + bytesToNanos(bytes);
+        return writeStart;
+    }
+
+    private long bytesToNanos(final long bytes) {
+        return bytes <= Long.MAX_VALUE / SECONDS_TO_NANOSECONDS
+                ? bytes * SECONDS_TO_NANOSECONDS / bytesPerSecond
+                : (long) ((double) bytes / bytesPerSecond * SECONDS_TO_NANOSECONDS);
+    }
+
+    /**
+     * @return max number of bytes to write per second
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * @return total time, in nanoseconds, threads spent waiting for this budget
+     */
+    public long getThrottledNanos() {
+        return throttledNanos.sum();
+    }
+}
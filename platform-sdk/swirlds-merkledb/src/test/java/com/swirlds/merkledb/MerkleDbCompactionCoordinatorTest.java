@@ -74,7 +74,11 @@ class MerkleDbCompactionCoordinatorTest {
                 defaultConfig.maxThreadsPerFileChannel(),
                 defaultConfig.useDiskIndices(),
                 defaultConfig.consolidationMaxInputFileSizeMB(),
-                defaultConfig.consolidationMinFileCount());
+                defaultConfig.consolidationMinFileCount(),
+                defaultConfig.longListHugePages(),
+                defaultConfig.incrementalIndexSnapshots(),
+                defaultConfig.snapshotThreads(),
+                defaultConfig.snapshotMaxWriteMbPerSecond());
         coordinator = new MerkleDbCompactionCoordinator(config);
         coordinator.enableBackgroundCompaction();
     }
@@ -1069,6 +1073,10 @@ class MerkleDbCompactionCoordinatorTest {
                 d.maxThreadsPerFileChannel(),
                 d.useDiskIndices(),
                 maxInputSizeMB,
-                minFileCount);
+                minFileCount,
+                d.longListHugePages(),
+                d.incrementalIndexSnapshots(),
+                d.snapshotThreads(),
+                d.snapshotMaxWriteMbPerSecond());
     }
 }
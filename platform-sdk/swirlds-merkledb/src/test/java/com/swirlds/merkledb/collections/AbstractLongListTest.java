@@ -561,6 +561,66 @@ abstract class AbstractLongListTest<T extends AbstractLongList<?>> extends Abstr
         }
     }
 
+    @Test
+    void testIncrementalSnapshots(@TempDir Path testDir) throws IOException {
+        final int longsPerChunk = 100;
+        final long chunkBytes = longsPerChunk * Long.BYTES;
+        try (final T list = createLongList(longsPerChunk, MAX_LONGS, 0)) {
+            final boolean chunkFiles = list.supportsChunkFiles();
+            list.updateValidRange(0, 999);
+            for (int i = 0; i < 1000; i++) {
+                list.put(i, i + 1000);
+            }
+            final Path snapshot1 = Files.createDirectories(testDir.resolve("snapshot1"))
+                    .resolve("list.ll");
+            final long bytes1 = list.writeToFileIncrementally(snapshot1);
+            if (chunkFiles) {
+                assertEquals(10 * chunkBytes + AbstractLongList.FILE_HEADER_SIZE_V4, bytes1);
+            }
+
+            // Only the changed chunk is written, the others are linked from the first snapshot
+            list.put(345, 1);
+            final Path snapshot2 = Files.createDirectories(testDir.resolve("snapshot2"))
+                    .resolve("list.ll");
+            final long bytes2 = list.writeToFileIncrementally(snapshot2);
+            if (chunkFiles) {
+                assertEquals(chunkBytes + AbstractLongList.FILE_HEADER_SIZE_V4, bytes2);
+                assertTrue(Files.isSameFile(
+                        AbstractLongList.chunkFilesDir(snapshot1).resolve("0"),
+                        AbstractLongList.chunkFilesDir(snapshot2).resolve("0")));
+            }
+
+            // Shrinking the list changes chunks at both ends
+            list.updateValidRange(150, 850);
+            final Path snapshot3 = Files.createDirectories(testDir.resolve("snapshot3"))
+                    .resolve("list.ll");
+            final long bytes3 = list.writeToFileIncrementally(snapshot3);
+            if (chunkFiles) {
+                assertEquals(2 * chunkBytes + AbstractLongList.FILE_HEADER_SIZE_V4, bytes3);
+            }
+
+            // The same and a different chunk size, the latter reads assembled chunk files
+            for (final int readLongsPerChunk : new int[] {longsPerChunk, 64}) {
+                try (final LongList restored = createLongList(snapshot2, readLongsPerChunk, MAX_LONGS, 0)) {
+                    assertEquals(0, restored.getMinValidIndex());
+                    assertEquals(999, restored.getMaxValidIndex());
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i == 345 ? 1 : i + 1000, restored.get(i), "Data should match");
+                    }
+                }
+                try (final LongList restored = createLongList(snapshot3, readLongsPerChunk, MAX_LONGS, 0)) {
+                    assertEquals(150, restored.getMinValidIndex());
+                    assertEquals(850, restored.getMaxValidIndex());
+                    assertEquals(0, restored.get(149));
+                    assertEquals(0, restored.get(851));
+                    for (int i = 150; i <= 850; i++) {
+                        assertEquals(i == 345 ? 1 : i + 1000, restored.get(i), "Data should match");
+                    }
+                }
+            }
+        }
+    }
+
     @Test
     void testRestoreUpdateSnapshot(@TempDir Path testDir) throws IOException {
         try (final LongList longList = createLongList(100, MAX_LONGS, 0)) {
@@ -1,10 +1,19 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.swirlds.merkledb.collections;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
 import com.swirlds.config.api.Configuration;
 import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
 import java.nio.file.Path;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.provider.Arguments;
 
 class LongListSegmentTest extends AbstractLongListTest<LongListSegment> {
@@ -27,6 +36,44 @@ class LongListSegmentTest extends AbstractLongListTest<LongListSegment> {
         return new LongListSegment(file, longsPerChunk, capacity, reservedBufferLength);
     }
 
+    @Test
+    void testHugePages(@TempDir final Path tempDir) throws IOException {
+        // Chunks of exactly one huge page. Where huge pages aren't supported, regular pages are used
+        final int longsPerChunk = (int) (HugePages.HUGE_PAGE_SIZE / Long.BYTES);
+        final long capacity = longsPerChunk * 4L;
+        final Path file = tempDir.resolve("testHugePages.ll");
+        try (final LongListSegment list = new LongListSegment(longsPerChunk, capacity, 0, true)) {
+            list.updateValidRange(0, capacity - 1);
+            for (long i = 0; i < capacity; i += 1001) {
+                list.put(i, i + 1);
+            }
+            assertEquals(2, list.get(1001));
+            assertEquals(0, list.get(1002));
+            list.writeToFile(file);
+        }
+        try (final LongListSegment list = new LongListSegment(file, longsPerChunk, capacity, 0)) {
+            for (long i = 0; i < capacity; i += 1001) {
+                assertEquals(i + 1, list.get(i), "Data should match");
+            }
+        }
+    }
+
+    @Test
+    void testHugePagesAllocation() {
+        assumeTrue(HugePages.isSupported(), "Huge pages are not supported on this system");
+        final long size = HugePages.HUGE_PAGE_SIZE * 2;
+        final MemorySegment segment;
+        try (final Arena arena = Arena.ofConfined()) {
+            segment = HugePages.allocate(size, arena);
+            assertNotNull(segment, "Segment should be mapped");
+            assertEquals(size, segment.byteSize(), "Segment should have the requested size");
+            assertEquals(0, segment.address() % HugePages.HUGE_PAGE_SIZE, "Segment should be aligned to a huge page");
+            assertEquals(-1, segment.mismatch(MemorySegment.ofArray(new byte[(int) size])), "Segment should be zeroed");
+            segment.fill((byte) 1);
+        }
+        assertFalse(segment.scope().isAlive(), "Segment should be unmapped when its arena is closed");
+    }
+
     /**
      * Provides a stream of writer-reader pairs specifically for the {@link LongListSegment}
      * implementation. The writer is always {@link LongListSegment}, and it is paired with
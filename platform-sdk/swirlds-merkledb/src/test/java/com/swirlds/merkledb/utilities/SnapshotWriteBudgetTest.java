@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.merkledb.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SnapshotWriteBudgetTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, -1})
+    @DisplayName("Budget rate must be positive")
+    void nonPositiveRateThrows(final long bytesPerSecond) {
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotWriteBudget(bytesPerSecond));
+    }
+
+    @Test
+    @DisplayName("First acquire is not delayed")
+    void firstAcquireNotDelayed() throws InterruptedIOException {
+        final SnapshotWriteBudget budget = new SnapshotWriteBudget(MB);
+        budget.acquire(10L * MB);
+        assertEquals(0, budget.getThrottledNanos());
+    }
+
+    @Test
+    @DisplayName("Acquires are limited to the budget rate")
+    void acquireIsRateLimited() throws InterruptedIOException {
+        // 10 Mb per second, 5 Mb are acquired, the first Mb is free
+        final SnapshotWriteBudget budget = new SnapshotWriteBudget(10L * MB);
+        final long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            budget.acquire(MB);
+        }
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs >= 350, "Acquires must take at least 400ms, but took " + elapsedMs + "ms");
+        assertTrue(budget.getThrottledNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Budget is shared by threads")
+    void budgetIsSharedByThreads() throws Exception {
+        final SnapshotWriteBudget budget = new SnapshotWriteBudget(10L * MB);
+        final long start = System.nanoTime();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    budget.acquire(MB);
+                    budget.acquire(MB);
+                } catch (final InterruptedIOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        // 8 Mb in total, the first Mb is free
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs >= 650, "Acquires must take at least 700ms, but took " + elapsedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("Writes are limited only while the budget is bound to the thread")
+    void completelyWriteUsesBoundBudget() throws Exception {
+        final SnapshotWriteBudget budget = new SnapshotWriteBudget(10L * MB);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WritableByteChannel channel = Channels.newChannel(out);
+
+        SnapshotWriteBudget.callWith(budget, () -> {
+            for (int i = 0; i < 3; i++) {
+                MerkleDbFileUtils.completelyWrite(channel, ByteBuffer.allocate(MB));
+            }
+            return null;
+        });
+        assertEquals(3 * MB, out.size());
+        final long throttledNanos = budget.getThrottledNanos();
+        assertTrue(throttledNanos > 0);
+
+        // no longer bound
+        for (int i = 0; i < 3; i++) {
+            MerkleDbFileUtils.completelyWrite(channel, ByteBuffer.allocate(MB));
+        }
+        assertEquals(6 * MB, out.size());
+        assertEquals(throttledNanos, budget.getThrottledNanos());
+    }
+
+    @Test
+    @DisplayName("Interrupted acquire throws")
+    void interruptedAcquireThrows() throws InterruptedIOException {
+        final SnapshotWriteBudget budget = new SnapshotWriteBudget(1);
+        budget.acquire(1000);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () -> budget.acquire(1));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -2,8 +2,10 @@
 package com.swirlds.platform.system.status;
 
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.metrics.api.LongGauge;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.atomic.AtomicReference;
 import org.hiero.consensus.metrics.statistics.StatConstructor;
 import org.hiero.consensus.model.status.PlatformStatus;
@@ -13,8 +15,19 @@ import org.hiero.consensus.model.status.PlatformStatus;
  */
 public class PlatformStatusMetrics {
 
+    private static final LongGauge.Config TIME_TO_ACTIVE_CONFIG = new LongGauge.Config(
+                    Metrics.PLATFORM_CATEGORY, "timeToActive")
+            .withDescription("time from the process start until the platform first became ACTIVE")
+            .withUnit("milliseconds");
+
     private final AtomicReference<PlatformStatus> currentStatus = new AtomicReference<>(PlatformStatus.STARTING_UP);
 
+    /**
+     * Time from the process start until the platform first became {@link PlatformStatus#ACTIVE}. It includes loading
+     * the state from disk, so it shows how long a node restart takes. Zero until the platform becomes active.
+     */
+    private final LongGauge timeToActive;
+
     /**
      * Constructor
      *
@@ -25,6 +38,7 @@ public class PlatformStatusMetrics {
                 .getMetrics()
                 .getOrCreate(StatConstructor.createEnumStat(
                         "PlatformStatus", Metrics.PLATFORM_CATEGORY, PlatformStatus.values(), currentStatus::get));
+        timeToActive = platformContext.getMetrics().getOrCreate(TIME_TO_ACTIVE_CONFIG);
     }
 
     /**
@@ -34,5 +48,8 @@ public class PlatformStatusMetrics {
      */
     public void setCurrentStatus(@NonNull final PlatformStatus status) {
         currentStatus.set(status);
+        if (status == PlatformStatus.ACTIVE && timeToActive.get() == 0) {
+            timeToActive.set(Math.max(1, ManagementFactory.getRuntimeMXBean().getUptime()));
+        }
     }
 }
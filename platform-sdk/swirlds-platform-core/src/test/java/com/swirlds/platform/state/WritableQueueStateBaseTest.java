@@ -366,6 +366,46 @@ final class WritableQueueStateBaseTest extends ReadableQueueStateBaseTest {
         }
     }
 
+    @Nested
+    class ReadTrackingTests {
+        @Test
+        void addIsNotARead() {
+            final var subject = writableSTEAMState();
+            subject.add(toProtoBytes("Hydrology"));
+            assertThat(subject.isRead()).isFalse();
+        }
+
+        @Test
+        void peekIsARead() {
+            final var subject = writableSTEAMState();
+            subject.peek();
+            assertThat(subject.isRead()).isTrue();
+        }
+
+        @Test
+        void peekOnEmptyListIsARead() {
+            final var subject =
+                    ListWritableQueueState.builder(FAKE_STATE_ID, LABEL).build();
+            subject.peek();
+            assertThat(subject.isRead()).isTrue();
+        }
+
+        @Test
+        void iteratorIsARead() {
+            final var subject = writableSTEAMState();
+            subject.iterator();
+            assertThat(subject.isRead()).isTrue();
+        }
+
+        @Test
+        void resetClearsRead() {
+            final var subject = writableSTEAMState();
+            subject.poll();
+            subject.reset();
+            assertThat(subject.isRead()).isFalse();
+        }
+    }
+
     @Nested
     class ResetTests {
         @Test
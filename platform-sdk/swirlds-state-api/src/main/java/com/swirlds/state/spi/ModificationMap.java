@@ -0,0 +1,223 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.spi;
+
+import static java.util.Objects.requireNonNull;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The map of buffered modifications in a {@link WritableKVStateBase}. Like the {@link java.util.LinkedHashMap} it
+ * replaces, it iterates in insertion order and allows {@code null} values (which mark removals); but it keeps its
+ * entries in flat arrays, with an open-addressed index over them, so that a put allocates nothing once the arrays are
+ * big enough. Arrays are only allocated on the first put, since most savepoint layers never modify most states.
+ *
+ * <p>Keys are never removed individually; a modification map only grows until it is {@link #clear() cleared}, which
+ * keeps its arrays for reuse. Not thread-safe.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+final class ModificationMap<K, V> extends AbstractMap<K, V> {
+    private static final Object[] NO_ENTRIES = new Object[0];
+    private static final int[] NO_INDEX = new int[0];
+    private static final int MIN_ENTRIES = 4;
+
+    /** The keys, in insertion order */
+    private Object[] keys = NO_ENTRIES;
+    /** The values, parallel to {@link #keys} */
+    private Object[] values = NO_ENTRIES;
+    /** Open-addressed index into the entry arrays, storing one more than the entry position; zero is empty */
+    private int[] index = NO_INDEX;
+    /** The number of entries */
+    private int size;
+    /** Lazily created live view of the keys */
+    private Set<K> keySet;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return positionOf(key) >= 0;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(@Nullable final Object key) {
+        final int pos = positionOf(key);
+        return pos >= 0 ? (V) values[pos] : null;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(@NonNull final K key, @Nullable final V value) {
+        requireNonNull(key);
+        if ((size + 1) * 2 > index.length) {
+            grow();
+        }
+        final int mask = index.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (index[slot] != 0) {
+            final int pos = index[slot] - 1;
+            if (key.equals(keys[pos])) {
+                final var prior = (V) values[pos];
+                values[pos] = value;
+                return prior;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[size] = key;
+        values[size] = value;
+        index[slot] = ++size;
+        return null;
+    }
+
+    /**
+     * Keeps the arrays allocated for the next round of modifications.
+     */
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+            Arrays.fill(index, 0);
+            size = 0;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(@NonNull final BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((K) keys[i], (V) values[i]);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Set<K> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @NonNull
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Iterator<Entry<K, V>> iterator() {
+                return new Cursor<>() {
+                    @Override
+                    Entry<K, V> at(final int pos) {
+                        return new SimpleImmutableEntry<>((K) keys[pos], (V) values[pos]);
+                    }
+                };
+            }
+        };
+    }
+
+    private int positionOf(@Nullable final Object key) {
+        if (size == 0 || key == null) {
+            return -1;
+        }
+        final int mask = index.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+            if (key.equals(keys[entry - 1])) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void grow() {
+        final int capacity = Math.max(MIN_ENTRIES, keys.length * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        // Keep the index at most half full, so probe sequences stay short
+        index = new int[capacity * 2];
+        final int mask = index.length - 1;
+        for (int pos = 0; pos < size; pos++) {
+            int slot = spread(keys[pos].hashCode()) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = pos + 1;
+        }
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A live view of the keys, in insertion order.
+     */
+    private final class KeySet extends AbstractSet<K> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(@Nullable final Object key) {
+            return containsKey(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<K> iterator() {
+            return new Cursor<>() {
+                @Override
+                K at(final int pos) {
+                    return (K) keys[pos];
+                }
+            };
+        }
+    }
+
+    /**
+     * An iterator over the entry positions; modifications made while iterating are not detected.
+     */
+    private abstract class Cursor<T> implements Iterator<T> {
+        private int next;
+
+        abstract T at(int pos);
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public T next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return at(next++);
+        }
+    }
+}
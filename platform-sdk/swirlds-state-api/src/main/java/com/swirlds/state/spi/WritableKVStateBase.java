@@ -16,7 +16,7 @@ import java.util.concurrent.ConcurrentMap;
  */
 public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V> implements WritableKVState<K, V> {
 
-    /** A map of all modified values buffered in this mutable state */
+    /** A map of all modified values buffered in this mutable state, in insertion order */
     private final Map<K, V> modifications;
 
     /** A list of listeners to be notified of changes to the state */
@@ -29,7 +29,7 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
      * @param label The state label
      */
     protected WritableKVStateBase(final int stateId, final String label) {
-        this(stateId, label, new LinkedHashMap<>());
+        this(stateId, label, new ModificationMap<>());
     }
 
     /**
@@ -84,17 +84,19 @@ public abstract class WritableKVStateBase<K, V> extends ReadableKVStateBase<K, V
      * cast and commit unless you own the instance!
      */
     public void commit() {
-        for (final var entry : modifications.entrySet()) {
-            final var key = entry.getKey();
-            final var value = entry.getValue();
+        modifications.forEach((key, value) -> {
             if (value == null) {
                 removeFromDataSource(key);
-                listeners.forEach(listener -> listener.mapDeleteChange(key));
+                for (final var listener : listeners) {
+                    listener.mapDeleteChange(key);
+                }
             } else {
                 putIntoDataSource(key, value);
-                listeners.forEach(listener -> listener.mapUpdateChange(key, value));
+                for (final var listener : listeners) {
+                    listener.mapUpdateChange(key, value);
+                }
             }
-        }
+        });
         reset();
     }
 
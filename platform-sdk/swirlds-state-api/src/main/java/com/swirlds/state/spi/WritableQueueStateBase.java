@@ -41,6 +41,9 @@ public abstract class WritableQueueStateBase<E> implements WritableQueueState<E>
     /** The cached most recent peeked element */
     private E peekedElement = null;
 
+    /** Whether the contents of the queue have been looked at, by peek, poll, remove, or iterator */
+    private boolean read = false;
+
     /** State label used in logs, typically serviceName.stateKey */
     protected final String label;
 
@@ -63,6 +66,16 @@ public abstract class WritableQueueStateBase<E> implements WritableQueueState<E>
         return !readElements.isEmpty() || !addedElements.isEmpty();
     }
 
+    /**
+     * Gets whether the contents of this queue have been read, either by looking at the head of the queue, or by
+     * iterating over it. Adding elements to the queue does not count as reading it.
+     *
+     * @return If the queue has been read.
+     */
+    public boolean isRead() {
+        return read;
+    }
+
     /**
      * Register a listener to be notified of changes to the state on {@link #commit()}. We do not support unregistering
      * a listener, as the lifecycle of a {@link WritableQueueState} is scoped to the set of mutations made to a state in
@@ -109,6 +122,7 @@ public abstract class WritableQueueStateBase<E> implements WritableQueueState<E>
         peekedElement = null;
         dsIterator = null;
         currentAddedElementIndex = 0;
+        read = false;
     }
 
     @Override
@@ -122,6 +136,7 @@ public abstract class WritableQueueStateBase<E> implements WritableQueueState<E>
     @SuppressWarnings("java:S3358")
     public E peek() {
         if (peekedElement != null) return peekedElement;
+        read = true;
         if (dsIterator == null) dsIterator = iterateOnDataSource();
         peekedElement = dsIterator.hasNext()
                 ? dsIterator.next()
@@ -157,6 +172,7 @@ public abstract class WritableQueueStateBase<E> implements WritableQueueState<E>
     @NonNull
     @Override
     public Iterator<E> iterator() {
+        read = true;
         final var iterator = iterateOnDataSource();
         final var addedElementsIterator = addedElements.iterator();
         final var numAddedElements = addedElements.size();
@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.spi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ModificationMapTest {
+
+    @Test
+    @DisplayName("An empty map has no keys and allocates nothing to look them up")
+    void emptyMapHasNoKeys() {
+        final var map = new ModificationMap<String, String>();
+
+        assertThat(map).isEmpty();
+        assertThat(map.containsKey("A")).isFalse();
+        assertThat(map.get("A")).isNull();
+        assertThat(map.containsKey(null)).isFalse();
+        assertThat(map.keySet()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Null values are kept as present keys, as removals are")
+    void nullValuesArePresent() {
+        final var map = new ModificationMap<String, String>();
+
+        map.put("A", null);
+
+        assertThat(map.containsKey("A")).isTrue();
+        assertThat(map.get("A")).isNull();
+        assertThat(map.keySet()).containsExactly("A");
+    }
+
+    @Test
+    @DisplayName("Replacing a value keeps the key's original position")
+    void replacingKeepsPosition() {
+        final var map = new ModificationMap<String, String>();
+        map.put("A", "APPLE");
+        map.put("B", "BANANA");
+
+        assertThat(map.put("A", "ACAI")).isEqualTo("APPLE");
+
+        assertThat(map.keySet()).containsExactly("A", "B");
+        assertThat(map.get("A")).isEqualTo("ACAI");
+    }
+
+    @Test
+    @DisplayName("Clearing empties the map, which can then be reused")
+    void clearAllowsReuse() {
+        final var map = new ModificationMap<String, String>();
+        map.put("A", "APPLE");
+        map.put("B", "BANANA");
+
+        map.clear();
+
+        assertThat(map).isEmpty();
+        assertThat(map.containsKey("A")).isFalse();
+        map.put("C", "CHERRY");
+        assertThat(map.keySet()).containsExactly("C");
+    }
+
+    @Test
+    @DisplayName("Behaves like a LinkedHashMap through growth, colliding hashes, and clears")
+    void matchesLinkedHashMap() {
+        final var random = new Random(1234);
+        final var expected = new LinkedHashMap<Collider, Integer>();
+        final var actual = new ModificationMap<Collider, Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 2_500 == 2_499) {
+                expected.clear();
+                actual.clear();
+            }
+            final var key = new Collider(random.nextInt(1_000));
+            final Integer value = random.nextInt(4) == 0 ? null : i;
+            assertThat(actual.put(key, value)).isEqualTo(expected.put(key, value));
+            assertThat(actual.get(key)).isEqualTo(expected.get(key));
+        }
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(new ArrayList<>(actual.keySet())).isEqualTo(new ArrayList<>(expected.keySet()));
+        final List<Integer> values = new ArrayList<>();
+        actual.forEach((key, value) -> values.add(value));
+        assertThat(values).isEqualTo(new ArrayList<>(expected.values()));
+    }
+
+    /** A key whose hash codes collide in groups of ten, to exercise probing. */
+    private record Collider(int id) {
+        @Override
+        public int hashCode() {
+            return id / 10;
+        }
+    }
+}
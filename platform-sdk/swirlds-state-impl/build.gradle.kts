@@ -2,6 +2,7 @@
 plugins {
     id("org.hiero.gradle.module.library")
     id("org.hiero.gradle.feature.publish-artifactregistry")
+    id("org.hiero.gradle.feature.benchmark")
     id("org.hiero.gradle.feature.test-fixtures")
 }
 
@@ -19,3 +20,9 @@ testModuleInfo {
     requires("org.mockito")
     requires("org.mockito.junit.jupiter")
 }
+
+jmhModuleInfo {
+    requires("com.hedera.node.hapi")
+    requires("com.hedera.pbj.runtime")
+    requires("jmh.core")
+}
@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.merkle;
+
+import com.hedera.hapi.node.base.AccountID;
+import com.hedera.pbj.runtime.Codec;
+import com.hedera.pbj.runtime.ProtoConstants;
+import com.hedera.pbj.runtime.ProtoParserTools;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the time and allocation of {@link StateKeyUtils#kvKey(int, Object, Codec)}, which writes an entity id key
+ * straight into an array of the exact size, with the stream based encoding it replaced. Run {@link #main(String[])}
+ * (or jmh with {@code -prof gc}) and compare {@code gc.alloc.rate.norm}, the bytes allocated per key.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StateKeyUtilsBenchmark {
+    private static final int ACCOUNTS_STATE_ID = 2;
+    private static final int NUM_KEYS = 1024;
+
+    private final AccountID[] keys = new AccountID[NUM_KEYS];
+    private int next;
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(StateKeyUtilsBenchmark.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build())
+                .run();
+    }
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = AccountID.newBuilder().accountNum(1001L + i * 7919L).build();
+        }
+    }
+
+    @Benchmark
+    public Bytes kvKey() {
+        return StateKeyUtils.kvKey(ACCOUNTS_STATE_ID, nextKey(), AccountID.PROTOBUF);
+    }
+
+    @Benchmark
+    public Bytes kvKeyThroughStream() {
+        return streamKvKey(ACCOUNTS_STATE_ID, nextKey(), AccountID.PROTOBUF);
+    }
+
+    private AccountID nextKey() {
+        return keys[next++ & (NUM_KEYS - 1)];
+    }
+
+    // The encoding kvKey used before it wrote into an exact-size array
+    private static <K> Bytes streamKvKey(final int stateId, final K key, final Codec<K> keyCodec) {
+        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
+            final WritableSequentialData out = new WritableStreamingData(bout);
+            out.writeVarInt(
+                    (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal(),
+                    false);
+            out.writeVarInt(keyCodec.measureRecord(key), false);
+            keyCodec.write(key, out);
+            return Bytes.wrap(bout.toByteArray());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
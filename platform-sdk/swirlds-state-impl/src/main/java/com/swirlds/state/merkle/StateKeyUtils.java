@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.swirlds.state.merkle;
 
+import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfVarInt32;
 import static java.lang.StrictMath.toIntExact;
 
 import com.hedera.pbj.runtime.Codec;
@@ -9,6 +10,7 @@ import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoParserTools;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -87,40 +89,47 @@ public class StateKeyUtils {
         return singletonKey(stateId);
     }
 
-    // K/V key: OneOf field number is K/V state ID, field value is the key
+    // K/V key: OneOf field number is K/V state ID, field value is the key. K/V keys are made on every
+    // state read and write, so they are written straight into an array of the exact size
     public static <K> Bytes kvKey(final int stateId, final K key, final Codec<K> keyCodec) {
-        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-            final WritableSequentialData out = new WritableStreamingData(bout);
-            // Write tag: field number == state ID, wire type == DELIMITED
-            out.writeVarInt(
-                    (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal(),
-                    false);
-            // Write length, varint
-            out.writeVarInt(keyCodec.measureRecord(key), false);
+        final int keyLength = keyCodec.measureRecord(key);
+        final byte[] buffer = new byte[kvKeySize(stateId, keyLength)];
+        final BufferedData out = BufferedData.wrap(buffer);
+        writeKvKeyPrefix(stateId, keyLength, out);
+        try {
             // Write key
             keyCodec.write(key, out);
-            return Bytes.wrap(bout.toByteArray());
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
+        return Bytes.wrap(buffer);
     }
 
     // K/V key: OneOf field number is K/V state ID, field value is the key
     public static Bytes kvKey(final int stateId, final Bytes key) {
-        try (final ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
-            final WritableSequentialData out = new WritableStreamingData(bout);
-            // Write tag: field number == state ID, wire type == DELIMITED
-            out.writeVarInt(
-                    (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal(),
-                    false);
-            // Write length, varint
-            out.writeVarInt(toIntExact(key.length()), false);
-            // Write key
-            out.writeBytes(key);
-            return Bytes.wrap(bout.toByteArray());
-        } catch (final IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        final int keyLength = toIntExact(key.length());
+        final byte[] buffer = new byte[kvKeySize(stateId, keyLength)];
+        final BufferedData out = BufferedData.wrap(buffer);
+        writeKvKeyPrefix(stateId, keyLength, out);
+        // Write key
+        out.writeBytes(key);
+        return Bytes.wrap(buffer);
+    }
+
+    private static int kvKeyTag(final int stateId) {
+        // Tag: field number == state ID, wire type == DELIMITED
+        return (stateId << ProtoParserTools.TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal();
+    }
+
+    private static int kvKeySize(final int stateId, final int keyLength) {
+        return sizeOfVarInt32(kvKeyTag(stateId)) + sizeOfVarInt32(keyLength) + keyLength;
+    }
+
+    private static void writeKvKeyPrefix(final int stateId, final int keyLength, final WritableSequentialData out) {
+        // Write tag
+        out.writeVarInt(kvKeyTag(stateId), false);
+        // Write length, varint
+        out.writeVarInt(keyLength, false);
     }
 
     /**
@@ -0,0 +1,27 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.state.merkle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hapi.node.state.primitives.ProtoBytes;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.junit.jupiter.api.Test;
+
+class StateKeyUtilsTest {
+    @Test
+    void kvKeyIsKeyWrappedInOneOf() throws ParseException {
+        final var key = new ProtoBytes(Bytes.wrap(new byte[200]));
+        final var keyBytes = ProtoBytes.PROTOBUF.toBytes(key);
+
+        // State ids whose tags and the key length take varints of different sizes
+        for (final int stateId : new int[] {1, 15, 16, 2047, 2048, 65535}) {
+            final var stateKey = StateKeyUtils.kvKey(stateId, key, ProtoBytes.PROTOBUF);
+
+            assertThat(stateKey).isEqualTo(StateKeyUtils.kvKey(stateId, keyBytes));
+            assertThat(StateKeyUtils.extractStateIdFromStateKeyOneOf(stateKey)).isEqualTo(stateId);
+            assertThat(StateKeyUtils.extractKeyFromStateKeyOneOf(stateKey, ProtoBytes.PROTOBUF))
+                    .isEqualTo(key);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import static com.hedera.pbj.runtime.ProtoParserTools.readFixed64;
 import static com.hedera.pbj.runtime.ProtoParserTools.readInt32;
 import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfDelimited;
 import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfTag;
+import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfVarInt32;
 import static com.hedera.pbj.runtime.ProtoWriterTools.writeBytes;
+import static com.hedera.pbj.runtime.ProtoWriterTools.writeInteger;
 import static com.hedera.pbj.runtime.ProtoWriterTools.writeLong;
 
 import com.hedera.pbj.runtime.FieldDefinition;
@@ -31,12 +33,18 @@ import org.hiero.base.crypto.Hash;
  * tree (if exists), then sent to the teacher. On the teacher side, requests are deserialized
  * from the stream, and for every request a response is sent back to the learner.
  *
+ * <p>The root request also carries the newest wire protocol version the learner speaks, see
+ * {@link #PROTOCOL_VERSION_BATCHED}. It is only written if newer than {@link #PROTOCOL_VERSION_UNBATCHED},
+ * so a learner that is configured to speak version 1 can still reconnect from a teacher that does not
+ * know about protocol versions.
+ *
  * <p>Protobuf schema:
  *
  * <pre>
  * message PullVirtualTreeRequest {
  *     fixed64 path = 1;
  *     bytes hash = 2;
+ *     optional int32 protocolVersion = 3;
  * }
  * </pre>
  */
@@ -46,10 +54,25 @@ public record PullVirtualTreeRequest(
         long path,
         // Virtual node hash. If a node with the given path does not exist on the learner (path is
         // outside of range), NULL_HASH is used. If the path is Path.INVALID_PATH, the hash is null
-        Hash hash) {
+        Hash hash,
+        // The newest wire protocol version the learner speaks. Only meaningful for the root request
+        int protocolVersion) {
+
+    /**
+     * The original wire protocol version, where every message is sent in its own frame.
+     */
+    public static final int PROTOCOL_VERSION_UNBATCHED = 1;
+
+    /**
+     * The wire protocol version where, after the root node exchange, messages are coalesced into
+     * framed batches, which may be compressed.
+     */
+    public static final int PROTOCOL_VERSION_BATCHED = 2;
 
     static final FieldDefinition FIELD_PULLREQUEST_PATH = new FieldDefinition("path", FieldType.FIXED64, false, 1);
     static final FieldDefinition FIELD_PULLREQUEST_HASH = new FieldDefinition("hash", FieldType.BYTES, false, 2);
+    static final FieldDefinition FIELD_PULLREQUEST_PROTOCOL_VERSION =
+            new FieldDefinition("protocolVersion", FieldType.INT32, false, false, false, 3);
 
     /**
      * This constructor is used by the learner to send requests to the teacher.
@@ -58,11 +81,23 @@ public record PullVirtualTreeRequest(
      * @param hash the virtual node hash, or null for the terminating request
      */
     public PullVirtualTreeRequest(final long path, @Nullable final Hash hash) {
+        this(path, hash, PROTOCOL_VERSION_UNBATCHED);
+    }
+
+    /**
+     * This constructor is used by the learner to send the root request to the teacher.
+     *
+     * @param path the virtual node path
+     * @param hash the virtual node hash, or null for the terminating request
+     * @param protocolVersion the newest wire protocol version the learner speaks
+     */
+    public PullVirtualTreeRequest(final long path, @Nullable final Hash hash, final int protocolVersion) {
         // Null hash for the terminating requests, non-null otherwise
         assert path == Path.INVALID_PATH || (path >= 0 && hash != null);
         assert hash == null || hash.getDigestType() == DigestType.SHA_384;
         this.path = path;
         this.hash = hash;
+        this.protocolVersion = protocolVersion;
     }
 
     /**
@@ -79,6 +114,9 @@ public record PullVirtualTreeRequest(
             final int hashLen = DigestType.SHA_384.digestLength();
             size += sizeOfDelimited(FIELD_PULLREQUEST_HASH, hashLen);
         }
+        if (protocolVersion > PROTOCOL_VERSION_UNBATCHED) {
+            size += sizeOfTag(FIELD_PULLREQUEST_PROTOCOL_VERSION) + sizeOfVarInt32(protocolVersion);
+        }
         return size;
     }
 
@@ -98,6 +136,9 @@ public record PullVirtualTreeRequest(
                 throw new UncheckedIOException(e);
             }
         }
+        if (protocolVersion > PROTOCOL_VERSION_UNBATCHED) {
+            writeInteger(out, FIELD_PULLREQUEST_PROTOCOL_VERSION, protocolVersion);
+        }
     }
 
     /**
@@ -110,6 +151,7 @@ public record PullVirtualTreeRequest(
     public static PullVirtualTreeRequest parseFrom(@NonNull final ReadableSequentialData in) {
         long path = 0;
         Bytes hashBytes = null;
+        int protocolVersion = PROTOCOL_VERSION_UNBATCHED;
 
         while (in.hasRemaining()) {
             final int field = readInt32(in);
@@ -124,12 +166,18 @@ public record PullVirtualTreeRequest(
                     throw new IllegalArgumentException("Wrong wire type for hash field: " + field);
                 }
                 hashBytes = readBytes(in);
+            } else if (tag == FIELD_PULLREQUEST_PROTOCOL_VERSION.number()) {
+                if ((field & ProtoConstants.TAG_WIRE_TYPE_MASK)
+                        != ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal()) {
+                    throw new IllegalArgumentException("Wrong wire type for protocolVersion field: " + field);
+                }
+                protocolVersion = readInt32(in);
             } else {
                 throw new IllegalArgumentException("Unknown field: " + field);
             }
         }
 
         final Hash hash = (hashBytes != null) ? new Hash(hashBytes, DigestType.SHA_384) : null;
-        return new PullVirtualTreeRequest(path, hash);
+        return new PullVirtualTreeRequest(path, hash, protocolVersion);
     }
 }
@@ -4,10 +4,13 @@ package com.swirlds.virtualmap.internal.reconnect;
 import static com.hedera.pbj.runtime.ProtoParserTools.readBool;
 import static com.hedera.pbj.runtime.ProtoParserTools.readBytes;
 import static com.hedera.pbj.runtime.ProtoParserTools.readFixed64;
+import static com.hedera.pbj.runtime.ProtoParserTools.readInt32;
 import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfDelimited;
 import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfTag;
+import static com.hedera.pbj.runtime.ProtoWriterTools.sizeOfVarInt32;
 import static com.hedera.pbj.runtime.ProtoWriterTools.writeBoolean;
 import static com.hedera.pbj.runtime.ProtoWriterTools.writeBytes;
+import static com.hedera.pbj.runtime.ProtoWriterTools.writeInteger;
 import static com.hedera.pbj.runtime.ProtoWriterTools.writeLong;
 
 import com.hedera.pbj.runtime.FieldDefinition;
@@ -31,7 +34,9 @@ import java.io.UncheckedIOException;
  * learner. Every response includes a path followed by a boolean flag that indicates if the node
  * is clean (node hash on the teacher is the same as sent by the learner), or not. If the path
  * is the root path, the response also includes first and last leaf paths. If the path corresponds
- * to a dirty leaf node, a {@link VirtualLeafBytes} for the node is included.
+ * to a dirty leaf node, a {@link VirtualLeafBytes} for the node is included. The root response
+ * also carries the wire protocol version the teacher chose for the rest of the reconnect, if
+ * newer than {@link PullVirtualTreeRequest#PROTOCOL_VERSION_UNBATCHED}.
  *
  * <p>Protobuf schema:
  *
@@ -43,12 +48,18 @@ import java.io.UncheckedIOException;
  *     optional fixed64 lastLeafPath = 4;
  *     optional bytes keyBytes = 5;
  *     optional bytes valueBytes = 6;
+ *     optional int32 protocolVersion = 7;
  * }
  * </pre>
  *
  */
 public record PullVirtualTreeResponse(
-        long path, boolean isClean, long firstLeafPath, long lastLeafPath, VirtualLeafBytes<?> leafData) {
+        long path,
+        boolean isClean,
+        long firstLeafPath,
+        long lastLeafPath,
+        VirtualLeafBytes<?> leafData,
+        int protocolVersion) {
 
     static final FieldDefinition FIELD_PULLRESPONSE_PATH = new FieldDefinition("path", FieldType.FIXED64, false, 1);
     static final FieldDefinition FIELD_PULLRESPONSE_IS_CLEAN =
@@ -61,9 +72,11 @@ public record PullVirtualTreeResponse(
             new FieldDefinition("keyBytes", FieldType.BYTES, false, 5);
     static final FieldDefinition FIELD_PULLRESPONSE_VALUE_BYTES =
             new FieldDefinition("valueBytes", FieldType.BYTES, false, 6);
+    static final FieldDefinition FIELD_PULLRESPONSE_PROTOCOL_VERSION =
+            new FieldDefinition("protocolVersion", FieldType.INT32, false, false, false, 7);
 
     /**
-     * Constructs a response with all fields.
+     * Constructs a response in the original wire protocol version.
      *
      * @param path the virtual node path
      * @param isClean whether the node hash matches on teacher and learner
@@ -77,11 +90,32 @@ public record PullVirtualTreeResponse(
             final long firstLeafPath,
             final long lastLeafPath,
             @Nullable final VirtualLeafBytes<?> leafData) {
+        this(path, isClean, firstLeafPath, lastLeafPath, leafData, PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED);
+    }
+
+    /**
+     * Constructs a response with all fields.
+     *
+     * @param path the virtual node path
+     * @param isClean whether the node hash matches on teacher and learner
+     * @param firstLeafPath the first leaf path (only meaningful for root responses)
+     * @param lastLeafPath the last leaf path (only meaningful for root responses)
+     * @param leafData the leaf data for dirty leaf nodes, or null
+     * @param protocolVersion the wire protocol version chosen by the teacher (only meaningful for root responses)
+     */
+    public PullVirtualTreeResponse(
+            final long path,
+            final boolean isClean,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            @Nullable final VirtualLeafBytes<?> leafData,
+            final int protocolVersion) {
         this.path = path;
         this.isClean = isClean;
         this.firstLeafPath = firstLeafPath;
         this.lastLeafPath = lastLeafPath;
         this.leafData = leafData;
+        this.protocolVersion = protocolVersion;
         assert (leafData == null) || (leafData.path() == path) : "leafData.path() != path";
     }
 
@@ -105,6 +139,9 @@ public record PullVirtualTreeResponse(
             if (lastLeafPath != 0) {
                 size += sizeOfTag(FIELD_PULLRESPONSE_LAST_LEAF_PATH) + Long.BYTES;
             }
+            if (protocolVersion > PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED) {
+                size += sizeOfTag(FIELD_PULLRESPONSE_PROTOCOL_VERSION) + sizeOfVarInt32(protocolVersion);
+            }
         }
         // Leaf data - only for dirty leaves
         if (leafData != null) {
@@ -132,6 +169,9 @@ public record PullVirtualTreeResponse(
         if (path == Path.ROOT_PATH) {
             writeLong(out, FIELD_PULLRESPONSE_FIRST_LEAF_PATH, firstLeafPath);
             writeLong(out, FIELD_PULLRESPONSE_LAST_LEAF_PATH, lastLeafPath);
+            if (protocolVersion > PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED) {
+                writeInteger(out, FIELD_PULLRESPONSE_PROTOCOL_VERSION, protocolVersion);
+            }
         }
         // Leaf data - only for dirty leaves
         if (leafData != null) {
@@ -160,6 +200,7 @@ public record PullVirtualTreeResponse(
         long lastLeafPath = 0;
         Bytes keyBytes = null;
         Bytes valueBytes = null;
+        int protocolVersion = PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED;
 
         while (in.hasRemaining()) {
             final int field = in.readVarInt(false);
@@ -200,6 +241,11 @@ public record PullVirtualTreeResponse(
                     throw new IllegalArgumentException("Wrong wire type for valueBytes field: " + field);
                 }
                 valueBytes = readBytes(in);
+            } else if (tag == FIELD_PULLRESPONSE_PROTOCOL_VERSION.number()) {
+                if (wireType != ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG.ordinal()) {
+                    throw new IllegalArgumentException("Wrong wire type for protocolVersion field: " + field);
+                }
+                protocolVersion = readInt32(in);
             } else {
                 throw new IllegalArgumentException("Unknown field: " + field);
             }
@@ -212,6 +258,6 @@ public record PullVirtualTreeResponse(
             leafData = null;
         }
 
-        return new PullVirtualTreeResponse(path, isClean, firstLeafPath, lastLeafPath, leafData);
+        return new PullVirtualTreeResponse(path, isClean, firstLeafPath, lastLeafPath, leafData, protocolVersion);
     }
 }
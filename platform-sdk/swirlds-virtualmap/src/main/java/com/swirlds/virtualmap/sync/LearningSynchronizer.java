@@ -25,6 +25,8 @@ import com.swirlds.virtualmap.sync.streams.YieldStrategy;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
@@ -110,11 +112,48 @@ public class LearningSynchronizer {
             @NonNull final DataOutputStream out,
             @NonNull final Runnable breakConnection)
             throws InterruptedException {
-
-        Objects.requireNonNull(originalMap, "originalMap cannot be null");
         Objects.requireNonNull(in, "input stream cannot be null");
         Objects.requireNonNull(out, "output stream cannot be null");
+        return synchronize(originalMap, List.of(in), List.of(out), breakConnection);
+    }
+
+    /**
+     * Perform reconnect in the role of the learner from one or more teachers at once, blocking until it's finished.
+     * All teachers must be teaching the same virtual map, typically the same map in the same signed state.
+     *
+     * <p>Node requests are not assigned to teachers up front. Instead, every teacher gets its own send tasks, and
+     * each task takes the next path to request from the traversal order shared by all teachers. So a teacher that
+     * responds faster is sent more requests, and no teacher waits on another's part of the tree. Responses from
+     * all teachers are applied to the same learner tree, which is re-hashed as usual when the reconnect completes;
+     * so if the teachers' maps do differ, the resulting map will not have the expected hash, and the reconnect will
+     * fail its usual state validation.
+     *
+     * @param originalMap original learner virtual map
+     * @param ins data input streams for reading responses from the teachers, one per teacher
+     * @param outs data output streams for sending requests to the teachers, in the same order as the input streams
+     * @param breakConnection action to break the connections, which should be called if a reconnect-related exception is encountered and the connections should be closed.
+     *
+     * @return the synchronized virtual map
+     * @throws InterruptedException if the synchronization is interrupted
+     * @throws MerkleSynchronizationException if the synchronization fails due to an exception
+     */
+    public VirtualMap synchronize(
+            @NonNull final VirtualMap originalMap,
+            @NonNull final List<DataInputStream> ins,
+            @NonNull final List<DataOutputStream> outs,
+            @NonNull final Runnable breakConnection)
+            throws InterruptedException {
+
+        Objects.requireNonNull(originalMap, "originalMap cannot be null");
+        Objects.requireNonNull(ins, "input streams cannot be null");
+        Objects.requireNonNull(outs, "output streams cannot be null");
         Objects.requireNonNull(breakConnection, "break connection action cannot be null");
+        if (ins.isEmpty() || ins.size() != outs.size()) {
+            throw new IllegalArgumentException(
+                    "Expected the same non-zero number of input and output streams, got " + ins.size() + " and "
+                            + outs.size());
+        }
+        final int teacherCount = ins.size();
 
         final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
         final ReconnectMapMetrics reconnectStats = new ReconnectMapMetrics(metrics, null, null);
@@ -127,46 +166,74 @@ public class LearningSynchronizer {
         final StandardWorkGroup workGroup =
                 createStandardWorkGroup(threadManager, breakConnection, reconnectExceptionListener);
 
-        logger.info(RECONNECT.getMarker(), "learner start synchronizing");
+        logger.info(RECONNECT.getMarker(), "learner start synchronizing with {} teacher(s)", teacherCount);
 
-        final AsyncInputStream input = new AsyncInputStream(
-                in, workGroup, reconnectConfig.asyncStreamBufferSize(), reconnectConfig.asyncStreamTimeout());
-        input.start();
-        final AsyncOutputStream output = buildOutputStream(workGroup, out, reconnectConfig);
-        output.start();
+        final List<AsyncInputStream> inputs = new ArrayList<>(teacherCount);
+        final List<AsyncOutputStream> outputs = new ArrayList<>(teacherCount);
+        for (int i = 0; i < teacherCount; i++) {
+            final AsyncInputStream input = new AsyncInputStream(
+                    Objects.requireNonNull(ins.get(i), "input stream cannot be null"),
+                    workGroup,
+                    reconnectConfig.asyncStreamBufferSize(),
+                    reconnectConfig.asyncStreamTimeout());
+            input.start();
+            inputs.add(input);
+            final AsyncOutputStream output = buildOutputStream(
+                    workGroup, Objects.requireNonNull(outs.get(i), "output stream cannot be null"), reconnectConfig);
+            output.start();
+            outputs.add(output);
+        }
 
         try {
-            // Perform the root-node (path 0) request/response handshake synchronously before forking
-            // any parallel tasks. The root response carries the teacher's first/last leaf path range,
+            // Perform the root-node (path 0) request/response handshake synchronously with every teacher before
+            // forking any parallel tasks. The root response carries the teacher's first/last leaf path range,
             // which must be known before the traversal order can be started and before any parallel
-            // send tasks can generate meaningful non-root requests.
-            exchangeRootNode(exchanger, input, output);
-
-            // FUTURE WORK: configurable number of tasks
-            for (int i = 0; i < 16; i++) {
-                final LearnerPullVirtualTreeReceiveTask learnerReceiveTask =
-                        new LearnerPullVirtualTreeReceiveTask(workGroup, input, exchanger);
-                learnerReceiveTask.exec();
+            // send tasks can generate meaningful non-root requests. Every teacher expects the root request
+            // first, and all teachers must agree on the range
+            final PullVirtualTreeResponse rootResponse = exchangeRootNode(exchanger, inputs.get(0), outputs.get(0));
+            for (int i = 1; i < teacherCount; i++) {
+                final PullVirtualTreeResponse otherRootResponse =
+                        exchangeRootNode(exchanger, inputs.get(i), outputs.get(i));
+                if (otherRootResponse.firstLeafPath() != rootResponse.firstLeafPath()
+                        || otherRootResponse.lastLeafPath() != rootResponse.lastLeafPath()) {
+                    throw new MerkleSynchronizationException("Teacher " + i + " has leaf path range ["
+                            + otherRootResponse.firstLeafPath() + ", " + otherRootResponse.lastLeafPath()
+                            + "], but teacher 0 has [" + rootResponse.firstLeafPath() + ", "
+                            + rootResponse.lastLeafPath() + "]");
+                }
             }
+            exchanger.init(rootResponse);
 
-            // FUTURE WORK: configurable number of tasks
-            final int learnerSendTasks = 16;
-            final CountDownLatch sendTasksDone = new CountDownLatch(learnerSendTasks);
-            for (int i = 0; i < learnerSendTasks; i++) {
-                final LearnerPullVirtualTreeSendTask learnerSendTask =
-                        new LearnerPullVirtualTreeSendTask(workGroup, output, exchanger, sendTasksDone);
-                learnerSendTask.exec();
+            // FUTURE WORK: configurable number of tasks, split between the teachers
+            final int tasksPerTeacher = Math.max(1, 16 / teacherCount);
+            final List<CountDownLatch> sendTasksDone = new ArrayList<>(teacherCount);
+            for (int t = 0; t < teacherCount; t++) {
+                for (int i = 0; i < tasksPerTeacher; i++) {
+                    final LearnerPullVirtualTreeReceiveTask learnerReceiveTask =
+                            new LearnerPullVirtualTreeReceiveTask(workGroup, inputs.get(t), exchanger);
+                    learnerReceiveTask.exec();
+                }
+
+                final CountDownLatch teacherSendTasksDone = new CountDownLatch(tasksPerTeacher);
+                sendTasksDone.add(teacherSendTasksDone);
+                for (int i = 0; i < tasksPerTeacher; i++) {
+                    final LearnerPullVirtualTreeSendTask learnerSendTask = new LearnerPullVirtualTreeSendTask(
+                            workGroup, outputs.get(t), exchanger, teacherSendTasksDone);
+                    learnerSendTask.exec();
+                }
             }
 
-            // when all send tasks done, output can be closed, which signals the teacher that no more requests will be
-            // sent.
+            // when all send tasks for a teacher are done, its output can be closed, which signals the teacher that
+            // no more requests will be sent.
             // This allows the teacher to complete and close its input stream, which allows the receive tasks to finish.
-            try {
-                sendTasksDone.await();
-            } catch (final InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            } finally {
-                output.done(); // always signal the peer, even on interrupt
+            for (int t = 0; t < teacherCount; t++) {
+                try {
+                    sendTasksDone.get(t).await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    outputs.get(t).done(); // always signal the peer, even on interrupt
+                }
             }
 
             workGroup.waitForTermination();
@@ -222,20 +289,26 @@ public class LearningSynchronizer {
     }
 
     /**
-     * Synchronously sends the root node request to the teacher, waits for the root response, and
-     * initializes the traversal order and learner state from the response. This must complete
-     * before any parallel tasks are forked, because all subsequent requests depend on the leaf
-     * path range carried in the root response.
+     * Synchronously sends the root node request to a teacher and waits for the root response. This
+     * must complete before any parallel tasks are forked, because all subsequent requests depend on
+     * the leaf path range carried in the root response.
+     *
+     * <p>The root request also carries the newest wire protocol version this learner speaks, and the
+     * root response the version the teacher chose. If that is
+     * {@link PullVirtualTreeRequest#PROTOCOL_VERSION_BATCHED}, both streams are switched to batches
+     * before any further request is sent.
      *
      * @param exchanger learner view
      * @param in  the async input stream to read the root response from
      * @param out the async output stream to send the root request to
+     * @return the root response, to initialize the traversal order and learner state from
      * @throws MerkleSynchronizationException if the exchange fails, times out, or is interrupted
      */
-    private void exchangeRootNode(
+    private PullVirtualTreeResponse exchangeRootNode(
             LearnerTreeExchanger exchanger, final AsyncInputStream in, final AsyncOutputStream out) {
         logger.info(RECONNECT.getMarker(), "Learner sending root node request to teacher");
-        final PullVirtualTreeRequest rootRequest = new PullVirtualTreeRequest(Path.ROOT_PATH, new Hash());
+        final PullVirtualTreeRequest rootRequest =
+                new PullVirtualTreeRequest(Path.ROOT_PATH, new Hash(), reconnectConfig.maxProtocolVersion());
         final byte[] rootRequestBytes = new byte[rootRequest.getSizeInBytes()];
         rootRequest.writeTo(BufferedData.wrap(rootRequestBytes));
         try {
@@ -257,8 +330,19 @@ public class LearningSynchronizer {
             throw new MerkleSynchronizationException(
                     "Expected root node response, but received response for path " + rootResponse.path());
         }
-        logger.info(RECONNECT.getMarker(), "Root node response received from teacher");
+        final int protocolVersion = Math.min(rootResponse.protocolVersion(), reconnectConfig.maxProtocolVersion());
+        logger.info(
+                RECONNECT.getMarker(), "Root node response received from teacher, protocolVersion={}", protocolVersion);
+        if (protocolVersion >= PullVirtualTreeRequest.PROTOCOL_VERSION_BATCHED) {
+            in.readBatches();
+            try {
+                out.sendBatches(reconnectConfig.maxBatchBytes(), reconnectConfig.compressBatches());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MerkleSynchronizationException("Interrupted while switching to batches", e);
+            }
+        }
 
-        exchanger.init(rootResponse);
+        return rootResponse;
     }
 }
@@ -193,6 +193,12 @@ public class TeachingSynchronizer {
      * any parallel tasks are forked so the learner can initialize its traversal order and begin
      * sending non-root requests.
      *
+     * <p>The root response also carries the wire protocol version for the rest of the reconnect,
+     * which is the older of the versions spoken by the learner and by this teacher. If it is
+     * {@link PullVirtualTreeRequest#PROTOCOL_VERSION_BATCHED}, both streams are switched to batches
+     * right after the root response. The learner only sends its next request after it has the
+     * response, so the input stream is sure to be switched before the learner's first batch arrives.
+     *
      * @param teacherView teacher view used to access information about state
      * @param in          the async input stream to read the root request from
      * @param out         the async output stream to send the root response to
@@ -214,18 +220,29 @@ public class TeachingSynchronizer {
         final boolean isClean = (teacherRootHash == null) || teacherRootHash.equals(rootRequest.hash());
         final long firstLeafPath = teacherView.getMetadata().getFirstLeafPath();
         final long lastLeafPath = teacherView.getMetadata().getLastLeafPath();
-        final PullVirtualTreeResponse rootResponse =
-                new PullVirtualTreeResponse(Path.ROOT_PATH, isClean, firstLeafPath, lastLeafPath, null);
+        final int protocolVersion = Math.max(
+                PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED,
+                Math.min(rootRequest.protocolVersion(), reconnectConfig.maxProtocolVersion()));
+        final PullVirtualTreeResponse rootResponse = new PullVirtualTreeResponse(
+                Path.ROOT_PATH, isClean, firstLeafPath, lastLeafPath, null, protocolVersion);
 
         logger.info(
                 RECONNECT.getMarker(),
-                "Teacher sending root node response: firstLeafPath={}, lastLeafPath={}",
+                "Teacher sending root node response: firstLeafPath={}, lastLeafPath={}, protocolVersion={}",
                 firstLeafPath,
-                lastLeafPath);
+                lastLeafPath,
+                protocolVersion);
         final byte[] responseBytes = new byte[rootResponse.getSizeInBytes()];
         rootResponse.writeTo(BufferedData.wrap(responseBytes));
+        final boolean batches = protocolVersion >= PullVirtualTreeRequest.PROTOCOL_VERSION_BATCHED;
+        if (batches) {
+            in.readBatches();
+        }
         try {
             out.sendAsync(responseBytes);
+            if (batches) {
+                out.sendBatches(reconnectConfig.maxBatchBytes(), reconnectConfig.compressBatches());
+            }
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new MerkleSynchronizationException("Interrupted while sending root node response", e);
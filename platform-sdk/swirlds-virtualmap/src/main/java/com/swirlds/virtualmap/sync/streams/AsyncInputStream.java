@@ -9,11 +9,13 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Inflater;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.consensus.concurrent.pool.StandardWorkGroup;
@@ -43,6 +45,12 @@ import org.hiero.consensus.concurrent.pool.StandardWorkGroup;
  * I/O error is reported through the work group rather than the status, so {@link Status#DONE} does not distinguish
  * clean shutdown from a failure — callers that care should consult {@link StandardWorkGroup#hasExceptions()}.
  * </p>
+ *
+ * <p>
+ * Once {@link #readBatches()} is called, every message read from the stream is expected to be a batch written by
+ * an {@link AsyncOutputStream} that {@link AsyncOutputStream#sendBatches(int, boolean) sends batches}, and the
+ * messages in it are queued one by one, so consumers see the same messages either way.
+ * </p>
  */
 public class AsyncInputStream {
 
@@ -81,6 +89,9 @@ public class AsyncInputStream {
 
     private final long timeoutNanos;
 
+    // Set by a consumer thread while the background thread may be blocked reading the next message
+    private volatile boolean batches = false;
+
     /**
      * Create a new async input stream.
      *
@@ -131,12 +142,22 @@ public class AsyncInputStream {
         }
     }
 
+    /**
+     * Expect every message read from the stream from now on to be a batch of messages. Must be called after the
+     * last unbatched message was read from the stream and before the first batch arrives, which is the case when
+     * the peer only starts sending batches in response to a message this node sends after this call.
+     */
+    public void readBatches() {
+        batches = true;
+    }
+
     /**
      * Background thread loop. Continuously reads length-prefixed messages from the stream and
      * enqueues them. A negative length value serves as a termination marker.
      */
     private void run() {
         logger.debug(RECONNECT.getMarker(), "Background reader thread started");
+        Inflater inflater = null;
 
         try {
             while (!Thread.currentThread().isInterrupted()) {
@@ -151,9 +172,20 @@ public class AsyncInputStream {
 
                 final byte[] messageBytes = new byte[len];
                 inputStream.readFully(messageBytes, 0, len);
-                inputQueue.add(messageBytes);
+                final int queued;
+                if (batches) {
+                    if (inflater == null) {
+                        inflater = MessageBatches.newInflater();
+                    }
+                    final List<byte[]> messages = MessageBatches.decode(messageBytes, inflater, MAX_MESSAGE_SIZE);
+                    inputQueue.addAll(messages);
+                    queued = inputQueueSize.addAndGet(messages.size());
+                } else {
+                    inputQueue.add(messageBytes);
+                    queued = inputQueueSize.incrementAndGet();
+                }
 
-                if (inputQueueSize.incrementAndGet() >= queueSizeThreshold) {
+                if (queued >= queueSizeThreshold) {
                     while (inputQueueSize.get() >= queueSizeThreshold
                             && !Thread.currentThread().isInterrupted()) {
                         Thread.onSpinWait();
@@ -164,6 +196,9 @@ public class AsyncInputStream {
             logger.warn(RECONNECT.getMarker(), "Async input stream failed due to I/O error", e);
             workGroup.handleError(e);
         } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
             status.set(Status.DONE);
             logger.debug(RECONNECT.getMarker(), "Background reader thread stopped");
         }
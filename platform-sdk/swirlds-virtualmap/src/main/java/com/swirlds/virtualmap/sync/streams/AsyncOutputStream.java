@@ -8,11 +8,14 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hiero.consensus.concurrent.pool.StandardWorkGroup;
@@ -47,6 +50,13 @@ import org.hiero.consensus.concurrent.pool.StandardWorkGroup;
  * status, so {@link Status#DONE} does not distinguish clean shutdown from a failure — callers that
  * care should consult {@link StandardWorkGroup#hasExceptions()}.
  * </p>
+ *
+ * <p>
+ * Messages are written one per frame until {@link #sendBatches(int, boolean)} is called. From then on, the
+ * background thread coalesces the messages it finds queued into batches, optionally compressed, and writes
+ * every batch as a single frame; see {@link MessageBatches}. The peer's {@link AsyncInputStream} must be
+ * switched to {@link AsyncInputStream#readBatches() reading batches} at the same point in the stream.
+ * </p>
  */
 public class AsyncOutputStream {
 
@@ -54,6 +64,12 @@ public class AsyncOutputStream {
 
     private static final String THREAD_NAME = "async-output-stream";
 
+    /**
+     * Queued by {@link #sendBatches(int, boolean)} to switch the background thread to batches after
+     * all messages queued before it are written. Compared by identity.
+     */
+    private static final byte[] START_BATCHES = new byte[0];
+
     /** Lifecycle states of the background writer thread. Transitions are monotonic. */
     public enum Status {
         /** {@link #start()} has not been called yet. */
@@ -83,6 +99,16 @@ public class AsyncOutputStream {
     // (guarded — no-op unless RUNNING); the background thread sets DONE on exit.
     private final AtomicReference<Status> status = new AtomicReference<>(Status.NOT_STARTED);
 
+    // Set by sendBatches() before it queues START_BATCHES, and read by the background thread only
+    // after it takes START_BATCHES from the queue, which makes the writes visible to it
+    private int maxBatchBytes;
+    private boolean compressBatches;
+
+    // Only accessed by the background thread. Zero until the thread gets to START_BATCHES
+    private int batchBytesLimit = 0;
+    private Deflater deflater;
+    private final List<byte[]> batch = new ArrayList<>();
+
     /**
      * Constructs a new instance.
      *
@@ -172,6 +198,29 @@ public class AsyncOutputStream {
         }
     }
 
+    /**
+     * Switch to sending messages in batches. Every message sent before this call is written in its own frame;
+     * every message sent after it is written as part of a batch. The background thread never waits for more
+     * messages to fill a batch, it only batches the messages already queued, so batches get larger exactly
+     * when messages are produced faster than they can be written.
+     *
+     * @param maxBatchBytes the number of message bytes at which a batch is written without adding further
+     *                      queued messages; must be {@code > 0}. Batches are also never made larger than the
+     *                      peer can read
+     * @param compress      whether to compress batches, which is only done if it makes them smaller
+     * @throws InterruptedException           if the caller is interrupted while waiting to enqueue
+     * @throws IllegalStateException          if the stream is not in {@link Status#RUNNING}
+     * @throws MerkleSynchronizationException if the enqueue timed out because the buffer stayed full
+     */
+    public void sendBatches(final int maxBatchBytes, final boolean compress) throws InterruptedException {
+        if (maxBatchBytes <= 0) {
+            throw new IllegalArgumentException("maxBatchBytes must be greater than 0");
+        }
+        this.maxBatchBytes = maxBatchBytes;
+        this.compressBatches = compress;
+        sendAsync(START_BATCHES);
+    }
+
     /**
      * @return current lifecycle status of the background writer thread. Visible for tests.
      */
@@ -202,7 +251,7 @@ public class AsyncOutputStream {
             while (status.get() == Status.RUNNING && !Thread.currentThread().isInterrupted()) {
                 final byte[] msg = outputQueue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
                 if (msg != null) {
-                    writeMessage(msg);
+                    write(msg);
                     dirty = true;
                 }
                 if (dirty && (System.nanoTime() - lastFlushNanos) >= flushIntervalNanos) {
@@ -215,7 +264,7 @@ public class AsyncOutputStream {
             // Drain any remaining queued messages submitted before done() was called.
             byte[] msg;
             while ((msg = outputQueue.poll()) != null) {
-                writeMessage(msg);
+                write(msg);
             }
 
             // Termination marker
@@ -228,15 +277,55 @@ public class AsyncOutputStream {
             logger.warn(RECONNECT.getMarker(), "Async output stream failed due to I/O error", e);
             workGroup.handleError(e);
         } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
             status.set(Status.DONE);
             logger.debug(RECONNECT.getMarker(), "Background writer thread stopped");
         }
     }
 
+    /**
+     * Writes a message taken from the queue. Once batches are enabled, also takes the messages queued after it,
+     * up to the batch size limit, and writes them all as a single batch. A message that would make the batch too
+     * large for the peer to read is left in the queue for the next batch. Called on the <b>writer thread</b>.
+     *
+     * @param first the message taken from the queue
+     * @throws IOException if writing to the stream fails
+     */
+    private void write(@NonNull final byte[] first) throws IOException {
+        if (first == START_BATCHES) {
+            batchBytesLimit = maxBatchBytes;
+            deflater = compressBatches ? MessageBatches.newDeflater() : null;
+            return;
+        }
+        if (batchBytesLimit == 0) {
+            writeMessage(first);
+            return;
+        }
+        int bodyBytes = MessageBatches.sizeInBody(first);
+        batch.add(first);
+        byte[] next;
+        // This is the only thread taking messages from the queue, so the peeked message is the one polled
+        while (bodyBytes < batchBytesLimit
+                && (next = outputQueue.peek()) != null
+                && bodyBytes + MessageBatches.sizeInBody(next) <= MessageBatches.MAX_BODY_BYTES) {
+            outputQueue.poll();
+            bodyBytes += MessageBatches.sizeInBody(next);
+            batch.add(next);
+        }
+        try {
+            writeMessage(MessageBatches.encode(batch, bodyBytes, deflater));
+        } finally {
+            batch.clear();
+        }
+    }
+
     /**
      * Writes a single length-prefixed message to the underlying output stream. Called on the
      * <b>writer thread</b> for each dequeued message. Exposed as {@code protected} so test doubles
-     * (e.g. simulated network latency) can override per-message behavior.
+     * (e.g. simulated network latency) can override per-message behavior. Once batches are enabled, every
+     * call writes a whole batch.
      *
      * @param messageBytes the serialized message bytes
      * @throws IOException if writing to the stream fails
@@ -0,0 +1,186 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.sync.streams;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes and decodes the batches of messages sent by {@link AsyncOutputStream} and read by
+ * {@link AsyncInputStream} once batching is enabled on them.
+ *
+ * <p>A batch starts with a codec byte. An {@link #UNCOMPRESSED} batch continues with the batch body, which is
+ * every message as a 4-byte length followed by the message bytes. A {@link #DEFLATED} batch continues with the
+ * 4-byte length of the body, followed by the body compressed with raw deflate. The batch itself is sent as a
+ * single length-prefixed message, so batches fit the same framing as unbatched messages.
+ */
+final class MessageBatches {
+
+    /** Codec of a batch whose body is not compressed. */
+    static final byte UNCOMPRESSED = 0;
+
+    /** Codec of a batch whose body is compressed with raw deflate. */
+    static final byte DEFLATED = 1;
+
+    /** Bodies smaller than this are never compressed, there is too little in them to gain. */
+    static final int MIN_COMPRESSED_BODY_BYTES = 512;
+
+    private static final int HEADER_BYTES = 1;
+    private static final int DEFLATED_HEADER_BYTES = HEADER_BYTES + Integer.BYTES;
+
+    /**
+     * The largest body of a batch of several messages. A batch with a larger body might not fit in
+     * {@link AsyncInputStream#MAX_MESSAGE_SIZE}, whether it's compressed or not.
+     */
+    static final int MAX_BODY_BYTES = AsyncInputStream.MAX_MESSAGE_SIZE - DEFLATED_HEADER_BYTES;
+
+    private MessageBatches() {}
+
+    /**
+     * Creates the deflater to compress the batches of a single stream with. Deflate at its fastest level is used,
+     * since the JDK provides it without extra dependencies and it keeps up with the network.
+     *
+     * @return the deflater
+     */
+    @NonNull
+    static Deflater newDeflater() {
+        return new Deflater(Deflater.BEST_SPEED, true);
+    }
+
+    /**
+     * Creates the inflater to decompress the batches of a single stream with.
+     *
+     * @return the inflater
+     */
+    @NonNull
+    static Inflater newInflater() {
+        return new Inflater(true);
+    }
+
+    /**
+     * Returns the number of body bytes a message takes in a batch.
+     *
+     * @param message the message
+     * @return its size in a batch body
+     */
+    static int sizeInBody(@NonNull final byte[] message) {
+        return Integer.BYTES + message.length;
+    }
+
+    /**
+     * Encodes the given messages into a batch. The batch is compressed if a deflater is given, the body is large
+     * enough, and compressing makes it smaller.
+     *
+     * @param messages the messages, in the order they are to be read
+     * @param bodyBytes the total {@link #sizeInBody(byte[]) size in the body} of the messages
+     * @param deflater the deflater to compress with, or null to not compress
+     * @return the batch
+     */
+    @NonNull
+    static byte[] encode(@NonNull final List<byte[]> messages, final int bodyBytes, @Nullable final Deflater deflater) {
+        final byte[] batch = new byte[HEADER_BYTES + bodyBytes];
+        final ByteBuffer buffer = ByteBuffer.wrap(batch);
+        buffer.put(UNCOMPRESSED);
+        for (final byte[] message : messages) {
+            buffer.putInt(message.length);
+            buffer.put(message);
+        }
+        if (deflater == null || bodyBytes < MIN_COMPRESSED_BODY_BYTES) {
+            return batch;
+        }
+
+        deflater.reset();
+        deflater.setInput(batch, HEADER_BYTES, bodyBytes);
+        deflater.finish();
+        // Only room for a result smaller than the body; if deflate needs more, the batch is sent uncompressed
+        final byte[] deflated = new byte[DEFLATED_HEADER_BYTES + bodyBytes];
+        int deflatedBytes = 0;
+        while (!deflater.finished() && deflatedBytes < bodyBytes) {
+            final int n = deflater.deflate(deflated, DEFLATED_HEADER_BYTES + deflatedBytes, bodyBytes - deflatedBytes);
+            if (n == 0) {
+                break;
+            }
+            deflatedBytes += n;
+        }
+        if (!deflater.finished() || deflatedBytes >= bodyBytes) {
+            return batch;
+        }
+        ByteBuffer.wrap(deflated).put(DEFLATED).putInt(bodyBytes);
+        return Arrays.copyOf(deflated, DEFLATED_HEADER_BYTES + deflatedBytes);
+    }
+
+    /**
+     * Decodes the messages in a batch.
+     *
+     * @param batch the batch
+     * @param inflater the inflater to decompress with
+     * @param maxBodyBytes the largest body to accept
+     * @return the messages, in the order they were encoded
+     * @throws IOException if the batch is malformed
+     */
+    @NonNull
+    static List<byte[]> decode(@NonNull final byte[] batch, @NonNull final Inflater inflater, final int maxBodyBytes)
+            throws IOException {
+        if (batch.length < HEADER_BYTES) {
+            throw new IOException("Empty message batch");
+        }
+        final ByteBuffer body =
+                switch (batch[0]) {
+                    case UNCOMPRESSED -> ByteBuffer.wrap(batch, HEADER_BYTES, batch.length - HEADER_BYTES);
+                    case DEFLATED -> ByteBuffer.wrap(inflate(batch, inflater, maxBodyBytes));
+                    default -> throw new IOException("Unknown message batch codec: " + batch[0]);
+                };
+
+        final List<byte[]> messages = new ArrayList<>();
+        while (body.hasRemaining()) {
+            if (body.remaining() < Integer.BYTES) {
+                throw new IOException("Truncated message length in batch");
+            }
+            final int length = body.getInt();
+            if (length < 0 || length > body.remaining()) {
+                throw new IOException("Invalid message length in batch: " + length);
+            }
+            final byte[] message = new byte[length];
+            body.get(message);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static byte[] inflate(@NonNull final byte[] batch, @NonNull final Inflater inflater, final int maxBodyBytes)
+            throws IOException {
+        if (batch.length < DEFLATED_HEADER_BYTES) {
+            throw new IOException("Truncated deflated message batch");
+        }
+        final int bodyBytes = ByteBuffer.wrap(batch, HEADER_BYTES, Integer.BYTES).getInt();
+        if (bodyBytes < 0 || bodyBytes > maxBodyBytes) {
+            throw new IOException("Message batch body size exceeds maximum size of " + maxBodyBytes);
+        }
+        final byte[] body = new byte[bodyBytes];
+        inflater.reset();
+        inflater.setInput(batch, DEFLATED_HEADER_BYTES, batch.length - DEFLATED_HEADER_BYTES);
+        try {
+            int inflatedBytes = 0;
+            while (inflatedBytes < bodyBytes && !inflater.finished()) {
+                final int n = inflater.inflate(body, inflatedBytes, bodyBytes - inflatedBytes);
+                if (n == 0) {
+                    break;
+                }
+                inflatedBytes += n;
+            }
+            if (inflatedBytes != bodyBytes) {
+                throw new IOException("Deflated message batch does not match its body size of " + bodyBytes);
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Malformed deflated message batch", e);
+        }
+        return body;
+    }
+}
@@ -50,6 +50,37 @@ class PullVirtualTreeRequestTest {
         assertNotNull(deserialized.hash());
     }
 
+    @Test
+    @DisplayName("Round-trip serialization for root path with protocol version")
+    void roundTripRootPathWithProtocolVersion() {
+        final PullVirtualTreeRequest original = new PullVirtualTreeRequest(
+                Path.ROOT_PATH, randomHash(), PullVirtualTreeRequest.PROTOCOL_VERSION_BATCHED);
+
+        final byte[] bytes = new byte[original.getSizeInBytes()];
+        original.writeTo(BufferedData.wrap(bytes));
+
+        final PullVirtualTreeRequest deserialized = PullVirtualTreeRequest.parseFrom(BufferedData.wrap(bytes));
+
+        assertEquals(PullVirtualTreeRequest.PROTOCOL_VERSION_BATCHED, deserialized.protocolVersion());
+    }
+
+    @Test
+    @DisplayName("Original protocol version is not written, so older teachers can parse the request")
+    void originalProtocolVersionIsNotWritten() {
+        final Hash hash = randomHash();
+        final PullVirtualTreeRequest unversioned = new PullVirtualTreeRequest(Path.ROOT_PATH, hash);
+        final PullVirtualTreeRequest versioned =
+                new PullVirtualTreeRequest(Path.ROOT_PATH, hash, PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED);
+
+        assertEquals(unversioned.getSizeInBytes(), versioned.getSizeInBytes());
+        final byte[] bytes = new byte[versioned.getSizeInBytes()];
+        versioned.writeTo(BufferedData.wrap(bytes));
+
+        final PullVirtualTreeRequest deserialized = PullVirtualTreeRequest.parseFrom(BufferedData.wrap(bytes));
+
+        assertEquals(PullVirtualTreeRequest.PROTOCOL_VERSION_UNBATCHED, deserialized.protocolVersion());
+    }
+
     @Test
     @DisplayName("Round-trip serialization for terminating request (INVALID_PATH, null hash)")
     void roundTripTerminatingRequest() {
@@ -34,6 +34,20 @@ class PullVirtualTreeResponseTest {
         assertNull(deserialized.leafData());
     }
 
+    @Test
+    @DisplayName("Round-trip: root response with protocol version")
+    void roundTripRootResponseWithProtocolVersion() {
+        final PullVirtualTreeResponse original = new PullVirtualTreeResponse(
+                Path.ROOT_PATH, false, 10, 99, null, PullVirtualTreeRequest.PROTOCOL_VERSION_BATCHED);
+
+        final byte[] bytes = new byte[original.getSizeInBytes()];
+        original.writeTo(BufferedData.wrap(bytes));
+
+        final PullVirtualTreeResponse deserialized = PullVirtualTreeResponse.parseFrom(BufferedData.wrap(bytes));
+
+        assertEquals(original, deserialized);
+    }
+
     @Test
     @DisplayName("Round-trip: clean root response")
     void roundTripCleanRootResponse() {
@@ -0,0 +1,131 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.virtualmap.test.fixtures.VirtualMapTestUtils.CONFIGURATION;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.sync.MerkleSynchronizationException;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import com.swirlds.virtualmap.test.fixtures.TestValueCodec;
+import com.swirlds.virtualmap.test.fixtures.datasource.InMemoryBuilder;
+import com.swirlds.virtualmap.test.fixtures.sync.ReconnectTestUtils;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("Virtual Map Multi-Teacher Reconnect Test")
+class VirtualMapMultiTeacherReconnectTest extends VirtualMapReconnectTestBase {
+
+    /** Large enough for every teacher to be sent some of the requests */
+    private static final int TEACHER_SIZE = 10_000;
+
+    @Override
+    protected VirtualDataSourceBuilder createBuilder() {
+        return new InMemoryBuilder();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Reconnect from several teachers of the same map")
+    void reconnectFromSeveralTeachers(final int teacherCount) throws Exception {
+        for (int i = 0; i < TEACHER_SIZE; i++) {
+            teacherMap.put(TestKey.longToKey(i), new TestValue(i), TestValueCodec.INSTANCE);
+        }
+        // Partly overlaps the teacher, with different values
+        for (int i = TEACHER_SIZE / 2; i < TEACHER_SIZE * 3 / 2; i++) {
+            learnerMap.put(TestKey.longToKey(i), new TestValue("learner" + i), TestValueCodec.INSTANCE);
+        }
+
+        final VirtualMap copy = teacherMap.copy();
+        teacherMap.reserve();
+        learnerMap.reserve();
+        try {
+            // Asserts the learned map is equal to the teacher map
+            final VirtualMap syncMap = ReconnectTestUtils.testSynchronization(
+                    learnerMap, Collections.nCopies(teacherCount, teacherMap), reconnectConfig);
+            syncMap.release();
+        } finally {
+            teacherMap.release();
+            learnerMap.release();
+            copy.release();
+        }
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("A teacher with different data makes the learned map fail hash validation")
+    void divergentTeacherFailsValidation() throws Exception {
+        // Same keys, so the same leaf path range, but different values
+        final VirtualMap divergentTeacherMap = new VirtualMap(teacherBuilder, CONFIGURATION);
+        for (int i = 0; i < TEACHER_SIZE; i++) {
+            teacherMap.put(TestKey.longToKey(i), new TestValue(i), TestValueCodec.INSTANCE);
+            divergentTeacherMap.put(TestKey.longToKey(i), new TestValue("divergent" + i), TestValueCodec.INSTANCE);
+        }
+
+        final VirtualMap copy = teacherMap.copy();
+        final VirtualMap divergentCopy = divergentTeacherMap.copy();
+        teacherMap.reserve();
+        divergentTeacherMap.reserve();
+        learnerMap.reserve();
+        try {
+            final VirtualMap syncMap = ReconnectTestUtils.synchronize(
+                    learnerMap, List.of(teacherMap, divergentTeacherMap), reconnectConfig);
+            assertNotNull(syncMap, "Synchronization should complete");
+            // The learner validates the learned map against the hash of the state it expects
+            assertNotEquals(
+                    teacherMap.getHash(),
+                    syncMap.getHash(),
+                    "Learned map must not have the expected hash if one teacher sent different data");
+            syncMap.release();
+        } finally {
+            teacherMap.release();
+            divergentTeacherMap.release();
+            learnerMap.release();
+            copy.release();
+            divergentCopy.release();
+        }
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("A teacher with a different leaf path range is rejected")
+    void teacherWithDifferentLeafPathRangeIsRejected() {
+        final VirtualMap divergentTeacherMap = new VirtualMap(teacherBuilder, CONFIGURATION);
+        for (int i = 0; i < TEACHER_SIZE; i++) {
+            teacherMap.put(TestKey.longToKey(i), new TestValue(i), TestValueCodec.INSTANCE);
+        }
+        for (int i = 0; i < TEACHER_SIZE / 2; i++) {
+            divergentTeacherMap.put(TestKey.longToKey(i), new TestValue(i), TestValueCodec.INSTANCE);
+        }
+
+        final VirtualMap copy = teacherMap.copy();
+        final VirtualMap divergentCopy = divergentTeacherMap.copy();
+        teacherMap.reserve();
+        divergentTeacherMap.reserve();
+        learnerMap.reserve();
+        try {
+            assertThrows(
+                    MerkleSynchronizationException.class,
+                    () -> ReconnectTestUtils.synchronize(
+                            learnerMap, List.of(teacherMap, divergentTeacherMap), reconnectConfig),
+                    "Teachers must agree on the leaf path range");
+        } finally {
+            teacherMap.release();
+            divergentTeacherMap.release();
+            learnerMap.release();
+            copy.release();
+            divergentCopy.release();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hiero.base.utility.test.fixtures.assertions.AssertionUtils.assertEventuallyEquals;
 import static org.hiero.base.utility.test.fixtures.assertions.AssertionUtils.assertEventuallyTrue;
 import static org.hiero.consensus.concurrent.manager.AdHocThreadManager.getStaticThreadManager;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -30,6 +31,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +41,7 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Inflater;
 import org.hiero.base.concurrent.ThrowingRunnable;
 import org.hiero.base.utility.test.fixtures.tags.TestComponentTags;
 import org.hiero.consensus.concurrent.pool.StandardWorkGroup;
@@ -317,6 +320,55 @@ class AsyncOutputStreamTest {
             assertEquals(-1, dataIn.readInt(), "termination marker should follow");
         }
 
+        @Test
+        @DisplayName("Batches never exceed the max message size the peer reads")
+        void batchesFitMaxMessageSize() throws IOException, InterruptedException {
+            final int bigMessageCount = 4;
+            final int bigMessageSize = 3 << 20;
+            final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+            final BlockingOutputStream blockingOut = new BlockingOutputStream(byteOut);
+            final StandardWorkGroup workGroup = new StandardWorkGroup(getStaticThreadManager(), "max-batch", null);
+            final AsyncOutputStream out = newOut(new DataOutputStream(blockingOut), workGroup);
+            out.start();
+            out.sendBatches(Integer.MAX_VALUE, false);
+
+            // Keep the writer busy with a small batch, so that the big messages queue up behind it
+            blockingOut.lock();
+            final List<byte[]> sent = new ArrayList<>();
+            sent.add(serializeLong(0));
+            out.sendAsync(sent.get(0));
+            assertEventuallyEquals(0, out::getQueueSize, Duration.ofSeconds(5), "writer should take the message");
+            for (int i = 1; i <= bigMessageCount; i++) {
+                final byte[] message = new byte[bigMessageSize];
+                Arrays.fill(message, (byte) i);
+                sent.add(message);
+                out.sendAsync(message);
+            }
+            blockingOut.unlock();
+
+            testAndAwaitTermination(workGroup, out::done);
+
+            final DataInputStream dataIn = new DataInputStream(new ByteArrayInputStream(byteOut.toByteArray()));
+            final Inflater inflater = MessageBatches.newInflater();
+            final List<byte[]> received = new ArrayList<>();
+            int batchCount = 0;
+            int len;
+            while ((len = dataIn.readInt()) >= 0) {
+                assertTrue(len <= AsyncInputStream.MAX_MESSAGE_SIZE, "batch of " + len + " bytes is too large");
+                final byte[] batch = new byte[len];
+                dataIn.readFully(batch);
+                received.addAll(MessageBatches.decode(batch, inflater, AsyncInputStream.MAX_MESSAGE_SIZE));
+                batchCount++;
+            }
+            inflater.end();
+
+            assertTrue(batchCount >= 2, "big messages should be split into batches that fit");
+            assertEquals(sent.size(), received.size(), "all messages should be received");
+            for (int i = 0; i < sent.size(); i++) {
+                assertArrayEquals(sent.get(i), received.get(i), "message " + i + " should round-trip in order");
+            }
+        }
+
         @Test
         @DisplayName("Buffered writes are flushed within flushInterval without further sends")
         void flushIntervalTriggersFlush() {
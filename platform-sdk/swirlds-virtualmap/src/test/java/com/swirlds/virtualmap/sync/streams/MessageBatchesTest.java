@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.swirlds.virtualmap.sync.streams;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MessageBatches Test")
+class MessageBatchesTest {
+
+    private final Deflater deflater = MessageBatches.newDeflater();
+    private final Inflater inflater = MessageBatches.newInflater();
+
+    @AfterEach
+    void tearDown() {
+        deflater.end();
+        inflater.end();
+    }
+
+    @Test
+    @DisplayName("Compressible messages are deflated and decode to the same messages")
+    void compressibleMessagesAreDeflated() throws IOException {
+        final List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final byte[] message = new byte[40];
+            message[0] = (byte) i;
+            messages.add(message);
+        }
+        final int bodyBytes = bodyBytes(messages);
+
+        final byte[] batch = MessageBatches.encode(messages, bodyBytes, deflater);
+
+        assertEquals(MessageBatches.DEFLATED, batch[0]);
+        assertTrue(batch.length < bodyBytes, "batch should be compressed");
+        assertMessagesEqual(messages, MessageBatches.decode(batch, inflater, AsyncInputStream.MAX_MESSAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Incompressible and small batches are sent uncompressed")
+    void incompressibleMessagesAreNotDeflated() throws IOException {
+        final Random random = new Random(42);
+        final List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final byte[] message = new byte[48];
+            random.nextBytes(message);
+            messages.add(message);
+        }
+        final List<byte[]> small = List.of(new byte[8], new byte[8]);
+
+        final byte[] batch = MessageBatches.encode(messages, bodyBytes(messages), deflater);
+        final byte[] smallBatch = MessageBatches.encode(small, bodyBytes(small), deflater);
+
+        assertEquals(MessageBatches.UNCOMPRESSED, batch[0]);
+        assertEquals(MessageBatches.UNCOMPRESSED, smallBatch[0]);
+        assertMessagesEqual(messages, MessageBatches.decode(batch, inflater, AsyncInputStream.MAX_MESSAGE_SIZE));
+        assertMessagesEqual(small, MessageBatches.decode(smallBatch, inflater, AsyncInputStream.MAX_MESSAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Malformed batches are rejected")
+    void malformedBatchesAreRejected() {
+        final List<byte[]> messages = List.of(new byte[1024]);
+        final byte[] batch = MessageBatches.encode(messages, bodyBytes(messages), deflater);
+
+        assertThrows(IOException.class, () -> MessageBatches.decode(batch, inflater, 1023));
+        assertThrows(IOException.class, () -> MessageBatches.decode(new byte[] {7}, inflater, 1024));
+        assertThrows(
+                IOException.class,
+                () -> MessageBatches.decode(new byte[] {MessageBatches.UNCOMPRESSED, 0, 0, 0, 9}, inflater, 1024));
+    }
+
+    private static int bodyBytes(final List<byte[]> messages) {
+        return messages.stream().mapToInt(MessageBatches::sizeInBody).sum();
+    }
+
+    private static void assertMessagesEqual(final List<byte[]> expected, final List<byte[]> actual) {
+        assertEquals(expected.size(), actual.size(), "message count should match");
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "message " + i + " should match");
+        }
+    }
+}
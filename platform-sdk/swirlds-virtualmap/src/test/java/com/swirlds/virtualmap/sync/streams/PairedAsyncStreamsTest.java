@@ -91,6 +91,63 @@ class PairedAsyncStreamsTest {
         }
     }
 
+    @Test
+    @DisplayName("Batches: messages sent before and after switching to compressed batches all round-trip in order")
+    void switchToBatches() throws IOException, InterruptedException {
+        try (final PairedStreams streams = new PairedStreams()) {
+            final StandardWorkGroup workGroup = new StandardWorkGroup(getStaticThreadManager(), "batches", null);
+
+            final AsyncInputStream teacherIn =
+                    new AsyncInputStream(streams.getTeacherInput(), workGroup, DEFAULT_QUEUE_SIZE, DEFAULT_TIMEOUT);
+            final AsyncOutputStream learnerOut = new AsyncOutputStream(
+                    streams.getLearnerOutput(), workGroup, DEFAULT_QUEUE_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_TIMEOUT);
+
+            teacherIn.start();
+            learnerOut.start();
+
+            final int count = 10_000;
+
+            // The first message is unbatched, like the root request, and the receiver only switches to
+            // batches once it has it; the sender only switches after the receiver acknowledges
+            final CountDownLatch switched = new CountDownLatch(1);
+            OutcomeRunnable learnerRunnable = new OutcomeRunnable(() -> {
+                learnerOut.sendAsync(serializeLong(0));
+                assertTrue(switched.await(5, TimeUnit.SECONDS), "receiver should switch to batches");
+                learnerOut.sendBatches(1024, true);
+                for (int i = 1; i < count; i++) {
+                    learnerOut.sendAsync(serializeLong(i));
+                }
+                learnerOut.done();
+            });
+            workGroup.execute("learner-sender", learnerRunnable);
+
+            final AtomicInteger messagesRead = new AtomicInteger();
+            OutcomeRunnable teacherRunnable = new OutcomeRunnable(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    final byte[] message = teacherIn.readOrWait(YieldStrategy.SPIN);
+                    if (message == null) {
+                        break;
+                    }
+                    assertEquals(
+                            messagesRead.getAndIncrement(),
+                            parseLong(message),
+                            "message should match the value that was serialized");
+                    if (messagesRead.get() == 1) {
+                        teacherIn.readBatches();
+                        switched.countDown();
+                    }
+                }
+            });
+            workGroup.execute("teacher-receiver", teacherRunnable);
+
+            workGroup.waitForTermination();
+
+            learnerRunnable.verifySuccess("learner task");
+            teacherRunnable.verifySuccess("teacher task");
+            assertEquals(count, messagesRead.get(), "messages should be read");
+        }
+    }
+
     @Test
     @DisplayName("Learner disconnect mid-stream propagates error to work group")
     void learnerDisconnectMidStream() throws IOException, InterruptedException {
@@ -19,6 +19,8 @@ import com.swirlds.virtualmap.sync.MerkleSynchronizationException;
 import com.swirlds.virtualmap.sync.TeachingSynchronizer;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
@@ -64,14 +66,54 @@ public final class ReconnectTestUtils {
     public static VirtualMap testSynchronization(
             final VirtualMap learnerMap, final VirtualMap teacherMap, final ReconnectConfig reconnectConfig)
             throws Exception {
+        return testSynchronization(learnerMap, List.of(teacherMap), reconnectConfig);
+    }
+
+    /**
+     * Performs synchronization of a learner map with several teachers at once, and asserts that the resulting
+     * map is equal to the first teacher's map.
+     *
+     * @param learnerMap leaner map to synchronize with teacher maps
+     * @param teacherMaps teacher maps, all expected to be the desired virtual map
+     * @param reconnectConfig reconnect config
+     * @return resulting map after synchronization
+     * @throws Exception if any exception happens during synchronization
+     */
+    public static VirtualMap testSynchronization(
+            final VirtualMap learnerMap, final List<VirtualMap> teacherMaps, final ReconnectConfig reconnectConfig)
+            throws Exception {
+        final VirtualMap syncMap = synchronize(learnerMap, teacherMaps, reconnectConfig);
+        assertReconnectValidity(learnerMap, teacherMaps.get(0), syncMap);
+        return syncMap;
+    }
+
+    /**
+     * Synchronizes a learner map with one or more teachers at once, each over its own pair of streams, without
+     * checking the resulting map.
+     *
+     * @param learnerMap leaner map to synchronize with teacher maps
+     * @param teacherMaps teacher maps, one per teacher
+     * @param reconnectConfig reconnect config
+     * @return resulting map after synchronization
+     * @throws Exception if any exception happens during synchronization
+     */
+    public static VirtualMap synchronize(
+            final VirtualMap learnerMap, final List<VirtualMap> teacherMaps, final ReconnectConfig reconnectConfig)
+            throws Exception {
         System.out.println("------------");
         System.out.println("learner map: " + learnerMap.getMetadata());
-        System.out.println("teacher map: " + teacherMap.getMetadata());
+        for (final VirtualMap teacherMap : teacherMaps) {
+            System.out.println("teacher map: " + teacherMap.getMetadata());
+            assertFalse(teacherMap.isMutable(), "teacher map should be immutable");
+            teacherMap.getHash(); // ensure teacher has a hash
+        }
 
-        assertFalse(teacherMap.isMutable(), "teacher map should be immutable");
-        teacherMap.getHash(); // ensure teacher has a hash
+        final List<PairedStreams> allStreams = new ArrayList<>(teacherMaps.size());
+        try {
+            for (int i = 0; i < teacherMaps.size(); i++) {
+                allStreams.add(new PairedStreams());
+            }
 
-        try (PairedStreams streams = new PairedStreams()) {
             final LearningSynchronizer learner =
                     new LearningSynchronizer(getStaticThreadManager(), reconnectConfig, metrics) {
 
@@ -89,21 +131,24 @@ public final class ReconnectTestUtils {
                         }
                     };
 
-            final TeachingSynchronizer teacher =
-                    new TeachingSynchronizer(teacherMap, Time.getCurrent(), getStaticThreadManager(), reconnectConfig) {
-                        @Override
-                        protected StandardWorkGroup createStandardWorkGroup(
-                                ThreadManager threadManager,
-                                Runnable breakConnection,
-                                Function<Throwable, Boolean> exceptionListener) {
-                            return new StandardWorkGroup(
-                                    threadManager,
-                                    "test-teaching-synchronizer",
-                                    breakConnection,
-                                    createSuppressedExceptionListener(exceptionListener),
-                                    true);
-                        }
-                    };
+            final List<TeachingSynchronizer> teachers = new ArrayList<>(teacherMaps.size());
+            for (final VirtualMap teacherMap : teacherMaps) {
+                teachers.add(new TeachingSynchronizer(
+                        teacherMap, Time.getCurrent(), getStaticThreadManager(), reconnectConfig) {
+                    @Override
+                    protected StandardWorkGroup createStandardWorkGroup(
+                            ThreadManager threadManager,
+                            Runnable breakConnection,
+                            Function<Throwable, Boolean> exceptionListener) {
+                        return new StandardWorkGroup(
+                                threadManager,
+                                "test-teaching-synchronizer",
+                                breakConnection,
+                                createSuppressedExceptionListener(exceptionListener),
+                                true);
+                    }
+                });
+            }
 
             final AtomicReference<Throwable> firstReconnectException = new AtomicReference<>();
             final Function<Throwable, Boolean> exceptionListener = createSuppressedExceptionListener(t -> {
@@ -114,10 +159,15 @@ public final class ReconnectTestUtils {
             AtomicReference<VirtualMap> syncMapContainer = new AtomicReference<>();
             final StandardWorkGroup workGroup = new StandardWorkGroup(
                     getStaticThreadManager(), "synchronization-test", null, exceptionListener, true);
-            workGroup.execute("teaching-synchronizer-main", () -> teachingSynchronizerThread(streams, teacher));
+            for (int i = 0; i < teachers.size(); i++) {
+                final PairedStreams streams = allStreams.get(i);
+                final TeachingSynchronizer teacher = teachers.get(i);
+                workGroup.execute(
+                        "teaching-synchronizer-main-" + i, () -> teachingSynchronizerThread(streams, teacher));
+            }
             workGroup.execute(
                     "learning-synchronizer-main",
-                    () -> learningSynchronizerThread(streams, learnerMap, learner, syncMapContainer));
+                    () -> learningSynchronizerThread(allStreams, learnerMap, learner, syncMapContainer));
 
             try {
                 workGroup.waitForTermination();
@@ -131,10 +181,11 @@ public final class ReconnectTestUtils {
                         "Exception(s) in synchronization test", firstReconnectException.get());
             }
 
-            final VirtualMap syncMap = syncMapContainer.get();
-            assertReconnectValidity(learnerMap, teacherMap, syncMap);
-
-            return syncMap;
+            return syncMapContainer.get();
+        } finally {
+            for (final PairedStreams streams : allStreams) {
+                streams.close();
+            }
         }
     }
 
@@ -169,13 +220,16 @@ public final class ReconnectTestUtils {
     }
 
     private static void learningSynchronizerThread(
-            final PairedStreams streams,
+            final List<PairedStreams> allStreams,
             final VirtualMap learnerMap,
             final LearningSynchronizer learner,
             AtomicReference<VirtualMap> syncMapContainer) {
         try {
             syncMapContainer.set(learner.synchronize(
-                    learnerMap, streams.getLearnerInput(), streams.getLearnerOutput(), streams::disconnect));
+                    learnerMap,
+                    allStreams.stream().map(PairedStreams::getLearnerInput).toList(),
+                    allStreams.stream().map(PairedStreams::getLearnerOutput).toList(),
+                    () -> allStreams.forEach(PairedStreams::disconnect)));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }